@@ -0,0 +1,74 @@
+package br.com.junior.esig.taskmanager.benchmark;
+
+import br.com.junior.esig.taskmanager.domain.enums.Priority;
+import br.com.junior.esig.taskmanager.domain.enums.Role;
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import br.com.junior.esig.taskmanager.domain.model.Task;
+import br.com.junior.esig.taskmanager.domain.model.User;
+import br.com.junior.esig.taskmanager.security.jwt.JwtUtil;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Dados sintéticos determinísticos (semente fixa) compartilhados pelos benchmarks.
+ */
+final class BenchmarkData {
+
+    static final long SEED = 42L;
+    static final String JWT_SECRET = "benchmarkSecretKeyForJmhRunsOnlyMakeSureItsLongEnough";
+    static final LocalDate TODAY = LocalDate.of(2024, 6, 1);
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private BenchmarkData() {
+    }
+
+    static User user(long id) {
+        return User.builder()
+                .id(id)
+                .username("user" + id)
+                .password("$2a$10$abcdefghijklmnopqrstuv")
+                .role(Role.ROLE_USER)
+                .build();
+    }
+
+    static List<Task> tasks(int count, int users) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<User> owners = new ArrayList<>(users);
+        for (int i = 1; i <= users; i++) {
+            owners.add(user(i));
+        }
+
+        List<Task> tasks = new ArrayList<>(count);
+        LocalDateTime createdAt = TODAY.atStartOfDay();
+        for (int i = 1; i <= count; i++) {
+            tasks.add(Task.builder()
+                    .id((long) i)
+                    .title("Tarefa sintética " + i)
+                    .description("Descrição da tarefa " + i + " com algum texto para aproximar o tamanho real.")
+                    .responsible("Responsável " + random.nextInt(50))
+                    .priority(PRIORITIES[random.nextInt(PRIORITIES.length)])
+                    .deadline(random.nextInt(10) == 0 ? null : TODAY.plusDays(random.nextInt(-60, 120)))
+                    .status(STATUSES[random.nextInt(STATUSES.length)])
+                    .user(owners.get(random.nextInt(users)))
+                    .createdAt(createdAt.minusMinutes(i))
+                    .updatedAt(createdAt)
+                    .build());
+        }
+        return tasks;
+    }
+
+    static JwtUtil jwtUtil() {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", JWT_SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86_400_000L);
+        ReflectionTestUtils.setField(jwtUtil, "refreshExpiration", 604_800_000L);
+        return jwtUtil;
+    }
+}
@@ -0,0 +1,105 @@
+package br.com.junior.esig.taskmanager.benchmark;
+
+import br.com.junior.esig.taskmanager.deadline.DeadlineTracker;
+import br.com.junior.esig.taskmanager.dependency.DependencyGraph;
+import br.com.junior.esig.taskmanager.domain.enums.Priority;
+import br.com.junior.esig.taskmanager.domain.enums.Role;
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import br.com.junior.esig.taskmanager.domain.model.Task;
+import br.com.junior.esig.taskmanager.domain.model.User;
+import br.com.junior.esig.taskmanager.dto.task.TaskField;
+import br.com.junior.esig.taskmanager.dto.task.TaskResponse;
+import br.com.junior.esig.taskmanager.mapper.TaskMapper;
+import br.com.junior.esig.taskmanager.readmodel.NextTaskIndex;
+import br.com.junior.esig.taskmanager.readmodel.TaskReadModel;
+import br.com.junior.esig.taskmanager.repository.TaskAuditRepository;
+import br.com.junior.esig.taskmanager.repository.TaskRepository;
+import br.com.junior.esig.taskmanager.repository.UserRepository;
+import br.com.junior.esig.taskmanager.service.SingleFlight;
+import br.com.junior.esig.taskmanager.service.TaskService;
+import br.com.junior.esig.taskmanager.tag.TagIndex;
+import br.com.junior.esig.taskmanager.tag.TagMatch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pipeline de {@code TaskService.filterTasks} sobre um conjunto sintético. Os repositórios
+ * são stubs do Mockito (custo constante por chamada), então o tempo medido é o do stream.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "-XX:+EnableDynamicAgentLoading"})
+public class FilterTasksBenchmark {
+
+    @Param({"10000", "200000"})
+    private int size;
+
+    private TaskService taskService;
+
+    @Setup
+    public void setUp() {
+        User admin = User.builder().id(0L).username("admin").role(Role.ROLE_ADMIN).build();
+        List<Task> tasks = BenchmarkData.tasks(size, 500);
+
+        TaskRepository taskRepository = mock(TaskRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        when(taskRepository.findAll()).thenReturn(tasks);
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
+
+        taskService = new TaskService(taskRepository, userRepository, new TaskMapper(),
+                new TaskReadModel(null, false), new DeadlineTracker(null, event -> { }, Clock.systemUTC(), false),
+                new NextTaskIndex(null, false), Clock.systemUTC(), event -> { },
+                new SingleFlight(new SimpleMeterRegistry(), false, Duration.ZERO), mock(TaskAuditRepository.class),
+                new DependencyGraph(null, false), new TagIndex(null, false, 100, 1000));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("admin", null, List.of()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public List<TaskResponse> noFilter() {
+        return taskService.filterTasks(Set.of(), null, null, null, null, null, Set.of(), TagMatch.ALL, TaskField.ALL);
+    }
+
+    @Benchmark
+    public List<TaskResponse> statusAndPriority() {
+        return taskService.filterTasks(Set.of(TaskStatus.TODO), Priority.HIGH, null, null, null, null, Set.of(), TagMatch.ALL, TaskField.ALL);
+    }
+
+    @Benchmark
+    public List<TaskResponse> responsibleAndDeadlineRange() {
+        return taskService.filterTasks(Set.of(), null, null, "respons", BenchmarkData.TODAY,
+                BenchmarkData.TODAY.plusDays(30), Set.of(), TagMatch.ALL, TaskField.ALL);
+    }
+}
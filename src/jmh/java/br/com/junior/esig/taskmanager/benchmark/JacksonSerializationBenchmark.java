@@ -0,0 +1,120 @@
+package br.com.junior.esig.taskmanager.benchmark;
+
+import br.com.junior.esig.taskmanager.dto.task.TaskResponse;
+import br.com.junior.esig.taskmanager.encoding.TaskResponseSerializer;
+import br.com.junior.esig.taskmanager.mapper.TaskMapper;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialização de {@code List<TaskResponse>} com um ObjectMapper equivalente ao do Spring Boot
+ * (módulos JSR-310 e datas em ISO-8601), contra Blackbird, o serializador direto e os formatos
+ * binários. Os bytes de cada codificação (e do JSON com gzip) são impressos no setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class JacksonSerializationBenchmark {
+
+    @Param({"100", "10000"})
+    private int size;
+
+    private ObjectWriter writer;
+    private ObjectWriter blackbird;
+    private ObjectWriter streaming;
+    private ObjectWriter smile;
+    private ObjectWriter cbor;
+    private List<TaskResponse> responses;
+
+    @Setup
+    public void setUp() throws IOException {
+        writer = writer(new JsonFactory(), false, false);
+        blackbird = writer(new JsonFactory(), true, false);
+        streaming = writer(new JsonFactory(), false, true);
+        smile = writer(new SmileFactory(), false, true);
+        cbor = writer(new CBORFactory(), false, true);
+        TaskMapper taskMapper = new TaskMapper();
+        responses = BenchmarkData.tasks(size, 100).stream().map(taskMapper::toResponse).toList();
+
+        byte[] json = serializeList();
+        System.out.printf("%nbytes (%d tasks): json=%d json+gzip=%d smile=%d smile+gzip=%d cbor=%d%n", size,
+                json.length, gzip(json).length, smileList().length, gzip(smileList()).length, cborList().length);
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws JsonProcessingException {
+        return writer.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] blackbirdList() throws JsonProcessingException {
+        return blackbird.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] streamingList() throws JsonProcessingException {
+        return streaming.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] smileList() throws JsonProcessingException {
+        return smile.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] cborList() throws JsonProcessingException {
+        return cbor.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] gzipJsonList() throws IOException {
+        return gzip(writer.writeValueAsBytes(responses));
+    }
+
+    private static ObjectWriter writer(JsonFactory factory, boolean blackbird, boolean streaming) {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json().factory(factory)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (blackbird) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        if (streaming) {
+            builder.modulesToInstall(new SimpleModule().addSerializer(TaskResponse.class, new TaskResponseSerializer()));
+        }
+        return builder.build().writerFor(List.class);
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.junior.esig.taskmanager.benchmark;
+
+import br.com.junior.esig.taskmanager.domain.model.Task;
+import br.com.junior.esig.taskmanager.readmodel.IndexedTaskHeap;
+import br.com.junior.esig.taskmanager.readmodel.NextTaskIndex;
+import br.com.junior.esig.taskmanager.readmodel.TaskRank;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "Próximas 10 tasks": ordenação completa da lista (o que /tasks/filter faz hoje) contra
+ * o heap indexado do {@link NextTaskIndex}, e o custo de reposicionar uma task no heap.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class NextTaskBenchmark {
+
+    @Param({"10000", "200000"})
+    private int size;
+
+    private List<Task> tasks;
+    private IndexedTaskHeap heap;
+    private long[] ranks;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        tasks = BenchmarkData.tasks(size, 500).stream()
+                .filter(t -> NextTaskIndex.ACTIONABLE.contains(t.getStatus()))
+                .toList();
+        heap = new IndexedTaskHeap(tasks.size());
+        ranks = new long[tasks.size()];
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            ranks[i] = TaskRank.of(task.getPriority(), task.getDeadline(), task.getCreatedAt());
+            heap.upsert(task.getId(), ranks[i]);
+        }
+    }
+
+    @Benchmark
+    public long[] fullSortTop10() {
+        return tasks.stream()
+                .sorted((a, b) -> TaskRank.compare(
+                        TaskRank.of(a.getPriority(), a.getDeadline(), a.getCreatedAt()), a.getId(),
+                        TaskRank.of(b.getPriority(), b.getDeadline(), b.getCreatedAt()), b.getId()))
+                .limit(10)
+                .mapToLong(Task::getId)
+                .toArray();
+    }
+
+    @Benchmark
+    public long[] heapTop10() {
+        return heap.top(10);
+    }
+
+    @Benchmark
+    public int heapReprioritize() {
+        // Troca a chave de uma task pela de outra: alterna increase e decrease-key
+        int i = cursor++ % ranks.length;
+        heap.upsert(tasks.get(i).getId(), ranks[ranks.length - 1 - i]);
+        heap.upsert(tasks.get(i).getId(), ranks[i]);
+        return heap.size();
+    }
+}
@@ -0,0 +1,65 @@
+package br.com.junior.esig.taskmanager.benchmark;
+
+import br.com.junior.esig.taskmanager.domain.model.User;
+import br.com.junior.esig.taskmanager.dto.auth.LoginRequest;
+import br.com.junior.esig.taskmanager.dto.auth.LoginResponse;
+import br.com.junior.esig.taskmanager.repository.UserRepository;
+import br.com.junior.esig.taskmanager.security.login.LoginAttemptTracker;
+import br.com.junior.esig.taskmanager.security.revocation.TokenRevocationList;
+import br.com.junior.esig.taskmanager.service.AuthService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Custo do BCrypt em {@code AuthService.register} (createUser) por strength. O repositório é
+ * stub, então o tempo é praticamente todo hash + geração do token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms512m", "-Xmx512m", "-XX:+EnableDynamicAgentLoading"})
+public class PasswordHashingBenchmark {
+
+    @Param({"10", "12"})
+    private int strength;
+
+    private AuthService authService;
+    private LoginRequest request;
+
+    @Setup
+    public void setUp() {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.existsByUsername(anyString())).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        authService = new AuthService(userRepository, new BCryptPasswordEncoder(strength),
+                BenchmarkData.jwtUtil(), mock(AuthenticationManager.class), mock(LoginAttemptTracker.class),
+                mock(TokenRevocationList.class));
+        request = new LoginRequest("benchmark-user", "benchmark-password");
+    }
+
+    @Benchmark
+    public LoginResponse register() {
+        return authService.register(request);
+    }
+}
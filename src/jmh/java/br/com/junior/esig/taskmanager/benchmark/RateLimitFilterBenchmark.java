@@ -0,0 +1,93 @@
+package br.com.junior.esig.taskmanager.benchmark;
+
+import br.com.junior.esig.taskmanager.security.ratelimit.RateLimitFilter;
+import br.com.junior.esig.taskmanager.security.ratelimit.UserRateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Custo do {@link RateLimitFilter} no caminho de uma requisição aceita (bucket do usuário
+ * e vaga de concorrência), e do bucket sozinho com cada thread num usuário e com todas no
+ * mesmo usuário (pior caso de disputa no CAS; rodar com {@code -t 4} ou mais). A cadeia
+ * depois do filtro não faz nada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class RateLimitFilterBenchmark {
+
+    private static final int USERS = 10_000;
+    private static final FilterChain NOOP = (request, response) -> { };
+
+    private RateLimitFilter filter;
+    private UserRateLimiter limiter;
+    private final AtomicInteger nextUser = new AtomicInteger();
+
+    @State(Scope.Thread)
+    public static class Caller {
+        MockHttpServletRequest request;
+        MockHttpServletResponse response;
+        String username;
+        String shared;
+
+        @Setup
+        public void setUp(RateLimitFilterBenchmark benchmark) {
+            username = "user-" + benchmark.nextUser.getAndIncrement();
+            shared = "user-shared";
+            request = new MockHttpServletRequest("GET", "/api/tasks/filter");
+            request.setServletPath("/tasks/filter");
+            response = new MockHttpServletResponse();
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(username, null, List.of()));
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        // Taxa alta o bastante para nenhuma requisição ser barrada: mede só o caminho aceito
+        filter = new RateLimitFilter(true, 1e9, 1_000_000, USERS * 2, 1024, 8, 1024, Duration.ofSeconds(1));
+        limiter = new UserRateLimiter(1e9, 1_000_000, USERS * 2);
+        for (int i = 0; i < USERS; i++) {
+            limiter.tryAcquire("user-" + i, System.nanoTime());
+        }
+    }
+
+    @Benchmark
+    public int filterAcceptedRequest(Caller caller) throws ServletException, IOException {
+        filter.doFilter(caller.request, caller.response, NOOP);
+        return caller.response.getStatus();
+    }
+
+    @Benchmark
+    public long bucketDistinctUsers(Caller caller) {
+        return limiter.tryAcquire(caller.username, System.nanoTime());
+    }
+
+    @Benchmark
+    public long bucketSameUser(Caller caller) {
+        return limiter.tryAcquire(caller.shared, System.nanoTime());
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.junior.esig.taskmanager.benchmark;
+
+import br.com.junior.esig.taskmanager.domain.enums.Priority;
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import br.com.junior.esig.taskmanager.domain.event.TaskChangedEvent;
+import br.com.junior.esig.taskmanager.domain.model.Task;
+import br.com.junior.esig.taskmanager.readmodel.TaskBitmapIndex;
+import br.com.junior.esig.taskmanager.readmodel.TaskColumns;
+import br.com.junior.esig.taskmanager.readmodel.TaskQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Varredura das colunas e seleção por bitmaps do read model com os mesmos filtros de
+ * {@link FilterTasksBenchmark}. Mede só a seleção dos ids; a hidratação depende do banco e fica de fora.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class TaskColumnsScanBenchmark {
+
+    @Param({"10000", "200000"})
+    private int size;
+
+    private TaskColumns columns;
+    private TaskBitmapIndex bitmaps;
+
+    @Setup
+    public void setUp() {
+        columns = new TaskColumns();
+        bitmaps = new TaskBitmapIndex();
+        for (Task task : BenchmarkData.tasks(size, 500)) {
+            columns.apply(TaskChangedEvent.of(task));
+            bitmaps.add(task.getId(), task.getUser().getId(), task.getStatus(), task.getPriority());
+        }
+    }
+
+    @Benchmark
+    public long[] statusAndPriority() {
+        return columns.scan(TaskQuery.builder().status(TaskStatus.TODO).priority(Priority.HIGH).build());
+    }
+
+    @Benchmark
+    public long[] responsibleAndDeadlineRange() {
+        return columns.scan(TaskQuery.builder()
+                .responsible("respons")
+                .deadlineFrom(BenchmarkData.TODAY)
+                .deadlineTo(BenchmarkData.TODAY.plusDays(30))
+                .build());
+    }
+
+    @Benchmark
+    public long[] ownerOverdue() {
+        return columns.scan(TaskQuery.builder()
+                .ownerId(7L)
+                .deadlineBefore(BenchmarkData.TODAY)
+                .statuses(EnumSet.complementOf(EnumSet.of(TaskStatus.DONE)))
+                .build());
+    }
+
+    @Benchmark
+    public RoaringBitmap bitmapStatusAndPriority() {
+        return bitmaps.select(null, Set.of(TaskStatus.TODO), Set.of(Priority.HIGH));
+    }
+
+    @Benchmark
+    public long bitmapOwnerStatusInMinPriorityCount() {
+        RoaringBitmap selection = bitmaps.select(7L, EnumSet.of(TaskStatus.TODO, TaskStatus.BLOCKED),
+                EnumSet.of(Priority.HIGH, Priority.URGENT));
+        return selection.getLongCardinality();
+    }
+}
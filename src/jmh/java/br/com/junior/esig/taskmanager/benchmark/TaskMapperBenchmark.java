@@ -0,0 +1,46 @@
+package br.com.junior.esig.taskmanager.benchmark;
+
+import br.com.junior.esig.taskmanager.domain.model.Task;
+import br.com.junior.esig.taskmanager.dto.task.TaskResponse;
+import br.com.junior.esig.taskmanager.mapper.TaskMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class TaskMapperBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private TaskMapper taskMapper;
+    private List<Task> tasks;
+
+    @Setup
+    public void setUp() {
+        taskMapper = new TaskMapper();
+        tasks = BenchmarkData.tasks(size, 100);
+    }
+
+    @Benchmark
+    public List<TaskResponse> toResponseList() {
+        return tasks.stream().map(taskMapper::toResponse).collect(Collectors.toList());
+    }
+}
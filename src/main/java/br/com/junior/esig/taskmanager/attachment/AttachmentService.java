@@ -0,0 +1,115 @@
+package br.com.junior.esig.taskmanager.attachment;
+
+import br.com.junior.esig.taskmanager.domain.model.Task;
+import br.com.junior.esig.taskmanager.domain.model.TaskAttachment;
+import br.com.junior.esig.taskmanager.dto.task.TaskAttachmentResponse;
+import br.com.junior.esig.taskmanager.exception.InvalidRequestException;
+import br.com.junior.esig.taskmanager.exception.ResourceNotFoundException;
+import br.com.junior.esig.taskmanager.mapper.TaskMapper;
+import br.com.junior.esig.taskmanager.repository.TaskAttachmentRepository;
+import br.com.junior.esig.taskmanager.service.TaskService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Clock;
+import java.util.List;
+
+/** Anexos de tasks: conteúdo no {@link BlobStore}, metadados em {@code task_attachments}. */
+@Slf4j
+@Service
+public class AttachmentService {
+
+    private final TaskService taskService;
+    private final TaskAttachmentRepository attachmentRepository;
+    private final BlobStore blobStore;
+    private final TaskMapper taskMapper;
+    private final Clock clock;
+    private final long maxBytes;
+
+    public AttachmentService(TaskService taskService,
+                             TaskAttachmentRepository attachmentRepository,
+                             BlobStore blobStore,
+                             TaskMapper taskMapper,
+                             Clock clock,
+                             @Value("${task.attachments.max-size:100MB}") DataSize maxSize) {
+        this.taskService = taskService;
+        this.attachmentRepository = attachmentRepository;
+        this.blobStore = blobStore;
+        this.taskMapper = taskMapper;
+        this.clock = clock;
+        this.maxBytes = maxSize.toBytes();
+    }
+
+    public TaskAttachmentResponse upload(Long taskId, String filename, String contentType, InputStream content) throws IOException {
+        Task task = taskService.findAccessible(taskId);
+        if (filename == null || filename.isBlank() || filename.length() > 255) {
+            throw new InvalidRequestException("filename é obrigatório (até 255 caracteres)");
+        }
+        BlobStore.StoredBlob blob = blobStore.write(content, maxBytes);
+        try {
+            TaskAttachment attachment = attachmentRepository.save(TaskAttachment.builder()
+                    .taskId(task.getId())
+                    .filename(filename)
+                    .contentType(contentType(contentType))
+                    .size(blob.size())
+                    .sha256(blob.sha256())
+                    .storageKey(blob.key())
+                    .uploadedBy(SecurityContextHolder.getContext().getAuthentication().getName())
+                    .createdAt(clock.instant())
+                    .build());
+            log.info("Anexo '{}' ({} bytes) adicionado à task {}", filename, blob.size(), taskId);
+            return taskMapper.toAttachmentResponse(attachment);
+        } catch (RuntimeException e) {
+            blobStore.delete(blob.key());
+            throw e;
+        }
+    }
+
+    public List<TaskAttachmentResponse> list(Long taskId) {
+        taskService.findAccessible(taskId);
+        return attachmentRepository.findByTaskIdOrderById(taskId).stream().map(taskMapper::toAttachmentResponse).toList();
+    }
+
+    public TaskAttachment find(Long taskId, Long attachmentId) {
+        taskService.findAccessible(taskId);
+        return attachmentRepository.findByIdAndTaskId(attachmentId, taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Anexo", "id", attachmentId));
+    }
+
+    /**
+     * Apaga metadados e arquivos de anexos cuja task não existe mais. Fica fora do DELETE da
+     * task para não somar consultas a ele, e pega também exclusões feitas por outros caminhos.
+     */
+    @Scheduled(fixedDelayString = "${task.attachments.cleanup-interval:PT10M}")
+    public int deleteOrphans() {
+        List<TaskAttachment> orphans = attachmentRepository.findOrphans();
+        if (orphans.isEmpty()) {
+            return 0;
+        }
+        attachmentRepository.deleteAllInBatch(orphans);
+        for (TaskAttachment attachment : orphans) {
+            try {
+                blobStore.delete(attachment.getStorageKey());
+            } catch (IOException e) {
+                log.warn("Não foi possível apagar o arquivo do anexo {}: {}", attachment.getId(), e.getMessage());
+            }
+        }
+        log.info("{} anexo(s) de tasks excluídas removidos", orphans.size());
+        return orphans.size();
+    }
+
+    private static String contentType(String header) {
+        try {
+            return header != null ? MediaType.parseMediaType(header).toString() : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Content-Type inválido: " + header);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package br.com.junior.esig.taskmanager.attachment;
+
+import br.com.junior.esig.taskmanager.domain.model.TaskAttachment;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Download de anexos com ETag (o SHA-256), {@code Repr-Digest}, {@code If-None-Match} e um
+ * único intervalo de {@code Range} (com {@code If-Range}). Vários intervalos recebem o arquivo
+ * inteiro. O corpo sai pelo sendfile do Tomcat quando o conector suporta e o blob é local;
+ * senão por {@code FileChannel.transferTo} direto para o stream da resposta.
+ */
+@Component
+public class AttachmentStreamer {
+
+    // Atributos de request do Tomcat (org.apache.coyote.Constants)
+    static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final int CHUNK = 64 * 1024;
+
+    private final BlobStore blobStore;
+    private final boolean sendfile;
+
+    public AttachmentStreamer(BlobStore blobStore, @Value("${task.attachments.sendfile:true}") boolean sendfile) {
+        this.blobStore = blobStore;
+        this.sendfile = sendfile;
+    }
+
+    public void send(TaskAttachment attachment, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String etag = "\"" + attachment.getSha256() + "\"";
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+        long size = attachment.getSize();
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader("Repr-Digest", "sha-256=:" + Base64.getEncoder().encodeToString(
+                HexFormat.of().parseHex(attachment.getSha256())) + ":");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(attachment.getFilename(), StandardCharsets.UTF_8).build().toString());
+        response.setContentType(attachment.getContentType());
+
+        long start = 0;
+        long end = size - 1;
+        HttpRange range = range(request, etag);
+        if (range != null) {
+            try {
+                start = range.getRangeStart(size);
+                end = range.getRangeEnd(size);
+            } catch (IllegalArgumentException e) {
+                start = size;
+            }
+            if (start >= size || start > end) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+        }
+        long length = end - start + 1;
+        response.setContentLengthLong(length);
+        if ("HEAD".equals(request.getMethod()) || length == 0) {
+            return;
+        }
+
+        Optional<Path> local = blobStore.localPath(attachment.getStorageKey());
+        if (sendfile && local.isPresent() && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, local.get().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (SeekableByteChannel in = blobStore.open(attachment.getStorageKey())) {
+            copy(in, Channels.newChannel(response.getOutputStream()), start, length);
+        }
+    }
+
+    private static HttpRange range(HttpServletRequest request, String etag) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(header);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void copy(SeekableByteChannel in, WritableByteChannel out, long start, long length) throws IOException {
+        if (in instanceof FileChannel file) {
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long sent = file.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    throw new IOException("Anexo terminou antes do esperado");
+                }
+                position += sent;
+                remaining -= sent;
+            }
+            return;
+        }
+        in.position(start);
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(CHUNK, length));
+        long remaining = length;
+        while (remaining > 0) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), remaining));
+            int read = in.read(buffer);
+            if (read < 0) {
+                throw new IOException("Anexo terminou antes do esperado");
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            remaining -= read;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.junior.esig.taskmanager.attachment;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Onde fica o conteúdo dos anexos. O banco guarda só a chave devolvida por {@link #write}.
+ * Um {@link SeekableByteChannel} que seja {@code FileChannel} é enviado com
+ * {@code transferTo}; {@link #localPath} permite o sendfile do Tomcat.
+ */
+public interface BlobStore {
+
+    record StoredBlob(String key, long size, String sha256) {
+    }
+
+    /** Copia o stream em blocos, sem guardar o arquivo inteiro em memória; falha acima de {@code maxBytes}. */
+    StoredBlob write(InputStream content, long maxBytes) throws IOException;
+
+    SeekableByteChannel open(String key) throws IOException;
+
+    default Optional<Path> localPath(String key) {
+        return Optional.empty();
+    }
+
+    void delete(String key) throws IOException;
+}
@@ -0,0 +1,99 @@
+package br.com.junior.esig.taskmanager.attachment;
+
+import br.com.junior.esig.taskmanager.exception.PayloadTooLargeException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Anexos em disco local, em {@code task.attachments.dir}/ab/abcdef.... O upload vai para um
+ * arquivo temporário no mesmo diretório (calculando o SHA-256 no caminho) e só é movido para
+ * a chave final quando termina inteiro.
+ */
+@Component
+public class LocalBlobStore implements BlobStore {
+
+    private static final int CHUNK = 64 * 1024;
+
+    private final Path root;
+
+    public LocalBlobStore(@Value("${task.attachments.dir:${java.io.tmpdir}/task-attachments}") Path root) throws IOException {
+        this.root = Files.createDirectories(root).toRealPath();
+    }
+
+    @Override
+    public StoredBlob write(InputStream content, long maxBytes) throws IOException {
+        MessageDigest sha256 = sha256();
+        Path temp = Files.createTempFile(root, "upload-", ".tmp");
+        try {
+            long size = 0;
+            byte[] chunk = new byte[CHUNK];
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                int read;
+                while ((read = content.read(chunk)) != -1) {
+                    size += read;
+                    if (size > maxBytes) {
+                        throw new PayloadTooLargeException("Anexo maior que " + maxBytes + " bytes");
+                    }
+                    sha256.update(chunk, 0, read);
+                    ByteBuffer buffer = ByteBuffer.wrap(chunk, 0, read);
+                    while (buffer.hasRemaining()) {
+                        out.write(buffer);
+                    }
+                }
+                out.force(false);
+            }
+            String key = UUID.randomUUID().toString().replace("-", "");
+            Path target = resolve(key);
+            Files.createDirectories(target.getParent());
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            return new StoredBlob(key, size, HexFormat.of().formatHex(sha256.digest()));
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public SeekableByteChannel open(String key) throws IOException {
+        return FileChannel.open(resolve(key), StandardOpenOption.READ);
+    }
+
+    @Override
+    public Optional<Path> localPath(String key) {
+        return Optional.of(resolve(key));
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    private Path resolve(String key) {
+        if (!key.matches("[0-9a-f]{32}")) {
+            throw new IllegalArgumentException("Chave de anexo inválida: " + key);
+        }
+        return root.resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.junior.esig.taskmanager.audit;
+
+import java.time.Instant;
+
+/** Linha de {@code task_audit} ainda não gravada: na fila, no lote do writer ou no arquivo de spill. */
+record AuditRow(Long taskId, String actor, String field, String oldValue, String newValue, Instant changedAt) {
+}
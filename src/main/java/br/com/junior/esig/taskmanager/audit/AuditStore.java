@@ -0,0 +1,36 @@
+package br.com.junior.esig.taskmanager.audit;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/** INSERT em lote de {@code task_audit}; o lote inteiro entra numa transação ou nenhuma linha entra. */
+@Component
+class AuditStore {
+
+    private static final String INSERT =
+            "INSERT INTO task_audit (task_id, actor, field, old_value, new_value, changed_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    AuditStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    void insert(List<AuditRow> rows) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT, rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, row.taskId());
+            ps.setString(2, row.actor());
+            ps.setString(3, row.field());
+            ps.setString(4, row.oldValue());
+            ps.setString(5, row.newValue());
+            ps.setTimestamp(6, Timestamp.from(row.changedAt()));
+        }));
+    }
+}
@@ -0,0 +1,248 @@
+package br.com.junior.esig.taskmanager.audit;
+
+import br.com.junior.esig.taskmanager.domain.event.TaskAuditEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trilha de auditoria assíncrona. As mudanças chegam depois do commit e entram numa fila
+ * limitada; uma thread própria grava em lotes de até {@code batch-size} linhas por JDBC.
+ * <p>
+ * Fila cheia: quem chega espera até {@code offer-timeout} e depois a linha vai para o
+ * arquivo de spill (append + fsync). Se o INSERT falhar, o lote inteiro vai para o spill
+ * e o writer espera {@code retry-delay}. O spill é regravado no banco quando a fila esvazia,
+ * inclusive depois de um restart. O histórico de uma task pode ficar alguns instantes atrás
+ * das escritas.
+ */
+@Slf4j
+@Component
+public class AuditTrail implements DisposableBean {
+
+    private static final String METRIC = "task.audit.rows";
+
+    private final AuditStore store;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long offerTimeoutNanos;
+    private final long flushIntervalNanos;
+    private final long retryDelayMillis;
+    private final Path spillFile;
+    private final Path replayFile;
+    private final BlockingQueue<AuditRow> queue;
+    private final ObjectMapper spillMapper = JsonMapper.builder().addModule(new JavaTimeModule()).build();
+    private final Object spillLock = new Object();
+    private final Counter written;
+    private final Counter spilled;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AuditTrail(AuditStore store,
+                      MeterRegistry meterRegistry,
+                      @Value("${task.audit.enabled:false}") boolean enabled,
+                      @Value("${task.audit.queue-capacity:10000}") int queueCapacity,
+                      @Value("${task.audit.batch-size:500}") int batchSize,
+                      @Value("${task.audit.offer-timeout:PT0.05S}") Duration offerTimeout,
+                      @Value("${task.audit.flush-interval:PT0.2S}") Duration flushInterval,
+                      @Value("${task.audit.retry-delay:PT5S}") Duration retryDelay,
+                      @Value("${task.audit.spill-dir:${java.io.tmpdir}/task-audit}") Path spillDir) {
+        this.store = store;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.retryDelayMillis = retryDelay.toMillis();
+        this.spillFile = spillDir.resolve("audit.spill");
+        this.replayFile = spillDir.resolve("audit.replay");
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.written = meterRegistry.counter(METRIC, "result", "written");
+        this.spilled = meterRegistry.counter(METRIC, "result", "spilled");
+        meterRegistry.gauge("task.audit.queue", queue, BlockingQueue::size);
+
+        this.writer = new Thread(this::run, "audit-writer");
+        writer.setDaemon(true);
+        if (enabled) {
+            try {
+                Files.createDirectories(spillDir);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            writer.start();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(TaskAuditEvent event) {
+        if (!enabled) {
+            return;
+        }
+        List<AuditRow> overflow = null;
+        for (TaskAuditEvent.FieldChange change : event.changes()) {
+            AuditRow row = new AuditRow(event.taskId(), event.actor(), change.field(),
+                    change.oldValue(), change.newValue(), event.at());
+            if (!offer(row)) {
+                if (overflow == null) {
+                    overflow = new ArrayList<>();
+                }
+                overflow.add(row);
+            }
+        }
+        if (overflow != null) {
+            log.warn("Fila de auditoria cheia; {} linha(s) da task {} foram para o spill", overflow.size(), event.taskId());
+            spill(overflow);
+        }
+    }
+
+    public int queued() {
+        return queue.size();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        if (!enabled) {
+            return;
+        }
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        List<AuditRow> pending = new ArrayList<>();
+        queue.drainTo(pending);
+        if (!pending.isEmpty()) {
+            spill(pending);
+        }
+    }
+
+    private boolean offer(AuditRow row) {
+        try {
+            return queue.offer(row, offerTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void run() {
+        List<AuditRow> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                AuditRow first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    if (!write(batch)) {
+                        spill(batch);
+                        pause();
+                    }
+                    batch.clear();
+                } else if (running && !replay()) {
+                    pause();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Erro no writer de auditoria", e);
+                batch.clear();
+            }
+        }
+    }
+
+    private boolean write(List<AuditRow> batch) {
+        try {
+            store.insert(batch);
+            written.increment(batch.size());
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("Falha gravando {} linha(s) de auditoria: {}", batch.size(), e.getMessage());
+            return false;
+        }
+    }
+
+    private void spill(List<AuditRow> rows) {
+        synchronized (spillLock) {
+            try (FileChannel channel = FileChannel.open(spillFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                 BufferedWriter out = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8))) {
+                for (AuditRow row : rows) {
+                    out.write(spillMapper.writeValueAsString(row));
+                    out.newLine();
+                }
+                out.flush();
+                channel.force(false);
+                spilled.increment(rows.size());
+            } catch (IOException e) {
+                log.error("Não foi possível gravar {} linha(s) de auditoria no spill {}", rows.size(), spillFile, e);
+            }
+        }
+    }
+
+    /**
+     * Regrava o spill no banco em lotes. O arquivo é movido antes (as escritas novas vão para
+     * um spill novo); se um lote falhar, o que sobrou volta para o arquivo de replay.
+     */
+    private boolean replay() {
+        synchronized (spillLock) {
+            if (!Files.exists(replayFile)) {
+                if (!Files.exists(spillFile)) {
+                    return true;
+                }
+                try {
+                    Files.move(spillFile, replayFile, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    log.error("Não foi possível mover o spill de auditoria {}", spillFile, e);
+                    return false;
+                }
+            }
+        }
+        try {
+            List<String> lines = Files.readAllLines(replayFile, StandardCharsets.UTF_8);
+            for (int from = 0; from < lines.size(); from += batchSize) {
+                List<String> chunk = lines.subList(from, Math.min(from + batchSize, lines.size()));
+                List<AuditRow> rows = new ArrayList<>(chunk.size());
+                for (String line : chunk) {
+                    if (!line.isBlank()) {
+                        rows.add(spillMapper.readValue(line, AuditRow.class));
+                    }
+                }
+                if (!rows.isEmpty() && !write(rows)) {
+                    Files.write(replayFile, lines.subList(from, lines.size()), StandardCharsets.UTF_8);
+                    return false;
+                }
+            }
+            Files.delete(replayFile);
+            log.info("{} linha(s) de auditoria regravadas a partir do spill", lines.size());
+            return true;
+        } catch (IOException e) {
+            log.error("Não foi possível ler o spill de auditoria {}", replayFile, e);
+            return false;
+        }
+    }
+
+    private void pause() throws InterruptedException {
+        Thread.sleep(retryDelayMillis);
+    }
+}
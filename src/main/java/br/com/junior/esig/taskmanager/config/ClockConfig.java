@@ -0,0 +1,41 @@
+package br.com.junior.esig.taskmanager.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+
+/**
+ * Relógio usado para decidir "hoje" nas regras de prazo. Com {@code task.deadline.zone}
+ * vazio segue o fuso padrão da JVM, relido a cada chamada ({@code Clock.systemDefaultZone()}
+ * fixaria o fuso da subida).
+ */
+@Configuration
+public class ClockConfig {
+
+    @Bean
+    public Clock clock(@Value("${task.deadline.zone:}") String zone) {
+        return zone.isBlank() ? new DefaultZoneClock() : Clock.system(ZoneId.of(zone));
+    }
+
+    private static final class DefaultZoneClock extends Clock {
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.systemDefault();
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return Clock.system(zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.now();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.junior.esig.taskmanager.controller;
+
+import br.com.junior.esig.taskmanager.attachment.AttachmentService;
+import br.com.junior.esig.taskmanager.attachment.AttachmentStreamer;
+import br.com.junior.esig.taskmanager.dto.task.TaskAttachmentResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/tasks/{taskId}/attachments")
+@RequiredArgsConstructor
+@Tag(name = "Anexos", description = "Arquivos anexados às tarefas")
+public class AttachmentController {
+
+    private final AttachmentService attachmentService;
+    private final AttachmentStreamer attachmentStreamer;
+
+    @Operation(summary = "Anexar", description = "O corpo da requisição é o próprio arquivo (não multipart), "
+            + "com o Content-Type dele e o nome em ?filename=")
+    @PostMapping
+    public ResponseEntity<TaskAttachmentResponse> upload(@PathVariable Long taskId,
+                                                         @RequestParam String filename,
+                                                         @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+                                                         HttpServletRequest request) throws IOException {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(attachmentService.upload(taskId, filename, contentType, request.getInputStream()));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<TaskAttachmentResponse>> list(@PathVariable Long taskId) {
+        return ResponseEntity.ok(attachmentService.list(taskId));
+    }
+
+    @Operation(summary = "Baixar", description = "Aceita Range (um intervalo), If-Range e If-None-Match; "
+            + "o ETag é o SHA-256 do conteúdo, repetido em Repr-Digest")
+    @GetMapping("/{attachmentId}")
+    public void download(@PathVariable Long taskId, @PathVariable Long attachmentId,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        attachmentStreamer.send(attachmentService.find(taskId, attachmentId), request, response);
+    }
+}
@@ -2,18 +2,24 @@ package br.com.junior.esig.taskmanager.controller;
 
 import br.com.junior.esig.taskmanager.dto.auth.LoginRequest;
 import br.com.junior.esig.taskmanager.dto.auth.LoginResponse;
+import br.com.junior.esig.taskmanager.dto.auth.RefreshRequest;
+import br.com.junior.esig.taskmanager.exception.ServiceOverloadedException;
+import br.com.junior.esig.taskmanager.exception.TooManyRequestsException;
 import br.com.junior.esig.taskmanager.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -29,26 +35,61 @@ public class AuthController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Login realizado com sucesso"),
             @ApiResponse(responseCode = "401", description = "Credenciais inválidas"),
+            @ApiResponse(responseCode = "429", description = "Muitas tentativas falhas - aguardar o Retry-After"),
+            @ApiResponse(responseCode = "503", description = "Verificação de senhas sobrecarregada"),
             @ApiResponse(responseCode = "500", description = "Erro interno")
     })
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest, HttpServletRequest httpRequest) {
         try {
-            LoginResponse response = authService.login(loginRequest);
+            LoginResponse response = authService.login(loginRequest, httpRequest.getRemoteAddr());
             return ResponseEntity.ok(response);
         } catch (BadCredentialsException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body("Usuário ou senha inválidos");
+        } catch (TooManyRequestsException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()))
+                    .body(e.getMessage());
+        } catch (ServiceOverloadedException e) {
+            return overloaded(e);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Erro interno: " + e.getMessage());
         }
     }
 
+    @Operation(summary = "Renovar token", description = "Troca um refresh token por um novo access token e um novo refresh token")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tokens renovados"),
+            @ApiResponse(responseCode = "401", description = "Refresh token inválido, vencido ou já usado")
+    })
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody RefreshRequest refreshRequest) {
+        try {
+            return ResponseEntity.ok(authService.refresh(refreshRequest.getRefreshToken()));
+        } catch (BadCredentialsException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Logout", description = "Revoga o access token do cabeçalho Authorization e o refresh token informado")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Tokens revogados")
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                       @RequestBody(required = false) RefreshRequest refreshRequest) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+        authService.logout(accessToken, refreshRequest != null ? refreshRequest.getRefreshToken() : null);
+        return ResponseEntity.noContent().build();
+    }
+
     @Operation(summary = "Registro de usuário", description = "Registra um novo usuário comum")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Usuário criado com sucesso"),
             @ApiResponse(responseCode = "400", description = "Dados inválidos ou usuário já existe"),
+            @ApiResponse(responseCode = "503", description = "Hash de senhas sobrecarregado"),
             @ApiResponse(responseCode = "500", description = "Erro interno")
     })
     @PostMapping("/register")
@@ -58,6 +99,8 @@ public class AuthController {
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (ServiceOverloadedException e) {
+            return overloaded(e);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Erro ao registrar usuário");
@@ -80,9 +123,17 @@ public class AuthController {
             return ResponseEntity.badRequest().body(e.getMessage());
         } catch (AccessDeniedException e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        } catch (ServiceOverloadedException e) {
+            return overloaded(e);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Erro ao criar administrador");
         }
     }
-}
\ No newline at end of file
+
+    private ResponseEntity<?> overloaded(ServiceOverloadedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()))
+                .body(e.getMessage());
+    }
+}
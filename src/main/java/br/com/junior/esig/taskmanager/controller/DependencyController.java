@@ -0,0 +1,35 @@
+package br.com.junior.esig.taskmanager.controller;
+
+import br.com.junior.esig.taskmanager.dependency.DependencyService;
+import br.com.junior.esig.taskmanager.dto.task.TaskDependenciesResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/tasks/{taskId}/dependencies")
+@RequiredArgsConstructor
+@Tag(name = "Dependências", description = "Tarefas que bloqueiam outras")
+public class DependencyController {
+
+    private final DependencyService dependencyService;
+
+    @GetMapping
+    public ResponseEntity<TaskDependenciesResponse> get(@PathVariable Long taskId) {
+        return ResponseEntity.ok(dependencyService.dependencies(taskId));
+    }
+
+    @Operation(summary = "Adicionar bloqueador", description = "A tarefa passa a esperar por blockerId; "
+            + "dependências que fechariam um ciclo são recusadas com 400")
+    @PutMapping("/{blockerId}")
+    public ResponseEntity<TaskDependenciesResponse> addBlocker(@PathVariable Long taskId, @PathVariable Long blockerId) {
+        return ResponseEntity.ok(dependencyService.addBlocker(taskId, blockerId));
+    }
+
+    @DeleteMapping("/{blockerId}")
+    public ResponseEntity<TaskDependenciesResponse> removeBlocker(@PathVariable Long taskId, @PathVariable Long blockerId) {
+        return ResponseEntity.ok(dependencyService.removeBlocker(taskId, blockerId));
+    }
+}
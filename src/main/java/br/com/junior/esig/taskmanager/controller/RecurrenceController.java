@@ -0,0 +1,39 @@
+package br.com.junior.esig.taskmanager.controller;
+
+import br.com.junior.esig.taskmanager.dto.task.TaskRecurrenceRequest;
+import br.com.junior.esig.taskmanager.dto.task.TaskRecurrenceResponse;
+import br.com.junior.esig.taskmanager.recurrence.RecurrenceService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/tasks/{taskId}/recurrence")
+@RequiredArgsConstructor
+@Tag(name = "Repetições", description = "Tarefas recorrentes geradas a partir de uma task modelo")
+public class RecurrenceController {
+
+    private final RecurrenceService recurrenceService;
+
+    @GetMapping
+    public ResponseEntity<TaskRecurrenceResponse> get(@PathVariable Long taskId) {
+        return ResponseEntity.ok(recurrenceService.get(taskId));
+    }
+
+    @Operation(summary = "Definir repetição", description = "Cria ou substitui a regra; as ocorrências são geradas "
+            + "em segundo plano, só até o horizonte configurado")
+    @PutMapping
+    public ResponseEntity<TaskRecurrenceResponse> set(@PathVariable Long taskId,
+                                                      @Valid @RequestBody TaskRecurrenceRequest request) {
+        return ResponseEntity.ok(recurrenceService.set(taskId, request));
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> delete(@PathVariable Long taskId) {
+        recurrenceService.delete(taskId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -2,9 +2,19 @@ package br.com.junior.esig.taskmanager.controller;
 
 import br.com.junior.esig.taskmanager.domain.enums.Priority;
 import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import br.com.junior.esig.taskmanager.dto.task.TaskBoardColumn;
+import br.com.junior.esig.taskmanager.dto.task.TaskBoardResponse;
+import br.com.junior.esig.taskmanager.dto.task.TaskCriticalPathResponse;
+import br.com.junior.esig.taskmanager.dto.task.TaskFacetsResponse;
+import br.com.junior.esig.taskmanager.dto.task.TaskField;
+import br.com.junior.esig.taskmanager.dto.task.TaskHistoryPage;
+import br.com.junior.esig.taskmanager.dto.task.TaskMoveRequest;
+import br.com.junior.esig.taskmanager.dto.task.TaskProgressResponse;
 import br.com.junior.esig.taskmanager.dto.task.TaskRequest;
 import br.com.junior.esig.taskmanager.dto.task.TaskResponse;
+import br.com.junior.esig.taskmanager.idempotency.IdempotencyService;
 import br.com.junior.esig.taskmanager.service.TaskService;
+import br.com.junior.esig.taskmanager.tag.TagMatch;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -18,6 +28,7 @@ import org.springframework.web.bind.annotation.*;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Slf4j
 @RestController
@@ -27,77 +38,184 @@ import java.util.Map;
 public class TaskController {
 
     private final TaskService taskService;
+    private final IdempotencyService idempotencyService;
 
-    @Operation(summary = "Listar todas", description = "Retorna tarefas do usuário logado (ou todas se for Admin)")
+    @Operation(summary = "Listar todas", description = "Retorna tarefas do usuário logado (ou todas se for Admin); "
+            + "com ids=1,2,3 busca só essas. Toda leitura aceita fields=id,title,status para trazer só esses campos")
     @GetMapping
-    public ResponseEntity<List<TaskResponse>> getAllTasks() {
-        return ResponseEntity.ok(taskService.findAll());
+    public ResponseEntity<List<TaskResponse>> getAllTasks(@RequestParam(required = false) List<Long> ids,
+                                                          @RequestParam(required = false) String fields) {
+        Set<TaskField> selected = TaskField.parse(fields);
+        return ResponseEntity.ok(ids != null ? taskService.findByIds(ids, selected) : taskService.findAll(selected));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<TaskResponse> getTaskById(@PathVariable Long id) {
-        return ResponseEntity.ok(taskService.findById(id));
+    public ResponseEntity<TaskResponse> getTaskById(@PathVariable Long id, @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(taskService.findById(id, TaskField.parse(fields)));
     }
 
+    @Operation(summary = "Criar", description = "Com o cabeçalho Idempotency-Key, repetições devolvem a primeira resposta "
+            + "(vale também para PUT, PATCH e DELETE)")
     @PostMapping
-    public ResponseEntity<TaskResponse> createTask(@Valid @RequestBody TaskRequest request) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(taskService.create(request));
+    public ResponseEntity<TaskResponse> createTask(@Valid @RequestBody TaskRequest request,
+                                                   @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "POST /tasks", request, TaskResponse.class,
+                () -> ResponseEntity.status(HttpStatus.CREATED).body(taskService.create(request)));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<TaskResponse> updateTask(@PathVariable Long id, @Valid @RequestBody TaskRequest request) {
-        return ResponseEntity.ok(taskService.update(id, request));
+    public ResponseEntity<TaskResponse> updateTask(@PathVariable Long id, @Valid @RequestBody TaskRequest request,
+                                                   @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "PUT /tasks/" + id, request, TaskResponse.class,
+                () -> ResponseEntity.ok(taskService.update(id, request)));
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<TaskResponse> partialUpdate(@PathVariable Long id, @RequestBody Map<String, Object> updates) {
-        return ResponseEntity.ok(taskService.partialUpdate(id, updates));
+    public ResponseEntity<TaskResponse> partialUpdate(@PathVariable Long id, @RequestBody Map<String, Object> updates,
+                                                      @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "PATCH /tasks/" + id, updates, TaskResponse.class,
+                () -> ResponseEntity.ok(taskService.partialUpdate(id, updates)));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteTask(@PathVariable Long id) {
-        taskService.delete(id);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<Void> deleteTask(@PathVariable Long id,
+                                           @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "DELETE /tasks/" + id, null, Void.class, () -> {
+            taskService.delete(id);
+            return ResponseEntity.noContent().build();
+        });
     }
 
+    @Operation(summary = "Concluir", description = "Com cascade=true conclui também todas as subtarefas, num único UPDATE")
     @PatchMapping("/{id}/complete")
-    public ResponseEntity<TaskResponse> completeTask(@PathVariable Long id) {
-        return ResponseEntity.ok(taskService.completeTask(id));
+    public ResponseEntity<TaskResponse> completeTask(@PathVariable Long id,
+                                                     @RequestParam(defaultValue = "false") boolean cascade,
+                                                     @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "PATCH /tasks/" + id + "/complete?cascade=" + cascade, null,
+                TaskResponse.class, () -> ResponseEntity.ok(taskService.completeTask(id, cascade)));
+    }
+
+    @Operation(summary = "Mover", description = "Define a tarefa mãe (mesmo dono, fora da própria subárvore); "
+            + "parentId nulo torna a tarefa raiz. As subtarefas vão junto")
+    @PutMapping("/{id}/parent")
+    public ResponseEntity<TaskResponse> moveTask(@PathVariable Long id, @RequestBody TaskMoveRequest request) {
+        return ResponseEntity.ok(taskService.moveTask(id, request.getParentId()));
+    }
+
+    @GetMapping("/{id}/subtree")
+    public ResponseEntity<List<TaskResponse>> getSubtree(@PathVariable Long id, @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(taskService.subtree(id, TaskField.parse(fields)));
+    }
+
+    @GetMapping("/{id}/subtree/progress")
+    public ResponseEntity<TaskProgressResponse> getSubtreeProgress(@PathVariable Long id) {
+        return ResponseEntity.ok(taskService.progress(id));
+    }
+
+    @Operation(summary = "Histórico", description = "Mudanças de campo da tarefa, da mais recente para a mais antiga; "
+            + "a próxima página vem com cursor=nextCursor")
+    @GetMapping("/{id}/history")
+    public ResponseEntity<TaskHistoryPage> getHistory(@PathVariable Long id,
+                                                      @RequestParam(required = false) Long cursor,
+                                                      @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(taskService.history(id, cursor, size));
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<TaskResponse>> getTasksByStatus(@PathVariable TaskStatus status) {
-        return ResponseEntity.ok(taskService.findByStatus(status));
+    public ResponseEntity<List<TaskResponse>> getTasksByStatus(@PathVariable TaskStatus status, @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(taskService.findByStatus(status, TaskField.parse(fields)));
     }
 
     @GetMapping("/priority/{priority}")
-    public ResponseEntity<List<TaskResponse>> getTasksByPriority(@PathVariable Priority priority) {
-        return ResponseEntity.ok(taskService.findByPriority(priority));
+    public ResponseEntity<List<TaskResponse>> getTasksByPriority(@PathVariable Priority priority, @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(taskService.findByPriority(priority, TaskField.parse(fields)));
     }
 
     @Operation(summary = "Buscar tarefas por usuário", description = "Busca tarefas de um usuário específico (apenas para ADMIN)")
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<TaskResponse>> getTasksByUserId(@PathVariable Long userId) {
-        return ResponseEntity.ok(taskService.findByUserId(userId));
+    public ResponseEntity<List<TaskResponse>> getTasksByUserId(@PathVariable Long userId, @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(taskService.findByUserId(userId, TaskField.parse(fields)));
     }
 
+    @Operation(summary = "Filtrar tarefas", description = "Aceita vários status (status=TODO&status=BLOCKED), prioridade mínima (minPriority=HIGH) "
+            + "e rótulos (tag=cliente&tag=urgente), combinados com tagMatch=ALL (todos, padrão) ou ANY (qualquer um)")
     @GetMapping("/filter")
     public ResponseEntity<List<TaskResponse>> filterTasks(
-            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) Set<TaskStatus> status,
+            @RequestParam(required = false) Priority priority,
+            @RequestParam(required = false) Priority minPriority,
+            @RequestParam(required = false) String responsible,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Set<String> tag,
+            @RequestParam(defaultValue = "ALL") TagMatch tagMatch,
+            @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(taskService.filterTasks(orEmpty(status), priority, minPriority, responsible, startDate, endDate,
+                orEmpty(tag), tagMatch, TaskField.parse(fields)));
+    }
+
+    @Operation(summary = "Contagens do filtro", description = "Total, contagem por status e prioridade e os rótulos mais frequentes "
+            + "para os mesmos parâmetros de /filter")
+    @GetMapping("/filter/facets")
+    public ResponseEntity<TaskFacetsResponse> filterFacets(
+            @RequestParam(required = false) Set<TaskStatus> status,
             @RequestParam(required = false) Priority priority,
+            @RequestParam(required = false) Priority minPriority,
             @RequestParam(required = false) String responsible,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        return ResponseEntity.ok(taskService.filterTasks(status, priority, responsible, startDate, endDate));
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Set<String> tag,
+            @RequestParam(defaultValue = "ALL") TagMatch tagMatch) {
+        return ResponseEntity.ok(taskService.facets(orEmpty(status), priority, minPriority, responsible, startDate, endDate,
+                orEmpty(tag), tagMatch));
+    }
+
+    @Operation(summary = "Quadro kanban", description = "Primeiras tarefas de cada status (perColumn entre 1 e 200) e o total de cada coluna")
+    @GetMapping("/board")
+    public ResponseEntity<TaskBoardResponse> getBoard(@RequestParam(defaultValue = "50") int perColumn, @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(taskService.board(perColumn, TaskField.parse(fields)));
+    }
+
+    @Operation(summary = "Continuação de coluna do quadro", description = "Próximas tarefas de um status a partir do nextCursor da coluna")
+    @GetMapping("/board/{status}")
+    public ResponseEntity<TaskBoardColumn> getBoardColumn(@PathVariable TaskStatus status,
+                                                          @RequestParam String cursor,
+                                                          @RequestParam(defaultValue = "50") int perColumn,
+                                                          @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(taskService.boardColumn(status, cursor, perColumn, TaskField.parse(fields)));
+    }
+
+    @Operation(summary = "Próximas tarefas", description = "Top-k tarefas abertas por prioridade, prazo e antiguidade (count entre 1 e 100)")
+    @GetMapping("/next")
+    public ResponseEntity<List<TaskResponse>> getNextTasks(@RequestParam(defaultValue = "5") int count, @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(taskService.findNext(count, TaskField.parse(fields)));
+    }
+
+    @Operation(summary = "Tarefas liberadas", description = "Tarefas em TODO, IN_PROGRESS ou REVIEW sem nenhuma dependência em aberto")
+    @GetMapping("/actionable")
+    public ResponseEntity<List<TaskResponse>> getActionableTasks(@RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(taskService.findActionable(TaskField.parse(fields)));
+    }
+
+    @Operation(summary = "Caminho crítico", description = "Maior cadeia de tarefas abertas, ligadas por dependências, "
+            + "que termina numa tarefa com prazo até date; ids em ordem de execução")
+    @GetMapping("/critical-path")
+    public ResponseEntity<TaskCriticalPathResponse> getCriticalPath(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(taskService.criticalPath(date));
     }
 
     @GetMapping("/overdue")
-    public ResponseEntity<List<TaskResponse>> getOverdueTasks() {
-        return ResponseEntity.ok(taskService.findOverdueTasks());
+    public ResponseEntity<List<TaskResponse>> getOverdueTasks(@RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(taskService.findOverdueTasks(TaskField.parse(fields)));
     }
 
     @GetMapping("/upcoming")
-    public ResponseEntity<List<TaskResponse>> getUpcomingTasks() {
-        return ResponseEntity.ok(taskService.findUpcomingTasks());
+    public ResponseEntity<List<TaskResponse>> getUpcomingTasks(@RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(taskService.findUpcomingTasks(TaskField.parse(fields)));
+    }
+
+    private static <T> Set<T> orEmpty(Set<T> values) {
+        return values != null ? values : Set.of();
     }
 }
\ No newline at end of file
@@ -0,0 +1,285 @@
+package br.com.junior.esig.taskmanager.deadline;
+
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import br.com.junior.esig.taskmanager.domain.event.TaskChangedEvent;
+import br.com.junior.esig.taskmanager.domain.event.TaskDeadlineEvent;
+import br.com.junior.esig.taskmanager.readmodel.collection.LongObjectHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Date;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Mantém os conjuntos de tasks "próximas" (prazo entre hoje e hoje + 7) e "atrasadas"
+ * (prazo antes de hoje, não concluídas), globais e por dono, para que /upcoming e /overdue
+ * sejam consultas diretas. Cada task tem um timer no {@link TimingWheel} para a próxima
+ * transição (entrar na janela ou vencer); a virada do dia dispara os timers e publica
+ * {@link TaskDeadlineEvent}.
+ * <p>
+ * "Hoje" vem do {@link Clock}; se a data local voltar (fuso ou relógio ajustados), os
+ * conjuntos são recalculados a partir das tasks em memória. Desligado por padrão
+ * ({@code task.deadline.enabled}); reconstruído do banco na subida.
+ */
+@Slf4j
+@Component
+public class DeadlineTracker {
+
+    public static final int UPCOMING_DAYS = 7;
+
+    private static final String SELECT_DEADLINES =
+            "SELECT id, user_id, status, deadline FROM tasks WHERE deadline IS NOT NULL";
+    private static final long NO_OWNER = -1;
+    // Saltos maiores que isso recalculam tudo em vez de avançar dia a dia (sem eventos)
+    private static final long MAX_CATCH_UP_DAYS = 366;
+
+    private enum State { LATER, UPCOMING, OVERDUE, CLOSED }
+
+    private static final class Entry {
+        long ownerId;
+        long deadline;
+        boolean done;
+        State state;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+    private final boolean enabled;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongObjectHashMap<Entry> entries = new LongObjectHashMap<>(1024);
+    private final RoaringBitmap upcoming = new RoaringBitmap();
+    private final RoaringBitmap overdue = new RoaringBitmap();
+    private final LongObjectHashMap<RoaringBitmap> upcomingByOwner = new LongObjectHashMap<>(1024);
+    private final LongObjectHashMap<RoaringBitmap> overdueByOwner = new LongObjectHashMap<>(1024);
+    private final List<TaskDeadlineEvent> pending = new ArrayList<>();
+    private TimingWheel wheel;
+    private volatile long today;
+    private volatile boolean ready;
+
+    public DeadlineTracker(JdbcTemplate jdbcTemplate,
+                           ApplicationEventPublisher eventPublisher,
+                           Clock clock,
+                           @Value("${task.deadline.enabled:false}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+        this.enabled = enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            long day = LocalDate.now(clock).toEpochDay();
+            jdbcTemplate.query(SELECT_DEADLINES, rs -> {
+                Entry entry = new Entry();
+                Long userId = rs.getObject("user_id", Long.class);
+                Date deadline = rs.getDate("deadline");
+                entry.ownerId = userId != null ? userId : NO_OWNER;
+                entry.deadline = deadline.toLocalDate().toEpochDay();
+                entry.done = TaskStatus.DONE.name().equals(rs.getString("status"));
+                entries.put(rs.getLong("id"), entry);
+            });
+            replaceAll(day);
+            ready = true;
+            log.info("Prazos carregados: {} tasks, {} próximas, {} atrasadas",
+                    entries.size(), upcoming.getCardinality(), overdue.getCardinality());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(TaskChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        advance();
+        lock.writeLock().lock();
+        try {
+            if (wheel == null) {
+                // A carga inicial ainda não começou e vai ler esta alteração do banco
+                return;
+            }
+            long id = event.taskId();
+            Entry entry = entries.get(id);
+            if (entry != null) {
+                wheel.cancel(id);
+                leave(id, entry);
+            }
+            if (event.deleted() || event.deadline() == null) {
+                entries.remove(id);
+                return;
+            }
+            if (entry == null) {
+                entry = new Entry();
+                entries.put(id, entry);
+            }
+            entry.ownerId = event.userId() != null ? event.userId() : NO_OWNER;
+            entry.deadline = event.deadline().toEpochDay();
+            entry.done = event.status() == TaskStatus.DONE;
+            place(id, entry, today, false);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Ids com prazo entre hoje e hoje + 7, do dono ou de todos ({@code ownerId} nulo). */
+    public long[] upcoming(Long ownerId) {
+        return lookup(upcoming, upcomingByOwner, ownerId);
+    }
+
+    /** Ids com prazo vencido e não concluídos, do dono ou de todos ({@code ownerId} nulo). */
+    public long[] overdue(Long ownerId) {
+        return lookup(overdue, overdueByOwner, ownerId);
+    }
+
+    /**
+     * Acompanha o relógio: dispara os timers dos dias que passaram. Também é chamado em
+     * cada consulta, então a virada da meia-noite vale antes da próxima execução agendada.
+     */
+    @Scheduled(fixedDelayString = "${task.deadline.tick-interval:PT1M}")
+    public void advance() {
+        if (!ready) {
+            return;
+        }
+        long now = LocalDate.now(clock).toEpochDay();
+        if (now == today) {
+            return;
+        }
+        List<TaskDeadlineEvent> events;
+        lock.writeLock().lock();
+        try {
+            if (now > today && now - today <= MAX_CATCH_UP_DAYS) {
+                wheel.advanceTo(now, this::fire);
+                today = now;
+            } else if (now != today) {
+                log.warn("Data local mudou de {} para {}; recalculando prazos",
+                        LocalDate.ofEpochDay(today), LocalDate.ofEpochDay(now));
+                replaceAll(now);
+            }
+            events = List.copyOf(pending);
+            pending.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        events.forEach(eventPublisher::publishEvent);
+    }
+
+    private long[] lookup(RoaringBitmap all, LongObjectHashMap<RoaringBitmap> byOwner, Long ownerId) {
+        advance();
+        lock.readLock().lock();
+        try {
+            RoaringBitmap ids = ownerId == null ? all : byOwner.get(ownerId);
+            if (ids == null) {
+                return new long[0];
+            }
+            long[] result = new long[ids.getCardinality()];
+            PeekableIntIterator iterator = ids.getIntIterator();
+            for (int i = 0; iterator.hasNext(); i++) {
+                result[i] = iterator.next();
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void fire(long id, long day) {
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            return;
+        }
+        leave(id, entry);
+        place(id, entry, day, true);
+    }
+
+    // Recalcula estados e timers de todas as tasks para o dia informado
+    private void replaceAll(long day) {
+        wheel = new TimingWheel(day);
+        today = day;
+        upcoming.clear();
+        overdue.clear();
+        upcomingByOwner.clear();
+        overdueByOwner.clear();
+        entries.forEach((id, entry) -> place(id, entry, day, false));
+    }
+
+    private void place(long id, Entry entry, long day, boolean notify) {
+        State previous = entry.state;
+        if (entry.deadline > day + UPCOMING_DAYS) {
+            entry.state = State.LATER;
+            wheel.schedule(id, entry.deadline - UPCOMING_DAYS);
+        } else if (entry.deadline >= day) {
+            entry.state = State.UPCOMING;
+            add(upcoming, upcomingByOwner, id, entry.ownerId);
+            wheel.schedule(id, entry.deadline + 1);
+        } else if (!entry.done) {
+            entry.state = State.OVERDUE;
+            add(overdue, overdueByOwner, id, entry.ownerId);
+        } else {
+            entry.state = State.CLOSED;
+        }
+
+        if (notify && !entry.done && entry.state != previous
+                && (entry.state == State.UPCOMING || entry.state == State.OVERDUE)) {
+            pending.add(new TaskDeadlineEvent(id, entry.ownerId == NO_OWNER ? null : entry.ownerId,
+                    LocalDate.ofEpochDay(entry.deadline),
+                    entry.state == State.UPCOMING ? TaskDeadlineEvent.Type.DUE_SOON : TaskDeadlineEvent.Type.OVERDUE));
+        }
+    }
+
+    private void leave(long id, Entry entry) {
+        if (entry.state == State.UPCOMING) {
+            remove(upcoming, upcomingByOwner, id, entry.ownerId);
+        } else if (entry.state == State.OVERDUE) {
+            remove(overdue, overdueByOwner, id, entry.ownerId);
+        }
+    }
+
+    private static void add(RoaringBitmap all, LongObjectHashMap<RoaringBitmap> byOwner, long id, long ownerId) {
+        int key = Math.toIntExact(id);
+        all.add(key);
+        if (ownerId != NO_OWNER) {
+            byOwner.computeIfAbsent(ownerId, owner -> new RoaringBitmap()).add(key);
+        }
+    }
+
+    private static void remove(RoaringBitmap all, LongObjectHashMap<RoaringBitmap> byOwner, long id, long ownerId) {
+        int key = Math.toIntExact(id);
+        all.remove(key);
+        RoaringBitmap owned = ownerId != NO_OWNER ? byOwner.get(ownerId) : null;
+        if (owned != null) {
+            owned.remove(key);
+            if (owned.isEmpty()) {
+                byOwner.remove(ownerId);
+            }
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package br.com.junior.esig.taskmanager.deadline;
+
+import br.com.junior.esig.taskmanager.readmodel.collection.LongIntHashMap;
+
+import java.util.Arrays;
+
+/**
+ * Timing wheel hierárquico de 4 níveis × 64 posições, com tick de 1 dia: o nível 0 cobre
+ * 64 dias, o 1 cobre 4.096 e assim por diante. Cada id tem no máximo um timer; inserir e
+ * cancelar são O(1) (lista duplamente encadeada por posição, em arrays primitivos).
+ * <p>
+ * Ao avançar, as posições dos níveis superiores que chegam ao seu início descem
+ * ("cascade") para os níveis inferiores, e a posição do dia no nível 0 expira.
+ * Não é thread-safe.
+ */
+public class TimingWheel {
+
+    /** Recebe os timers vencidos, na ordem dos ticks. */
+    @FunctionalInterface
+    public interface Expiry {
+        void expired(long id, long tick);
+    }
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final int NIL = -1;
+
+    private final int[] heads = new int[LEVELS * SLOTS];
+    private final LongIntHashMap nodeById = new LongIntHashMap(1024, NIL);
+
+    private long[] ids = new long[1024];
+    private long[] ticks = new long[1024];
+    private int[] buckets = new int[1024];
+    private int[] prev = new int[1024];
+    private int[] next = new int[1024];
+    private int allocated;
+    private int freeHead = NIL;
+    private long[] expired = new long[64];
+
+    private long current;
+
+    public TimingWheel(long startTick) {
+        reset(startTick);
+    }
+
+    public long current() {
+        return current;
+    }
+
+    public int size() {
+        return nodeById.size();
+    }
+
+    /**
+     * Agenda (ou reagenda) o timer do id.
+     *
+     * @return {@code false} se o tick já passou; nesse caso nada fica agendado
+     */
+    public boolean schedule(long id, long tick) {
+        cancel(id);
+        if (tick <= current) {
+            return false;
+        }
+        int node = allocate();
+        ids[node] = id;
+        ticks[node] = tick;
+        nodeById.put(id, node);
+        link(node);
+        return true;
+    }
+
+    public boolean cancel(long id) {
+        int node = nodeById.remove(id);
+        if (node == NIL) {
+            return false;
+        }
+        unlink(node);
+        release(node);
+        return true;
+    }
+
+    /**
+     * Avança tick a tick até {@code tick}, entregando os timers vencidos. O callback pode
+     * agendar e cancelar timers, inclusive do mesmo id.
+     */
+    public void advanceTo(long tick, Expiry expiry) {
+        while (current < tick) {
+            current++;
+            for (int level = LEVELS - 1; level >= 1; level--) {
+                if ((current & ((1L << (BITS * level)) - 1)) == 0) {
+                    cascade(level * SLOTS + slot(current, level));
+                }
+            }
+            expire(slot(current, 0), expiry);
+        }
+    }
+
+    /** Descarta todos os timers e reposiciona o relógio (para voltar no tempo). */
+    public void reset(long tick) {
+        Arrays.fill(heads, NIL);
+        nodeById.clear();
+        allocated = 0;
+        freeHead = NIL;
+        current = tick;
+    }
+
+    private void cascade(int bucket) {
+        int node = detach(bucket);
+        while (node != NIL) {
+            int following = next[node];
+            link(node);
+            node = following;
+        }
+    }
+
+    private void expire(int bucket, Expiry expiry) {
+        int count = 0;
+        int node = detach(bucket);
+        while (node != NIL) {
+            int following = next[node];
+            if (ticks[node] > current) {
+                // Só acontece com ticks além do alcance do último nível
+                link(node);
+            } else {
+                if (count == expired.length) {
+                    expired = Arrays.copyOf(expired, count << 1);
+                }
+                expired[count++] = ids[node];
+                nodeById.remove(ids[node]);
+                release(node);
+            }
+            node = following;
+        }
+        // Callbacks só depois de esvaziar a posição: podem agendar e cancelar qualquer id
+        for (int i = 0; i < count; i++) {
+            expiry.expired(expired[i], current);
+        }
+    }
+
+    private void link(int node) {
+        long delta = ticks[node] - current;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (BITS * (level + 1))) {
+            level++;
+        }
+        int bucket = level * SLOTS + slot(ticks[node], level);
+        buckets[node] = bucket;
+        prev[node] = NIL;
+        next[node] = heads[bucket];
+        if (heads[bucket] != NIL) {
+            prev[heads[bucket]] = node;
+        }
+        heads[bucket] = node;
+    }
+
+    private void unlink(int node) {
+        if (prev[node] != NIL) {
+            next[prev[node]] = next[node];
+        } else {
+            heads[buckets[node]] = next[node];
+        }
+        if (next[node] != NIL) {
+            prev[next[node]] = prev[node];
+        }
+    }
+
+    // Solta a lista inteira da posição; os nós continuam encadeados por next
+    private int detach(int bucket) {
+        int head = heads[bucket];
+        heads[bucket] = NIL;
+        return head;
+    }
+
+    private static int slot(long tick, int level) {
+        return (int) (tick >> (BITS * level)) & SLOT_MASK;
+    }
+
+    private int allocate() {
+        if (freeHead != NIL) {
+            int node = freeHead;
+            freeHead = next[node];
+            return node;
+        }
+        if (allocated == ids.length) {
+            int capacity = ids.length << 1;
+            ids = Arrays.copyOf(ids, capacity);
+            ticks = Arrays.copyOf(ticks, capacity);
+            buckets = Arrays.copyOf(buckets, capacity);
+            prev = Arrays.copyOf(prev, capacity);
+            next = Arrays.copyOf(next, capacity);
+        }
+        return allocated++;
+    }
+
+    private void release(int node) {
+        next[node] = freeHead;
+        freeHead = node;
+    }
+}
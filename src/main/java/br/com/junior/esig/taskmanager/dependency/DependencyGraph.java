@@ -0,0 +1,218 @@
+package br.com.junior.esig.taskmanager.dependency;
+
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import br.com.junior.esig.taskmanager.domain.event.TaskChangedEvent;
+import br.com.junior.esig.taskmanager.domain.event.TaskDependencyEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * {@link TaskGraph} de todas as tasks e dependências, reconstruído do banco na subida e a
+ * cada {@code refresh-interval} e mantido pelos {@link TaskChangedEvent} e
+ * {@link TaskDependencyEvent} depois do commit. A reconstrução periódica traz o que este nó
+ * não viu: escritas de outras instâncias ou feitas fora do TaskService. Ela lê o banco sem
+ * segurar o lock e, na troca, reaplica os eventos que chegaram durante a leitura.
+ * Responde às tasks acionáveis e ao caminho crítico sem consultar {@code task_dependencies};
+ * a checagem de ciclo das escritas fica no banco ({@link DependencyService}), que também vê
+ * as arestas gravadas por outras instâncias.
+ * <p>
+ * Desligado por padrão ({@code task.dependencies.graph.enabled}); enquanto não estiver
+ * pronto, as mesmas respostas saem do banco. O caminho crítico monta um grafo temporário só
+ * com as tasks abertas que vencem até a data (do dono, ou de todos para o ADMIN) e as abertas
+ * que as bloqueiam, direta ou indiretamente.
+ */
+@Slf4j
+@Component
+public class DependencyGraph {
+
+    private static final String SELECT_TASKS = "SELECT id, user_id, status, deadline FROM tasks";
+    private static final String SELECT_EDGES = "SELECT blocker_id, blocked_id FROM task_dependencies";
+    // Tasks abertas com prazo até a data (filtro de dono opcional) e as abertas que estão antes
+    // delas nas cadeias, de qualquer dono. Tasks DONE cortam a cadeia e não mudam o caminho
+    private static final String UPSTREAM = "WITH RECURSIVE upstream (id) AS ("
+            + "SELECT t.id FROM tasks t WHERE (t.status IS NULL OR t.status <> 'DONE') AND t.deadline <= ?%s "
+            + "UNION SELECT d.blocker_id FROM task_dependencies d JOIN upstream u ON d.blocked_id = u.id "
+            + "JOIN tasks b ON b.id = d.blocker_id WHERE b.status IS NULL OR b.status <> 'DONE') ";
+    private static final String SELECT_PATH_TASKS = UPSTREAM
+            + "SELECT t.id, t.user_id, t.status, t.deadline FROM tasks t JOIN upstream u ON u.id = t.id";
+    private static final String SELECT_PATH_EDGES = UPSTREAM
+            + "SELECT d.blocker_id, d.blocked_id FROM task_dependencies d JOIN upstream u ON u.id = d.blocked_id "
+            + "WHERE d.blocker_id IN (SELECT id FROM upstream)";
+    private static final String BY_OWNER = " AND t.user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private TaskGraph graph = new TaskGraph();
+    // Eventos recebidos durante uma reconstrução, reaplicados no grafo novo; nulo fora dela
+    private List<Consumer<TaskGraph>> replay;
+    private volatile boolean ready;
+
+    public DependencyGraph(JdbcTemplate jdbcTemplate,
+                           @Value("${task.dependencies.graph.enabled:false}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${task.dependencies.graph.refresh-interval:PT10M}")
+    public void refresh() {
+        if (ready) {
+            rebuild();
+        }
+    }
+
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            replay = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        TaskGraph loaded = null;
+        try {
+            loaded = load(SELECT_TASKS, SELECT_EDGES);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (loaded != null) {
+                    // Reaplicar é idempotente: o que a leitura já viu não muda
+                    for (Consumer<TaskGraph> event : replay) {
+                        event.accept(loaded);
+                    }
+                    graph = loaded;
+                    ready = true;
+                    log.info("Grafo de dependências carregado: {} tasks, {} arestas em {} ms",
+                            loaded.size(), loaded.edges(), (System.nanoTime() - start) / 1_000_000);
+                }
+                replay = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(TaskChangedEvent event) {
+        if (enabled) {
+            apply(target -> {
+                if (event.deleted()) {
+                    target.remove(event.taskId());
+                } else {
+                    target.upsert(event.taskId(), event.userId() != null ? event.userId() : TaskGraph.NO_OWNER,
+                            event.status(), event.deadline());
+                }
+            });
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(TaskDependencyEvent event) {
+        if (enabled) {
+            apply(target -> {
+                if (!event.added()) {
+                    target.removeEdge(event.blockerId(), event.blockedId());
+                } else if (!target.contains(event.blockerId()) || !target.contains(event.blockedId())) {
+                    // Task gravada fora do TaskService: entra na próxima reconstrução (refresh-interval)
+                    log.warn("Dependência {} → {} ignorada: task fora do grafo", event.blockerId(), event.blockedId());
+                } else if (!target.addEdge(event.blockerId(), event.blockedId())) {
+                    log.warn("Dependência {} → {} ignorada: fecharia um ciclo", event.blockerId(), event.blockedId());
+                }
+            });
+        }
+    }
+
+    private void apply(Consumer<TaskGraph> event) {
+        lock.writeLock().lock();
+        try {
+            event.accept(graph);
+            if (replay != null) {
+                replay.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Tasks acionáveis do dono, ou de todos com {@code ownerId} nulo, em ordem de id. */
+    public long[] actionable(Long ownerId) {
+        lock.readLock().lock();
+        try {
+            return graph.actionable(ownerId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ver {@link TaskGraph#criticalPath}. Sem o grafo pronto, monta um temporário só com as
+     * tasks que podem estar no caminho: as abertas que vencem até a data e as que as bloqueiam.
+     */
+    public long[] criticalPath(Long ownerId, LocalDate date) {
+        if (!ready) {
+            String filter = ownerId != null ? BY_OWNER : "";
+            Object[] args = ownerId != null ? new Object[]{Date.valueOf(date), ownerId} : new Object[]{Date.valueOf(date)};
+            return load(SELECT_PATH_TASKS.formatted(filter), SELECT_PATH_EDGES.formatted(filter), args)
+                    .criticalPath(ownerId, date);
+        }
+        lock.readLock().lock();
+        try {
+            return graph.criticalPath(ownerId, date);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private TaskGraph load(String tasksSql, String edgesSql, Object... args) {
+        TaskGraph loaded = new TaskGraph();
+        jdbcTemplate.query(tasksSql, rs -> {
+            Long userId = rs.getObject("user_id", Long.class);
+            String status = rs.getString("status");
+            Date deadline = rs.getDate("deadline");
+            loaded.upsert(rs.getLong("id"), userId != null ? userId : TaskGraph.NO_OWNER,
+                    status != null ? TaskStatus.valueOf(status) : null,
+                    deadline != null ? deadline.toLocalDate() : null);
+        }, args);
+
+        long[][] edges = {new long[1024], new long[1024]};
+        int[] count = {0};
+        jdbcTemplate.query(edgesSql, rs -> {
+            if (count[0] == edges[0].length) {
+                edges[0] = Arrays.copyOf(edges[0], count[0] * 2);
+                edges[1] = Arrays.copyOf(edges[1], count[0] * 2);
+            }
+            edges[0][count[0]] = rs.getLong("blocker_id");
+            edges[1][count[0]++] = rs.getLong("blocked_id");
+        }, args);
+        int discarded = loaded.addEdges(edges[0], edges[1], count[0]);
+        if (discarded > 0) {
+            log.warn("{} dependência(s) descartadas na carga do grafo (ciclo ou task inexistente)", discarded);
+        }
+        return loaded;
+    }
+}
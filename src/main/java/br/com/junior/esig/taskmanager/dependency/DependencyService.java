@@ -0,0 +1,127 @@
+package br.com.junior.esig.taskmanager.dependency;
+
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import br.com.junior.esig.taskmanager.domain.event.TaskAuditEvent;
+import br.com.junior.esig.taskmanager.domain.event.TaskDependencyEvent;
+import br.com.junior.esig.taskmanager.domain.model.Task;
+import br.com.junior.esig.taskmanager.domain.model.TaskDependency;
+import br.com.junior.esig.taskmanager.dto.task.TaskDependenciesResponse;
+import br.com.junior.esig.taskmanager.exception.InvalidRequestException;
+import br.com.junior.esig.taskmanager.repository.TaskDependencyRepository;
+import br.com.junior.esig.taskmanager.repository.UserRepository;
+import br.com.junior.esig.taskmanager.service.TaskService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/** Arestas "bloqueia / bloqueado por" entre tasks; o usuário precisa acessar as duas pontas. */
+@Slf4j
+@Service
+public class DependencyService {
+
+    private final TaskService taskService;
+    private final TaskDependencyRepository dependencyRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+    private final TransactionTemplate transactionTemplate;
+
+    public DependencyService(TaskService taskService,
+                             TaskDependencyRepository dependencyRepository,
+                             UserRepository userRepository,
+                             ApplicationEventPublisher eventPublisher,
+                             Clock clock,
+                             PlatformTransactionManager transactionManager) {
+        this.taskService = taskService;
+        this.dependencyRepository = dependencyRepository;
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * {@code taskId} passa a esperar por {@code blockerId}; repetir a chamada não tem efeito.
+     * <p>
+     * Duas inclusões concorrentes podem fechar juntas um ciclo que nenhuma vê sozinha. A linha
+     * do dono de cada ponta fica travada ({@code FOR UPDATE}, em ordem de id) até o commit, em
+     * qualquer instância, e a checagem lê o banco, que já tem as arestas gravadas pelas
+     * outras; o grafo em memória deste nó pode não ter. Arestas entre tasks de donos
+     * diferentes (só o ADMIN cria) não são cobertas por essa trava.
+     */
+    public TaskDependenciesResponse addBlocker(Long taskId, Long blockerId) {
+        return transactionTemplate.execute(status -> {
+            Task blocked = taskService.findAccessible(taskId);
+            Task blocker = taskService.findAccessible(blockerId);
+            if (!dependencyRepository.existsByBlockerIdAndBlockedId(blockerId, taskId)) {
+                lockOwners(blocked, blocker);
+                if (blockerId.equals(taskId) || dependencyRepository.countReachable(taskId, blockerId) > 0) {
+                    throw new InvalidRequestException("A dependência fecharia um ciclo: a task " + blockerId
+                            + " já espera, direta ou indiretamente, pela task " + taskId);
+                }
+                dependencyRepository.save(TaskDependency.builder()
+                        .blocker(blocker)
+                        .blocked(blocked)
+                        .createdAt(clock.instant())
+                        .build());
+                publish(blockerId, taskId, true);
+                log.info("Task {} agora bloqueia a task {}", blockerId, taskId);
+            }
+            return dependencies(taskId);
+        });
+    }
+
+    public TaskDependenciesResponse removeBlocker(Long taskId, Long blockerId) {
+        return transactionTemplate.execute(status -> {
+            taskService.findAccessible(taskId);
+            if (dependencyRepository.deleteEdge(blockerId, taskId) > 0) {
+                publish(blockerId, taskId, false);
+            }
+            return dependencies(taskId);
+        });
+    }
+
+    public TaskDependenciesResponse dependencies(Long taskId) {
+        taskService.findAccessible(taskId);
+        List<Long> blockedBy = new ArrayList<>();
+        List<Long> openBlockers = new ArrayList<>();
+        List<Long> blocks = new ArrayList<>();
+        for (TaskDependencyRepository.Edge edge : dependencyRepository.findEdges(taskId)) {
+            if (edge.getBlockedId().equals(taskId)) {
+                blockedBy.add(edge.getBlockerId());
+                if (edge.getBlockerStatus() != TaskStatus.DONE) openBlockers.add(edge.getBlockerId());
+            } else {
+                blocks.add(edge.getBlockedId());
+            }
+        }
+        return TaskDependenciesResponse.builder()
+                .taskId(taskId)
+                .blockedBy(blockedBy)
+                .openBlockers(openBlockers)
+                .blocks(blocks)
+                .build();
+    }
+
+    private void lockOwners(Task... tasks) {
+        TreeSet<Long> owners = new TreeSet<>();
+        for (Task task : tasks) {
+            if (task.getUser() != null) owners.add(task.getUser().getId());
+        }
+        owners.forEach(userRepository::lockById);
+    }
+
+    private void publish(Long blockerId, Long blockedId, boolean added) {
+        eventPublisher.publishEvent(new TaskDependencyEvent(blockerId, blockedId, added));
+        String blocker = blockerId.toString();
+        eventPublisher.publishEvent(new TaskAuditEvent(blockedId, SecurityContextHolder.getContext().getAuthentication().getName(),
+                clock.instant(), List.of(new TaskAuditEvent.FieldChange("blockedBy", added ? null : blocker, added ? blocker : null))));
+    }
+}
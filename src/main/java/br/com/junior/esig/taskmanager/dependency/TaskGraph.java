@@ -0,0 +1,489 @@
+package br.com.junior.esig.taskmanager.dependency;
+
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import br.com.junior.esig.taskmanager.readmodel.NextTaskIndex;
+import br.com.junior.esig.taskmanager.readmodel.collection.LongObjectHashMap;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Grafo "bloqueia / bloqueado por" entre tasks, mantido incrementalmente:
+ * <ul>
+ *   <li>ordem topológica dinâmica (Pearce-Kelly): uma aresta nova só reordena os nós entre
+ *   as posições das duas pontas, e a mesma busca detecta o ciclo antes de alterar algo;</li>
+ *   <li>por task, quantos bloqueadores ainda estão abertos e a profundidade (maior cadeia de
+ *   tasks abertas que termina nela). Concluir, reabrir, excluir ou ligar tasks repropaga só a
+ *   partir do nó alterado, em ordem topológica, enquanto a profundidade mudar.</li>
+ * </ul>
+ * Não é thread-safe; o {@link DependencyGraph} serializa o acesso.
+ */
+public class TaskGraph {
+
+    public static final long NO_OWNER = -1;
+
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+    private static final Node[] NONE = new Node[0];
+    private static final Comparator<Node> BY_ORD = Comparator.comparingInt(n -> n.ord);
+
+    private static final class Node {
+        final long id;
+        long owner;
+        TaskStatus status;
+        long deadline;
+        int ord;
+        int depth;
+        int openBlockers;
+        boolean listed;
+        boolean queued;
+        int mark;
+        Node[] in = NONE;
+        int inSize;
+        Node[] out = NONE;
+        int outSize;
+
+        Node(long id) {
+            this.id = id;
+        }
+
+        boolean open() {
+            return status != TaskStatus.DONE;
+        }
+    }
+
+    private final LongObjectHashMap<Node> nodes = new LongObjectHashMap<>(1024);
+    private final RoaringBitmap actionable = new RoaringBitmap();
+    private final LongObjectHashMap<RoaringBitmap> actionableByOwner = new LongObjectHashMap<>(1024);
+    private final PriorityQueue<Node> pending = new PriorityQueue<>(BY_ORD);
+    private Node[] byOrd = new Node[1024];
+    private int nextOrd;
+    private int generation;
+    private long edges;
+
+    public int size() {
+        return nodes.size();
+    }
+
+    public long edges() {
+        return edges;
+    }
+
+    public boolean contains(long id) {
+        return nodes.get(id) != null;
+    }
+
+    /** Inclui a task ou atualiza dono, status e prazo; mudar entre aberta e DONE repropaga às dependentes. */
+    public void upsert(long id, long owner, TaskStatus status, LocalDate deadline) {
+        Node node = nodes.get(id);
+        if (node == null) {
+            node = new Node(id);
+            node.owner = owner;
+            node.status = status;
+            node.deadline = deadline != null ? deadline.toEpochDay() : NO_DEADLINE;
+            node.depth = node.open() ? 1 : 0;
+            place(node, appendOrd());
+            nodes.put(id, node);
+            list(node);
+            return;
+        }
+        boolean wasOpen = node.open();
+        unlist(node);
+        node.owner = owner;
+        node.status = status;
+        node.deadline = deadline != null ? deadline.toEpochDay() : NO_DEADLINE;
+        list(node);
+        if (wasOpen != node.open()) {
+            int delta = node.open() ? 1 : -1;
+            for (int i = 0; i < node.outSize; i++) {
+                Node dependent = node.out[i];
+                dependent.openBlockers += delta;
+                relist(dependent);
+            }
+            schedule(node);
+            drain();
+        }
+    }
+
+    public void remove(long id) {
+        Node node = nodes.remove(id);
+        if (node == null) {
+            return;
+        }
+        unlist(node);
+        for (int i = 0; i < node.outSize; i++) {
+            Node dependent = node.out[i];
+            detach(dependent, node, false);
+            if (node.open()) {
+                dependent.openBlockers--;
+                relist(dependent);
+            }
+            schedule(dependent);
+        }
+        for (int i = 0; i < node.inSize; i++) {
+            detach(node.in[i], node, true);
+        }
+        edges -= node.inSize + node.outSize;
+        byOrd[node.ord] = null;
+        drain();
+    }
+
+    /** Se {@code blocker → blocked} fecharia um ciclo, isto é, se blocked já chega a blocker. */
+    public boolean wouldCreateCycle(long blocker, long blocked) {
+        if (blocker == blocked) {
+            return true;
+        }
+        Node from = nodes.get(blocked);
+        Node to = nodes.get(blocker);
+        if (from == null || to == null || to.ord < from.ord) {
+            // Na ordem topológica, blocked só alcança nós depois dele
+            return false;
+        }
+        return collectForward(from, to, ++generation, new ArrayList<>()) == null;
+    }
+
+    /**
+     * Liga {@code blocker → blocked}. Devolve false, sem alterar nada, se a aresta fecharia
+     * um ciclo; repetir uma aresta existente não tem efeito.
+     */
+    public boolean addEdge(long blocker, long blocked) {
+        Node from = require(blocker);
+        Node to = require(blocked);
+        if (from == to) {
+            return false;
+        }
+        for (int i = 0; i < from.outSize; i++) {
+            if (from.out[i] == to) return true;
+        }
+        if (!reorder(from, to)) {
+            return false;
+        }
+        link(from, to);
+        if (from.open()) {
+            to.openBlockers++;
+            relist(to);
+        }
+        schedule(to);
+        drain();
+        return true;
+    }
+
+    public void removeEdge(long blocker, long blocked) {
+        Node from = nodes.get(blocker);
+        Node to = nodes.get(blocked);
+        if (from == null || to == null || !detach(from, to, true)) {
+            return;
+        }
+        detach(to, from, false);
+        edges--;
+        if (from.open()) {
+            to.openBlockers--;
+            relist(to);
+        }
+        schedule(to);
+        drain();
+    }
+
+    /**
+     * Carga inicial: liga todas as arestas sem reordenar uma a uma e recalcula ordem, contagens
+     * e profundidades de uma vez (Kahn), em O(nós + arestas). Arestas com pontas desconhecidas
+     * ou que fecham ciclo são descartadas; devolve quantas.
+     */
+    public int addEdges(long[] blockers, long[] blocked, int count) {
+        int discarded = 0;
+        for (int i = 0; i < count; i++) {
+            Node from = nodes.get(blockers[i]);
+            Node to = nodes.get(blocked[i]);
+            if (from == null || to == null || from == to) {
+                discarded++;
+                continue;
+            }
+            link(from, to);
+        }
+
+        List<Node> order = new ArrayList<>(nodes.size());
+        int[] indegree = new int[nextOrd];
+        ArrayDeque<Node> ready = new ArrayDeque<>();
+        for (int i = 0; i < nextOrd; i++) {
+            Node node = byOrd[i];
+            if (node == null) continue;
+            indegree[i] = node.inSize;
+            if (node.inSize == 0) ready.add(node);
+        }
+        while (!ready.isEmpty()) {
+            Node node = ready.poll();
+            order.add(node);
+            for (int i = 0; i < node.outSize; i++) {
+                Node dependent = node.out[i];
+                if (--indegree[dependent.ord] == 0) ready.add(dependent);
+            }
+        }
+        if (order.size() < nodes.size()) {
+            // Sobraram nós em ciclo: entram no fim e as arestas que voltam na ordem caem
+            for (int i = 0; i < nextOrd; i++) {
+                if (byOrd[i] != null && indegree[i] > 0) order.add(byOrd[i]);
+            }
+        }
+
+        byOrd = new Node[Math.max(1024, order.size() * 2)];
+        nextOrd = 0;
+        for (Node node : order) {
+            place(node, nextOrd++);
+        }
+        for (Node node : order) {
+            for (int i = node.outSize - 1; i >= 0; i--) {
+                Node dependent = node.out[i];
+                if (dependent.ord < node.ord) {
+                    detach(node, dependent, true);
+                    detach(dependent, node, false);
+                    edges--;
+                    discarded++;
+                }
+            }
+        }
+        for (Node node : order) {
+            int open = 0;
+            int depth = 0;
+            for (int i = 0; i < node.inSize; i++) {
+                if (node.in[i].open()) open++;
+                depth = Math.max(depth, node.in[i].depth);
+            }
+            node.openBlockers = open;
+            node.depth = node.open() ? depth + 1 : 0;
+            relist(node);
+        }
+        return discarded;
+    }
+
+    /** Tasks abertas em status acionável sem nenhum bloqueador aberto, em ordem de id. */
+    public long[] actionable(Long owner) {
+        RoaringBitmap bitmap = owner == null ? actionable : actionableByOwner.get(owner);
+        if (bitmap == null) {
+            return new long[0];
+        }
+        long[] ids = new long[bitmap.getCardinality()];
+        PeekableIntIterator iterator = bitmap.getIntIterator();
+        for (int i = 0; iterator.hasNext(); i++) {
+            ids[i] = iterator.next();
+        }
+        return ids;
+    }
+
+    /**
+     * Caminho crítico até {@code date}: entre as tasks abertas do dono com prazo até a data,
+     * a que termina a maior cadeia de tasks abertas (cada uma conta um passo), e a cadeia em
+     * ordem de execução. Empates vão para o prazo mais cedo e depois para o menor id.
+     */
+    public long[] criticalPath(Long owner, LocalDate date) {
+        long lastDay = date.toEpochDay();
+        Node end = null;
+        for (int i = 0; i < nextOrd; i++) {
+            Node node = byOrd[i];
+            if (node == null || !node.open() || node.deadline > lastDay || (owner != null && node.owner != owner)) {
+                continue;
+            }
+            if (end == null || node.depth > end.depth
+                    || (node.depth == end.depth && (node.deadline < end.deadline
+                    || (node.deadline == end.deadline && node.id < end.id)))) {
+                end = node;
+            }
+        }
+        if (end == null) {
+            return new long[0];
+        }
+        long[] path = new long[end.depth];
+        Node current = end;
+        for (int i = path.length - 1; i >= 0; i--) {
+            path[i] = current.id;
+            Node previous = null;
+            for (int j = 0; j < current.inSize; j++) {
+                Node blocker = current.in[j];
+                if (blocker.depth == current.depth - 1 && (previous == null || blocker.id < previous.id)) {
+                    previous = blocker;
+                }
+            }
+            current = previous;
+        }
+        return path;
+    }
+
+    // Pearce-Kelly: garante from antes de to; false se to já alcança from (ciclo)
+    private boolean reorder(Node from, Node to) {
+        if (from.ord < to.ord) {
+            return true;
+        }
+        List<Node> forward = collectForward(to, from, ++generation, new ArrayList<>());
+        if (forward == null) {
+            return false;
+        }
+        List<Node> backward = collectBackward(from, to.ord, ++generation, new ArrayList<>());
+        forward.sort(BY_ORD);
+        backward.sort(BY_ORD);
+
+        int[] slots = new int[forward.size() + backward.size()];
+        int i = 0;
+        for (Node node : backward) slots[i++] = node.ord;
+        for (Node node : forward) slots[i++] = node.ord;
+        Arrays.sort(slots);
+        i = 0;
+        for (Node node : backward) place(node, slots[i++]);
+        for (Node node : forward) place(node, slots[i++]);
+        return true;
+    }
+
+    // Nós alcançáveis a partir de start com posição até a de target; null se target for alcançado
+    private List<Node> collectForward(Node start, Node target, int mark, List<Node> visited) {
+        ArrayDeque<Node> stack = new ArrayDeque<>();
+        start.mark = mark;
+        stack.push(start);
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            visited.add(node);
+            for (int i = 0; i < node.outSize; i++) {
+                Node next = node.out[i];
+                if (next == target) return null;
+                if (next.mark != mark && next.ord < target.ord) {
+                    next.mark = mark;
+                    stack.push(next);
+                }
+            }
+        }
+        return visited;
+    }
+
+    // Nós que alcançam start com posição depois de lowerBound
+    private List<Node> collectBackward(Node start, int lowerBound, int mark, List<Node> visited) {
+        ArrayDeque<Node> stack = new ArrayDeque<>();
+        start.mark = mark;
+        stack.push(start);
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            visited.add(node);
+            for (int i = 0; i < node.inSize; i++) {
+                Node previous = node.in[i];
+                if (previous.mark != mark && previous.ord > lowerBound) {
+                    previous.mark = mark;
+                    stack.push(previous);
+                }
+            }
+        }
+        return visited;
+    }
+
+    private void schedule(Node node) {
+        if (!node.queued) {
+            node.queued = true;
+            pending.add(node);
+        }
+    }
+
+    // Em ordem topológica, cada nó é recalculado depois de todos os bloqueadores afetados
+    private void drain() {
+        while (!pending.isEmpty()) {
+            Node node = pending.poll();
+            node.queued = false;
+            int depth = 0;
+            if (node.open()) {
+                for (int i = 0; i < node.inSize; i++) {
+                    depth = Math.max(depth, node.in[i].depth);
+                }
+                depth++;
+            }
+            if (depth != node.depth) {
+                node.depth = depth;
+                for (int i = 0; i < node.outSize; i++) {
+                    schedule(node.out[i]);
+                }
+            }
+        }
+    }
+
+    private void link(Node from, Node to) {
+        if (from.outSize == from.out.length) from.out = Arrays.copyOf(from.out, Math.max(4, from.outSize * 2));
+        from.out[from.outSize++] = to;
+        if (to.inSize == to.in.length) to.in = Arrays.copyOf(to.in, Math.max(4, to.inSize * 2));
+        to.in[to.inSize++] = from;
+        edges++;
+    }
+
+    // Tira other da lista de saída (outgoing) ou de entrada de node
+    private static boolean detach(Node node, Node other, boolean outgoing) {
+        Node[] list = outgoing ? node.out : node.in;
+        int size = outgoing ? node.outSize : node.inSize;
+        for (int i = 0; i < size; i++) {
+            if (list[i] == other) {
+                list[i] = list[size - 1];
+                list[size - 1] = null;
+                if (outgoing) node.outSize--; else node.inSize--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void relist(Node node) {
+        unlist(node);
+        list(node);
+    }
+
+    private void list(Node node) {
+        if (node.openBlockers == 0 && NextTaskIndex.ACTIONABLE.contains(node.status)) {
+            node.listed = true;
+            actionable.add(Math.toIntExact(node.id));
+            if (node.owner != NO_OWNER) {
+                actionableByOwner.computeIfAbsent(node.owner, o -> new RoaringBitmap()).add(Math.toIntExact(node.id));
+            }
+        }
+    }
+
+    private void unlist(Node node) {
+        if (!node.listed) {
+            return;
+        }
+        node.listed = false;
+        actionable.remove(Math.toIntExact(node.id));
+        RoaringBitmap bitmap = node.owner != NO_OWNER ? actionableByOwner.get(node.owner) : null;
+        if (bitmap != null) {
+            bitmap.remove(Math.toIntExact(node.id));
+            if (bitmap.isEmpty()) actionableByOwner.remove(node.owner);
+        }
+    }
+
+    private void place(Node node, int ord) {
+        node.ord = ord;
+        byOrd[ord] = node;
+    }
+
+    // Posições de nós excluídos ficam vagas; quando sobram muitas, a numeração é compactada
+    private int appendOrd() {
+        if (nextOrd == byOrd.length) {
+            int live = nodes.size();
+            Node[] compacted = new Node[live * 2 < byOrd.length ? byOrd.length : byOrd.length * 2];
+            int next = 0;
+            for (int i = 0; i < nextOrd; i++) {
+                Node node = byOrd[i];
+                if (node != null) {
+                    node.ord = next;
+                    compacted[next++] = node;
+                }
+            }
+            byOrd = compacted;
+            nextOrd = next;
+        }
+        return nextOrd++;
+    }
+
+    private Node require(long id) {
+        Node node = nodes.get(id);
+        if (node == null) {
+            throw new IllegalArgumentException("Task " + id + " não está no grafo");
+        }
+        return node;
+    }
+}
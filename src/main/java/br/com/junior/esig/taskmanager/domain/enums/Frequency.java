@@ -0,0 +1,19 @@
+package br.com.junior.esig.taskmanager.domain.enums;
+
+import java.time.temporal.ChronoUnit;
+
+public enum Frequency {
+    DAILY(ChronoUnit.DAYS),
+    WEEKLY(ChronoUnit.WEEKS),
+    MONTHLY(ChronoUnit.MONTHS);
+
+    private final ChronoUnit unit;
+
+    Frequency(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    public ChronoUnit unit() {
+        return unit;
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.junior.esig.taskmanager.domain.event;
+
+import br.com.junior.esig.taskmanager.domain.model.Task;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * Campos que mudaram numa escrita do TaskService, com os valores antes e depois. Publicado
+ * dentro da transação; a trilha de auditoria só o recebe depois do commit.
+ */
+public record TaskAuditEvent(Long taskId, String actor, Instant at, List<FieldChange> changes) {
+
+    public record FieldChange(String field, String oldValue, String newValue) {
+    }
+
+    /** Valores auditados da task, como texto, para comparar antes e depois da escrita. */
+    public static Map<String, String> snapshot(Task task) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("title", task.getTitle());
+        values.put("description", task.getDescription());
+        values.put("responsible", task.getResponsible());
+        values.put("priority", text(task.getPriority()));
+        values.put("deadline", text(task.getDeadline()));
+        values.put("status", text(task.getStatus()));
+        values.put("tags", task.getTags().isEmpty() ? null : String.join(",", new TreeSet<>(task.getTags())));
+        values.put("userId", task.getUser() != null ? text(task.getUser().getId()) : null);
+        values.put("parentId", task.getParent() != null ? text(task.getParent().getId()) : null);
+        return values;
+    }
+
+    public static TaskAuditEvent diff(Long taskId, String actor, Instant at, Map<String, String> before, Map<String, String> after) {
+        List<FieldChange> changes = new ArrayList<>();
+        after.forEach((field, value) -> {
+            if (!Objects.equals(before.get(field), value)) {
+                changes.add(new FieldChange(field, before.get(field), value));
+            }
+        });
+        return new TaskAuditEvent(taskId, actor, at, changes);
+    }
+
+    private static String text(Object value) {
+        return value != null ? value.toString() : null;
+    }
+}
@@ -0,0 +1,32 @@
+package br.com.junior.esig.taskmanager.domain.event;
+
+import br.com.junior.esig.taskmanager.domain.enums.Priority;
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import br.com.junior.esig.taskmanager.domain.model.Task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Estado de uma task após uma escrita no TaskService. Publicado dentro da transação e
+ * consumido pelos modelos de leitura em memória depois do commit.
+ */
+public record TaskChangedEvent(Long taskId,
+                               Long userId,
+                               TaskStatus status,
+                               Priority priority,
+                               LocalDate deadline,
+                               String responsible,
+                               LocalDateTime createdAt,
+                               boolean deleted) {
+
+    public static TaskChangedEvent of(Task task) {
+        Long userId = task.getUser() != null ? task.getUser().getId() : null;
+        return new TaskChangedEvent(task.getId(), userId, task.getStatus(), task.getPriority(),
+                task.getDeadline(), task.getResponsible(), task.getCreatedAt(), false);
+    }
+
+    public static TaskChangedEvent deleted(Long taskId) {
+        return new TaskChangedEvent(taskId, null, null, null, null, null, null, true);
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.junior.esig.taskmanager.domain.event;
+
+import java.time.LocalDate;
+
+/**
+ * Transição de prazo detectada com a passagem do tempo: a task entrou na janela de
+ * 7 dias ({@link Type#DUE_SOON}) ou o prazo venceu sem estar concluída ({@link Type#OVERDUE}).
+ */
+public record TaskDeadlineEvent(Long taskId, Long userId, LocalDate deadline, Type type) {
+
+    public enum Type {
+        DUE_SOON,
+        OVERDUE
+    }
+}
@@ -0,0 +1,9 @@
+package br.com.junior.esig.taskmanager.domain.event;
+
+/**
+ * Aresta "blocker bloqueia blocked" incluída ou removida. Publicado dentro da transação e
+ * aplicado ao grafo em memória depois do commit; a exclusão de uma task leva as arestas dela
+ * junto e chega só como {@link TaskChangedEvent}.
+ */
+public record TaskDependencyEvent(Long blockerId, Long blockedId, boolean added) {
+}
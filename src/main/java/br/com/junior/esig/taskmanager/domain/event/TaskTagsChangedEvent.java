@@ -0,0 +1,10 @@
+package br.com.junior.esig.taskmanager.domain.event;
+
+import java.util.Set;
+
+/**
+ * Rótulos que entraram e saíram de uma task numa escrita do TaskService. Publicado dentro
+ * da transação; o cache de rótulos só o recebe depois do commit.
+ */
+public record TaskTagsChangedEvent(Long taskId, Set<String> added, Set<String> removed) {
+}
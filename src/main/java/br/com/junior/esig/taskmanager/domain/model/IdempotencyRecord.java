@@ -0,0 +1,42 @@
+package br.com.junior.esig.taskmanager.domain.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Resposta guardada de uma escrita com Idempotency-Key. A tabela é lida e escrita por JDBC
+ * ({@code IdempotencyStore}); a entidade existe para o schema. {@code status} nulo = ainda
+ * em execução na instância que fez o INSERT, reservada até {@code lockedUntil}.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+    // SHA-256 do usuário + chave do cliente, em hex
+    @Id
+    @Column(name = "key_hash", length = 64)
+    private String keyHash;
+
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    private Integer status;
+
+    @Column(columnDefinition = "TEXT")
+    private String body;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "locked_until")
+    private Instant lockedUntil;
+}
@@ -0,0 +1,29 @@
+package br.com.junior.esig.taskmanager.domain.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Posse temporária de uma partição das regras de repetição ({@code MOD(id, partições)}):
+ * só o nó dono gera as tasks das regras da partição até {@code leaseUntil}.
+ */
+@Entity
+@Table(name = "recurrence_leases")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurrenceLease {
+
+    @Id
+    @Column(name = "partition_no")
+    private Integer partitionNo;
+
+    @Column(length = 64)
+    private String owner;
+
+    @Column(name = "lease_until")
+    private Instant leaseUntil;
+}
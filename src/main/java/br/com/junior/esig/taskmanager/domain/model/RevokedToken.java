@@ -0,0 +1,31 @@
+package br.com.junior.esig.taskmanager.domain.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        // A limpeza periódica apaga pelo vencimento
+        @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at"),
+        // Sincronização incremental do Bloom filter com as revogações de outras instâncias
+        @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedToken {
+
+    @Id
+    @Column(length = 36)
+    private String jti;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "revoked_at")
+    private Instant revokedAt;
+}
@@ -6,13 +6,30 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        // Consultas do USER sempre filtram pelo dono; as do ADMIN, pela coluna isolada
+        @Index(name = "idx_tasks_user_status", columnList = "user_id, status"),
+        @Index(name = "idx_tasks_user_priority", columnList = "user_id, priority"),
+        @Index(name = "idx_tasks_user_deadline", columnList = "user_id, deadline"),
+        @Index(name = "idx_tasks_status", columnList = "status"),
+        @Index(name = "idx_tasks_priority", columnList = "priority"),
+        @Index(name = "idx_tasks_deadline", columnList = "deadline"),
+        // Descida na árvore de subtarefas (CTE recursiva em TaskRepository)
+        @Index(name = "idx_tasks_parent", columnList = "parent_id")
+}, uniqueConstraints = {
+        // Uma task por ocorrência de cada regra: gerar de novo a mesma data não duplica
+        @UniqueConstraint(name = "uk_tasks_occurrence", columnNames = {"recurrence_id", "occurrence_date"})
+})
 @Getter
 @Setter
 @Builder
@@ -46,6 +63,34 @@ public class Task {
     @JoinColumn(name = "user_id")
     private User user;
 
+    // Tarefa mãe (épico, história...). A árvore inteira tem o mesmo dono; excluir a mãe
+    // transforma as filhas em raízes
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "parent_id")
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    private Task parent;
+
+    // Rótulos livres, já normalizados pelo TaskService. A PK (task_id, tag) atende a carga
+    // da task; o índice invertido (tag, task_id) lê a lista de tasks de um rótulo
+    @ElementCollection
+    @CollectionTable(name = "task_tags", joinColumns = @JoinColumn(name = "task_id"),
+            indexes = @Index(name = "idx_task_tags_tag", columnList = "tag, task_id"))
+    @Column(name = "tag", length = 50, nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @Builder.Default
+    private Set<String> tags = new HashSet<>();
+
+    // Preenchidos só nas tasks geradas por uma regra de repetição (TaskRecurrence)
+    @Column(name = "recurrence_id")
+    private Long recurrenceId;
+
+    @Column(name = "occurrence_date")
+    private LocalDate occurrenceDate;
+
+    // Prazo que já foi escalonado pelo EscalationWorker; mudar o prazo libera a task de novo
+    @Column(name = "escalated_deadline")
+    private LocalDate escalatedDeadline;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,52 @@
+package br.com.junior.esig.taskmanager.domain.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Metadados de um arquivo anexado a uma task; o conteúdo fica no {@code BlobStore} sob
+ * {@code storageKey}. Sem FK para tasks: os anexos de tasks excluídas são apagados
+ * depois, por {@code AttachmentService.deleteOrphans}.
+ */
+@Entity
+@Table(name = "task_attachments", indexes = {
+        @Index(name = "idx_task_attachments_task_id", columnList = "task_id")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskAttachment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(nullable = false)
+    private String filename;
+
+    @Column(name = "content_type", nullable = false)
+    private String contentType;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long size;
+
+    // SHA-256 do conteúdo em hex; também é o ETag do download
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    @Column(name = "storage_key", nullable = false, length = 64)
+    private String storageKey;
+
+    @Column(name = "uploaded_by", nullable = false)
+    private String uploadedBy;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,45 @@
+package br.com.junior.esig.taskmanager.domain.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Uma mudança de campo numa task. Gravada em lotes por JDBC ({@code AuditStore}) e lida
+ * pelo histórico, do mais recente para o mais antigo. Sem FK para tasks: o histórico fica
+ * depois que a task é excluída.
+ */
+@Entity
+@Table(name = "task_audit", indexes = {
+        @Index(name = "idx_task_audit_task_id", columnList = "task_id, id")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskAuditEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(nullable = false)
+    private String actor;
+
+    @Column(nullable = false, length = 32)
+    private String field;
+
+    @Column(name = "old_value", columnDefinition = "TEXT")
+    private String oldValue;
+
+    @Column(name = "new_value", columnDefinition = "TEXT")
+    private String newValue;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+}
@@ -0,0 +1,58 @@
+package br.com.junior.esig.taskmanager.domain.model;
+
+import br.com.junior.esig.taskmanager.domain.enums.Frequency;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Regra de repetição de uma task modelo: a cada {@code interval} dias, semanas ou meses a
+ * partir de {@code startDate}. As ocorrências viram tasks (cópias do modelo) só quando entram
+ * no horizonte do RecurrenceGenerator; {@code generatedUntil} marca até onde já foram geradas.
+ */
+@Entity
+@Table(name = "task_recurrences",
+        uniqueConstraints = @UniqueConstraint(name = "uk_task_recurrences_template", columnNames = "template_id"),
+        indexes = @Index(name = "idx_task_recurrences_generated", columnList = "generated_until"))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskRecurrence {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Excluir o modelo encerra a regra; as tasks já geradas ficam
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "template_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Task template;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Frequency frequency;
+
+    @Column(name = "repeat_interval", nullable = false)
+    private int interval;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    // Inclusiva; nula repete para sempre
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    // Última data já materializada (ou descartada por estar no passado); nula antes da primeira geração
+    @Column(name = "generated_until")
+    private LocalDate generatedUntil;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
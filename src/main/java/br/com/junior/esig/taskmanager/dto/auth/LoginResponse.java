@@ -11,6 +11,7 @@ public class LoginResponse {
     private String token;
     private String tokenType = "Bearer";
     private String role;
+    private String refreshToken;
 
     // Construtor para compatibilidade
     public LoginResponse(String token) {
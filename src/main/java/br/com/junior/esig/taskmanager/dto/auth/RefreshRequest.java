@@ -0,0 +1,12 @@
+package br.com.junior.esig.taskmanager.dto.auth;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshRequest {
+    private String refreshToken;
+}
@@ -0,0 +1,29 @@
+package br.com.junior.esig.taskmanager.dto.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskAttachmentResponse {
+
+    private Long id;
+
+    private String filename;
+
+    private String contentType;
+
+    private long size;
+
+    private String sha256;
+
+    private String uploadedBy;
+
+    private Instant createdAt;
+}
@@ -0,0 +1,25 @@
+package br.com.junior.esig.taskmanager.dto.task;
+
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBoardColumn {
+
+    private TaskStatus status;
+
+    private long total;
+
+    private List<TaskResponse> tasks;
+
+    // Nulo quando a coluna acabou; senão vai em /tasks/board/{status}?cursor=
+    private String nextCursor;
+}
@@ -0,0 +1,18 @@
+package br.com.junior.esig.taskmanager.dto.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBoardResponse {
+
+    // Uma coluna por TaskStatus, na ordem do enum
+    private List<TaskBoardColumn> columns;
+}
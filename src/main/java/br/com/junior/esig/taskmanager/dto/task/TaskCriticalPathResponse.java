@@ -0,0 +1,21 @@
+package br.com.junior.esig.taskmanager.dto.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskCriticalPathResponse {
+
+    private LocalDate date;
+
+    // Ids em ordem de execução: cada task bloqueia a seguinte e a última vence até date
+    private List<Long> path;
+}
@@ -0,0 +1,26 @@
+package br.com.junior.esig.taskmanager.dto.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskDependenciesResponse {
+
+    private Long taskId;
+
+    // Tasks que precisam ser concluídas antes desta
+    private List<Long> blockedBy;
+
+    // Subconjunto de blockedBy ainda não concluído; vazio quando a task está liberada
+    private List<Long> openBlockers;
+
+    // Tasks que esperam por esta
+    private List<Long> blocks;
+}
@@ -0,0 +1,26 @@
+package br.com.junior.esig.taskmanager.dto.task;
+
+import br.com.junior.esig.taskmanager.domain.enums.Priority;
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskFacetsResponse {
+
+    private long total;
+
+    private Map<TaskStatus, Long> status;
+
+    private Map<Priority, Long> priority;
+
+    // Rótulos mais frequentes na seleção, do mais frequente para o menos
+    private Map<String, Long> tags;
+}
@@ -0,0 +1,62 @@
+package br.com.junior.esig.taskmanager.dto.task;
+
+import br.com.junior.esig.taskmanager.exception.InvalidRequestException;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Campos de {@link TaskResponse} selecionáveis por {@code ?fields=}. O nome é o da
+ * propriedade no JSON e {@code attribute} é o atributo da entidade Task.
+ */
+public enum TaskField {
+    ID("id"),
+    TITLE("title"),
+    DESCRIPTION("description"),
+    RESPONSIBLE("responsible"),
+    PRIORITY("priority"),
+    DEADLINE("deadline"),
+    STATUS("status"),
+    TAGS("tags"),
+    USER("user"),
+    CREATED_AT("createdAt"),
+    UPDATED_AT("updatedAt");
+
+    public static final Set<TaskField> ALL = Collections.unmodifiableSet(EnumSet.allOf(TaskField.class));
+
+    private final String attribute;
+
+    TaskField(String attribute) {
+        this.attribute = attribute;
+    }
+
+    public String attribute() {
+        return attribute;
+    }
+
+    /** {@code "id,title"} → {ID, TITLE}; vazio ou nulo devolve todos. O id sempre vem. */
+    public static Set<TaskField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<TaskField> parsed = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            parsed.add(byAttribute(trimmed));
+        }
+        return parsed.size() == ALL.size() ? ALL : parsed;
+    }
+
+    private static TaskField byAttribute(String name) {
+        for (TaskField field : values()) {
+            if (field.attribute.equals(name)) {
+                return field;
+            }
+        }
+        throw new InvalidRequestException("Campo desconhecido: " + name);
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.junior.esig.taskmanager.dto.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskHistoryEntry {
+
+    private Long id;
+
+    private String field;
+
+    private String oldValue;
+
+    private String newValue;
+
+    private String changedBy;
+
+    private Instant changedAt;
+}
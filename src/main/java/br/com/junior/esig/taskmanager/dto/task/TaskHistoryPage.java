@@ -0,0 +1,20 @@
+package br.com.junior.esig.taskmanager.dto.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskHistoryPage {
+
+    private List<TaskHistoryEntry> entries;
+
+    // Nulo na última página; senão vai em /tasks/{id}/history?cursor=
+    private Long nextCursor;
+}
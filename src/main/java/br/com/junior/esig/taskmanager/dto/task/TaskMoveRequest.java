@@ -0,0 +1,14 @@
+package br.com.junior.esig.taskmanager.dto.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskMoveRequest {
+
+    // Nulo torna a task raiz
+    private Long parentId;
+}
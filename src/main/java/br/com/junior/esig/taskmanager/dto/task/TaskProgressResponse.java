@@ -0,0 +1,25 @@
+package br.com.junior.esig.taskmanager.dto.task;
+
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskProgressResponse {
+
+    // Descendentes da task, sem contar ela mesma
+    private long total;
+
+    private long done;
+
+    private double percentDone;
+
+    private Map<TaskStatus, Long> status;
+}
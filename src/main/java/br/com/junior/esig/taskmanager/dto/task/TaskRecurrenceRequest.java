@@ -0,0 +1,30 @@
+package br.com.junior.esig.taskmanager.dto.task;
+
+import br.com.junior.esig.taskmanager.domain.enums.Frequency;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskRecurrenceRequest {
+
+    @NotNull(message = "Frequency é obrigatório")
+    private Frequency frequency;
+
+    // A cada quantos dias, semanas ou meses
+    @Min(value = 1, message = "Interval deve ser pelo menos 1")
+    @Max(value = 366, message = "Interval deve ser no máximo 366")
+    private int interval = 1;
+
+    // Nulo começa hoje
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+}
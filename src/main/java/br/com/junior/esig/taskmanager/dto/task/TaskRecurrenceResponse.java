@@ -0,0 +1,31 @@
+package br.com.junior.esig.taskmanager.dto.task;
+
+import br.com.junior.esig.taskmanager.domain.enums.Frequency;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskRecurrenceResponse {
+
+    private Long id;
+
+    private Long taskId;
+
+    private Frequency frequency;
+
+    private int interval;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    // Até onde as ocorrências já viraram tasks
+    private LocalDate generatedUntil;
+}
@@ -9,6 +9,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
+import java.util.Set;
 
 @Data
 @NoArgsConstructor
@@ -29,4 +30,10 @@ public class TaskRequest {
     private TaskStatus status;
 
     private Long userId;
+
+    // Nulo mantém os rótulos atuais; vazio remove todos
+    private Set<String> tags;
+
+    // Só na criação; para mover uma task existente use PUT /tasks/{id}/parent
+    private Long parentId;
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package br.com.junior.esig.taskmanager.dto.task;
 import br.com.junior.esig.taskmanager.domain.enums.Priority;
 import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
 import br.com.junior.esig.taskmanager.dto.user.UserResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -10,7 +11,10 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
+// Com ?fields= os campos não pedidos ficam nulos e não são serializados
+@JsonInclude(JsonInclude.Include.NON_NULL)
 @Data
 @Builder
 @NoArgsConstructor
@@ -31,8 +35,14 @@ public class TaskResponse {
 
     private TaskStatus status;
 
+    // Em ordem alfabética
+    private List<String> tags;
+
     private UserResponse user;
 
+    // Só nas respostas completas (sem ?fields=)
+    private Long parentId;
+
     private LocalDateTime createdAt;
 
     private LocalDateTime updatedAt;
@@ -0,0 +1,113 @@
+package br.com.junior.esig.taskmanager.encoding;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Faz o {@code server.compression.min-response-size} valer para as respostas dos conversores
+ * do Jackson. Eles dão flush no fim de cada resposta, que sai então em chunks, sem tamanho
+ * conhecido, e o Tomcat comprime tudo o que não tem tamanho. Nos tipos comprimíveis o flush é
+ * ignorado enquanto a resposta cabe no buffer (aumentado até o limite, se menor): ao terminar,
+ * o Tomcat sabe o Content-Length e só comprime acima do limite.
+ */
+@Component
+@ConditionalOnProperty(name = "server.compression.enabled", havingValue = "true")
+public class CompressionThresholdFilter extends OncePerRequestFilter {
+
+    private final Set<String> mimeTypes;
+    private final int minResponseSize;
+
+    public CompressionThresholdFilter(ServerProperties serverProperties) {
+        this.mimeTypes = Set.of(serverProperties.getCompression().getMimeTypes());
+        this.minResponseSize = Math.toIntExact(serverProperties.getCompression().getMinResponseSize().toBytes());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (response.getBufferSize() < minResponseSize) {
+            response.setBufferSize(minResponseSize);
+        }
+        filterChain.doFilter(request, new DeferredFlushResponse(response));
+    }
+
+    private final class DeferredFlushResponse extends HttpServletResponseWrapper {
+
+        private ServletOutputStream outputStream;
+
+        DeferredFlushResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                ServletOutputStream target = super.getOutputStream();
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        target.write(b);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        target.write(b, off, len);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        if (!deferred()) {
+                            target.flush();
+                        }
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        target.close();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return target.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        target.setWriteListener(writeListener);
+                    }
+                };
+            }
+            return outputStream;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (!deferred()) {
+                super.flushBuffer();
+            }
+        }
+
+        // Ainda no buffer e de um tipo comprimível: o flush só anteciparia o envio em chunks
+        private boolean deferred() {
+            String contentType = getContentType();
+            if (contentType == null || isCommitted()) {
+                return false;
+            }
+            int parameters = contentType.indexOf(';');
+            return mimeTypes.contains((parameters >= 0 ? contentType.substring(0, parameters) : contentType).trim());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package br.com.junior.esig.taskmanager.encoding;
+
+import br.com.junior.esig.taskmanager.dto.task.TaskResponse;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Codificações alternativas por negociação de conteúdo ({@code Accept: application/x-jackson-smile}
+ * ou {@code application/cbor}) e ajustes opcionais do Jackson. Os conversores binários usam o
+ * mesmo builder (módulos e configurações {@code spring.jackson.*}) do JSON.
+ */
+@Configuration
+public class EncodingConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> builders;
+
+    public EncodingConfig(ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+        this.builders = builders;
+    }
+
+    // No fim da lista: sem Accept explícito a resposta continua JSON
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new MappingJackson2SmileHttpMessageConverter(builders.getObject().factory(new SmileFactory()).build()));
+        converters.add(new MappingJackson2CborHttpMessageConverter(builders.getObject().factory(new CBORFactory()).build()));
+    }
+
+    // Acessores gerados via LambdaMetafactory no lugar de reflexão
+    @Bean
+    @ConditionalOnProperty(name = "task.json.blackbird.enabled", havingValue = "true")
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "task.json.streaming-serializer.enabled", havingValue = "true")
+    public Module taskResponseModule() {
+        return new SimpleModule("TaskResponseModule").addSerializer(TaskResponse.class, new TaskResponseSerializer());
+    }
+}
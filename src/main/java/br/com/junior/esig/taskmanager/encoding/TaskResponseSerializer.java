@@ -0,0 +1,105 @@
+package br.com.junior.esig.taskmanager.encoding;
+
+import br.com.junior.esig.taskmanager.dto.task.TaskResponse;
+import br.com.junior.esig.taskmanager.dto.user.UserResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Escreve {@link TaskResponse} direto no gerador, sem introspecção de bean: mesma saída do
+ * serializador padrão (campos nulos omitidos, enums pelo nome), com os nomes de campo
+ * pré-codificados. Datas seguem os serializadores do provider, respeitando {@code spring.jackson.*}.
+ * Vale para JSON, Smile e CBOR.
+ */
+public class TaskResponseSerializer extends StdSerializer<TaskResponse> {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString TITLE = new SerializedString("title");
+    private static final SerializableString DESCRIPTION = new SerializedString("description");
+    private static final SerializableString RESPONSIBLE = new SerializedString("responsible");
+    private static final SerializableString PRIORITY = new SerializedString("priority");
+    private static final SerializableString DEADLINE = new SerializedString("deadline");
+    private static final SerializableString STATUS = new SerializedString("status");
+    private static final SerializableString TAGS = new SerializedString("tags");
+    private static final SerializableString USER = new SerializedString("user");
+    private static final SerializableString USERNAME = new SerializedString("username");
+    private static final SerializableString ROLE = new SerializedString("role");
+    private static final SerializableString PARENT_ID = new SerializedString("parentId");
+    private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializableString UPDATED_AT = new SerializedString("updatedAt");
+
+    public TaskResponseSerializer() {
+        super(TaskResponse.class);
+    }
+
+    @Override
+    public void serialize(TaskResponse task, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(task);
+        if (task.getId() != null) {
+            gen.writeFieldName(ID);
+            gen.writeNumber(task.getId());
+        }
+        writeString(gen, TITLE, task.getTitle());
+        writeString(gen, DESCRIPTION, task.getDescription());
+        writeString(gen, RESPONSIBLE, task.getResponsible());
+        if (task.getPriority() != null) writeString(gen, PRIORITY, task.getPriority().name());
+        writeValue(gen, provider, DEADLINE, task.getDeadline());
+        if (task.getStatus() != null) writeString(gen, STATUS, task.getStatus().name());
+        if (task.getTags() != null) {
+            gen.writeFieldName(TAGS);
+            writeStrings(gen, task.getTags());
+        }
+        if (task.getUser() != null) {
+            gen.writeFieldName(USER);
+            writeUser(gen, task.getUser());
+        }
+        if (task.getParentId() != null) {
+            gen.writeFieldName(PARENT_ID);
+            gen.writeNumber(task.getParentId());
+        }
+        writeValue(gen, provider, CREATED_AT, task.getCreatedAt());
+        writeValue(gen, provider, UPDATED_AT, task.getUpdatedAt());
+        gen.writeEndObject();
+    }
+
+    // UserResponse não omite nulos
+    private static void writeUser(JsonGenerator gen, UserResponse user) throws IOException {
+        gen.writeStartObject(user);
+        gen.writeFieldName(ID);
+        if (user.getId() != null) gen.writeNumber(user.getId()); else gen.writeNull();
+        gen.writeFieldName(USERNAME);
+        gen.writeString(user.getUsername());
+        gen.writeFieldName(ROLE);
+        if (user.getRole() != null) gen.writeString(user.getRole().name()); else gen.writeNull();
+        gen.writeEndObject();
+    }
+
+    private static void writeStrings(JsonGenerator gen, List<String> values) throws IOException {
+        gen.writeStartArray(values, values.size());
+        for (String value : values) {
+            if (value != null) gen.writeString(value); else gen.writeNull();
+        }
+        gen.writeEndArray();
+    }
+
+    private static void writeString(JsonGenerator gen, SerializableString name, String value) throws IOException {
+        if (value != null) {
+            gen.writeFieldName(name);
+            gen.writeString(value);
+        }
+    }
+
+    private static void writeValue(JsonGenerator gen, SerializerProvider provider, SerializableString name, Object value)
+            throws IOException {
+        if (value != null) {
+            gen.writeFieldName(name);
+            provider.defaultSerializeValue(value, gen);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package br.com.junior.esig.taskmanager.escalation;
+
+import br.com.junior.esig.taskmanager.domain.enums.Priority;
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import br.com.junior.esig.taskmanager.domain.event.TaskAuditEvent;
+import br.com.junior.esig.taskmanager.domain.event.TaskChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Escalona tasks que acabaram de vencer: sobe a prioridade um nível e/ou marca BLOCKED,
+ * conforme {@code task.escalation.*}, e registra a mudança na trilha de auditoria.
+ * <p>
+ * A busca usa o índice de prazo só na janela {@code [hoje - lookback, hoje)}; tasks vencidas
+ * há mais tempo que isso não são escalonadas. Cada lote é travado com
+ * {@code FOR UPDATE SKIP LOCKED} e atualizado na mesma transação: execuções simultâneas
+ * (outros nós ou threads) pulam as linhas já tomadas em vez de esperar por elas, e depois
+ * do commit {@code escalated_deadline = deadline} tira a task da busca. As linhas ficam
+ * travadas só durante um lote de {@code batch-size}.
+ * <p>
+ * Cada execução processa no máximo {@code max-batches-per-run} lotes, para não segurar o
+ * agendador (compartilhado com os outros jobs) com um acúmulo grande; o resto fica para as
+ * execuções seguintes.
+ * <p>
+ * Desligado por padrão ({@code task.escalation.enabled}).
+ */
+@Slf4j
+@Component
+public class EscalationWorker {
+
+    public static final String ACTOR = "escalation";
+
+    private static final String CLAIM = "SELECT id, user_id, priority, status, deadline, responsible, created_at FROM tasks "
+            + "WHERE deadline >= ? AND deadline < ? AND status <> 'DONE' "
+            + "AND (escalated_deadline IS NULL OR escalated_deadline <> deadline) "
+            + "ORDER BY deadline, id LIMIT ? FOR UPDATE SKIP LOCKED";
+    private static final String ESCALATE = "UPDATE tasks SET priority = ?, status = ?, escalated_deadline = deadline, "
+            + "updated_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Period lookback;
+    private final boolean raisePriority;
+    private final boolean block;
+
+    public EscalationWorker(JdbcTemplate jdbcTemplate,
+                            ApplicationEventPublisher eventPublisher,
+                            Clock clock,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${task.escalation.enabled:false}") boolean enabled,
+                            @Value("${task.escalation.batch-size:200}") int batchSize,
+                            @Value("${task.escalation.max-batches-per-run:20}") int maxBatchesPerRun,
+                            @Value("${task.escalation.lookback:P30D}") Period lookback,
+                            @Value("${task.escalation.raise-priority:true}") boolean raisePriority,
+                            @Value("${task.escalation.block:false}") boolean block) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.lookback = lookback;
+        this.raisePriority = raisePriority;
+        this.block = block;
+    }
+
+    /**
+     * Processa lotes até não sobrar task livre para escalonar ou até {@code max-batches-per-run}
+     * lotes. Devolve quantas escalonou.
+     */
+    @Scheduled(fixedDelayString = "${task.escalation.interval:PT5M}")
+    public int run() {
+        if (!enabled) {
+            return 0;
+        }
+        LocalDate today = LocalDate.now(clock);
+        int escalated = 0;
+        int claimed;
+        int batches = 0;
+        do {
+            claimed = transactionTemplate.execute(status -> escalate(today));
+            escalated += claimed;
+        } while (claimed == batchSize && ++batches < maxBatchesPerRun);
+        if (escalated > 0) {
+            log.info("{} task(s) vencida(s) escalonada(s)", escalated);
+        }
+        return escalated;
+    }
+
+    private int escalate(LocalDate today) {
+        List<Claimed> tasks = jdbcTemplate.query(CLAIM, (rs, i) -> {
+            String priority = rs.getString("priority");
+            return new Claimed(rs.getLong("id"), rs.getObject("user_id", Long.class),
+                    priority != null ? Priority.valueOf(priority) : null, TaskStatus.valueOf(rs.getString("status")),
+                    rs.getDate("deadline").toLocalDate(), rs.getString("responsible"),
+                    rs.getTimestamp("created_at").toLocalDateTime());
+        }, Date.valueOf(today.minus(lookback)), Date.valueOf(today), batchSize);
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now(clock).truncatedTo(ChronoUnit.MICROS);
+        List<Object[]> updates = new ArrayList<>(tasks.size());
+        for (Claimed task : tasks) {
+            Priority priority = raisePriority ? raise(task.priority()) : task.priority();
+            TaskStatus status = block ? TaskStatus.BLOCKED : task.status();
+            updates.add(new Object[]{priority != null ? priority.name() : null, status.name(), Timestamp.valueOf(now), task.id()});
+
+            // Publicados dentro da transação: modelos em memória e auditoria só os recebem depois do commit
+            eventPublisher.publishEvent(new TaskChangedEvent(task.id(), task.userId(), status, priority, task.deadline(),
+                    task.responsible(), task.createdAt(), false));
+            List<TaskAuditEvent.FieldChange> changes = new ArrayList<>();
+            changes.add(new TaskAuditEvent.FieldChange("escalation", null, task.deadline().toString()));
+            if (priority != task.priority()) {
+                changes.add(new TaskAuditEvent.FieldChange("priority", text(task.priority()), text(priority)));
+            }
+            if (status != task.status()) {
+                changes.add(new TaskAuditEvent.FieldChange("status", task.status().name(), status.name()));
+            }
+            eventPublisher.publishEvent(new TaskAuditEvent(task.id(), ACTOR, clock.instant(), changes));
+        }
+        jdbcTemplate.batchUpdate(ESCALATE, updates);
+        return tasks.size();
+    }
+
+    // Um nível acima, parando em URGENT; sem prioridade vira a mais baixa
+    static Priority raise(Priority priority) {
+        if (priority == null) {
+            return Priority.LOW;
+        }
+        Priority[] levels = Priority.values();
+        return levels[Math.min(priority.ordinal() + 1, levels.length - 1)];
+    }
+
+    private static String text(Priority priority) {
+        return priority != null ? priority.name() : null;
+    }
+
+    private record Claimed(long id, Long userId, Priority priority, TaskStatus status, LocalDate deadline,
+                           String responsible, LocalDateTime createdAt) {
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.junior.esig.taskmanager.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class RequestInProgressException extends RuntimeException {
+
+    public RequestInProgressException(String message) {
+        super(message);
+    }
+}
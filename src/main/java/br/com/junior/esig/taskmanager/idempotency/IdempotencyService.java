@@ -0,0 +1,262 @@
+package br.com.junior.esig.taskmanager.idempotency;
+
+import br.com.junior.esig.taskmanager.exception.IdempotencyKeyReusedException;
+import br.com.junior.esig.taskmanager.exception.InvalidRequestException;
+import br.com.junior.esig.taskmanager.exception.RequestInProgressException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key nas escritas de /tasks: a primeira resposta de cada chave (por usuário) é
+ * guardada e devolvida de novo nas repetições, com {@code Idempotent-Replayed: true}. Uma
+ * repetição concorrente espera o {@link CompletableFuture} da execução em andamento em vez
+ * de executar de novo; a mesma chave com outro método, caminho ou corpo dá 422.
+ * <p>
+ * Em memória, as chaves ficam numa fila por ordem de criação (o TTL é fixo, então é também
+ * a ordem de vencimento): a limpeza periódica tira as vencidas e, passando de
+ * {@code max-keys}, as mais antigas já concluídas saem primeiro. Com
+ * {@code task.idempotency.persistent} a reserva e a resposta vão também para
+ * {@link IdempotencyStore}, valendo entre instâncias e depois de um restart; a reserva no
+ * banco vence em {@code claim-lease}, para uma instância que caiu não prender a chave.
+ * Falhas (exceções) não são guardadas: o cliente pode repetir. Desligado por padrão
+ * ({@code task.idempotency.enabled}); sem a flag o cabeçalho é ignorado.
+ */
+@Slf4j
+@Component
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int MAX_TRIM_STEPS = 64;
+
+    private static final class Entry {
+        final String key;
+        final String fingerprint;
+        final Instant expiresAt;
+        final CompletableFuture<StoredResponse> result = new CompletableFuture<>();
+
+        Entry(String key, String fingerprint, Instant expiresAt) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final IdempotencyStore store;
+    private final Clock clock;
+    private final boolean enabled;
+    private final boolean persistent;
+    private final Duration ttl;
+    private final int maxKeys;
+    private final Duration waitTimeout;
+    private final Duration claimLease;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entry> order = new ConcurrentLinkedQueue<>();
+
+    public IdempotencyService(ObjectMapper objectMapper,
+                              IdempotencyStore store,
+                              Clock clock,
+                              @Value("${task.idempotency.enabled:false}") boolean enabled,
+                              @Value("${task.idempotency.persistent:false}") boolean persistent,
+                              @Value("${task.idempotency.ttl:PT24H}") Duration ttl,
+                              @Value("${task.idempotency.max-keys:50000}") int maxKeys,
+                              @Value("${task.idempotency.wait-timeout:PT10S}") Duration waitTimeout,
+                              @Value("${task.idempotency.claim-lease:PT30S}") Duration claimLease) {
+        this.objectMapper = objectMapper;
+        this.store = store;
+        this.clock = clock;
+        this.enabled = enabled;
+        this.persistent = persistent;
+        this.ttl = ttl;
+        this.maxKeys = maxKeys;
+        this.waitTimeout = waitTimeout;
+        this.claimLease = claimLease;
+    }
+
+    /**
+     * Executa {@code action} uma vez por {@code idempotencyKey}; {@code operation} e
+     * {@code payload} (método + caminho e corpo) formam a impressão digital da requisição.
+     */
+    public <T> ResponseEntity<T> execute(String idempotencyKey, String operation, Object payload,
+                                         Class<T> bodyType, Supplier<ResponseEntity<T>> action) {
+        if (!enabled || idempotencyKey == null) {
+            return action.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new InvalidRequestException(HEADER + " deve ter entre 1 e " + MAX_KEY_LENGTH + " caracteres");
+        }
+        String key = sha256(currentUser() + '\u0000' + idempotencyKey);
+        String fingerprint = sha256(operation + '\u0000' + json(payload));
+
+        while (true) {
+            Instant now = clock.instant();
+            Entry fresh = new Entry(key, fingerprint, now.plus(ttl));
+            Entry existing = entries.putIfAbsent(key, fresh);
+            if (existing == null) {
+                order.add(fresh);
+                trim();
+                return run(fresh, bodyType, action);
+            }
+            if (!existing.expiresAt.isAfter(now)) {
+                entries.remove(key, existing);
+                continue;
+            }
+            if (!existing.fingerprint.equals(fingerprint)) {
+                throw new IdempotencyKeyReusedException(HEADER + " já usada com outra requisição");
+            }
+            return replay(await(existing), bodyType);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${task.idempotency.cleanup-interval:PT1M}")
+    public void evictExpired() {
+        if (!enabled) {
+            return;
+        }
+        Instant now = clock.instant();
+        int evicted = 0;
+        for (Entry head = order.peek(); head != null && !head.expiresAt.isAfter(now); head = order.peek()) {
+            if (order.remove(head) && entries.remove(head.key, head)) {
+                evicted++;
+            }
+        }
+        int deleted = persistent ? store.deleteExpired() : 0;
+        if (evicted > 0 || deleted > 0) {
+            log.debug("Idempotency-Keys vencidas removidas: {} em memória, {} no banco", evicted, deleted);
+        }
+    }
+
+    private <T> ResponseEntity<T> run(Entry entry, Class<T> bodyType, Supplier<ResponseEntity<T>> action) {
+        boolean claimed = false;
+        try {
+            if (persistent) {
+                StoredResponse stored = store.claim(entry.key, entry.fingerprint, entry.expiresAt, claimLease, waitTimeout);
+                if (stored != null) {
+                    entry.result.complete(stored);
+                    return replay(stored, bodyType);
+                }
+                claimed = true;
+            }
+            ResponseEntity<T> response = action.get();
+            StoredResponse stored = new StoredResponse(response.getStatusCode().value(),
+                    response.getBody() == null ? null : json(response.getBody()));
+            if (persistent) {
+                store.complete(entry.key, stored);
+            }
+            entry.result.complete(stored);
+            return response;
+        } catch (RuntimeException | Error e) {
+            if (claimed) {
+                try {
+                    store.release(entry.key);
+                } catch (RuntimeException releaseFailure) {
+                    // A reserva vence sozinha em claim-lease
+                    e.addSuppressed(releaseFailure);
+                }
+            }
+            entries.remove(entry.key, entry);
+            order.remove(entry);
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private StoredResponse await(Entry entry) {
+        try {
+            return entry.result.get(waitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new RequestInProgressException("Requisição com esta " + HEADER + " ainda em execução");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RequestInProgressException("Interrompido aguardando a " + HEADER);
+        } catch (ExecutionException e) {
+            // A execução original falhou: a repetição concorrente recebe o mesmo erro
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private <T> ResponseEntity<T> replay(StoredResponse stored, Class<T> bodyType) {
+        T body = null;
+        if (stored.body() != null) {
+            try {
+                body = objectMapper.readValue(stored.body(), bodyType);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Resposta guardada ilegível", e);
+            }
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(REPLAYED_HEADER, "true");
+        return ResponseEntity.status(stored.status()).headers(headers).body(body);
+    }
+
+    // Passando do limite, tira as mais antigas já concluídas; as em andamento ficam
+    private void trim() {
+        int steps = MAX_TRIM_STEPS;
+        while (entries.size() > maxKeys && steps-- > 0) {
+            Entry head = order.poll();
+            if (head == null) {
+                return;
+            }
+            if (head.result.isDone()) {
+                entries.remove(head.key, head);
+            } else {
+                order.add(head);
+            }
+        }
+    }
+
+    private String json(Object value) {
+        if (value == null) {
+            return "";
+        }
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Não foi possível serializar para a Idempotency-Key", e);
+        }
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "";
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package br.com.junior.esig.taskmanager.idempotency;
+
+import br.com.junior.esig.taskmanager.exception.IdempotencyKeyReusedException;
+import br.com.junior.esig.taskmanager.exception.RequestInProgressException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Persistência das chaves em {@code idempotency_keys}. A reserva é um INSERT com a chave
+ * primária: entre instâncias (ou após um restart) só quem inseriu executa; os outros esperam
+ * o {@code status} ser gravado, consultando a linha.
+ * <p>
+ * A reserva vale até {@code locked_until}. Se a instância que reservou cair antes de gravar
+ * a resposta (ou de apagar a linha), a próxima repetição assume a chave depois desse prazo,
+ * em vez de receber 409 até o fim do TTL.
+ */
+@Component
+class IdempotencyStore {
+
+    private static final String INSERT =
+            "INSERT INTO idempotency_keys (key_hash, fingerprint, expires_at, locked_until) VALUES (?, ?, ?, ?)";
+    private static final String SELECT =
+            "SELECT fingerprint, status, body, expires_at, locked_until FROM idempotency_keys WHERE key_hash = ?";
+    // Só uma das repetições consegue assumir uma reserva vencida
+    private static final String TAKE_OVER = "UPDATE idempotency_keys SET locked_until = ? "
+            + "WHERE key_hash = ? AND status IS NULL AND (locked_until IS NULL OR locked_until < ?)";
+    private static final long POLL_MILLIS = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+
+    IdempotencyStore(JdbcTemplate jdbcTemplate, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clock = clock;
+    }
+
+    private record Row(String fingerprint, Integer status, String body, Instant expiresAt, Instant lockedUntil) {
+    }
+
+    /**
+     * Reserva a chave; devolve {@code null} se esta chamada deve executar, ou a resposta já
+     * gravada por outra execução (esperando até {@code timeout} se ela ainda estiver rodando).
+     * A reserva dura {@code lease}; passado esse prazo sem resposta, outra chamada a assume.
+     */
+    StoredResponse claim(String keyHash, String fingerprint, Instant expiresAt, Duration lease, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            try {
+                jdbcTemplate.update(INSERT, keyHash, fingerprint, Timestamp.from(expiresAt),
+                        Timestamp.from(clock.instant().plus(lease)));
+                return null;
+            } catch (DuplicateKeyException e) {
+                Row row = find(keyHash);
+                if (row == null) {
+                    continue;
+                }
+                if (!row.expiresAt().isAfter(clock.instant())) {
+                    jdbcTemplate.update("DELETE FROM idempotency_keys WHERE key_hash = ? AND expires_at <= ?",
+                            keyHash, Timestamp.from(clock.instant()));
+                    continue;
+                }
+                if (!row.fingerprint().equals(fingerprint)) {
+                    throw new IdempotencyKeyReusedException("Idempotency-Key já usada com outra requisição");
+                }
+                if (row.status() != null) {
+                    return new StoredResponse(row.status(), row.body());
+                }
+                Instant now = clock.instant();
+                if (row.lockedUntil() == null || row.lockedUntil().isBefore(now)) {
+                    if (jdbcTemplate.update(TAKE_OVER, Timestamp.from(now.plus(lease)), keyHash, Timestamp.from(now)) == 1) {
+                        return null;
+                    }
+                    continue;
+                }
+                if (System.nanoTime() - deadline > 0) {
+                    throw new RequestInProgressException("Requisição com esta Idempotency-Key ainda em execução");
+                }
+                sleep();
+            }
+        }
+    }
+
+    void complete(String keyHash, StoredResponse response) {
+        jdbcTemplate.update("UPDATE idempotency_keys SET status = ?, body = ? WHERE key_hash = ?",
+                response.status(), response.body(), keyHash);
+    }
+
+    // Execução falhou: libera a chave para o cliente tentar de novo
+    void release(String keyHash) {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE key_hash = ? AND status IS NULL", keyHash);
+    }
+
+    int deleteExpired() {
+        return jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at <= ?", Timestamp.from(clock.instant()));
+    }
+
+    private Row find(String keyHash) {
+        try {
+            return jdbcTemplate.queryForObject(SELECT, (rs, i) -> new Row(rs.getString(1),
+                    rs.getObject(2, Integer.class), rs.getString(3), rs.getTimestamp(4).toInstant(),
+                    toInstant(rs.getTimestamp(5))), keyHash);
+        } catch (EmptyResultDataAccessException e) {
+            return null;
+        }
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(POLL_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RequestInProgressException("Interrompido aguardando a Idempotency-Key");
+        }
+    }
+}
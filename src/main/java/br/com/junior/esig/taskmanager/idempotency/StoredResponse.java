@@ -0,0 +1,5 @@
+package br.com.junior.esig.taskmanager.idempotency;
+
+/** Status e corpo JSON (nulo em 204) da primeira execução de uma chave. */
+record StoredResponse(int status, String body) {
+}
@@ -1,12 +1,22 @@
 package br.com.junior.esig.taskmanager.mapper;
 
 import br.com.junior.esig.taskmanager.domain.model.Task;
+import br.com.junior.esig.taskmanager.domain.model.TaskAttachment;
+import br.com.junior.esig.taskmanager.domain.model.TaskAuditEntry;
+import br.com.junior.esig.taskmanager.domain.model.TaskRecurrence;
 import br.com.junior.esig.taskmanager.domain.model.User;
+import br.com.junior.esig.taskmanager.dto.task.TaskAttachmentResponse;
+import br.com.junior.esig.taskmanager.dto.task.TaskField;
+import br.com.junior.esig.taskmanager.dto.task.TaskHistoryEntry;
+import br.com.junior.esig.taskmanager.dto.task.TaskRecurrenceResponse;
 import br.com.junior.esig.taskmanager.dto.task.TaskRequest;
 import br.com.junior.esig.taskmanager.dto.task.TaskResponse;
 import br.com.junior.esig.taskmanager.dto.user.UserResponse;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Set;
+
 @Component
 public class TaskMapper {
 
@@ -31,12 +41,72 @@ public class TaskMapper {
                 .priority(task.getPriority())
                 .deadline(task.getDeadline())
                 .status(task.getStatus())
+                .tags(sorted(task.getTags()))
                 .user(toUserResponse(task.getUser()))
+                .parentId(task.getParent() != null ? task.getParent().getId() : null)
                 .createdAt(task.getCreatedAt())
                 .updatedAt(task.getUpdatedAt())
                 .build();
     }
 
+    // Campos fora de fields ficam nulos e somem do JSON
+    public TaskResponse toResponse(Task task, Set<TaskField> fields) {
+        if (fields == TaskField.ALL) {
+            return toResponse(task);
+        }
+        TaskResponse.TaskResponseBuilder response = TaskResponse.builder().id(task.getId());
+        if (fields.contains(TaskField.TITLE)) response.title(task.getTitle());
+        if (fields.contains(TaskField.DESCRIPTION)) response.description(task.getDescription());
+        if (fields.contains(TaskField.RESPONSIBLE)) response.responsible(task.getResponsible());
+        if (fields.contains(TaskField.PRIORITY)) response.priority(task.getPriority());
+        if (fields.contains(TaskField.DEADLINE)) response.deadline(task.getDeadline());
+        if (fields.contains(TaskField.STATUS)) response.status(task.getStatus());
+        if (fields.contains(TaskField.TAGS)) response.tags(sorted(task.getTags()));
+        if (fields.contains(TaskField.USER)) response.user(toUserResponse(task.getUser()));
+        if (fields.contains(TaskField.CREATED_AT)) response.createdAt(task.getCreatedAt());
+        if (fields.contains(TaskField.UPDATED_AT)) response.updatedAt(task.getUpdatedAt());
+        return response.build();
+    }
+
+    public TaskHistoryEntry toHistoryEntry(TaskAuditEntry entry) {
+        return TaskHistoryEntry.builder()
+                .id(entry.getId())
+                .field(entry.getField())
+                .oldValue(entry.getOldValue())
+                .newValue(entry.getNewValue())
+                .changedBy(entry.getActor())
+                .changedAt(entry.getChangedAt())
+                .build();
+    }
+
+    public TaskAttachmentResponse toAttachmentResponse(TaskAttachment attachment) {
+        return TaskAttachmentResponse.builder()
+                .id(attachment.getId())
+                .filename(attachment.getFilename())
+                .contentType(attachment.getContentType())
+                .size(attachment.getSize())
+                .sha256(attachment.getSha256())
+                .uploadedBy(attachment.getUploadedBy())
+                .createdAt(attachment.getCreatedAt())
+                .build();
+    }
+
+    public TaskRecurrenceResponse toRecurrenceResponse(TaskRecurrence recurrence) {
+        return TaskRecurrenceResponse.builder()
+                .id(recurrence.getId())
+                .taskId(recurrence.getTemplate().getId())
+                .frequency(recurrence.getFrequency())
+                .interval(recurrence.getInterval())
+                .startDate(recurrence.getStartDate())
+                .endDate(recurrence.getEndDate())
+                .generatedUntil(recurrence.getGeneratedUntil())
+                .build();
+    }
+
+    private static List<String> sorted(Set<String> tags) {
+        return tags.stream().sorted().toList();
+    }
+
     private UserResponse toUserResponse(User user) {
         if (user == null) {
             return null;
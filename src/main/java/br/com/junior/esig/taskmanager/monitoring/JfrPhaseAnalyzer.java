@@ -0,0 +1,125 @@
+package br.com.junior.esig.taskmanager.monitoring;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Lê um arquivo {@code .jfr} e imprime, por endpoint, o tempo gasto em cada fase.
+ *
+ * <pre>java -cp target/classes br.com.junior.esig.taskmanager.monitoring.JfrPhaseAnalyzer recording.jfr</pre>
+ *
+ * As fases se aninham (jwt-filter contém a consulta do usuário, por exemplo), então a
+ * soma das participações pode passar de 100%.
+ */
+public final class JfrPhaseAnalyzer {
+
+    private JfrPhaseAnalyzer() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Uso: JfrPhaseAnalyzer <arquivo.jfr>");
+            System.exit(1);
+        }
+
+        Map<String, Durations> requests = new TreeMap<>();
+        Map<String, Map<String, Durations>> phases = new TreeMap<>();
+
+        try (RecordingFile file = new RecordingFile(Path.of(args[0]))) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                String type = event.getEventType().getName();
+                String endpoint = event.getString("endpoint");
+                if (endpoint == null) {
+                    endpoint = "(sem endpoint)";
+                }
+                long nanos = event.getDuration().toNanos();
+
+                if (TaskRequestEvent.NAME.equals(type)) {
+                    requests.computeIfAbsent(endpoint, k -> new Durations()).add(nanos, 0);
+                } else if (TaskPhaseEvent.NAME.equals(type)) {
+                    String detail = event.getString("detail");
+                    String phase = detail != null ? event.getString("phase") + " " + detail : event.getString("phase");
+                    phases.computeIfAbsent(endpoint, k -> new TreeMap<>())
+                            .computeIfAbsent(phase, k -> new Durations())
+                            .add(nanos, event.getInt("rows"));
+                }
+            }
+        }
+
+        for (String endpoint : union(requests, phases)) {
+            Durations request = requests.get(endpoint);
+            System.out.println();
+            if (request != null) {
+                System.out.printf(Locale.ROOT, "%s  requests=%d  p50=%.3fms  p99=%.3fms  total=%.1fms%n",
+                        endpoint, request.count(), ms(request.percentile(50)), ms(request.percentile(99)), ms(request.total()));
+            } else {
+                System.out.println(endpoint);
+            }
+            System.out.printf(Locale.ROOT, "  %-48s %8s %10s %10s %10s %8s %9s%n",
+                    "phase", "count", "avg(ms)", "p99(ms)", "total(ms)", "share", "avg rows");
+            for (Map.Entry<String, Durations> entry : phases.getOrDefault(endpoint, Map.of()).entrySet()) {
+                Durations phase = entry.getValue();
+                double share = request != null && request.total() > 0 ? 100.0 * phase.total() / request.total() : 0;
+                System.out.printf(Locale.ROOT, "  %-48s %8d %10.3f %10.3f %10.1f %7.1f%% %9.1f%n",
+                        entry.getKey(), phase.count(), ms(phase.total() / phase.count()), ms(phase.percentile(99)),
+                        ms(phase.total()), share, (double) phase.rows / phase.count());
+            }
+        }
+    }
+
+    private static List<String> union(Map<String, ?> a, Map<String, ?> b) {
+        TreeMap<String, Boolean> keys = new TreeMap<>();
+        a.keySet().forEach(k -> keys.put(k, true));
+        b.keySet().forEach(k -> keys.put(k, true));
+        return new ArrayList<>(keys.keySet());
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Durations {
+        private long[] values = new long[16];
+        private int size;
+        private long total;
+        private long rows;
+        private boolean sorted;
+
+        void add(long nanos, int rowCount) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+            total += nanos;
+            rows += rowCount;
+            sorted = false;
+        }
+
+        int count() {
+            return size;
+        }
+
+        long total() {
+            return total;
+        }
+
+        long percentile(double p) {
+            if (!sorted) {
+                Arrays.sort(values, 0, size);
+                sorted = true;
+            }
+            int index = (int) Math.ceil(p / 100.0 * size) - 1;
+            return values[Math.max(0, Math.min(size - 1, index))];
+        }
+    }
+}
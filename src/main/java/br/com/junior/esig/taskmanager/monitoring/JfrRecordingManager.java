@@ -0,0 +1,60 @@
+package br.com.junior.esig.taskmanager.monitoring;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Inicia uma gravação JFR apenas com os eventos da aplicação quando
+ * {@code monitoring.jfr.enabled=true}. O arquivo é gravado no shutdown.
+ * Sem a propriedade, os eventos podem ser ligados via jcmd com {@code jfr/taskmanager.jfc}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "monitoring.jfr.enabled", havingValue = "true")
+public class JfrRecordingManager {
+
+    @Value("${monitoring.jfr.destination:recordings/taskmanager.jfr}")
+    private Path destination;
+
+    @Value("${monitoring.jfr.max-age:PT30M}")
+    private Duration maxAge;
+
+    private Recording recording;
+
+    @PostConstruct
+    public void start() throws IOException {
+        Path parent = destination.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        recording = new Recording();
+        recording.setName("taskmanager");
+        recording.enable(TaskRequestEvent.NAME).withoutThreshold();
+        recording.enable(TaskPhaseEvent.NAME).withoutThreshold();
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setDestination(destination);
+        recording.start();
+        log.info("Gravação JFR iniciada, destino: {}", destination.toAbsolutePath());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recording != null) {
+            recording.stop();
+            recording.close();
+            log.info("Gravação JFR finalizada: {}", destination.toAbsolutePath());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package br.com.junior.esig.taskmanager.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+/**
+ * Primeiro filtro da cadeia: abre o contexto (endpoint/usuário) lido pelas fases e
+ * emite o {@link TaskRequestEvent} que as engloba. Só faz trabalho com o evento habilitado.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class JfrRequestFilter extends OncePerRequestFilter {
+
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        TaskRequestEvent event = new TaskRequestEvent();
+        if (!event.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String endpoint = endpointOf(request);
+        PhaseTracer.open(endpoint);
+        event.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            event.end();
+            long userId = PhaseTracer.close();
+            if (event.shouldCommit()) {
+                event.endpoint = endpoint;
+                event.userId = userId;
+                event.status = response.getStatus();
+                event.commit();
+            }
+        }
+    }
+
+    static String endpointOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return request.getMethod() + " " + NUMERIC_SEGMENT.matcher(path).replaceAll("/{id}");
+    }
+}
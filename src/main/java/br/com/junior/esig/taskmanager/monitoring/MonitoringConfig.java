@@ -0,0 +1,16 @@
+package br.com.junior.esig.taskmanager.monitoring;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+@Configuration
+public class MonitoringConfig {
+
+    // Substitui o conversor JSON auto-configurado pelo Spring Boot (@ConditionalOnMissingBean)
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new TracingJackson2HttpMessageConverter(objectMapper);
+    }
+}
@@ -0,0 +1,85 @@
+package br.com.junior.esig.taskmanager.monitoring;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Emite {@link TaskPhaseEvent} nas fronteiras de cada fase. Quando os eventos estão
+ * desabilitados (padrão), {@code shouldCommit()} retorna false e o custo se resume
+ * a uma alocação que o JIT elimina.
+ */
+public final class PhaseTracer {
+
+    public static final String JWT_FILTER = "jwt-filter";
+    public static final String LOGGED_USER = "logged-user";
+    public static final String REPOSITORY = "repository";
+    public static final String MAPPING = "mapping";
+    public static final String SERIALIZATION = "serialization";
+
+    private static final ThreadLocal<RequestContext> CONTEXT = new ThreadLocal<>();
+
+    private PhaseTracer() {
+    }
+
+    public static TaskPhaseEvent begin() {
+        TaskPhaseEvent event = new TaskPhaseEvent();
+        event.begin();
+        return event;
+    }
+
+    public static void end(TaskPhaseEvent event, String phase, String detail, int rows) {
+        event.end();
+        if (event.shouldCommit()) {
+            RequestContext context = CONTEXT.get();
+            event.endpoint = context != null ? context.endpoint : null;
+            event.userId = context != null ? context.userId : 0L;
+            event.phase = phase;
+            event.detail = detail;
+            event.rows = rows;
+            event.commit();
+        }
+    }
+
+    public static <T> T trace(String phase, Supplier<T> action) {
+        TaskPhaseEvent event = begin();
+        T result = action.get();
+        end(event, phase, null, rowsOf(result));
+        return result;
+    }
+
+    public static int rowsOf(Object result) {
+        if (result == null) return 0;
+        if (result instanceof Collection<?> collection) return collection.size();
+        if (result instanceof Map<?, ?> map) return map.size();
+        if (result instanceof Optional<?> optional) return optional.isPresent() ? 1 : 0;
+        return 1;
+    }
+
+    public static void setUserId(Long userId) {
+        RequestContext context = CONTEXT.get();
+        if (context != null && userId != null) {
+            context.userId = userId;
+        }
+    }
+
+    static void open(String endpoint) {
+        CONTEXT.set(new RequestContext(endpoint));
+    }
+
+    static long close() {
+        RequestContext context = CONTEXT.get();
+        CONTEXT.remove();
+        return context != null ? context.userId : 0L;
+    }
+
+    private static final class RequestContext {
+        private final String endpoint;
+        private long userId;
+
+        private RequestContext(String endpoint) {
+            this.endpoint = endpoint;
+        }
+    }
+}
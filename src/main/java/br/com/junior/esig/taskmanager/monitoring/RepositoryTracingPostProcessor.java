@@ -0,0 +1,40 @@
+package br.com.junior.esig.taskmanager.monitoring;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+/**
+ * Acrescenta ao proxy de cada repositório Spring Data um interceptor que mede a consulta
+ * (fase {@code repository}), incluindo a transação, e o número de linhas retornadas.
+ */
+@Component
+public class RepositoryTracingPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof Repository<?, ?> && bean instanceof Advised advised && !advised.isFrozen()) {
+            String repositoryName = repositoryName(advised);
+            // Posição 0: os interceptores finais do Spring Data executam a consulta sem chamar proceed()
+            advised.addAdvice(0, (MethodInterceptor) invocation -> {
+                TaskPhaseEvent event = PhaseTracer.begin();
+                Object result = invocation.proceed();
+                PhaseTracer.end(event, PhaseTracer.REPOSITORY,
+                        repositoryName + "." + invocation.getMethod().getName(), PhaseTracer.rowsOf(result));
+                return result;
+            });
+        }
+        return bean;
+    }
+
+    private String repositoryName(Advised advised) {
+        for (Class<?> candidate : advised.getProxiedInterfaces()) {
+            if (Repository.class.isAssignableFrom(candidate) && candidate != Repository.class) {
+                return candidate.getSimpleName();
+            }
+        }
+        return "Repository";
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.junior.esig.taskmanager.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(TaskPhaseEvent.NAME)
+@Label("Task Manager Phase")
+@Category("Task Manager")
+@Description("Duração de uma fase do processamento de uma requisição")
+@Enabled(false)
+@StackTrace(false)
+public class TaskPhaseEvent extends Event {
+
+    public static final String NAME = "taskmanager.Phase";
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Detail")
+    String detail;
+
+    @Label("User Id")
+    long userId;
+
+    @Label("Rows")
+    int rows;
+}
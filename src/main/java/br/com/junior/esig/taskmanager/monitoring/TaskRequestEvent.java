@@ -0,0 +1,29 @@
+package br.com.junior.esig.taskmanager.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(TaskRequestEvent.NAME)
+@Label("Task Manager Request")
+@Category("Task Manager")
+@Description("Requisição HTTP completa, usada como referência para as fases")
+@Enabled(false)
+@StackTrace(false)
+public class TaskRequestEvent extends Event {
+
+    public static final String NAME = "taskmanager.Request";
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("User Id")
+    long userId;
+
+    @Label("Status")
+    int status;
+}
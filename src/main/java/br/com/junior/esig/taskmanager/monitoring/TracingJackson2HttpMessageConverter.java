@@ -0,0 +1,27 @@
+package br.com.junior.esig.taskmanager.monitoring;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Conversor JSON padrão com a fase {@code serialization} medida em volta da escrita do corpo.
+ */
+public class TracingJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public TracingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        TaskPhaseEvent event = PhaseTracer.begin();
+        super.writeInternal(object, type, outputMessage);
+        PhaseTracer.end(event, PhaseTracer.SERIALIZATION, null, PhaseTracer.rowsOf(object));
+    }
+}
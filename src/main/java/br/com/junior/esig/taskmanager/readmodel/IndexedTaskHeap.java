@@ -0,0 +1,162 @@
+package br.com.junior.esig.taskmanager.readmodel;
+
+import br.com.junior.esig.taskmanager.readmodel.collection.LongIntHashMap;
+
+import java.util.Arrays;
+
+/**
+ * Min-heap binário de ids de task ordenado por {@link TaskRank}, com índice id → posição:
+ * inserir, alterar a chave (para cima ou para baixo) e remover são O(log n).
+ * {@link #top(int)} lê os k melhores em O(k log k) sem desmontar o heap.
+ * Não é thread-safe.
+ */
+public class IndexedTaskHeap {
+
+    private static final int NO_POSITION = -1;
+
+    private long[] ids;
+    private long[] ranks;
+    private int size;
+    private final LongIntHashMap positions;
+
+    public IndexedTaskHeap(int expectedSize) {
+        int capacity = Math.max(expectedSize, 4);
+        ids = new long[capacity];
+        ranks = new long[capacity];
+        positions = new LongIntHashMap(capacity, NO_POSITION);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Insere o id ou reposiciona se a chave mudou. */
+    public void upsert(long id, long rank) {
+        int position = positions.get(id);
+        if (position == NO_POSITION) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size << 1);
+                ranks = Arrays.copyOf(ranks, size << 1);
+            }
+            set(size, id, rank);
+            siftUp(size++);
+            return;
+        }
+        long previous = ranks[position];
+        ranks[position] = rank;
+        if (Long.compareUnsigned(rank, previous) < 0) {
+            siftUp(position);
+        } else {
+            siftDown(position);
+        }
+    }
+
+    public boolean remove(long id) {
+        int position = positions.remove(id);
+        if (position == NO_POSITION) {
+            return false;
+        }
+        int last = --size;
+        if (position != last) {
+            // O último elemento ocupa o buraco e pode precisar subir ou descer
+            long moved = ids[last];
+            set(position, moved, ranks[last]);
+            siftDown(position);
+            siftUp(positions.get(moved));
+        }
+        return true;
+    }
+
+    /**
+     * Os {@code k} melhores ids, em ordem. Percorre o heap com uma fronteira auxiliar
+     * (também um heap) a partir da raiz: cada retirada expõe no máximo dois filhos.
+     */
+    public long[] top(int k) {
+        int count = Math.min(k, size);
+        long[] result = new long[count];
+        if (count == 0) {
+            return result;
+        }
+        int[] frontier = new int[2 * count + 1];
+        int frontierSize = 0;
+        frontier[frontierSize++] = 0;
+        for (int n = 0; n < count; n++) {
+            int best = frontier[0];
+            frontier[0] = frontier[--frontierSize];
+            frontierDown(frontier, frontierSize, 0);
+            result[n] = ids[best];
+            for (int child = 2 * best + 1; child <= 2 * best + 2 && child < size; child++) {
+                frontier[frontierSize] = child;
+                frontierUp(frontier, frontierSize++);
+            }
+        }
+        return result;
+    }
+
+    private boolean better(int a, int b) {
+        return TaskRank.compare(ranks[a], ids[a], ranks[b], ids[b]) < 0;
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!better(position, parent)) break;
+            swap(position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int left = 2 * position + 1;
+            if (left >= size) break;
+            int right = left + 1;
+            int child = right < size && better(right, left) ? right : left;
+            if (!better(child, position)) break;
+            swap(position, child);
+            position = child;
+        }
+    }
+
+    private void frontierUp(int[] frontier, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!better(frontier[i], frontier[parent])) break;
+            int tmp = frontier[i];
+            frontier[i] = frontier[parent];
+            frontier[parent] = tmp;
+            i = parent;
+        }
+    }
+
+    private void frontierDown(int[] frontier, int frontierSize, int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= frontierSize) break;
+            int right = left + 1;
+            int child = right < frontierSize && better(frontier[right], frontier[left]) ? right : left;
+            if (!better(frontier[child], frontier[i])) break;
+            int tmp = frontier[i];
+            frontier[i] = frontier[child];
+            frontier[child] = tmp;
+            i = child;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long id = ids[a];
+        long rank = ranks[a];
+        set(a, ids[b], ranks[b]);
+        set(b, id, rank);
+    }
+
+    private void set(int position, long id, long rank) {
+        ids[position] = id;
+        ranks[position] = rank;
+        positions.put(id, position);
+    }
+}
@@ -0,0 +1,150 @@
+package br.com.junior.esig.taskmanager.readmodel;
+
+import br.com.junior.esig.taskmanager.domain.enums.Priority;
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import br.com.junior.esig.taskmanager.domain.event.TaskChangedEvent;
+import br.com.junior.esig.taskmanager.readmodel.collection.LongLongHashMap;
+import br.com.junior.esig.taskmanager.readmodel.collection.LongObjectHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Heaps indexados das tasks acionáveis (TODO, IN_PROGRESS, REVIEW), um por dono e um
+ * global para o ADMIN, ordenados por {@link TaskRank}. Responde "próximas k tasks" em
+ * O(k log k) e é mantido pelos {@link TaskChangedEvent}: mudar prioridade ou prazo só
+ * reposiciona a task no heap.
+ * <p>
+ * Desligado por padrão ({@code task.next.enabled}); reconstruído do banco na subida.
+ */
+@Slf4j
+@Component
+public class NextTaskIndex {
+
+    public static final Set<TaskStatus> ACTIONABLE =
+            EnumSet.of(TaskStatus.TODO, TaskStatus.IN_PROGRESS, TaskStatus.REVIEW);
+
+    private static final String SELECT_ACTIONABLE =
+            "SELECT id, user_id, priority, deadline, created_at FROM tasks WHERE status IN ("
+                    + ACTIONABLE.stream().map(s -> "'" + s.name() + "'").collect(Collectors.joining(", ")) + ")";
+    private static final long NO_OWNER = -1;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongLongHashMap ownerById = new LongLongHashMap(1024, NO_OWNER);
+    private final LongObjectHashMap<IndexedTaskHeap> byOwner = new LongObjectHashMap<>(1024);
+    private IndexedTaskHeap all = new IndexedTaskHeap(1024);
+    private volatile boolean ready;
+
+    public NextTaskIndex(JdbcTemplate jdbcTemplate,
+                         @Value("${task.next.enabled:false}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            ownerById.clear();
+            byOwner.clear();
+            all = new IndexedTaskHeap(1024);
+            jdbcTemplate.query(SELECT_ACTIONABLE, rs -> {
+                String priority = rs.getString("priority");
+                Date deadline = rs.getDate("deadline");
+                Timestamp createdAt = rs.getTimestamp("created_at");
+                Long userId = rs.getObject("user_id", Long.class);
+                insert(rs.getLong("id"), userId != null ? userId : NO_OWNER, TaskRank.of(
+                        priority != null ? Priority.valueOf(priority) : null,
+                        deadline != null ? deadline.toLocalDate() : null,
+                        createdAt != null ? createdAt.toLocalDateTime() : null));
+            });
+            ready = true;
+            log.info("Índice de próximas tasks carregado: {} tasks acionáveis", all.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(TaskChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            long id = event.taskId();
+            long previousOwner = ownerById.get(id);
+            boolean tracked = ownerById.containsKey(id);
+            boolean actionable = !event.deleted() && ACTIONABLE.contains(event.status());
+            long owner = event.userId() != null ? event.userId() : NO_OWNER;
+
+            if (tracked && actionable && previousOwner == owner) {
+                // Mesma task, mesmo dono: só a chave muda (decrease/increase-key)
+                long rank = TaskRank.of(event.priority(), event.deadline(), event.createdAt());
+                all.upsert(id, rank);
+                if (owner != NO_OWNER) byOwner.get(owner).upsert(id, rank);
+                return;
+            }
+            if (tracked) {
+                delete(id, previousOwner);
+            }
+            if (actionable) {
+                insert(id, owner, TaskRank.of(event.priority(), event.deadline(), event.createdAt()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** As {@code k} próximas tasks do dono, ou de todos com {@code ownerId} nulo. */
+    public long[] top(Long ownerId, int k) {
+        lock.readLock().lock();
+        try {
+            IndexedTaskHeap heap = ownerId == null ? all : byOwner.get(ownerId);
+            return heap == null ? new long[0] : heap.top(k);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void insert(long id, long owner, long rank) {
+        ownerById.put(id, owner);
+        all.upsert(id, rank);
+        if (owner != NO_OWNER) {
+            byOwner.computeIfAbsent(owner, o -> new IndexedTaskHeap(16)).upsert(id, rank);
+        }
+    }
+
+    private void delete(long id, long owner) {
+        ownerById.remove(id);
+        all.remove(id);
+        IndexedTaskHeap heap = owner != NO_OWNER ? byOwner.get(owner) : null;
+        if (heap != null) {
+            heap.remove(id);
+            if (heap.isEmpty()) byOwner.remove(owner);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package br.com.junior.esig.taskmanager.readmodel;
+
+import br.com.junior.esig.taskmanager.domain.enums.Priority;
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import br.com.junior.esig.taskmanager.readmodel.collection.LongObjectHashMap;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bitmaps comprimidos (Roaring) de ids de task por status, prioridade e dono. Filtros
+ * combinados viram AND/OR entre bitmaps e contagens saem da cardinalidade, sem banco.
+ * Os ids precisam caber em int.
+ * <p>
+ * Não é thread-safe: o {@link TaskReadModel} serializa as escritas.
+ */
+public class TaskBitmapIndex {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final RoaringBitmap all = new RoaringBitmap();
+    private final RoaringBitmap[] byStatus = newBitmaps(STATUSES.length);
+    private final RoaringBitmap[] byPriority = newBitmaps(PRIORITIES.length);
+    private final LongObjectHashMap<RoaringBitmap> byOwner = new LongObjectHashMap<>(1024);
+
+    public void add(long id, Long ownerId, TaskStatus status, Priority priority) {
+        int key = Math.toIntExact(id);
+        all.add(key);
+        if (status != null) byStatus[status.ordinal()].add(key);
+        if (priority != null) byPriority[priority.ordinal()].add(key);
+        if (ownerId != null) byOwner.computeIfAbsent(ownerId, owner -> new RoaringBitmap()).add(key);
+    }
+
+    /**
+     * Tira o id de todos os bitmaps. O dono anterior vem de fora para não varrer o mapa de donos.
+     */
+    public void remove(long id, Long previousOwnerId) {
+        int key = Math.toIntExact(id);
+        all.remove(key);
+        for (RoaringBitmap bitmap : byStatus) bitmap.remove(key);
+        for (RoaringBitmap bitmap : byPriority) bitmap.remove(key);
+        if (previousOwnerId != null) {
+            RoaringBitmap owned = byOwner.get(previousOwnerId);
+            if (owned != null) {
+                owned.remove(key);
+                if (owned.isEmpty()) byOwner.remove(previousOwnerId);
+            }
+        }
+    }
+
+    /**
+     * Ids que satisfazem dono AND status IN (...) AND prioridade IN (...). Sempre devolve
+     * um bitmap novo, que o chamador pode alterar.
+     */
+    public RoaringBitmap select(Long ownerId, Set<TaskStatus> statuses, Set<Priority> priorities) {
+        RoaringBitmap result;
+        if (ownerId != null) {
+            RoaringBitmap owned = byOwner.get(ownerId);
+            if (owned == null) return new RoaringBitmap();
+            result = owned.clone();
+        } else {
+            result = all.clone();
+        }
+        if (!statuses.isEmpty()) {
+            result.and(union(byStatus, statuses));
+        }
+        if (!priorities.isEmpty()) {
+            result.and(union(byPriority, priorities));
+        }
+        return result;
+    }
+
+    public long countByStatus(RoaringBitmap selection, TaskStatus status) {
+        return RoaringBitmap.andCardinality(selection, byStatus[status.ordinal()]);
+    }
+
+    public long countByPriority(RoaringBitmap selection, Priority priority) {
+        return RoaringBitmap.andCardinality(selection, byPriority[priority.ordinal()]);
+    }
+
+    public void clear() {
+        all.clear();
+        for (RoaringBitmap bitmap : byStatus) bitmap.clear();
+        for (RoaringBitmap bitmap : byPriority) bitmap.clear();
+        byOwner.clear();
+    }
+
+    private static RoaringBitmap union(RoaringBitmap[] bitmaps, Set<? extends Enum<?>> values) {
+        List<RoaringBitmap> selected = new ArrayList<>(values.size());
+        for (Enum<?> value : values) {
+            selected.add(bitmaps[value.ordinal()]);
+        }
+        return FastAggregation.or(selected.iterator());
+    }
+
+    private static RoaringBitmap[] newBitmaps(int count) {
+        RoaringBitmap[] bitmaps = new RoaringBitmap[count];
+        for (int i = 0; i < count; i++) {
+            bitmaps[i] = new RoaringBitmap();
+        }
+        return bitmaps;
+    }
+}
@@ -0,0 +1,228 @@
+package br.com.junior.esig.taskmanager.readmodel;
+
+import br.com.junior.esig.taskmanager.domain.enums.Priority;
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import br.com.junior.esig.taskmanager.domain.event.TaskChangedEvent;
+import br.com.junior.esig.taskmanager.readmodel.collection.LongIntHashMap;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Atributos filtráveis das tasks em arrays primitivos, uma posição por task. Enums viram
+ * ordinais em byte, o deadline vira epoch-day e o responsável é codificado num dicionário
+ * (cada texto distinto é guardado uma vez, em minúsculas).
+ * <p>
+ * Não é thread-safe: o {@link TaskReadModel} serializa as escritas.
+ */
+public class TaskColumns {
+
+    static final byte NULL_ORDINAL = -1;
+    static final long NO_OWNER = -1;
+    static final int NO_DEADLINE = Integer.MIN_VALUE;
+    static final int NO_RESPONSIBLE = -1;
+    private static final int NO_SLOT = -1;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] owners = new long[INITIAL_CAPACITY];
+    private byte[] statuses = new byte[INITIAL_CAPACITY];
+    private byte[] priorities = new byte[INITIAL_CAPACITY];
+    private int[] deadlines = new int[INITIAL_CAPACITY];
+    private int[] responsibles = new int[INITIAL_CAPACITY];
+    private int size;
+
+    private final LongIntHashMap slots = new LongIntHashMap(INITIAL_CAPACITY, NO_SLOT);
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private final List<String> words = new ArrayList<>();
+
+    public int size() {
+        return size;
+    }
+
+    public void apply(TaskChangedEvent event) {
+        if (event.deleted()) {
+            remove(event.taskId());
+        } else {
+            upsert(event.taskId(), event.userId(), event.status(), event.priority(), event.deadline(), event.responsible());
+        }
+    }
+
+    public void upsert(long id, Long ownerId, TaskStatus status, Priority priority, LocalDate deadline, String responsible) {
+        int i = slots.get(id);
+        if (i == NO_SLOT) {
+            ensureCapacity(size + 1);
+            i = size++;
+            slots.put(id, i);
+        }
+        ids[i] = id;
+        owners[i] = ownerId != null ? ownerId : NO_OWNER;
+        statuses[i] = status != null ? (byte) status.ordinal() : NULL_ORDINAL;
+        priorities[i] = priority != null ? (byte) priority.ordinal() : NULL_ORDINAL;
+        deadlines[i] = deadline != null ? (int) deadline.toEpochDay() : NO_DEADLINE;
+        responsibles[i] = encode(responsible);
+    }
+
+    public void remove(long id) {
+        int i = slots.remove(id);
+        if (i == NO_SLOT) {
+            return;
+        }
+        // Move a última posição para o buraco e mantém as colunas densas
+        int last = --size;
+        if (i != last) {
+            ids[i] = ids[last];
+            owners[i] = owners[last];
+            statuses[i] = statuses[last];
+            priorities[i] = priorities[last];
+            deadlines[i] = deadlines[last];
+            responsibles[i] = responsibles[last];
+            slots.put(ids[i], i);
+        }
+    }
+
+    /** Dono atual da task, ou {@code null} se ela não está nas colunas. */
+    public Long ownerOf(long id) {
+        int slot = slots.get(id);
+        return slot == NO_SLOT || owners[slot] == NO_OWNER ? null : owners[slot];
+    }
+
+    /**
+     * Varre as colunas e devolve os ids que satisfazem o predicado, em ordem crescente.
+     */
+    public long[] scan(TaskQuery query) {
+        Predicate predicate = new Predicate(query, true);
+        long[] result = new long[64];
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            if (!predicate.test(i)) continue;
+            if (n == result.length) {
+                result = Arrays.copyOf(result, n * 2);
+            }
+            result[n++] = ids[i];
+        }
+        long[] matched = Arrays.copyOf(result, n);
+        Arrays.sort(matched);
+        return matched;
+    }
+
+    /**
+     * Aplica só os predicados de coluna (deadline, responsável) aos candidatos já filtrados
+     * pelos bitmaps. Mantém a ordem crescente dos candidatos.
+     */
+    public long[] filter(RoaringBitmap candidates, TaskQuery query) {
+        Predicate predicate = new Predicate(query, false);
+        long[] result = new long[Math.min(candidates.getCardinality(), 1024)];
+        int n = 0;
+        PeekableIntIterator iterator = candidates.getIntIterator();
+        while (iterator.hasNext()) {
+            int slot = slots.get(iterator.next());
+            if (slot == NO_SLOT || !predicate.test(slot)) continue;
+            if (n == result.length) {
+                result = Arrays.copyOf(result, Math.max(n * 2, 16));
+            }
+            result[n++] = ids[slot];
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    public void clear() {
+        size = 0;
+        slots.clear();
+        dictionary.clear();
+        words.clear();
+    }
+
+    private static boolean[] mask(Set<? extends Enum<?>> values, int length) {
+        if (values.isEmpty()) {
+            return null;
+        }
+        boolean[] mask = new boolean[length];
+        for (Enum<?> value : values) {
+            mask[value.ordinal()] = true;
+        }
+        return mask;
+    }
+
+    // Avalia o "contains" uma vez por texto distinto, não uma vez por task
+    private boolean[] matchDictionary(String fragment) {
+        String needle = fragment.toLowerCase(Locale.ROOT);
+        boolean[] matches = new boolean[words.size()];
+        for (int code = 0; code < matches.length; code++) {
+            matches[code] = words.get(code).contains(needle);
+        }
+        return matches;
+    }
+
+    // O dicionário só cresce; textos que deixaram de ser usados continuam ocupando um código
+    private int encode(String responsible) {
+        if (responsible == null) {
+            return NO_RESPONSIBLE;
+        }
+        return dictionary.computeIfAbsent(responsible.toLowerCase(Locale.ROOT), word -> {
+            words.add(word);
+            return words.size() - 1;
+        });
+    }
+
+    /**
+     * TaskQuery convertido para valores primitivos uma vez por consulta.
+     */
+    private final class Predicate {
+
+        private final long owner;
+        private final boolean[] statusMask;
+        private final boolean[] priorityMask;
+        private final boolean[] responsibleMatches;
+        private final boolean deadlineFilter;
+        private final int from;
+        private final int to;
+
+        Predicate(TaskQuery query, boolean indexedColumns) {
+            owner = indexedColumns && query.ownerId() != null ? query.ownerId() : NO_OWNER;
+            statusMask = indexedColumns ? mask(query.statuses(), TaskStatus.values().length) : null;
+            priorityMask = indexedColumns ? mask(query.priorities(), Priority.values().length) : null;
+            responsibleMatches = query.responsible() != null ? matchDictionary(query.responsible()) : null;
+
+            int lower = query.deadlineFrom() != null ? (int) query.deadlineFrom().toEpochDay() : Integer.MIN_VALUE;
+            int upper = query.deadlineTo() != null ? (int) query.deadlineTo().toEpochDay() : Integer.MAX_VALUE;
+            if (query.deadlineBefore() != null) {
+                upper = Math.min(upper, (int) query.deadlineBefore().toEpochDay() - 1);
+            }
+            deadlineFilter = lower != Integer.MIN_VALUE || upper != Integer.MAX_VALUE;
+            from = lower;
+            to = upper;
+        }
+
+        boolean test(int i) {
+            if (owner != NO_OWNER && owners[i] != owner) return false;
+            if (statusMask != null && (statuses[i] == NULL_ORDINAL || !statusMask[statuses[i]])) return false;
+            if (priorityMask != null && (priorities[i] == NULL_ORDINAL || !priorityMask[priorities[i]])) return false;
+            if (deadlineFilter && (deadlines[i] == NO_DEADLINE || deadlines[i] < from || deadlines[i] > to)) return false;
+            return responsibleMatches == null
+                    || (responsibles[i] != NO_RESPONSIBLE && responsibleMatches[responsibles[i]]);
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(required, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, capacity);
+        owners = Arrays.copyOf(owners, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+        deadlines = Arrays.copyOf(deadlines, capacity);
+        responsibles = Arrays.copyOf(responsibles, capacity);
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.junior.esig.taskmanager.readmodel;
+
+import br.com.junior.esig.taskmanager.domain.enums.Priority;
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import lombok.Builder;
+import lombok.Singular;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Predicado sobre o read model. Campos nulos ou conjuntos vazios não filtram; status e
+ * prioridade aceitam vários valores (IN). {@code deadlineFrom} e {@code deadlineTo} são
+ * inclusivos e {@code deadlineBefore} é exclusivo. {@code tagged} restringe aos ids do
+ * bitmap, já resolvido pelo TagIndex.
+ */
+@Builder
+public record TaskQuery(Long ownerId,
+                        @Singular Set<TaskStatus> statuses,
+                        @Singular Set<Priority> priorities,
+                        String responsible,
+                        LocalDate deadlineFrom,
+                        LocalDate deadlineTo,
+                        LocalDate deadlineBefore,
+                        RoaringBitmap tagged) {
+
+    /** Predicados respondidos pelos bitmaps. */
+    boolean hasIndexedPredicate() {
+        return ownerId != null || !statuses.isEmpty() || !priorities.isEmpty() || tagged != null;
+    }
+
+    /** Predicados que exigem olhar as colunas de cada task. */
+    boolean hasColumnPredicate() {
+        return responsible != null || deadlineFrom != null || deadlineTo != null || deadlineBefore != null;
+    }
+}
@@ -0,0 +1,44 @@
+package br.com.junior.esig.taskmanager.readmodel;
+
+import br.com.junior.esig.taskmanager.domain.enums.Priority;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Ordem de "próxima task" empacotada num long, comparado sem sinal (menor = melhor):
+ * <pre>
+ *   3 bits  prioridade invertida (URGENT = 0; sem prioridade por último)
+ *  27 bits  deadline em epoch-day (sem prazo por último)
+ *  34 bits  criação em epoch-second (mais antiga primeiro)
+ * </pre>
+ * Empates são desfeitos pelo id.
+ */
+public final class TaskRank {
+
+    private static final int DEADLINE_BITS = 27;
+    private static final int CREATED_BITS = 34;
+    private static final long NO_PRIORITY = 7;
+    private static final long NO_DEADLINE = (1L << DEADLINE_BITS) - 1;
+    private static final long NO_CREATED_AT = (1L << CREATED_BITS) - 1;
+
+    private TaskRank() {
+    }
+
+    public static long of(Priority priority, LocalDate deadline, LocalDateTime createdAt) {
+        long rank = priority != null ? Priority.URGENT.ordinal() - priority.ordinal() : NO_PRIORITY;
+        long day = deadline != null ? clamp(deadline.toEpochDay(), NO_DEADLINE - 1) : NO_DEADLINE;
+        long created = createdAt != null ? clamp(createdAt.toEpochSecond(ZoneOffset.UTC), NO_CREATED_AT - 1) : NO_CREATED_AT;
+        return rank << (DEADLINE_BITS + CREATED_BITS) | day << CREATED_BITS | created;
+    }
+
+    public static int compare(long rankA, long idA, long rankB, long idB) {
+        int byRank = Long.compareUnsigned(rankA, rankB);
+        return byRank != 0 ? byRank : Long.compare(idA, idB);
+    }
+
+    private static long clamp(long value, long max) {
+        return Math.max(0, Math.min(value, max));
+    }
+}
@@ -0,0 +1,198 @@
+package br.com.junior.esig.taskmanager.readmodel;
+
+import br.com.junior.esig.taskmanager.domain.enums.Priority;
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import br.com.junior.esig.taskmanager.domain.event.TaskChangedEvent;
+import br.com.junior.esig.taskmanager.dto.task.TaskFacetsResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Lado de leitura (CQRS) das consultas de filtro: colunas primitivas ({@link TaskColumns})
+ * mais bitmaps por status, prioridade e dono ({@link TaskBitmapIndex}). Reconstruído do banco na subida e mantido
+ * pelos {@link TaskChangedEvent} publicados pelo TaskService após o commit. Escritas feitas
+ * fora do TaskService (SQL direto, outro nó) só aparecem depois de um {@link #rebuild()}.
+ * <p>
+ * Desligado por padrão ({@code task.read-model.enabled}); enquanto não estiver pronto,
+ * o TaskService consulta o banco.
+ */
+@Slf4j
+@Component
+public class TaskReadModel {
+
+    private static final String SELECT_COLUMNS =
+            "SELECT id, user_id, status, priority, deadline, responsible FROM tasks";
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final TaskColumns columns = new TaskColumns();
+    private final TaskBitmapIndex bitmaps = new TaskBitmapIndex();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    public TaskReadModel(JdbcTemplate jdbcTemplate,
+                         @Value("${task.read-model.enabled:false}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Recarrega todas as colunas do banco. Eventos que chegam durante a carga esperam o
+     * lock de escrita e são aplicados por cima do snapshot.
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            columns.clear();
+            bitmaps.clear();
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(SELECT_COLUMNS);
+                statement.setFetchSize(FETCH_SIZE);
+                return statement;
+            }, rs -> {
+                long id = rs.getLong("id");
+                Long userId = rs.getObject("user_id", Long.class);
+                String status = rs.getString("status");
+                String priority = rs.getString("priority");
+                Date deadline = rs.getDate("deadline");
+                TaskStatus taskStatus = status != null ? TaskStatus.valueOf(status) : null;
+                Priority taskPriority = priority != null ? Priority.valueOf(priority) : null;
+                columns.upsert(id, userId, taskStatus, taskPriority,
+                        deadline != null ? deadline.toLocalDate() : null,
+                        rs.getString("responsible"));
+                bitmaps.add(id, userId, taskStatus, taskPriority);
+            });
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Read model de tasks carregado: {} tasks em {} ms",
+                columns.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(TaskChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            bitmaps.remove(event.taskId(), columns.ownerOf(event.taskId()));
+            columns.apply(event);
+            if (!event.deleted()) {
+                bitmaps.add(event.taskId(), event.userId(), event.status(), event.priority());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids que satisfazem o predicado, em ordem crescente. Dono, status, prioridade e rótulos
+     * saem dos bitmaps; deadline e responsável são conferidos nas colunas só para os candidatos.
+     */
+    public long[] scan(TaskQuery query) {
+        lock.readLock().lock();
+        try {
+            if (!query.hasIndexedPredicate()) {
+                return columns.scan(query);
+            }
+            RoaringBitmap candidates = candidates(query);
+            if (!query.hasColumnPredicate()) {
+                return toLongArray(candidates);
+            }
+            return columns.filter(candidates, query);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Ids que satisfazem o predicado, como bitmap novo que o chamador pode alterar. */
+    public RoaringBitmap select(TaskQuery query) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap selection = candidates(query);
+            if (query.hasColumnPredicate()) {
+                selection = RoaringBitmap.bitmapOf(toIntArray(columns.filter(selection, query)));
+            }
+            return selection;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Total e contagem por status e prioridade das tasks de {@code selection} (ver {@link #select}).
+     */
+    public TaskFacetsResponse facets(RoaringBitmap selection) {
+        lock.readLock().lock();
+        try {
+            Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+            for (TaskStatus status : TaskStatus.values()) {
+                byStatus.put(status, bitmaps.countByStatus(selection, status));
+            }
+            Map<Priority, Long> byPriority = new EnumMap<>(Priority.class);
+            for (Priority priority : Priority.values()) {
+                byPriority.put(priority, bitmaps.countByPriority(selection, priority));
+            }
+            return TaskFacetsResponse.builder()
+                    .total(selection.getLongCardinality())
+                    .status(byStatus)
+                    .priority(byPriority)
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private RoaringBitmap candidates(TaskQuery query) {
+        RoaringBitmap candidates = bitmaps.select(query.ownerId(), query.statuses(), query.priorities());
+        if (query.tagged() != null) {
+            candidates.and(query.tagged());
+        }
+        return candidates;
+    }
+
+    private static long[] toLongArray(RoaringBitmap bitmap) {
+        long[] ids = new long[bitmap.getCardinality()];
+        PeekableIntIterator iterator = bitmap.getIntIterator();
+        for (int i = 0; iterator.hasNext(); i++) {
+            ids[i] = iterator.next();
+        }
+        return ids;
+    }
+
+    private static int[] toIntArray(long[] ids) {
+        int[] keys = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            keys[i] = Math.toIntExact(ids[i]);
+        }
+        return keys;
+    }
+}
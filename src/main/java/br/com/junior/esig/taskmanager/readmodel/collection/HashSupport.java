@@ -0,0 +1,26 @@
+package br.com.junior.esig.taskmanager.readmodel.collection;
+
+final class HashSupport {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private HashSupport() {
+    }
+
+    // Embaralha a chave (fmix64 do MurmurHash3) para que donos e ids próximos não formem clusters
+    static int slot(long key, int mask) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key & mask;
+    }
+
+    static int capacityFor(int expectedSize, double loadFactor) {
+        long required = (long) Math.ceil(Math.max(expectedSize, 1) / loadFactor) + 1;
+        long capacity = Math.max(MIN_CAPACITY, Long.highestOneBit(required - 1) << 1);
+        if (capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacidade excessiva: " + expectedSize);
+        }
+        return (int) capacity;
+    }
+}
@@ -0,0 +1,148 @@
+package br.com.junior.esig.taskmanager.readmodel.collection;
+
+import java.util.Arrays;
+
+/**
+ * Mapa long → long com o mesmo layout do {@link LongIntHashMap} (16 bytes por posição).
+ * A chave 0 é guardada à parte porque marca posição livre.
+ */
+public class LongLongHashMap {
+
+    private static final long FREE = 0L;
+    private static final double LOAD_FACTOR = 0.75;
+
+    private final long missingValue;
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+    private boolean hasZeroKey;
+    private long zeroValue;
+
+    /**
+     * @param missingValue valor devolvido por {@link #get} quando a chave não existe
+     */
+    public LongLongHashMap(int expectedSize, long missingValue) {
+        this.missingValue = missingValue;
+        allocate(HashSupport.capacityFor(expectedSize, LOAD_FACTOR));
+    }
+
+    public int size() {
+        return size + (hasZeroKey ? 1 : 0);
+    }
+
+    public long get(long key) {
+        if (key == FREE) {
+            return hasZeroKey ? zeroValue : missingValue;
+        }
+        for (int i = HashSupport.slot(key, mask); ; i = (i + 1) & mask) {
+            long existing = keys[i];
+            if (existing == key) return values[i];
+            if (existing == FREE) return missingValue;
+        }
+    }
+
+    public boolean containsKey(long key) {
+        if (key == FREE) {
+            return hasZeroKey;
+        }
+        for (int i = HashSupport.slot(key, mask); ; i = (i + 1) & mask) {
+            long existing = keys[i];
+            if (existing == key) return true;
+            if (existing == FREE) return false;
+        }
+    }
+
+    /**
+     * @return o valor anterior, ou o valor de ausência
+     */
+    public long put(long key, long value) {
+        if (key == FREE) {
+            long previous = hasZeroKey ? zeroValue : missingValue;
+            hasZeroKey = true;
+            zeroValue = value;
+            return previous;
+        }
+        int i = HashSupport.slot(key, mask);
+        while (keys[i] != FREE) {
+            if (keys[i] == key) {
+                long previous = values[i];
+                values[i] = value;
+                return previous;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size >= resizeAt) {
+            rehash(keys.length << 1);
+        }
+        return missingValue;
+    }
+
+    /**
+     * @return o valor removido, ou o valor de ausência
+     */
+    public long remove(long key) {
+        if (key == FREE) {
+            long previous = hasZeroKey ? zeroValue : missingValue;
+            hasZeroKey = false;
+            return previous;
+        }
+        for (int i = HashSupport.slot(key, mask); ; i = (i + 1) & mask) {
+            long existing = keys[i];
+            if (existing == FREE) return missingValue;
+            if (existing == key) {
+                long previous = values[i];
+                shiftBack(i);
+                size--;
+                return previous;
+            }
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        size = 0;
+        hasZeroKey = false;
+    }
+
+    // Remoção sem lápide: puxa para trás as entradas seguintes do mesmo cluster
+    private void shiftBack(int hole) {
+        int i = hole;
+        for (int j = (i + 1) & mask; keys[j] != FREE; j = (j + 1) & mask) {
+            int ideal = HashSupport.slot(keys[j], mask);
+            if (((j - ideal) & mask) >= ((j - i) & mask)) {
+                keys[i] = keys[j];
+                values[i] = values[j];
+                i = j;
+            }
+        }
+        keys[i] = FREE;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(capacity);
+        for (int j = 0; j < oldKeys.length; j++) {
+            long key = oldKeys[j];
+            if (key != FREE) {
+                int i = HashSupport.slot(key, mask);
+                while (keys[i] != FREE) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+}
@@ -0,0 +1,159 @@
+package br.com.junior.esig.taskmanager.readmodel.collection;
+
+import java.util.Arrays;
+import java.util.function.LongFunction;
+
+/**
+ * Mapa long → objeto com endereçamento aberto (sondagem linear), sem boxing da chave.
+ * Mesmo layout do {@link LongIntHashMap}; valores nulos não são aceitos.
+ */
+public class LongObjectHashMap<V> {
+
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+
+    private static final long FREE = 0L;
+    private static final double LOAD_FACTOR = 0.75;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+    private V zeroValue;
+
+    public LongObjectHashMap(int expectedSize) {
+        allocate(HashSupport.capacityFor(expectedSize, LOAD_FACTOR));
+    }
+
+    public int size() {
+        return size + (zeroValue != null ? 1 : 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        if (key == FREE) {
+            return zeroValue;
+        }
+        for (int i = HashSupport.slot(key, mask); ; i = (i + 1) & mask) {
+            long existing = keys[i];
+            if (existing == key) return (V) values[i];
+            if (existing == FREE) return null;
+        }
+    }
+
+    public V computeIfAbsent(long key, LongFunction<V> factory) {
+        V value = get(key);
+        if (value == null) {
+            value = factory.apply(key);
+            put(key, value);
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Valores nulos não são suportados");
+        }
+        if (key == FREE) {
+            V previous = zeroValue;
+            zeroValue = value;
+            return previous;
+        }
+        int i = HashSupport.slot(key, mask);
+        while (keys[i] != FREE) {
+            if (keys[i] == key) {
+                V previous = (V) values[i];
+                values[i] = value;
+                return previous;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size >= resizeAt) {
+            rehash(keys.length << 1);
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        if (key == FREE) {
+            V previous = zeroValue;
+            zeroValue = null;
+            return previous;
+        }
+        for (int i = HashSupport.slot(key, mask); ; i = (i + 1) & mask) {
+            long existing = keys[i];
+            if (existing == FREE) return null;
+            if (existing == key) {
+                V previous = (V) values[i];
+                shiftBack(i);
+                size--;
+                return previous;
+            }
+        }
+    }
+
+    /** Percorre as entradas; o consumidor não pode inserir nem remover chaves. */
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<? super V> consumer) {
+        if (zeroValue != null) {
+            consumer.accept(FREE, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE) {
+                consumer.accept(keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        Arrays.fill(values, null);
+        size = 0;
+        zeroValue = null;
+    }
+
+    private void shiftBack(int hole) {
+        int i = hole;
+        for (int j = (i + 1) & mask; keys[j] != FREE; j = (j + 1) & mask) {
+            int ideal = HashSupport.slot(keys[j], mask);
+            if (((j - ideal) & mask) >= ((j - i) & mask)) {
+                keys[i] = keys[j];
+                values[i] = values[j];
+                i = j;
+            }
+        }
+        keys[i] = FREE;
+        values[i] = null;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int j = 0; j < oldKeys.length; j++) {
+            long key = oldKeys[j];
+            if (key != FREE) {
+                int i = HashSupport.slot(key, mask);
+                while (keys[i] != FREE) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+}
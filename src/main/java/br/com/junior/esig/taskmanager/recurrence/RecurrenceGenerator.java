@@ -0,0 +1,276 @@
+package br.com.junior.esig.taskmanager.recurrence;
+
+import br.com.junior.esig.taskmanager.domain.enums.Frequency;
+import br.com.junior.esig.taskmanager.domain.enums.Priority;
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import br.com.junior.esig.taskmanager.domain.event.TaskChangedEvent;
+import br.com.junior.esig.taskmanager.domain.event.TaskTagsChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Materializa as ocorrências das regras de repetição como tasks, só até {@code horizon} à
+ * frente: uma regra diária nunca cria mais que o horizonte de linhas, e as datas seguintes
+ * são geradas conforme o tempo passa. Ocorrências que já ficaram no passado (regra nova
+ * com início antigo, gerador parado) são puladas.
+ * <p>
+ * As regras são divididas em {@code partitions} partições ({@code MOD(id, partições)}). Cada
+ * nó toma a posse temporária de uma partição livre em {@code recurrence_leases} com um
+ * UPDATE condicional, gera em lotes de {@code batch-size} regras e a devolve; vários nós (e
+ * execuções sobrepostas) trabalham em partições diferentes sem gerar a mesma ocorrência
+ * duas vezes. A chave única {@code (recurrence_id, occurrence_date)} em tasks garante o
+ * mesmo se uma posse vencer no meio de um lote.
+ * <p>
+ * Cada execução processa no máximo {@code max-batches-per-run} lotes, para não segurar o
+ * agendador (compartilhado com os outros jobs) por muito tempo; o que sobrar fica para as
+ * execuções seguintes.
+ * <p>
+ * Desligado por padrão ({@code task.recurrence.enabled}).
+ */
+@Slf4j
+@Component
+public class RecurrenceGenerator {
+
+    private static final String SEED_LEASE = "INSERT INTO recurrence_leases (partition_no) "
+            + "SELECT CAST(? AS INTEGER) WHERE NOT EXISTS (SELECT 1 FROM recurrence_leases WHERE partition_no = ?)";
+    private static final String CLAIM = "UPDATE recurrence_leases SET owner = ?, lease_until = ? "
+            + "WHERE partition_no = ? AND (lease_until IS NULL OR lease_until < ?)";
+    private static final String RENEW = "UPDATE recurrence_leases SET lease_until = ? WHERE partition_no = ? AND owner = ?";
+    private static final String RELEASE = "UPDATE recurrence_leases SET lease_until = NULL WHERE partition_no = ? AND owner = ?";
+
+    // Regras da partição que ainda não cobrem o horizonte, em ordem de id (keyset)
+    private static final String SELECT_DUE = "SELECT id, frequency, repeat_interval, start_date, end_date, generated_until "
+            + "FROM task_recurrences WHERE MOD(id, ?) = ? AND id > ? "
+            + "AND (generated_until IS NULL OR generated_until < ?) "
+            + "AND (end_date IS NULL OR generated_until IS NULL OR generated_until < end_date) ORDER BY id LIMIT ?";
+    // Cópia do modelo; o NOT EXISTS evita a violação da chave única se a data já existir
+    private static final String INSERT_OCCURRENCE = "INSERT INTO tasks (title, description, responsible, priority, deadline, "
+            + "status, user_id, recurrence_id, occurrence_date, created_at, updated_at) "
+            + "SELECT t.title, t.description, t.responsible, t.priority, ?, ?, t.user_id, r.id, ?, ?, ? "
+            + "FROM task_recurrences r JOIN tasks t ON t.id = r.template_id WHERE r.id = ? "
+            + "AND NOT EXISTS (SELECT 1 FROM tasks x WHERE x.recurrence_id = r.id AND x.occurrence_date = ?)";
+    // Tasks criadas neste lote: ocorrências depois do generated_until ainda não atualizado
+    private static final String NEW_OCCURRENCES = "FROM task_recurrences r JOIN tasks n ON n.recurrence_id = r.id %s "
+            + "WHERE r.id IN (%s) AND (r.generated_until IS NULL OR n.occurrence_date > r.generated_until)";
+    private static final String COPY_TAGS = "INSERT INTO task_tags (task_id, tag) SELECT n.id, tt.tag "
+            + NEW_OCCURRENCES.formatted("JOIN task_tags tt ON tt.task_id = r.template_id", "%s");
+    private static final String SELECT_NEW = "SELECT n.id, n.user_id, n.priority, n.deadline, n.responsible, n.created_at, tg.tag "
+            + NEW_OCCURRENCES.formatted("LEFT JOIN task_tags tg ON tg.task_id = n.id", "%s") + " ORDER BY n.id";
+    private static final String MARK_GENERATED = "UPDATE task_recurrences SET generated_until = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int partitions;
+    private final Period horizon;
+    private final int batchSize;
+    private final Duration lease;
+    private final int maxBatchesPerRun;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public RecurrenceGenerator(JdbcTemplate jdbcTemplate,
+                               ApplicationEventPublisher eventPublisher,
+                               Clock clock,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${task.recurrence.enabled:false}") boolean enabled,
+                               @Value("${task.recurrence.partitions:16}") int partitions,
+                               @Value("${task.recurrence.horizon:P14D}") Period horizon,
+                               @Value("${task.recurrence.batch-size:500}") int batchSize,
+                               @Value("${task.recurrence.lease:PT5M}") Duration lease,
+                               @Value("${task.recurrence.max-batches-per-run:20}") int maxBatchesPerRun) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.partitions = partitions;
+        this.horizon = horizon;
+        this.batchSize = batchSize;
+        this.lease = lease;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (!enabled) {
+            return;
+        }
+        for (int partition = 0; partition < partitions; partition++) {
+            try {
+                jdbcTemplate.update(SEED_LEASE, partition, partition);
+            } catch (DuplicateKeyException e) {
+                // Outro nó criou a mesma partição ao mesmo tempo
+            }
+        }
+    }
+
+    /**
+     * Uma passada pelas partições livres, começando de uma aleatória para que nós simultâneos
+     * se espalhem, até {@code max-batches-per-run} lotes. Devolve quantas tasks foram criadas.
+     */
+    @Scheduled(fixedDelayString = "${task.recurrence.interval:PT1M}")
+    public int run() {
+        if (!enabled) {
+            return 0;
+        }
+        Pass pass = new Pass();
+        int first = ThreadLocalRandom.current().nextInt(partitions);
+        for (int i = 0; i < partitions && pass.batches < maxBatchesPerRun; i++) {
+            int partition = (first + i) % partitions;
+            if (claim(partition)) {
+                try {
+                    generate(partition, pass);
+                } finally {
+                    jdbcTemplate.update(RELEASE, partition, nodeId);
+                }
+            }
+        }
+        int created = pass.created;
+        if (created > 0) {
+            log.info("{} task(s) gerada(s) por repetições", created);
+        }
+        return created;
+    }
+
+    private boolean claim(int partition) {
+        Instant now = clock.instant();
+        return jdbcTemplate.update(CLAIM, nodeId, Timestamp.from(now.plus(lease)), partition, Timestamp.from(now)) == 1;
+    }
+
+    // Renova a posse antes de cada lote; se outro nó a tomou (posse vencida), para
+    private boolean renew(int partition) {
+        return jdbcTemplate.update(RENEW, Timestamp.from(clock.instant().plus(lease)), partition, nodeId) == 1;
+    }
+
+    private void generate(int partition, Pass pass) {
+        LocalDate today = LocalDate.now(clock);
+        LocalDate until = today.plus(horizon);
+        long afterId = 0;
+        while (pass.batches < maxBatchesPerRun && renew(partition)) {
+            List<Rule> rules = jdbcTemplate.query(SELECT_DUE, (rs, i) -> new Rule(
+                    rs.getLong("id"),
+                    Frequency.valueOf(rs.getString("frequency")),
+                    rs.getInt("repeat_interval"),
+                    rs.getDate("start_date").toLocalDate(),
+                    toLocalDate(rs.getDate("end_date")),
+                    toLocalDate(rs.getDate("generated_until"))), partitions, partition, afterId, Date.valueOf(until), batchSize);
+            if (rules.isEmpty()) {
+                break;
+            }
+            pass.batches++;
+            try {
+                pass.created += transactionTemplate.execute(status -> generate(rules, today, until));
+            } catch (DuplicateKeyException e) {
+                // A posse venceu e outro nó gerou as mesmas ocorrências; ele continua a partição
+                log.warn("Partição {} de repetições assumida por outro nó", partition);
+                break;
+            }
+            afterId = rules.get(rules.size() - 1).id();
+        }
+    }
+
+    // Um lote numa transação: INSERT das ocorrências em batch, cópia dos rótulos, leitura das
+    // tasks criadas (para os eventos dos modelos em memória) e avanço de generated_until
+    private int generate(List<Rule> rules, LocalDate today, LocalDate until) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now(clock).truncatedTo(ChronoUnit.MICROS));
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> marks = new ArrayList<>(rules.size());
+        for (Rule rule : rules) {
+            LocalDate last = rule.endDate() != null && rule.endDate().isBefore(until) ? rule.endDate() : until;
+            // Datas passadas não são recuperadas
+            LocalDate after = rule.generatedUntil() != null && !rule.generatedUntil().isBefore(today)
+                    ? rule.generatedUntil() : today.minusDays(1);
+            for (LocalDate date : RecurrenceSchedule.between(rule.frequency(), rule.interval(), rule.startDate(), after, last)) {
+                Date occurrence = Date.valueOf(date);
+                inserts.add(new Object[]{occurrence, TaskStatus.TODO.name(), occurrence, now, now, rule.id(), occurrence});
+            }
+            marks.add(new Object[]{Date.valueOf(last), rule.id()});
+        }
+        int created = 0;
+        if (!inserts.isEmpty()) {
+            // O NOT EXISTS pula datas que já existem: conta só as linhas de fato inseridas
+            for (int count : jdbcTemplate.batchUpdate(INSERT_OCCURRENCE, inserts)) {
+                if (count > 0) created += count;
+            }
+            String ids = String.join(",", Collections.nCopies(rules.size(), "?"));
+            Object[] params = rules.stream().map(Rule::id).toArray();
+            jdbcTemplate.update(COPY_TAGS.formatted(ids), params);
+            publish(jdbcTemplate.query(SELECT_NEW.formatted(ids), rs -> {
+                Map<Long, Created> byId = new LinkedHashMap<>();
+                while (rs.next()) {
+                    long id = rs.getLong("id");
+                    Created task = byId.get(id);
+                    if (task == null) {
+                        String priority = rs.getString("priority");
+                        task = new Created(new TaskChangedEvent(id, rs.getObject("user_id", Long.class), TaskStatus.TODO,
+                                priority != null ? Priority.valueOf(priority) : null, rs.getDate("deadline").toLocalDate(),
+                                rs.getString("responsible"), rs.getTimestamp("created_at").toLocalDateTime(), false), new HashSet<>());
+                        byId.put(id, task);
+                    }
+                    String tag = rs.getString("tag");
+                    if (tag != null) task.tags().add(tag);
+                }
+                return new ArrayList<>(byId.values());
+            }, params));
+        }
+        jdbcTemplate.batchUpdate(MARK_GENERATED, marks);
+        return created;
+    }
+
+    // Publicados dentro da transação: os modelos em memória só os aplicam depois do commit
+    private void publish(List<Created> tasks) {
+        for (Created task : tasks) {
+            eventPublisher.publishEvent(task.event());
+            if (!task.tags().isEmpty()) {
+                eventPublisher.publishEvent(new TaskTagsChangedEvent(task.event().taskId(), task.tags(), Set.of()));
+            }
+        }
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date != null ? date.toLocalDate() : null;
+    }
+
+    private record Rule(long id, Frequency frequency, int interval, LocalDate startDate, LocalDate endDate,
+                        LocalDate generatedUntil) {
+    }
+
+    private record Created(TaskChangedEvent event, Set<String> tags) {
+    }
+
+    // Andamento de uma execução: lotes processados e tasks criadas
+    private static class Pass {
+        int batches;
+        int created;
+    }
+}
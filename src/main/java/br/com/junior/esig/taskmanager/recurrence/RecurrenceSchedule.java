@@ -0,0 +1,35 @@
+package br.com.junior.esig.taskmanager.recurrence;
+
+import br.com.junior.esig.taskmanager.domain.enums.Frequency;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Datas de uma regra de repetição. Cada ocorrência é calculada a partir de {@code start}
+ * (não da anterior), então uma regra mensal iniciada no dia 31 cai no último dia dos meses
+ * curtos e volta ao 31 nos longos.
+ */
+public final class RecurrenceSchedule {
+
+    private RecurrenceSchedule() {
+    }
+
+    /** Ocorrências em {@code (after, until]}, em ordem; {@code after} nulo começa em {@code start}. */
+    public static List<LocalDate> between(Frequency frequency, int interval, LocalDate start, LocalDate after, LocalDate until) {
+        List<LocalDate> dates = new ArrayList<>();
+        long k = 0;
+        if (after != null && after.isAfter(start)) {
+            // Pula direto para a última ocorrência antes de after, sem percorrer as anteriores
+            k = frequency.unit().between(start, after) / interval;
+        }
+        for (LocalDate date = start.plus(k * interval, frequency.unit()); !date.isAfter(until);
+             date = start.plus(++k * interval, frequency.unit())) {
+            if (after == null || date.isAfter(after)) {
+                dates.add(date);
+            }
+        }
+        return dates;
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.junior.esig.taskmanager.recurrence;
+
+import br.com.junior.esig.taskmanager.domain.model.Task;
+import br.com.junior.esig.taskmanager.domain.model.TaskRecurrence;
+import br.com.junior.esig.taskmanager.dto.task.TaskRecurrenceRequest;
+import br.com.junior.esig.taskmanager.dto.task.TaskRecurrenceResponse;
+import br.com.junior.esig.taskmanager.exception.InvalidRequestException;
+import br.com.junior.esig.taskmanager.exception.ResourceNotFoundException;
+import br.com.junior.esig.taskmanager.mapper.TaskMapper;
+import br.com.junior.esig.taskmanager.repository.TaskRecurrenceRepository;
+import br.com.junior.esig.taskmanager.service.TaskService;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+/** Regra de repetição de uma task; quem acessa a task modelo gerencia a regra. */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RecurrenceService {
+
+    private final TaskService taskService;
+    private final TaskRecurrenceRepository recurrenceRepository;
+    private final TaskMapper taskMapper;
+    private final Clock clock;
+
+    /**
+     * Cria ou substitui a regra. O que já foi gerado fica como está: a nova regra só vale
+     * para as datas depois de {@code generatedUntil}.
+     */
+    @Transactional
+    public TaskRecurrenceResponse set(Long taskId, TaskRecurrenceRequest request) {
+        Task template = taskService.findAccessible(taskId);
+        if (template.getRecurrenceId() != null) {
+            throw new InvalidRequestException("A task foi gerada por uma repetição; configure a task modelo");
+        }
+        LocalDate start = request.getStartDate() != null ? request.getStartDate() : LocalDate.now(clock);
+        if (request.getEndDate() != null && request.getEndDate().isBefore(start)) {
+            throw new InvalidRequestException("endDate não pode ser anterior a startDate");
+        }
+
+        TaskRecurrence recurrence = recurrenceRepository.findByTemplateId(taskId)
+                .orElseGet(() -> TaskRecurrence.builder().template(template).createdAt(clock.instant()).build());
+        recurrence.setFrequency(request.getFrequency());
+        recurrence.setInterval(request.getInterval());
+        recurrence.setStartDate(start);
+        recurrence.setEndDate(request.getEndDate());
+        TaskRecurrence saved = recurrenceRepository.save(recurrence);
+        log.info("Repetição {} a cada {} da task {} a partir de {}", saved.getFrequency(), saved.getInterval(), taskId, start);
+        return taskMapper.toRecurrenceResponse(saved);
+    }
+
+    public TaskRecurrenceResponse get(Long taskId) {
+        taskService.findAccessible(taskId);
+        return taskMapper.toRecurrenceResponse(find(taskId));
+    }
+
+    /** Encerra a repetição; as tasks já geradas continuam. */
+    @Transactional
+    public void delete(Long taskId) {
+        taskService.findAccessible(taskId);
+        recurrenceRepository.delete(find(taskId));
+    }
+
+    private TaskRecurrence find(Long taskId) {
+        return recurrenceRepository.findByTemplateId(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Repetição", "taskId", taskId));
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.junior.esig.taskmanager.repository;
+
+import br.com.junior.esig.taskmanager.domain.model.TaskAttachment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface TaskAttachmentRepository extends JpaRepository<TaskAttachment, Long> {
+
+    List<TaskAttachment> findByTaskIdOrderById(Long taskId);
+
+    Optional<TaskAttachment> findByIdAndTaskId(Long id, Long taskId);
+
+    @Query("SELECT a FROM TaskAttachment a WHERE NOT EXISTS (SELECT 1 FROM Task t WHERE t.id = a.taskId)")
+    List<TaskAttachment> findOrphans();
+}
@@ -0,0 +1,13 @@
+package br.com.junior.esig.taskmanager.repository;
+
+import br.com.junior.esig.taskmanager.domain.model.TaskAuditEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface TaskAuditRepository extends JpaRepository<TaskAuditEntry, Long> {
+
+    // Paginação por cursor: o id da última entrada da página anterior
+    List<TaskAuditEntry> findByTaskIdAndIdLessThanOrderByIdDesc(Long taskId, Long before, Limit limit);
+}
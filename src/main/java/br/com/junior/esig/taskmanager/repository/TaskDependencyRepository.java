@@ -0,0 +1,37 @@
+package br.com.junior.esig.taskmanager.repository;
+
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import br.com.junior.esig.taskmanager.domain.model.TaskDependency;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface TaskDependencyRepository extends JpaRepository<TaskDependency, Long> {
+
+    interface Edge {
+        Long getBlockerId();
+        Long getBlockedId();
+        TaskStatus getBlockerStatus();
+    }
+
+    boolean existsByBlockerIdAndBlockedId(Long blockerId, Long blockedId);
+
+    @Query("SELECT d.blocker.id AS blockerId, d.blocked.id AS blockedId, d.blocker.status AS blockerStatus "
+            + "FROM TaskDependency d WHERE d.blocker.id = :taskId OR d.blocked.id = :taskId ORDER BY d.id")
+    List<Edge> findEdges(@Param("taskId") Long taskId);
+
+    // Sem o grafo em memória: fromId já alcança toId seguindo "bloqueia"? UNION descarta os
+    // nós repetidos, então a recursão termina mesmo com muitos caminhos convergentes
+    @Query(value = "WITH RECURSIVE reachable (id) AS ("
+            + "SELECT d.blocked_id FROM task_dependencies d WHERE d.blocker_id = :fromId "
+            + "UNION SELECT d.blocked_id FROM task_dependencies d JOIN reachable r ON d.blocker_id = r.id) "
+            + "SELECT COUNT(*) FROM reachable WHERE id = :toId", nativeQuery = true)
+    long countReachable(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Modifying
+    @Query("DELETE FROM TaskDependency d WHERE d.blocker.id = :blockerId AND d.blocked.id = :blockedId")
+    int deleteEdge(@Param("blockerId") Long blockerId, @Param("blockedId") Long blockedId);
+}
@@ -0,0 +1,21 @@
+package br.com.junior.esig.taskmanager.repository;
+
+import br.com.junior.esig.taskmanager.domain.model.Task;
+import br.com.junior.esig.taskmanager.dto.task.TaskField;
+import br.com.junior.esig.taskmanager.readmodel.TaskQuery;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Leituras que trazem do banco só as colunas pedidas. As tasks devolvidas não são
+ * gerenciadas: os campos fora de {@code fields} ficam nulos e o dono vem só com o id,
+ * a não ser que {@link TaskField#USER} seja pedido.
+ */
+public interface TaskProjections {
+
+    List<Task> findProjected(TaskQuery query, Set<TaskField> fields);
+
+    List<Task> findProjectedByIds(Collection<Long> ids, Set<TaskField> fields);
+}
@@ -0,0 +1,159 @@
+package br.com.junior.esig.taskmanager.repository;
+
+import br.com.junior.esig.taskmanager.domain.enums.Priority;
+import br.com.junior.esig.taskmanager.domain.enums.Role;
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import br.com.junior.esig.taskmanager.domain.model.Task;
+import br.com.junior.esig.taskmanager.domain.model.User;
+import br.com.junior.esig.taskmanager.dto.task.TaskField;
+import br.com.junior.esig.taskmanager.readmodel.TaskQuery;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+class TaskProjectionsImpl implements TaskProjections {
+
+    private static final String OWNER_ID = "ownerId";
+    private static final String OWNER_NAME = "ownerName";
+    private static final String OWNER_ROLE = "ownerRole";
+    // Ids por IN na carga dos rótulos
+    private static final int TAGS_BATCH = 1000;
+    private static final String SELECT_TAGS = "select t.id, tag from Task t join t.tags tag where t.id in :ids";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Task> findProjected(TaskQuery query, Set<TaskField> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> cq = cb.createTupleQuery();
+        Root<Task> task = cq.from(Task.class);
+
+        List<Predicate> where = new ArrayList<>();
+        if (query.ownerId() != null) {
+            where.add(cb.equal(task.get("user").get("id"), query.ownerId()));
+        }
+        if (!query.statuses().isEmpty()) {
+            where.add(task.get("status").in(query.statuses()));
+        }
+        if (!query.priorities().isEmpty()) {
+            where.add(task.get("priority").in(query.priorities()));
+        }
+        if (query.responsible() != null) {
+            where.add(cb.like(cb.lower(task.get("responsible")), "%" + query.responsible().toLowerCase() + "%"));
+        }
+        if (query.deadlineFrom() != null) {
+            where.add(cb.greaterThanOrEqualTo(task.get("deadline"), query.deadlineFrom()));
+        }
+        if (query.deadlineTo() != null) {
+            where.add(cb.lessThanOrEqualTo(task.get("deadline"), query.deadlineTo()));
+        }
+        if (query.deadlineBefore() != null) {
+            where.add(cb.lessThan(task.get("deadline"), query.deadlineBefore()));
+        }
+
+        cq.multiselect(selections(cb, task, fields)).where(where.toArray(Predicate[]::new)).orderBy(cb.asc(task.get("id")));
+        return toTasks(entityManager.createQuery(cq).getResultList(), fields);
+    }
+
+    @Override
+    public List<Task> findProjectedByIds(Collection<Long> ids, Set<TaskField> fields) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> cq = cb.createTupleQuery();
+        Root<Task> task = cq.from(Task.class);
+        cq.multiselect(selections(cb, task, fields)).where(task.get("id").in(ids));
+        return toTasks(entityManager.createQuery(cq).getResultList(), fields);
+    }
+
+    // O id do dono vem sempre (é a FK em tasks, sem join) para a checagem de permissão
+    private List<Selection<?>> selections(CriteriaBuilder cb, Root<Task> task, Set<TaskField> fields) {
+        List<Selection<?>> selections = new ArrayList<>();
+        for (TaskField field : fields) {
+            if (field != TaskField.USER && field != TaskField.TAGS) {
+                selections.add(task.get(field.attribute()).alias(field.attribute()));
+            }
+        }
+        if (!fields.contains(TaskField.ID)) {
+            selections.add(task.get("id").alias(TaskField.ID.attribute()));
+        }
+        if (fields.contains(TaskField.USER)) {
+            Join<Task, User> user = task.join("user", JoinType.LEFT);
+            selections.add(user.get("id").alias(OWNER_ID));
+            selections.add(user.get("username").alias(OWNER_NAME));
+            selections.add(user.get("role").alias(OWNER_ROLE));
+        } else {
+            selections.add(task.get("user").get("id").alias(OWNER_ID));
+        }
+        return selections;
+    }
+
+    private List<Task> toTasks(List<Tuple> rows, Set<TaskField> fields) {
+        List<Task> tasks = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            Task task = new Task();
+            task.setId(row.get(TaskField.ID.attribute(), Long.class));
+            for (TaskField field : fields) {
+                switch (field) {
+                    case TITLE -> task.setTitle(row.get(field.attribute(), String.class));
+                    case DESCRIPTION -> task.setDescription(row.get(field.attribute(), String.class));
+                    case RESPONSIBLE -> task.setResponsible(row.get(field.attribute(), String.class));
+                    case PRIORITY -> task.setPriority(row.get(field.attribute(), Priority.class));
+                    case DEADLINE -> task.setDeadline(row.get(field.attribute(), LocalDate.class));
+                    case STATUS -> task.setStatus(row.get(field.attribute(), TaskStatus.class));
+                    case CREATED_AT -> task.setCreatedAt(row.get(field.attribute(), LocalDateTime.class));
+                    case UPDATED_AT -> task.setUpdatedAt(row.get(field.attribute(), LocalDateTime.class));
+                    default -> { }
+                }
+            }
+            Long ownerId = row.get(OWNER_ID, Long.class);
+            if (ownerId != null) {
+                User owner = new User();
+                owner.setId(ownerId);
+                if (fields.contains(TaskField.USER)) {
+                    owner.setUsername(row.get(OWNER_NAME, String.class));
+                    owner.setRole(row.get(OWNER_ROLE, Role.class));
+                }
+                task.setUser(owner);
+            }
+            tasks.add(task);
+        }
+        if (fields.contains(TaskField.TAGS)) {
+            loadTags(tasks);
+        }
+        return tasks;
+    }
+
+    // Coleção não cabe na tupla: os rótulos vêm numa consulta à parte por lote de ids
+    private void loadTags(List<Task> tasks) {
+        Map<Long, Task> byId = new HashMap<>(tasks.size() * 2);
+        tasks.forEach(task -> byId.put(task.getId(), task));
+        List<Long> ids = new ArrayList<>(byId.keySet());
+        for (int from = 0; from < ids.size(); from += TAGS_BATCH) {
+            List<Object[]> rows = entityManager.createQuery(SELECT_TAGS, Object[].class)
+                    .setParameter("ids", ids.subList(from, Math.min(from + TAGS_BATCH, ids.size())))
+                    .getResultList();
+            for (Object[] row : rows) {
+                byId.get((Long) row[0]).getTags().add((String) row[1]);
+            }
+        }
+    }
+}
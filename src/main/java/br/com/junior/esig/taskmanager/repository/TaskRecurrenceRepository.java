@@ -0,0 +1,11 @@
+package br.com.junior.esig.taskmanager.repository;
+
+import br.com.junior.esig.taskmanager.domain.model.TaskRecurrence;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface TaskRecurrenceRepository extends JpaRepository<TaskRecurrence, Long> {
+
+    Optional<TaskRecurrence> findByTemplateId(Long templateId);
+}
@@ -4,26 +4,167 @@ import br.com.junior.esig.taskmanager.domain.enums.Priority;
 import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
 import br.com.junior.esig.taskmanager.domain.model.Task;
 import br.com.junior.esig.taskmanager.domain.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskProjections {
+
+    // Chave de ordenação do quadro: prioridade (URGENT primeiro, sem prioridade por último), prazo (sem prazo por último), id
+    String BOARD_KEYS = "SELECT t.id, t.status, "
+            + "CASE t.priority WHEN 'URGENT' THEN 0 WHEN 'HIGH' THEN 1 WHEN 'MEDIUM' THEN 2 WHEN 'LOW' THEN 3 ELSE 4 END AS prank, "
+            + "COALESCE(t.deadline, DATE '9999-12-31') AS due FROM tasks t ";
+    String BOARD = "SELECT b.id, b.status, b.total FROM ("
+            + "SELECT k.id, k.status, COUNT(*) OVER (PARTITION BY k.status) AS total, "
+            + "ROW_NUMBER() OVER (PARTITION BY k.status ORDER BY k.prank, k.due, k.id) AS rn FROM (";
+    String BOARD_END = ") k) b WHERE b.rn <= :limit ORDER BY b.status, b.rn";
+    String COLUMN = "SELECT c.id, c.status, c.total FROM (SELECT k.*, COUNT(*) OVER () AS total FROM (";
+    String COLUMN_END = ") k) c WHERE (c.prank, c.due, c.id) > (:rank, :due, :afterId) ORDER BY c.prank, c.due, c.id LIMIT :limit";
+
+    // Próximas tasks sem o índice em memória, na ordem do TaskRank: prioridade, prazo e criação (ao segundo),
+    // ausentes por último, depois id
+    String NEXT = "SELECT t.id FROM tasks t WHERE t.status IN (:statuses) ";
+    String NEXT_END = "ORDER BY CASE t.priority WHEN 'URGENT' THEN 0 WHEN 'HIGH' THEN 1 WHEN 'MEDIUM' THEN 2 WHEN 'LOW' THEN 3 ELSE 4 END, "
+            + "COALESCE(t.deadline, DATE '9999-12-31'), "
+            + "COALESCE(DATE_TRUNC('second', t.created_at), TIMESTAMP '9999-12-31 00:00:00'), t.id LIMIT :limit";
+
+    // Subárvore de :rootId (a raiz com depth 0); o limite de profundidade só protege contra um ciclo
+    String SUBTREE = "WITH RECURSIVE subtree (id, depth) AS ("
+            + "SELECT t.id, 0 FROM tasks t WHERE t.id = :rootId "
+            + "UNION ALL SELECT c.id, s.depth + 1 FROM tasks c JOIN subtree s ON c.parent_id = s.id "
+            + "WHERE s.depth < 1000) ";
+    String DESCENDANTS = "SELECT id FROM subtree WHERE depth > 0";
+
+    interface BoardRow {
+        Long getId();
+        String getStatus();
+        Long getTotal();
+    }
+
+    interface StatusCount {
+        String getStatus();
+        Long getTotal();
+    }
+
+    // Estado das descendentes antes de uma escrita em lote, para os eventos; sem carregar entidades
+    interface DescendantState {
+        Long getId();
+        Long getUserId();
+        String getStatus();
+        String getPriority();
+        LocalDate getDeadline();
+        String getResponsible();
+        LocalDateTime getCreatedAt();
+    }
+
+    // O dono e os rótulos vêm no mesmo SELECT (join): sem o EntityGraph o EAGER vira um SELECT extra por
+    // usuário distinto e os rótulos, um por task (N+1)
+    @Override
+    @EntityGraph(attributePaths = {"user", "tags"})
+    Optional<Task> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = {"user", "tags"})
+    List<Task> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = {"user", "tags"})
+    List<Task> findAllById(Iterable<Long> ids);
 
     // Métodos para ADMIN (Busca global)
+    @EntityGraph(attributePaths = {"user", "tags"})
     List<Task> findByStatus(TaskStatus status);
+    @EntityGraph(attributePaths = {"user", "tags"})
     List<Task> findByPriority(Priority priority);
+    @EntityGraph(attributePaths = {"user", "tags"})
     List<Task> findByDeadlineBetween(LocalDate start, LocalDate end);
+    @EntityGraph(attributePaths = {"user", "tags"})
     List<Task> findByDeadlineBeforeAndStatusNot(LocalDate date, TaskStatus status);
 
     // Métodos para USER (Busca restrita ao dono)
+    @EntityGraph(attributePaths = {"user", "tags"})
     List<Task> findByUser(User user);
-    List<Task> findByUserId(Long userId); // Alternativa útil
+    // Filtra pela FK em tasks; o método derivado filtrava por users.id e varria tasks inteira
+    @EntityGraph(attributePaths = {"user", "tags"})
+    @Query("select t from Task t where t.user.id = :userId")
+    List<Task> findByUserId(@Param("userId") Long userId); // Alternativa útil
+    @EntityGraph(attributePaths = {"user", "tags"})
     List<Task> findByUserAndStatus(User user, TaskStatus status);
+    @EntityGraph(attributePaths = {"user", "tags"})
     List<Task> findByUserAndPriority(User user, Priority priority);
+    @EntityGraph(attributePaths = {"user", "tags"})
     List<Task> findByUserAndDeadlineBetween(User user, LocalDate start, LocalDate end);
+    @EntityGraph(attributePaths = {"user", "tags"})
     List<Task> findByUserAndDeadlineBeforeAndStatusNot(User user, LocalDate date, TaskStatus status);
-}
\ No newline at end of file
+
+    // Quadro kanban: as primeiras :limit tasks de cada status e o total da coluna numa única consulta
+    @Query(value = BOARD + BOARD_KEYS + BOARD_END, nativeQuery = true)
+    List<BoardRow> findBoard(@Param("limit") int limit);
+    @Query(value = BOARD + BOARD_KEYS + "WHERE t.user_id = :userId" + BOARD_END, nativeQuery = true)
+    List<BoardRow> findBoardByUserId(@Param("userId") Long userId, @Param("limit") int limit);
+
+    // Continuação de uma coluna a partir da última chave vista (keyset)
+    @Query(value = COLUMN + BOARD_KEYS + "WHERE t.status = :status" + COLUMN_END, nativeQuery = true)
+    List<BoardRow> findBoardColumn(@Param("status") String status, @Param("rank") int rank,
+                                   @Param("due") LocalDate due, @Param("afterId") Long afterId, @Param("limit") int limit);
+    @Query(value = COLUMN + BOARD_KEYS + "WHERE t.user_id = :userId AND t.status = :status" + COLUMN_END, nativeQuery = true)
+    List<BoardRow> findBoardColumnByUserId(@Param("userId") Long userId, @Param("status") String status,
+                                           @Param("rank") int rank, @Param("due") LocalDate due,
+                                           @Param("afterId") Long afterId, @Param("limit") int limit);
+
+    @Query(value = NEXT + NEXT_END, nativeQuery = true)
+    List<Long> findNextIds(@Param("statuses") Set<String> statuses, @Param("limit") int limit);
+    @Query(value = NEXT + "AND t.user_id = :userId " + NEXT_END, nativeQuery = true)
+    List<Long> findNextIdsByUserId(@Param("userId") Long userId, @Param("statuses") Set<String> statuses,
+                                   @Param("limit") int limit);
+
+    // ============ SUBTAREFAS ============
+
+    // Por nível e, dentro do nível, por id
+    @Query(value = SUBTREE + DESCENDANTS + " ORDER BY depth, id", nativeQuery = true)
+    List<Long> findDescendantIds(@Param("rootId") Long rootId);
+
+    @Query(value = SUBTREE + "SELECT t.status AS status, COUNT(*) AS total FROM subtree s JOIN tasks t ON t.id = s.id "
+            + "WHERE s.depth > 0 GROUP BY t.status", nativeQuery = true)
+    List<StatusCount> countDescendantsByStatus(@Param("rootId") Long rootId);
+
+    @Query(value = SUBTREE + "SELECT COUNT(*) FROM subtree WHERE id = :candidateId", nativeQuery = true)
+    long countInSubtree(@Param("rootId") Long rootId, @Param("candidateId") Long candidateId);
+
+    @Query(value = SUBTREE + "SELECT t.id AS id, t.user_id AS userId, t.status AS status, t.priority AS priority, "
+            + "t.deadline AS deadline, t.responsible AS responsible, t.created_at AS createdAt "
+            + "FROM subtree s JOIN tasks t ON t.id = s.id WHERE s.depth > 0", nativeQuery = true)
+    List<DescendantState> findDescendantStates(@Param("rootId") Long rootId);
+
+    @Modifying
+    @Query(value = "UPDATE tasks SET status = :status, updated_at = :now "
+            + "WHERE id IN (" + SUBTREE + DESCENDANTS + ") AND (status IS NULL OR status <> :status)", nativeQuery = true)
+    int updateDescendantsStatus(@Param("rootId") Long rootId, @Param("status") String status, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "UPDATE tasks SET user_id = :userId, updated_at = :now "
+            + "WHERE id IN (" + SUBTREE + DESCENDANTS + ")", nativeQuery = true)
+    int updateDescendantsOwner(@Param("rootId") Long rootId, @Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    // ============ DEPENDÊNCIAS ============
+
+    // Acionáveis sem o grafo em memória: status aberto e nenhum bloqueador fora de DONE
+    String UNBLOCKED = "SELECT t.id FROM Task t WHERE t.status IN :statuses AND NOT EXISTS ("
+            + "SELECT 1 FROM TaskDependency d WHERE d.blocked = t AND (d.blocker.status IS NULL OR d.blocker.status <> :done)) ";
+
+    @Query(UNBLOCKED + "ORDER BY t.id")
+    List<Long> findUnblockedIds(@Param("statuses") Set<TaskStatus> statuses, @Param("done") TaskStatus done);
+    @Query(UNBLOCKED + "AND t.user.id = :userId ORDER BY t.id")
+    List<Long> findUnblockedIdsByUserId(@Param("userId") Long userId, @Param("statuses") Set<TaskStatus> statuses,
+                                        @Param("done") TaskStatus done);
+}
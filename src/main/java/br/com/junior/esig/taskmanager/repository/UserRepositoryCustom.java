@@ -0,0 +1,10 @@
+package br.com.junior.esig.taskmanager.repository;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Trava a linha do dono até o fim da transação: serializa, entre instâncias, as escritas
+     * que checam ciclos na árvore de subtarefas ou no grafo de dependências dele.
+     */
+    void lockById(Long id);
+}
@@ -0,0 +1,36 @@
+package br.com.junior.esig.taskmanager.repository;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * No PostgreSQL a trava é {@code FOR NO KEY UPDATE}: não conflita com o {@code FOR KEY SHARE}
+ * que a FK de {@code tasks.user_id} pega a cada INSERT, então travar o dono não segura a
+ * criação de tasks dele. Nos demais bancos (H2 nos testes), {@code FOR UPDATE}.
+ */
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    private static final String LOCK = "SELECT id FROM users WHERE id = ? ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile String lockClause;
+
+    public UserRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void lockById(Long id) {
+        jdbcTemplate.queryForList(LOCK + lockClause(), Long.class, id);
+    }
+
+    private String lockClause() {
+        String clause = lockClause;
+        if (clause == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+            clause = "PostgreSQL".equals(product) ? "FOR NO KEY UPDATE" : "FOR UPDATE";
+            lockClause = clause;
+        }
+        return clause;
+    }
+}
@@ -1,7 +1,11 @@
 package br.com.junior.esig.taskmanager.security.config;
 
 import br.com.junior.esig.taskmanager.security.jwt.JwtFilter;
+import br.com.junior.esig.taskmanager.security.password.BoundedPasswordEncoder;
+import br.com.junior.esig.taskmanager.security.ratelimit.RateLimitFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -19,6 +23,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.List;
 
 @Configuration
@@ -27,10 +32,26 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtFilter jwtFilter;
+    private final RateLimitFilter rateLimitFilter;
 
+    /**
+     * BCrypt com custo configurável; hashes de custo menor são refeitos no próximo login
+     * ({@code upgradeEncoding} + {@link CustomUserDetailsService#updatePassword}). Com
+     * {@code task.login.protection.enabled} o hash roda no pool limitado.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${task.login.bcrypt-strength:10}") int strength,
+                                           @Value("${task.login.protection.enabled:false}") boolean bounded,
+                                           @Value("${task.login.hash-threads:0}") int threads,
+                                           @Value("${task.login.hash-queue:32}") int queueCapacity,
+                                           @Value("${task.login.hash-timeout:PT5S}") Duration timeout) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        if (!bounded) {
+            return bcrypt;
+        }
+        // 0 = metade dos núcleos, para o resto da API sempre ter CPU
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(bcrypt, poolSize, queueCapacity, timeout);
     }
 
     @Bean
@@ -54,11 +75,15 @@ public class SecurityConfig {
                 )
                 .authorizeHttpRequests(auth -> auth
 
+                        // Encaminhamento interno para /error: mantém o status das exceções (400, 404)
+                        .dispatcherTypeMatchers(DispatcherType.ERROR).permitAll()
+
                         // Auth
                         .requestMatchers("/api/auth/**", "/auth/**").permitAll()
 
-                        // Actuator health
-                        .requestMatchers("/api/actuator/**", "/actuator/**").permitAll()
+                        // Actuator: health público; métricas e o resto só para ADMIN
+                        .requestMatchers("/api/actuator/health/**", "/actuator/health/**").permitAll()
+                        .requestMatchers("/api/actuator/**", "/actuator/**").hasRole("ADMIN")
 
                         // Swagger
                         .requestMatchers(
@@ -77,7 +102,8 @@ public class SecurityConfig {
                 .exceptionHandling(ex ->
                         ex.authenticationEntryPoint(unauthorizedHandler())
                 )
-                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, JwtFilter.class);
 
         return http.build();
     }
@@ -1,6 +1,10 @@
 package br.com.junior.esig.taskmanager.security.jwt;
 
+import br.com.junior.esig.taskmanager.monitoring.PhaseTracer;
+import br.com.junior.esig.taskmanager.monitoring.TaskPhaseEvent;
 import br.com.junior.esig.taskmanager.security.config.CustomUserDetailsService;
+import br.com.junior.esig.taskmanager.security.revocation.TokenRevocationList;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,17 +27,22 @@ public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationList revocationList;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
 
+        TaskPhaseEvent phase = PhaseTracer.begin();
         try {
             String jwt = extractJwtFromRequest(request);
 
-            if (jwt != null && jwtUtil.validateToken(jwt)) {
-                String username = jwtUtil.getUsernameFromToken(jwt);
+            Claims claims = jwt != null ? jwtUtil.parseClaims(jwt) : null;
+
+            // Refresh token não vale como access token; revogação é um probe no Bloom filter
+            if (claims != null && !JwtUtil.isRefreshToken(claims) && !revocationList.isRevoked(claims.getId())) {
+                String username = claims.getSubject();
 
                 if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                     UserDetails userDetails = userDetailsService.loadUserByUsername(username);
@@ -48,6 +57,7 @@ public class JwtFilter extends OncePerRequestFilter {
         } catch (Exception e) {
             log.error("Não foi possível definir a autenticação do usuário: {}", e.getMessage());
         }
+        PhaseTracer.end(phase, PhaseTracer.JWT_FILTER, null, 0);
 
         filterChain.doFilter(request, response);
     }
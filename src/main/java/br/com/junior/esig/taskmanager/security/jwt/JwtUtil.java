@@ -9,17 +9,24 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.UUID;
 
 @Slf4j
 @Component
 public class JwtUtil {
 
+    private static final String TOKEN_TYPE = "typ";
+    private static final String REFRESH = "refresh";
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration:86400000}")
     private Long expiration;
 
+    @Value("${jwt.refresh-expiration:604800000}")
+    private Long refreshExpiration;
+
     private SecretKey getSigningKey() {
         try {
             // Se o secret estiver em Base64, decode; caso contrário, usa como está
@@ -37,8 +44,10 @@ public class JwtUtil {
         }
     }
 
+    // Todo token tem jti para poder ser revogado antes de expirar
     public String generateToken(String username) {
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(username)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + expiration))
@@ -46,13 +55,33 @@ public class JwtUtil {
                 .compact();
     }
 
+    public String generateRefreshToken(String username) {
+        return Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .subject(username)
+                .claim(TOKEN_TYPE, REFRESH)
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + refreshExpiration))
+                .signWith(getSigningKey(), Jwts.SIG.HS256)
+                .compact();
+    }
+
+    public static boolean isRefreshToken(Claims claims) {
+        return REFRESH.equals(claims.get(TOKEN_TYPE));
+    }
+
     public boolean validateToken(String token) {
+        return parseClaims(token) != null;
+    }
+
+    /** Claims de um token com assinatura válida e não expirado; {@code null} caso contrário. */
+    public Claims parseClaims(String token) {
         try {
-            Jwts.parser()
+            return Jwts.parser()
                     .verifyWith(getSigningKey())
                     .build()
-                    .parseSignedClaims(token);
-            return true;
+                    .parseSignedClaims(token)
+                    .getPayload();
         } catch (SecurityException | MalformedJwtException e) {
             log.warn("Assinatura ou Token JWT inválido: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -64,7 +93,7 @@ public class JwtUtil {
         } catch (Exception e) {
             log.error("Erro ao validar token: {}", e.getMessage());
         }
-        return false;
+        return null;
     }
 
     public String getUsernameFromToken(String token) {
@@ -0,0 +1,134 @@
+package br.com.junior.esig.taskmanager.security.login;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Falhas de login por username e por IP. Passadas as tentativas livres, cada nova falha
+ * bloqueia a chave por {@code base * 2^(falhas - livres)}, até {@code max-delay}; um login
+ * certo zera o username (não o IP, senão uma conta válida do atacante limparia o IP).
+ * <p>
+ * A memória é limitada: 16 faixas LRU com {@code max-entries / 16} chaves cada; entradas
+ * sem falha há mais de {@code forget-after} valem como zeradas. Desligado por padrão
+ * ({@code task.login.protection.enabled}).
+ */
+@Component
+public class LoginAttemptTracker {
+
+    private static final int STRIPES = 16;
+
+    private static final class Attempts {
+        int failures;
+        long lastFailure;
+        long blockedUntil;
+    }
+
+    private final boolean enabled;
+    private final Clock clock;
+    private final int userFreeFailures;
+    private final int ipFreeFailures;
+    private final long baseDelay;
+    private final long maxDelay;
+    private final long forgetAfter;
+    private final Map<String, Attempts>[] stripes;
+
+    @SuppressWarnings("unchecked")
+    public LoginAttemptTracker(@Value("${task.login.protection.enabled:false}") boolean enabled,
+                               Clock clock,
+                               @Value("${task.login.attempts.user-free:5}") int userFreeFailures,
+                               @Value("${task.login.attempts.ip-free:20}") int ipFreeFailures,
+                               @Value("${task.login.attempts.base-delay:PT1S}") Duration baseDelay,
+                               @Value("${task.login.attempts.max-delay:PT15M}") Duration maxDelay,
+                               @Value("${task.login.attempts.forget-after:PT1H}") Duration forgetAfter,
+                               @Value("${task.login.attempts.max-entries:100000}") int maxEntries) {
+        this.enabled = enabled;
+        this.clock = clock;
+        this.userFreeFailures = userFreeFailures;
+        this.ipFreeFailures = ipFreeFailures;
+        this.baseDelay = baseDelay.toMillis();
+        this.maxDelay = maxDelay.toMillis();
+        this.forgetAfter = forgetAfter.toMillis();
+        int perStripe = Math.max(1, maxEntries / STRIPES);
+        this.stripes = new Map[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Attempts> eldest) {
+                    return size() > perStripe;
+                }
+            };
+        }
+    }
+
+    /** Milissegundos até o username ou o IP poderem tentar de novo; 0 se liberado. */
+    public long retryAfterMillis(String username, String ip) {
+        if (!enabled) {
+            return 0;
+        }
+        long now = clock.millis();
+        return Math.max(blockedFor(userKey(username), now), blockedFor(ipKey(ip), now));
+    }
+
+    public void failed(String username, String ip) {
+        if (!enabled) {
+            return;
+        }
+        long now = clock.millis();
+        fail(userKey(username), userFreeFailures, now);
+        fail(ipKey(ip), ipFreeFailures, now);
+    }
+
+    public void succeeded(String username) {
+        if (!enabled) {
+            return;
+        }
+        String key = userKey(username);
+        Map<String, Attempts> stripe = stripe(key);
+        synchronized (stripe) {
+            stripe.remove(key);
+        }
+    }
+
+    private long blockedFor(String key, long now) {
+        Map<String, Attempts> stripe = stripe(key);
+        synchronized (stripe) {
+            Attempts attempts = stripe.get(key);
+            return attempts == null ? 0 : Math.max(0, attempts.blockedUntil - now);
+        }
+    }
+
+    private void fail(String key, int freeFailures, long now) {
+        Map<String, Attempts> stripe = stripe(key);
+        synchronized (stripe) {
+            Attempts attempts = stripe.computeIfAbsent(key, k -> new Attempts());
+            if (now - attempts.lastFailure > forgetAfter) {
+                attempts.failures = 0;
+            }
+            attempts.failures++;
+            attempts.lastFailure = now;
+            int over = attempts.failures - freeFailures;
+            if (over > 0) {
+                // 2^30 * base já passa de qualquer max-delay razoável
+                long delay = Math.min(maxDelay, baseDelay << Math.min(over - 1, 30));
+                attempts.blockedUntil = now + delay;
+            }
+        }
+    }
+
+    private Map<String, Attempts> stripe(String key) {
+        return stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+    }
+
+    private static String userKey(String username) {
+        return "u:" + (username == null ? "" : username.toLowerCase());
+    }
+
+    private static String ipKey(String ip) {
+        return "ip:" + ip;
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.junior.esig.taskmanager.security.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limite global de requisições simultâneas ajustado por AIMD: cada requisição acima da
+ * latência alvo corta o limite em 10% (no máximo uma vez por janela de {@code target}, para
+ * uma rajada de respostas lentas não derrubar o limite ao mínimo de uma vez); a cada
+ * {@code limit} respostas rápidas com a fila pelo menos na metade, o limite sobe 1.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double DECREASE = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetNanos;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicInteger limit;
+    private final AtomicInteger successes = new AtomicInteger();
+    private final AtomicLong lastDecrease = new AtomicLong();
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, long targetNanos) {
+        if (minLimit < 1 || minLimit > maxLimit || targetNanos <= 0) {
+            throw new IllegalArgumentException("Limite de concorrência inválido: " + minLimit + ".." + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetNanos = targetNanos;
+        this.limit = new AtomicInteger(Math.max(minLimit, Math.min(maxLimit, initialLimit)));
+        this.lastDecrease.set(System.nanoTime() - targetNanos);
+    }
+
+    public boolean tryAcquire() {
+        if (inflight.incrementAndGet() > limit.get()) {
+            inflight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /** Libera a vaga de uma requisição aceita por {@link #tryAcquire()}. */
+    public void release(long latencyNanos, long now) {
+        int current = inflight.getAndDecrement();
+        int max = limit.get();
+        if (latencyNanos > targetNanos) {
+            long last = lastDecrease.get();
+            if (now - last >= targetNanos && lastDecrease.compareAndSet(last, now)) {
+                limit.set(Math.max(minLimit, (int) (max * DECREASE)));
+                successes.set(0);
+            }
+        } else if (current * 2 >= max && max < maxLimit && successes.incrementAndGet() >= max) {
+            successes.set(0);
+            limit.compareAndSet(max, max + 1);
+        }
+    }
+
+    public int limit() {
+        return limit.get();
+    }
+
+    public int inflight() {
+        return inflight.get();
+    }
+}
@@ -0,0 +1,129 @@
+package br.com.junior.esig.taskmanager.security.ratelimit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+/**
+ * Limita /tasks por usuário ({@link UserRateLimiter}, 429) e descarta carga quando a
+ * latência sobe ({@link AdaptiveConcurrencyLimit}, 503), ambos com Retry-After. Roda logo
+ * depois do {@code JwtFilter}, então a chave é o username autenticado; sem token, o IP.
+ * Upload e download de anexos contam no limite por usuário, mas ficam fora do limite de
+ * concorrência: o tempo deles é de transferência, não de servidor lento, e umas poucas
+ * transferências grandes derrubariam o limite de todas as outras requisições.
+ * Desligado por padrão ({@code task.rate-limit.enabled}).
+ */
+@Slf4j
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String LIMITED_PATH = "/tasks";
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    // POST /tasks/{id}/attachments (upload) e GET /tasks/{id}/attachments/{id} (download)
+    private static final Pattern UPLOAD = Pattern.compile("/tasks/[^/]+/attachments/?");
+    private static final Pattern DOWNLOAD = Pattern.compile("/tasks/[^/]+/attachments/[^/]+/?");
+
+    private final boolean enabled;
+    private final UserRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+
+    public RateLimitFilter(@Value("${task.rate-limit.enabled:false}") boolean enabled,
+                           @Value("${task.rate-limit.permits-per-second:20}") double permitsPerSecond,
+                           @Value("${task.rate-limit.burst:40}") int burst,
+                           @Value("${task.rate-limit.max-users:100000}") int maxUsers,
+                           @Value("${task.rate-limit.concurrency.initial:64}") int initialLimit,
+                           @Value("${task.rate-limit.concurrency.min:8}") int minLimit,
+                           @Value("${task.rate-limit.concurrency.max:256}") int maxLimit,
+                           @Value("${task.rate-limit.concurrency.latency-target:PT0.5S}") Duration latencyTarget) {
+        this.enabled = enabled;
+        this.rateLimiter = new UserRateLimiter(permitsPerSecond, burst, maxUsers);
+        this.concurrencyLimit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, latencyTarget.toNanos());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getServletPath().startsWith(LIMITED_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        long start = System.nanoTime();
+        long wait = rateLimiter.tryAcquire(key(request), start);
+        if (wait > 0) {
+            reject(response, 429, wait, "Limite de requisições excedido");
+            return;
+        }
+        if (streaming(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!concurrencyLimit.tryAcquire()) {
+            log.warn("Servidor sobrecarregado: {} requisições em andamento (limite {})",
+                    concurrencyLimit.inflight(), concurrencyLimit.limit());
+            reject(response, 503, NANOS_PER_SECOND, "Servidor sobrecarregado, tente novamente");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long end = System.nanoTime();
+            concurrencyLimit.release(end - start, end);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${task.rate-limit.eviction-interval:PT1M}")
+    public void evictIdle() {
+        if (!enabled) {
+            return;
+        }
+        int evicted = rateLimiter.evictIdle(System.nanoTime());
+        if (evicted > 0) {
+            log.debug("Rate limit: {} buckets ociosos removidos, {} restantes", evicted, rateLimiter.size());
+        }
+    }
+
+    public int concurrencyLimit() {
+        return concurrencyLimit.limit();
+    }
+
+    private static boolean streaming(HttpServletRequest request) {
+        String path = request.getServletPath();
+        return switch (request.getMethod()) {
+            case "POST" -> UPLOAD.matcher(path).matches();
+            case "GET" -> DOWNLOAD.matcher(path).matches();
+            default -> false;
+        };
+    }
+
+    private static String key(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return authentication.getName();
+        }
+        // O prefixo separa IPs de usernames que pareçam IPs
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static void reject(HttpServletResponse response, int status, long waitNanos, String message) throws IOException {
+        response.setStatus(status);
+        response.setHeader("Retry-After", Long.toString(Math.max(1, (waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND)));
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write(message);
+    }
+}
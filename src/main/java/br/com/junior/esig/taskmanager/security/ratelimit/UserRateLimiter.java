@@ -0,0 +1,67 @@
+package br.com.junior.esig.taskmanager.security.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket por chave no formato GCRA: cada chave guarda só o "tempo teórico de chegada"
+ * (TAT) em nanos, atualizado com um CAS. Uma requisição consome {@code interval}; é aceita
+ * enquanto o TAT não passar de {@code agora + burst * interval}.
+ * <p>
+ * Um TAT no passado equivale a um bucket cheio, então remover essas entradas não muda o
+ * resultado de nenhuma requisição futura: é o que {@link #evictIdle} faz. Com o mapa no
+ * limite, chaves novas dividem um bucket de transbordo em vez de crescer a memória.
+ */
+public class UserRateLimiter {
+
+    private final long interval;
+    private final long tolerance;
+    private final int maxKeys;
+    private final ConcurrentHashMap<String, AtomicLong> cells;
+    private final AtomicLong overflow = new AtomicLong(System.nanoTime());
+
+    public UserRateLimiter(double permitsPerSecond, int burst, int maxKeys) {
+        if (permitsPerSecond <= 0 || burst < 1 || maxKeys < 1) {
+            throw new IllegalArgumentException("Limite inválido: " + permitsPerSecond + "/s, burst " + burst + ", " + maxKeys + " chaves");
+        }
+        this.interval = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+        this.tolerance = interval * burst;
+        this.maxKeys = maxKeys;
+        this.cells = new ConcurrentHashMap<>(Math.min(maxKeys, 1024));
+    }
+
+    /**
+     * Consome uma permissão de {@code key} no instante {@code now} (nanos, mesma base de
+     * {@link System#nanoTime()}). Devolve 0 se aceita, senão quantos nanos esperar.
+     */
+    public long tryAcquire(String key, long now) {
+        AtomicLong cell = cells.get(key);
+        if (cell == null) {
+            cell = cells.size() < maxKeys
+                    ? cells.computeIfAbsent(key, k -> new AtomicLong(now))
+                    : overflow;
+        }
+        while (true) {
+            long tat = cell.get();
+            long next = (tat - now > 0 ? tat : now) + interval;
+            long excess = next - now - tolerance;
+            if (excess > 0) {
+                return excess;
+            }
+            if (cell.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /** Remove os buckets cheios (TAT vencido); devolve quantos saíram. */
+    public int evictIdle(long now) {
+        int before = cells.size();
+        cells.values().removeIf(cell -> cell.get() - now <= 0);
+        return before - cells.size();
+    }
+
+    public int size() {
+        return cells.size();
+    }
+}
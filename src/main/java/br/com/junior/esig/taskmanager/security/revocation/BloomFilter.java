@@ -0,0 +1,83 @@
+package br.com.junior.esig.taskmanager.security.revocation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter de strings para o teste rápido de revogação: {@code false} é definitivo,
+ * {@code true} precisa de confirmação. Os k índices saem de dois hashes de 64 bits
+ * (Kirsch-Mitzenmacher); o número de bits é arredondado para potência de 2.
+ * Inserções concorrentes são seguras (CAS por palavra); não há remoção.
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long mask;
+    private final int hashes;
+
+    private BloomFilter(long bits, int hashes) {
+        this.words = new AtomicLongArray((int) (bits >>> 6));
+        this.mask = bits - 1;
+        this.hashes = hashes;
+    }
+
+    public static BloomFilter create(int expectedInsertions, double falsePositiveRate) {
+        int n = Math.max(1, expectedInsertions);
+        double bits = -n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        long size = Math.max(64, Long.highestOneBit((long) Math.ceil(bits) - 1) << 1);
+        int k = Math.max(1, (int) Math.round(bits / n * Math.log(2)));
+        return new BloomFilter(size, k);
+    }
+
+    public void put(String key) {
+        long h1 = hash(key);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = (h1 + i * h2) & mask;
+            int word = (int) (bit >>> 6);
+            long flag = 1L << bit;
+            long current;
+            do {
+                current = words.get(word);
+            } while ((current & flag) == 0 && !words.compareAndSet(word, current, current | flag));
+        }
+    }
+
+    public boolean mightContain(String key) {
+        long h1 = hash(key);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = (h1 + i * h2) & mask;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long bitSize() {
+        return mask + 1;
+    }
+
+    public int hashCount() {
+        return hashes;
+    }
+
+    // FNV-1a sobre os chars, finalizado com o mix do MurmurHash3
+    private static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe53ae63bL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,123 @@
+package br.com.junior.esig.taskmanager.security.revocation;
+
+import br.com.junior.esig.taskmanager.repository.RevokedTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * jtis revogados (logout, refresh já usado) até o vencimento do token. A tabela
+ * {@code revoked_tokens} é a fonte exata; na memória fica só um {@link BloomFilter}, então
+ * o {@code JwtFilter} consulta o banco apenas nos positivos (revogados de fato ou ~1% de
+ * falsos positivos). Até a primeira carga, toda checagem vai ao banco.
+ * <p>
+ * Revogações feitas por outras instâncias entram no filtro a cada {@code sync-interval}
+ * (leitura por {@code revoked_at}); até lá um access token revogado em outro nó ainda
+ * passa aqui. O refresh não depende do filtro: {@link #revoke} é um INSERT na PK e só um
+ * dos pedidos com o mesmo jti consegue. A limpeza apaga as linhas vencidas e recria o
+ * filtro a partir das que sobraram.
+ */
+@Slf4j
+@Component
+public class TokenRevocationList {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    // Margem para diferenças de relógio entre as instâncias; repetir um put é inofensivo
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository repository;
+    private final Clock clock;
+    private final int expectedTokens;
+
+    private volatile BloomFilter filter;
+    private volatile boolean ready;
+    private volatile Instant syncedAt;
+
+    public TokenRevocationList(RevokedTokenRepository repository,
+                               Clock clock,
+                               @Value("${jwt.revocation.expected-tokens:100000}") int expectedTokens) {
+        this.repository = repository;
+        this.clock = clock;
+        this.expectedTokens = expectedTokens;
+        this.filter = BloomFilter.create(expectedTokens, FALSE_POSITIVE_RATE);
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        if (ready && !filter.mightContain(jti)) {
+            return false;
+        }
+        return repository.existsById(jti);
+    }
+
+    /**
+     * Revoga o jti; devolve {@code false} se ele já estava revogado (por este ou outro nó)
+     * ou já venceu. O INSERT na PK é a checagem exata, sem janela entre consultar e revogar.
+     */
+    public boolean revoke(String jti, Instant expiresAt) {
+        Instant now = clock.instant();
+        if (jti == null || !expiresAt.isAfter(now)) {
+            return false;
+        }
+        boolean inserted;
+        try {
+            inserted = repository.insert(jti, expiresAt, now) == 1;
+        } catch (DataIntegrityViolationException e) {
+            inserted = false;
+        }
+        synchronized (this) {
+            filter.put(jti);
+        }
+        return inserted;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval:PT10S}")
+    public void sync() {
+        if (!ready) {
+            return;
+        }
+        Instant since = syncedAt.minus(SYNC_OVERLAP);
+        Instant now = clock.instant();
+        List<String> revoked = repository.findIdsRevokedSince(since);
+        synchronized (this) {
+            revoked.forEach(filter::put);
+        }
+        syncedAt = now;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.prune-interval:PT5M}")
+    public void prune() {
+        int removed = repository.deleteExpired(clock.instant());
+        if (removed > 0) {
+            log.info("Revogações vencidas removidas: {}", removed);
+        }
+        rebuild();
+    }
+
+    private synchronized void rebuild() {
+        Instant now = clock.instant();
+        List<String> active = repository.findActiveIds(clock.instant());
+        BloomFilter rebuilt = BloomFilter.create(Math.max(expectedTokens, active.size() * 2), FALSE_POSITIVE_RATE);
+        active.forEach(rebuilt::put);
+        filter = rebuilt;
+        syncedAt = now;
+        ready = true;
+        log.debug("Filtro de revogação recriado com {} tokens", active.size());
+    }
+}
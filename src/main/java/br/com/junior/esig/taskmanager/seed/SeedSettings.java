@@ -0,0 +1,28 @@
+package br.com.junior.esig.taskmanager.seed;
+
+/**
+ * Parâmetros de uma execução do {@link SyntheticDataGenerator}.
+ *
+ * @param users     quantidade de usuários sintéticos
+ * @param tasks     quantidade total de tarefas
+ * @param seed      semente; mesma semente e mesmos totais geram os mesmos dados
+ * @param chunkSize tarefas por chunk (uma transação, unidade de retomada)
+ * @param batchSize linhas por batch JDBC dentro do chunk
+ * @param threads   threads de inserção (cada uma usa uma conexão do pool)
+ */
+public record SeedSettings(int users, long tasks, long seed, int chunkSize, int batchSize, int threads) {
+
+    public SeedSettings {
+        if (users <= 0 || tasks < 0 || chunkSize <= 0 || batchSize <= 0 || threads <= 0) {
+            throw new IllegalArgumentException("Parâmetros de seed inválidos");
+        }
+    }
+
+    String runKey() {
+        return "seed=" + seed + ";users=" + users + ";tasks=" + tasks + ";chunk=" + chunkSize;
+    }
+
+    long chunkCount() {
+        return (tasks + chunkSize - 1) / chunkSize;
+    }
+}
@@ -0,0 +1,250 @@
+package br.com.junior.esig.taskmanager.seed;
+
+import br.com.junior.esig.taskmanager.domain.enums.Role;
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gera usuários e tarefas sintéticos em volume, via batches JDBC em várias threads.
+ *
+ * <p>As tarefas são divididas em chunks de tamanho fixo. Cada chunk é inserido em uma única
+ * transação junto com a sua marca em {@code seed_chunks}; se o processo for interrompido,
+ * a próxima execução com os mesmos parâmetros pula os chunks já gravados. Os usuários
+ * são inseridos com {@code NOT EXISTS} e a data de referência fica em {@code seed_runs},
+ * então reexecutar é idempotente e gera exatamente o mesmo conjunto.
+ *
+ * <p>No PostgreSQL, use {@code reWriteBatchedInserts=true} no driver para que cada batch
+ * vire um INSERT multi-linha.
+ */
+@Slf4j
+public class SyntheticDataGenerator {
+
+    private static final String INSERT_USER = """
+            INSERT INTO users (username, password, role)
+            SELECT ?, ?, ? WHERE NOT EXISTS (SELECT 1 FROM users WHERE username = ?)""";
+
+    private static final String INSERT_TASK = """
+            INSERT INTO tasks (title, description, responsible, priority, deadline, status, user_id, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+
+    private final DataSource dataSource;
+    private final SeedSettings settings;
+    private final String encodedPassword;
+
+    public SyntheticDataGenerator(DataSource dataSource, SeedSettings settings, String encodedPassword) {
+        this.dataSource = dataSource;
+        this.settings = settings;
+        this.encodedPassword = encodedPassword;
+    }
+
+    public static String usernameFor(long seed, int index) {
+        return "seed-" + seed + "-user-" + index;
+    }
+
+    /** Executa (ou retoma) o seed e retorna quantas tarefas foram inseridas nesta execução. */
+    public long run() throws Exception {
+        createControlTables();
+        LocalDate referenceDate = referenceDate();
+
+        seedUsers();
+        long[] userIds = loadUserIds();
+        Set<Long> completed = completedChunks();
+
+        long chunks = settings.chunkCount();
+        log.info("Seed {}: {} usuários, {} tarefas em {} chunks ({} já concluídos), referência {}",
+                settings.runKey(), settings.users(), settings.tasks(), chunks, completed.size(), referenceDate);
+
+        AtomicLong nextChunk = new AtomicLong();
+        AtomicLong inserted = new AtomicLong();
+        long start = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(settings.threads());
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < settings.threads(); i++) {
+                workers.add(executor.submit(() -> {
+                    long chunk;
+                    while ((chunk = nextChunk.getAndIncrement()) < chunks) {
+                        if (completed.contains(chunk)) {
+                            continue;
+                        }
+                        long rows = insertChunk(chunk, userIds, referenceDate);
+                        long total = inserted.addAndGet(rows);
+                        if (chunk % 50 == 0) {
+                            double seconds = (System.nanoTime() - start) / 1e9;
+                            log.info("Seed: {} tarefas inseridas ({} linhas/s)", total, Math.round(total / seconds));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info("Seed concluído: {} tarefas inseridas em {}s", inserted.get(), Math.round(seconds));
+        return inserted.get();
+    }
+
+    private long insertChunk(long chunk, long[] userIds, LocalDate referenceDate) throws SQLException {
+        long first = chunk * settings.chunkSize();
+        long last = Math.min(settings.tasks(), first + settings.chunkSize());
+        TaskDistribution distribution = new TaskDistribution(settings.seed(), chunk, userIds.length, referenceDate);
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_TASK);
+                 PreparedStatement mark = connection.prepareStatement(
+                         "INSERT INTO seed_chunks (run_key, chunk_no) VALUES (?, ?)")) {
+
+                int pending = 0;
+                for (long index = first; index < last; index++) {
+                    LocalDate deadline = distribution.deadline();
+                    TaskStatus status = distribution.status(deadline);
+                    LocalDateTime createdAt = distribution.createdAt();
+
+                    insert.setString(1, distribution.title(index));
+                    insert.setString(2, distribution.description());
+                    insert.setString(3, distribution.responsible());
+                    insert.setString(4, distribution.priority().name());
+                    if (deadline != null) {
+                        insert.setDate(5, Date.valueOf(deadline));
+                    } else {
+                        insert.setNull(5, Types.DATE);
+                    }
+                    insert.setString(6, status.name());
+                    insert.setLong(7, userIds[distribution.owner()]);
+                    insert.setObject(8, createdAt);
+                    insert.setObject(9, distribution.updatedAt(createdAt));
+                    insert.addBatch();
+
+                    if (++pending == settings.batchSize()) {
+                        insert.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    insert.executeBatch();
+                }
+
+                mark.setString(1, settings.runKey());
+                mark.setLong(2, chunk);
+                mark.executeUpdate();
+                connection.commit();
+                return last - first;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private void seedUsers() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement insert = connection.prepareStatement(INSERT_USER)) {
+            connection.setAutoCommit(false);
+            for (int i = 0; i < settings.users(); i++) {
+                String username = usernameFor(settings.seed(), i);
+                insert.setString(1, username);
+                insert.setString(2, encodedPassword);
+                insert.setString(3, Role.ROLE_USER.name());
+                insert.setString(4, username);
+                insert.addBatch();
+                if ((i + 1) % settings.batchSize() == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+    }
+
+    private long[] loadUserIds() throws SQLException {
+        String prefix = "seed-" + settings.seed() + "-user-";
+        long[] ids = new long[settings.users()];
+        int found = 0;
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement query = connection.prepareStatement("SELECT id, username FROM users WHERE username LIKE ?")) {
+            query.setString(1, prefix + "%");
+            try (ResultSet rs = query.executeQuery()) {
+                while (rs.next()) {
+                    int index = Integer.parseInt(rs.getString(2).substring(prefix.length()));
+                    if (index < ids.length) {
+                        ids[index] = rs.getLong(1);
+                        found++;
+                    }
+                }
+            }
+        }
+        if (found != ids.length) {
+            throw new IllegalStateException("Usuários sintéticos incompletos: " + found + " de " + ids.length);
+        }
+        return ids;
+    }
+
+    private void createControlTables() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS seed_runs (run_key VARCHAR(255) PRIMARY KEY, reference_date DATE NOT NULL)");
+            statement.execute("CREATE TABLE IF NOT EXISTS seed_chunks (run_key VARCHAR(255) NOT NULL, chunk_no BIGINT NOT NULL, PRIMARY KEY (run_key, chunk_no))");
+        }
+    }
+
+    // A data de referência é fixada na primeira execução para que uma retomada em outro dia gere os mesmos prazos
+    private LocalDate referenceDate() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement query = connection.prepareStatement("SELECT reference_date FROM seed_runs WHERE run_key = ?")) {
+                query.setString(1, settings.runKey());
+                try (ResultSet rs = query.executeQuery()) {
+                    if (rs.next()) {
+                        return rs.getDate(1).toLocalDate();
+                    }
+                }
+            }
+            LocalDate today = LocalDate.now();
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO seed_runs (run_key, reference_date) VALUES (?, ?)")) {
+                insert.setString(1, settings.runKey());
+                insert.setDate(2, Date.valueOf(today));
+                insert.executeUpdate();
+            }
+            return today;
+        }
+    }
+
+    private Set<Long> completedChunks() throws SQLException {
+        Set<Long> chunks = new HashSet<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement query = connection.prepareStatement("SELECT chunk_no FROM seed_chunks WHERE run_key = ?")) {
+            query.setString(1, settings.runKey());
+            try (ResultSet rs = query.executeQuery()) {
+                while (rs.next()) {
+                    chunks.add(rs.getLong(1));
+                }
+            }
+        }
+        return chunks;
+    }
+}
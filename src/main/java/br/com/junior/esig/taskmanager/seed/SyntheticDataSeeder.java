@@ -0,0 +1,55 @@
+package br.com.junior.esig.taskmanager.seed;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Popula o banco com volume sintético. Ativado pelo perfil {@code seed}
+ * ({@code --spring.profiles.active=seed}) ou pela flag {@code --seed.enabled=true}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "seed.enabled", havingValue = "true")
+public class SyntheticDataSeeder implements CommandLineRunner {
+
+    private final DataSource dataSource;
+    private final PasswordEncoder passwordEncoder;
+
+    @Value("${seed.users:1000}")
+    private int users;
+
+    @Value("${seed.tasks:1000000}")
+    private long tasks;
+
+    @Value("${seed.random-seed:42}")
+    private long seed;
+
+    @Value("${seed.chunk-size:10000}")
+    private int chunkSize;
+
+    @Value("${seed.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${seed.threads:4}")
+    private int threads;
+
+    @Value("${seed.password:seed123}")
+    private String password;
+
+    @Override
+    public void run(String... args) throws Exception {
+        SeedSettings settings = new SeedSettings(users, tasks, seed, chunkSize, batchSize, threads);
+        // Todos os usuários sintéticos compartilham o mesmo hash: um único BCrypt
+        new SyntheticDataGenerator(dataSource, settings, passwordEncoder.encode(password)).run();
+        log.info("Usuários sintéticos: {} ... {} / senha '{}'",
+                SyntheticDataGenerator.usernameFor(seed, 0), SyntheticDataGenerator.usernameFor(seed, users - 1), password);
+    }
+}
@@ -0,0 +1,113 @@
+package br.com.junior.esig.taskmanager.seed;
+
+import br.com.junior.esig.taskmanager.domain.enums.Priority;
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * Distribuições enviesadas usadas pelo seeder. Cada chunk usa o próprio gerador derivado
+ * da semente, então o conteúdo de um chunk não depende da ordem de execução das threads.
+ */
+final class TaskDistribution {
+
+    // Pesos aproximados de uma base real: muita coisa concluída, pouca bloqueada
+    private static final TaskStatus[] STATUS = {TaskStatus.DONE, TaskStatus.TODO, TaskStatus.IN_PROGRESS, TaskStatus.REVIEW, TaskStatus.BLOCKED};
+    private static final int[] STATUS_WEIGHTS = {40, 25, 20, 10, 5};
+
+    private static final Priority[] PRIORITY = {Priority.LOW, Priority.MEDIUM, Priority.HIGH, Priority.URGENT};
+    private static final int[] PRIORITY_WEIGHTS = {35, 40, 18, 7};
+
+    private static final String[] WORDS = {
+            "revisar", "ajustar", "relatório", "cliente", "deploy", "contrato", "reunião", "planilha",
+            "backend", "frontend", "migração", "teste", "documentação", "orçamento", "fornecedor", "auditoria"
+    };
+
+    private final SplittableRandom random;
+    private final int users;
+    private final LocalDate referenceDate;
+
+    TaskDistribution(long seed, long chunk, int users, LocalDate referenceDate) {
+        this.random = new SplittableRandom(seed ^ (chunk * 0x9E3779B97F4A7C15L));
+        this.users = users;
+        this.referenceDate = referenceDate;
+    }
+
+    /** Índice do dono com cauda longa: poucos usuários concentram a maior parte das tarefas. */
+    int owner() {
+        return (int) (users * Math.pow(random.nextDouble(), 2.5));
+    }
+
+    TaskStatus status(LocalDate deadline) {
+        // Prazos vencidos tendem a estar concluídos
+        if (deadline != null && deadline.isBefore(referenceDate) && random.nextInt(100) < 60) {
+            return TaskStatus.DONE;
+        }
+        return STATUS[weighted(STATUS_WEIGHTS)];
+    }
+
+    Priority priority() {
+        return PRIORITY[weighted(PRIORITY_WEIGHTS)];
+    }
+
+    LocalDate deadline() {
+        int roll = random.nextInt(100);
+        if (roll < 15) {
+            return null;
+        }
+        if (roll < 75) {
+            return referenceDate.plusDays(random.nextInt(-30, 31));
+        }
+        return referenceDate.plusDays(random.nextInt(-365, 366));
+    }
+
+    LocalDateTime createdAt() {
+        return referenceDate.atStartOfDay()
+                .minusDays(random.nextInt(0, 365))
+                .plusSeconds(random.nextInt(0, 86_400));
+    }
+
+    LocalDateTime updatedAt(LocalDateTime createdAt) {
+        return createdAt.plusMinutes(random.nextInt(0, 60 * 24 * 30));
+    }
+
+    String title(long index) {
+        return capitalize(word()) + " " + word() + " #" + index;
+    }
+
+    String description() {
+        int words = 5 + random.nextInt(40);
+        StringBuilder text = new StringBuilder(words * 9);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) text.append(' ');
+            text.append(word());
+        }
+        return text.toString();
+    }
+
+    String responsible() {
+        return "Responsável " + (int) (200 * Math.pow(random.nextDouble(), 2));
+    }
+
+    private String word() {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private int weighted(int[] weights) {
+        int roll = random.nextInt(100);
+        int accumulated = 0;
+        for (int i = 0; i < weights.length; i++) {
+            accumulated += weights[i];
+            if (roll < accumulated) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
@@ -4,13 +4,19 @@ import br.com.junior.esig.taskmanager.domain.enums.Role;
 import br.com.junior.esig.taskmanager.domain.model.User;
 import br.com.junior.esig.taskmanager.dto.auth.LoginRequest;
 import br.com.junior.esig.taskmanager.dto.auth.LoginResponse;
+import br.com.junior.esig.taskmanager.exception.TooManyRequestsException;
 import br.com.junior.esig.taskmanager.repository.UserRepository;
 import br.com.junior.esig.taskmanager.security.jwt.JwtUtil;
+import br.com.junior.esig.taskmanager.security.login.LoginAttemptTracker;
+import br.com.junior.esig.taskmanager.security.revocation.TokenRevocationList;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -30,14 +36,30 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
+    private final LoginAttemptTracker loginAttemptTracker;
+    private final TokenRevocationList revocationList;
 
     @Transactional
-    public LoginResponse login(LoginRequest request) {
+    public LoginResponse login(LoginRequest request, String clientIp) {
         log.info("Autenticando usuário: {}", request.getUsername());
 
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-        );
+        // Bloqueado não chega ao BCrypt: é isso que segura um ataque de força bruta
+        long retryAfter = loginAttemptTracker.retryAfterMillis(request.getUsername(), clientIp);
+        if (retryAfter > 0) {
+            log.warn("Login bloqueado por tentativas falhas: {} ({})", request.getUsername(), clientIp);
+            throw new TooManyRequestsException("Muitas tentativas de login, aguarde", (retryAfter + 999) / 1000);
+        }
+
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
+            );
+        } catch (AuthenticationException e) {
+            loginAttemptTracker.failed(request.getUsername(), clientIp);
+            throw e;
+        }
+        loginAttemptTracker.succeeded(request.getUsername());
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
         String token = jwtUtil.generateToken(request.getUsername());
@@ -48,7 +70,38 @@ public class AuthService {
                 .findFirst()
                 .orElse("ROLE_USER");
 
-        return new LoginResponse(token, role);
+        return withRefreshToken(new LoginResponse(token, role), request.getUsername());
+    }
+
+    /**
+     * Troca um refresh token válido por um novo par; o refresh usado é revogado na hora,
+     * então reapresentá-lo (token vazado) falha. A revogação é a própria checagem: com dois
+     * refreshes simultâneos do mesmo token, só o que gravar o jti recebe um par novo. Sem
+     * {@code @Transactional} para a revogação já estar gravada quando a resposta sair.
+     */
+    public LoginResponse refresh(String refreshToken) {
+        Claims claims = refreshToken != null ? jwtUtil.parseClaims(refreshToken) : null;
+        if (claims == null || !JwtUtil.isRefreshToken(claims)) {
+            throw new BadCredentialsException("Refresh token inválido");
+        }
+        User user = userRepository.findByUsername(claims.getSubject())
+                .orElseThrow(() -> new BadCredentialsException("Refresh token inválido"));
+
+        if (!revocationList.revoke(claims.getId(), claims.getExpiration().toInstant())) {
+            throw new BadCredentialsException("Refresh token inválido");
+        }
+        String token = jwtUtil.generateToken(user.getUsername());
+        return withRefreshToken(new LoginResponse(token, user.getRole().name()), user.getUsername());
+    }
+
+    // Revoga o que vier com assinatura válida; tokens inválidos ou vencidos já não servem
+    public void logout(String accessToken, String refreshToken) {
+        for (String token : new String[]{accessToken, refreshToken}) {
+            Claims claims = token != null ? jwtUtil.parseClaims(token) : null;
+            if (claims != null) {
+                revocationList.revoke(claims.getId(), claims.getExpiration().toInstant());
+            }
+        }
     }
 
     @Transactional
@@ -89,6 +142,11 @@ public class AuthService {
         userRepository.save(user);
 
         String token = jwtUtil.generateToken(user.getUsername());
-        return new LoginResponse(token, role.name());
+        return withRefreshToken(new LoginResponse(token, role.name()), user.getUsername());
+    }
+
+    private LoginResponse withRefreshToken(LoginResponse response, String username) {
+        response.setRefreshToken(jwtUtil.generateRefreshToken(username));
+        return response;
     }
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package br.com.junior.esig.taskmanager.service;
+
+import br.com.junior.esig.taskmanager.domain.enums.Priority;
+import br.com.junior.esig.taskmanager.domain.model.Task;
+import br.com.junior.esig.taskmanager.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Posição numa coluna do quadro: a chave de ordenação da última task entregue, no mesmo
+ * formato de {@code TaskRepository.BOARD_KEYS}. Trafega opaco como base64url.
+ */
+record BoardCursor(int rank, LocalDate due, long id) {
+
+    // Mesmos valores do CASE/COALESCE da consulta
+    private static final int NO_PRIORITY = 4;
+    private static final LocalDate NO_DEADLINE = LocalDate.of(9999, 12, 31);
+
+    static BoardCursor after(Task task) {
+        Priority priority = task.getPriority();
+        return new BoardCursor(
+                priority != null ? Priority.URGENT.ordinal() - priority.ordinal() : NO_PRIORITY,
+                task.getDeadline() != null ? task.getDeadline() : NO_DEADLINE,
+                task.getId());
+    }
+
+    static BoardCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII).split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException();
+            }
+            return new BoardCursor(Integer.parseInt(parts[0]), LocalDate.ofEpochDay(Long.parseLong(parts[1])),
+                    Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            throw new InvalidRequestException("Cursor inválido: " + cursor);
+        }
+    }
+
+    String encode() {
+        String raw = rank + ":" + due.toEpochDay() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+}
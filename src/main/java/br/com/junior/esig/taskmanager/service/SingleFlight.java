@@ -0,0 +1,120 @@
+package br.com.junior.esig.taskmanager.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalescência de leituras idênticas: enquanto uma chamada com a mesma chave (operação,
+ * escopo do usuário e parâmetros) está no banco, as outras esperam e recebem o mesmo
+ * resultado em vez de repetir a consulta. Por padrão nada fica guardado depois que a
+ * execução termina; com {@code task.single-flight.result-ttl} o resultado vale por esse
+ * tempo para quem chegar depois, e os vencidos são descartados a cada
+ * {@code task.single-flight.sweep-interval} (as chaves levam os filtros, então não se repetem
+ * o bastante para depender só da próxima leitura igual).
+ * <p>
+ * O resultado é compartilhado entre as requisições, então quem chama não deve alterá-lo.
+ * Métricas em {@code task.reads} com as tags {@code operation} e
+ * {@code result=executed|coalesced|cached}. Desligado por padrão ({@code task.single-flight.enabled}).
+ */
+@Slf4j
+@Component
+public class SingleFlight {
+
+    private static final String METRIC = "task.reads";
+
+    private static final class Flight {
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+        volatile long expiresAt;
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long resultTtlNanos;
+    private final ConcurrentHashMap<Object, Flight> flights = new ConcurrentHashMap<>();
+
+    public SingleFlight(MeterRegistry meterRegistry,
+                        @Value("${task.single-flight.enabled:false}") boolean enabled,
+                        @Value("${task.single-flight.result-ttl:PT0S}") Duration resultTtl) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.resultTtlNanos = resultTtl.toNanos();
+    }
+
+    /** {@code key} precisa de equals/hashCode por valor (um record, por exemplo). */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, Object key, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        while (true) {
+            Flight mine = new Flight();
+            Flight existing = flights.putIfAbsent(key, mine);
+            if (existing == null) {
+                counter(operation, "executed").increment();
+                return run(key, mine, loader);
+            }
+            if (existing.result.isDone() && System.nanoTime() - existing.expiresAt >= 0) {
+                flights.remove(key, existing);
+                continue;
+            }
+            counter(operation, existing.result.isDone() ? "cached" : "coalesced").increment();
+            try {
+                return (T) existing.result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw e;
+            }
+        }
+    }
+
+    public int inFlight() {
+        return flights.size();
+    }
+
+    /** Remove os resultados guardados que já venceram. */
+    @Scheduled(fixedDelayString = "${task.single-flight.sweep-interval:PT1M}")
+    public void sweep() {
+        if (resultTtlNanos == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        flights.values().removeIf(flight -> flight.result.isDone() && now - flight.expiresAt >= 0);
+    }
+
+    private <T> T run(Object key, Flight flight, Supplier<T> loader) {
+        T value;
+        try {
+            value = loader.get();
+        } catch (Throwable e) {
+            // Error também: sem isso o voo ficaria no mapa e quem esperasse por ele, travado
+            flights.remove(key, flight);
+            flight.result.completeExceptionally(e);
+            throw e;
+        }
+        flight.expiresAt = System.nanoTime() + resultTtlNanos;
+        if (resultTtlNanos == 0) {
+            flights.remove(key, flight);
+        }
+        flight.result.complete(value);
+        return value;
+    }
+
+    private Counter counter(String operation, String result) {
+        return meterRegistry.counter(METRIC, "operation", operation, "result", result);
+    }
+}
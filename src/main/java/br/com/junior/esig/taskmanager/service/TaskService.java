@@ -1,27 +1,67 @@
 package br.com.junior.esig.taskmanager.service;
 
+import br.com.junior.esig.taskmanager.deadline.DeadlineTracker;
+import br.com.junior.esig.taskmanager.dependency.DependencyGraph;
 import br.com.junior.esig.taskmanager.domain.enums.Priority;
 import br.com.junior.esig.taskmanager.domain.enums.Role;
 import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import br.com.junior.esig.taskmanager.domain.event.TaskAuditEvent;
+import br.com.junior.esig.taskmanager.domain.event.TaskChangedEvent;
+import br.com.junior.esig.taskmanager.domain.event.TaskTagsChangedEvent;
 import br.com.junior.esig.taskmanager.domain.model.Task;
+import br.com.junior.esig.taskmanager.domain.model.TaskAuditEntry;
 import br.com.junior.esig.taskmanager.domain.model.User;
+import br.com.junior.esig.taskmanager.dto.task.TaskBoardColumn;
+import br.com.junior.esig.taskmanager.dto.task.TaskBoardResponse;
+import br.com.junior.esig.taskmanager.dto.task.TaskCriticalPathResponse;
+import br.com.junior.esig.taskmanager.dto.task.TaskFacetsResponse;
+import br.com.junior.esig.taskmanager.dto.task.TaskField;
+import br.com.junior.esig.taskmanager.dto.task.TaskHistoryPage;
+import br.com.junior.esig.taskmanager.dto.task.TaskProgressResponse;
 import br.com.junior.esig.taskmanager.dto.task.TaskRequest;
 import br.com.junior.esig.taskmanager.dto.task.TaskResponse;
+import br.com.junior.esig.taskmanager.exception.InvalidRequestException;
 import br.com.junior.esig.taskmanager.exception.ResourceNotFoundException;
 import br.com.junior.esig.taskmanager.mapper.TaskMapper;
+import br.com.junior.esig.taskmanager.monitoring.PhaseTracer;
+import br.com.junior.esig.taskmanager.monitoring.TaskPhaseEvent;
+import br.com.junior.esig.taskmanager.readmodel.NextTaskIndex;
+import br.com.junior.esig.taskmanager.readmodel.TaskQuery;
+import br.com.junior.esig.taskmanager.readmodel.TaskReadModel;
+import br.com.junior.esig.taskmanager.repository.TaskAuditRepository;
 import br.com.junior.esig.taskmanager.repository.TaskRepository;
 import br.com.junior.esig.taskmanager.repository.UserRepository;
+import br.com.junior.esig.taskmanager.tag.TagIndex;
+import br.com.junior.esig.taskmanager.tag.TagMatch;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -32,22 +72,82 @@ public class TaskService {
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
     private final TaskMapper taskMapper;
-
-    public List<TaskResponse> findAll() {
+    private final TaskReadModel readModel;
+    private final DeadlineTracker deadlineTracker;
+    private final NextTaskIndex nextTaskIndex;
+    private final Clock clock;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SingleFlight singleFlight;
+    private final TaskAuditRepository taskAuditRepository;
+    private final DependencyGraph dependencyGraph;
+    private final TagIndex tagIndex;
+
+    private static final Set<TaskStatus> NOT_DONE = EnumSet.complementOf(EnumSet.of(TaskStatus.DONE));
+
+    private static final int MAX_NEXT = 100;
+    private static final Set<String> ACTIONABLE_NAMES = NextTaskIndex.ACTIONABLE.stream()
+            .map(Enum::name).collect(Collectors.toUnmodifiableSet());
+    private static final int MAX_PER_COLUMN = 200;
+    private static final int MAX_HISTORY_PAGE = 200;
+
+    // Rótulos: tamanho da coluna em task_tags, quantos por task e quantos nas contagens do filtro
+    private static final int MAX_TAG_LENGTH = 50;
+    private static final int MAX_TAGS = 20;
+    private static final int MAX_TAG_FACETS = 20;
+
+    // Limite de ids por IN na hidratação (o PostgreSQL aceita até 32767 parâmetros)
+    private static final int HYDRATION_BATCH = 1000;
+
+    public List<TaskResponse> findAll(Set<TaskField> fields) {
         User currentUser = getLoggedUser();
+        return coalesce("all", currentUser, () -> findAll(currentUser, fields), fields);
+    }
+
+    private List<TaskResponse> findAll(User currentUser, Set<TaskField> fields) {
+        if (fields != TaskField.ALL) {
+            return convertList(taskRepository.findProjected(scope(currentUser).build(), fields), fields);
+        }
         List<Task> tasks = (currentUser.getRole() == Role.ROLE_ADMIN)
                 ? taskRepository.findAll()
                 : taskRepository.findByUser(currentUser);
 
-        return tasks.stream()
-                .map(taskMapper::toResponse)
-                .collect(Collectors.toList());
+        return convertList(tasks);
     }
 
-    public TaskResponse findById(Long id) {
-        Task task = buscarTaskPorId(id);
+    public TaskResponse findById(Long id, Set<TaskField> fields) {
+        Task task = fields == TaskField.ALL
+                ? buscarTaskPorId(id)
+                : taskRepository.findProjectedByIds(List.of(id), fields).stream().findFirst()
+                        .orElseThrow(() -> new ResourceNotFoundException("Task", "id", id));
         checkPermission(task, getLoggedUser());
-        return taskMapper.toResponse(task);
+        return PhaseTracer.trace(PhaseTracer.MAPPING, () -> taskMapper.toResponse(task, fields));
+    }
+
+    /** Várias tasks por id num único IN; falha inteira se faltar alguma ou se alguma não for do usuário. */
+    public List<TaskResponse> findByIds(List<Long> ids, Set<TaskField> fields) {
+        User user = getLoggedUser();
+        Set<Long> unique = new LinkedHashSet<>(ids);
+        if (unique.size() > HYDRATION_BATCH) {
+            throw new InvalidRequestException("No máximo " + HYDRATION_BATCH + " ids por requisição");
+        }
+        List<Task> found = fields == TaskField.ALL
+                ? taskRepository.findAllById(unique)
+                : taskRepository.findProjectedByIds(unique, fields);
+
+        Map<Long, Task> byId = new HashMap<>(found.size() * 2);
+        for (Task task : found) {
+            checkPermission(task, user);
+            byId.put(task.getId(), task);
+        }
+        List<Task> tasks = new ArrayList<>(unique.size());
+        for (Long id : unique) {
+            Task task = byId.get(id);
+            if (task == null) {
+                throw new ResourceNotFoundException("Task", "id", id);
+            }
+            tasks.add(task);
+        }
+        return convertList(tasks, fields);
     }
 
     @Transactional
@@ -61,8 +161,19 @@ public class TaskService {
 
         Task task = taskMapper.toEntity(request, targetUser);
         if (task.getStatus() == null) task.setStatus(TaskStatus.TODO);
+        if (request.getParentId() != null) {
+            Task parent = buscarTaskPorId(request.getParentId());
+            checkPermission(parent, currentUser);
+            requireSameOwner(parent, targetUser);
+            task.setParent(parent);
+        }
+        task.getTags().addAll(normalizeTags(request.getTags()));
 
-        return taskMapper.toResponse(taskRepository.save(task));
+        Task saved = save(task);
+        if (!saved.getTags().isEmpty()) {
+            eventPublisher.publishEvent(new TaskTagsChangedEvent(saved.getId(), Set.copyOf(saved.getTags()), Set.of()));
+        }
+        return toResponse(saved);
     }
 
     @Transactional
@@ -70,6 +181,8 @@ public class TaskService {
         Task task = buscarTaskPorId(id);
         User currentUser = getLoggedUser();
         checkPermission(task, currentUser);
+        Map<String, String> before = TaskAuditEvent.snapshot(task);
+        User previousOwner = task.getUser();
 
         User targetUser = (currentUser.getRole() == Role.ROLE_ADMIN && request.getUserId() != null)
                 ? buscarUsuario(request.getUserId())
@@ -82,8 +195,12 @@ public class TaskService {
         task.setDeadline(request.getDeadline());
         task.setStatus(request.getStatus());
         task.setUser(targetUser);
+        if (request.getTags() != null) {
+            retag(task, request.getTags());
+        }
+        cascadeOwner(task, previousOwner, currentUser);
 
-        return taskMapper.toResponse(taskRepository.save(task));
+        return toResponse(save(task, currentUser, before));
     }
 
     @Transactional
@@ -91,6 +208,8 @@ public class TaskService {
         Task task = buscarTaskPorId(id);
         User currentUser = getLoggedUser();
         checkPermission(task, currentUser);
+        Map<String, String> before = TaskAuditEvent.snapshot(task);
+        User previousOwner = task.getUser();
 
         updates.forEach((key, value) -> {
             if (value != null) {
@@ -101,6 +220,7 @@ public class TaskService {
                     case "priority" -> task.setPriority(Priority.valueOf(((String) value).toUpperCase()));
                     case "deadline" -> task.setDeadline(LocalDate.parse((String) value));
                     case "status" -> task.setStatus(TaskStatus.valueOf(((String) value).toUpperCase()));
+                    case "tags" -> retag(task, (Collection<?>) value);
                     case "userId" -> {
                         if (currentUser.getRole() == Role.ROLE_ADMIN) {
                             task.setUser(buscarUsuario(Long.valueOf(value.toString())));
@@ -109,7 +229,8 @@ public class TaskService {
                 }
             }
         });
-        return taskMapper.toResponse(taskRepository.save(task));
+        cascadeOwner(task, previousOwner, currentUser);
+        return toResponse(save(task, currentUser, before));
     }
 
     @Transactional
@@ -117,17 +238,23 @@ public class TaskService {
         Task task = buscarTaskPorId(id);
         checkPermission(task, getLoggedUser());
         taskRepository.deleteById(id);
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(id));
     }
 
     @Transactional
-    public TaskResponse completeTask(Long id) {
+    public TaskResponse completeTask(Long id, boolean cascade) {
         Task task = buscarTaskPorId(id);
-        checkPermission(task, getLoggedUser());
+        User currentUser = getLoggedUser();
+        checkPermission(task, currentUser);
+        Map<String, String> before = TaskAuditEvent.snapshot(task);
         task.setStatus(TaskStatus.DONE);
-        return taskMapper.toResponse(taskRepository.save(task));
+        if (cascade) {
+            completeDescendants(task, currentUser);
+        }
+        return toResponse(save(task, currentUser, before));
     }
 
-    public List<TaskResponse> findByUserId(Long userId) {
+    public List<TaskResponse> findByUserId(Long userId, Set<TaskField> fields) {
         User currentUser = getLoggedUser();
         if (currentUser.getRole() != Role.ROLE_ADMIN && !currentUser.getId().equals(userId)) {
             throw new AccessDeniedException("Acesso negado.");
@@ -135,69 +262,572 @@ public class TaskService {
         if (!userRepository.existsById(userId)) {
             throw new ResourceNotFoundException("User", "id", userId);
         }
-        return taskRepository.findByUserId(userId).stream()
-                .map(taskMapper::toResponse)
-                .collect(Collectors.toList());
+        if (readModel.isReady()) {
+            return load(readModel.scan(TaskQuery.builder().ownerId(userId).build()), fields);
+        }
+        if (fields != TaskField.ALL) {
+            return convertList(taskRepository.findProjected(TaskQuery.builder().ownerId(userId).build(), fields), fields);
+        }
+        return convertList(taskRepository.findByUserId(userId));
     }
 
     // ============ MÉTODOS DE FILTRO E BUSCA ============
 
-    public List<TaskResponse> filterTasks(TaskStatus status, Priority priority, String responsible, LocalDate startDate, LocalDate endDate) {
+    public List<TaskResponse> filterTasks(Set<TaskStatus> statuses, Priority priority, Priority minPriority, String responsible, LocalDate startDate, LocalDate endDate, Set<String> tags, TagMatch tagMatch, Set<TaskField> fields) {
         User currentUser = getLoggedUser();
-        List<Task> tasks = (currentUser.getRole() == Role.ROLE_ADMIN)
-                ? taskRepository.findAll()
-                : taskRepository.findByUser(currentUser);
+        return coalesce("filter", currentUser, () -> filterTasks(currentUser, statuses, priority, minPriority, responsible, startDate, endDate, tags, tagMatch, fields), statuses, priority, minPriority, responsible, startDate, endDate, tags, tagMatch, fields);
+    }
 
-        return tasks.stream()
-                .filter(t -> (status == null || t.getStatus() == status))
-                .filter(t -> (priority == null || t.getPriority() == priority))
-                .filter(t -> (responsible == null || (t.getResponsible() != null && t.getResponsible().toLowerCase().contains(responsible.toLowerCase()))))
-                .filter(t -> (startDate == null || (t.getDeadline() != null && !t.getDeadline().isBefore(startDate))))
-                .filter(t -> (endDate == null || (t.getDeadline() != null && !t.getDeadline().isAfter(endDate))))
-                .sorted(Comparator.comparing(Task::getPriority).reversed()) // Alta prioridade primeiro
-                .map(taskMapper::toResponse)
-                .collect(Collectors.toList());
+    private List<TaskResponse> filterTasks(User currentUser, Set<TaskStatus> statuses, Priority priority, Priority minPriority, String responsible, LocalDate startDate, LocalDate endDate, Set<String> tags, TagMatch tagMatch, Set<TaskField> fields) {
+        Set<Priority> priorities = priorities(priority, minPriority);
+        TaskQuery query = filterQuery(currentUser, statuses, priorities, responsible, startDate, endDate, tags, tagMatch);
+        // A prioridade é lida mesmo fora de fields: é a chave da ordenação
+        Set<TaskField> loaded = with(fields, TaskField.PRIORITY);
+        List<Task> tasks;
+        if (readModel.isReady()) {
+            tasks = hydrate(readModel.scan(query), loaded);
+        } else if (query.tagged() != null) {
+            tasks = filterTagged(query, loaded);
+        } else if (fields != TaskField.ALL) {
+            tasks = new ArrayList<>(taskRepository.findProjected(query, loaded));
+        } else {
+            tasks = filterFromDatabase(currentUser, query);
+        }
+
+        tasks.sort(Comparator.comparing(Task::getPriority).reversed()); // Alta prioridade primeiro
+        return convertList(tasks, fields);
+    }
+
+    public TaskFacetsResponse facets(Set<TaskStatus> statuses, Priority priority, Priority minPriority, String responsible, LocalDate startDate, LocalDate endDate, Set<String> tags, TagMatch tagMatch) {
+        User currentUser = getLoggedUser();
+        return coalesce("facets", currentUser, () -> facets(currentUser, statuses, priority, minPriority, responsible, startDate, endDate, tags, tagMatch), statuses, priority, minPriority, responsible, startDate, endDate, tags, tagMatch);
+    }
+
+    private TaskFacetsResponse facets(User currentUser, Set<TaskStatus> statuses, Priority priority, Priority minPriority, String responsible, LocalDate startDate, LocalDate endDate, Set<String> tags, TagMatch tagMatch) {
+        Set<Priority> priorities = priorities(priority, minPriority);
+        TaskQuery query = filterQuery(currentUser, statuses, priorities, responsible, startDate, endDate, tags, tagMatch);
+        if (readModel.isReady()) {
+            RoaringBitmap selection = readModel.select(query);
+            TaskFacetsResponse facets = readModel.facets(selection);
+            facets.setTags(tagIndex.counts(selection, MAX_TAG_FACETS));
+            return facets;
+        }
+
+        List<Task> tasks = query.tagged() != null ? filterTagged(query, TaskField.ALL) : filterFromDatabase(currentUser, query);
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        Map<Priority, Long> byPriority = new EnumMap<>(Priority.class);
+        Map<String, Long> byTag = new HashMap<>();
+        for (TaskStatus status : TaskStatus.values()) byStatus.put(status, 0L);
+        for (Priority p : Priority.values()) byPriority.put(p, 0L);
+        for (Task task : tasks) {
+            if (task.getStatus() != null) byStatus.merge(task.getStatus(), 1L, Long::sum);
+            if (task.getPriority() != null) byPriority.merge(task.getPriority(), 1L, Long::sum);
+            task.getTags().forEach(tag -> byTag.merge(tag, 1L, Long::sum));
+        }
+        return TaskFacetsResponse.builder().total(tasks.size()).status(byStatus).priority(byPriority)
+                .tags(TagIndex.top(byTag, MAX_TAG_FACETS)).build();
     }
 
-    public List<TaskResponse> findByStatus(TaskStatus status) {
+    public List<TaskResponse> findByStatus(TaskStatus status, Set<TaskField> fields) {
         User user = getLoggedUser();
+        return coalesce("status", user, () -> findByStatus(user, status, fields), status, fields);
+    }
+
+    private List<TaskResponse> findByStatus(User user, TaskStatus status, Set<TaskField> fields) {
+        TaskQuery query = scope(user).status(status).build();
+        if (readModel.isReady()) {
+            return load(readModel.scan(query), fields);
+        }
+        if (fields != TaskField.ALL) {
+            return convertList(taskRepository.findProjected(query, fields), fields);
+        }
         List<Task> tasks = (user.getRole() == Role.ROLE_ADMIN)
                 ? taskRepository.findByStatus(status)
                 : taskRepository.findByUserAndStatus(user, status);
         return convertList(tasks);
     }
 
-    public List<TaskResponse> findByPriority(Priority priority) {
+    public List<TaskResponse> findByPriority(Priority priority, Set<TaskField> fields) {
         User user = getLoggedUser();
+        return coalesce("priority", user, () -> findByPriority(user, priority, fields), priority, fields);
+    }
+
+    private List<TaskResponse> findByPriority(User user, Priority priority, Set<TaskField> fields) {
+        TaskQuery query = scope(user).priority(priority).build();
+        if (readModel.isReady()) {
+            return load(readModel.scan(query), fields);
+        }
+        if (fields != TaskField.ALL) {
+            return convertList(taskRepository.findProjected(query, fields), fields);
+        }
         List<Task> tasks = (user.getRole() == Role.ROLE_ADMIN)
                 ? taskRepository.findByPriority(priority)
                 : taskRepository.findByUserAndPriority(user, priority);
         return convertList(tasks);
     }
 
-    public List<TaskResponse> findUpcomingTasks() {
+    public List<TaskResponse> findUpcomingTasks(Set<TaskField> fields) {
         User user = getLoggedUser();
-        LocalDate today = LocalDate.now();
-        LocalDate nextWeek = today.plusDays(7);
+        return coalesce("upcoming", user, () -> findUpcomingTasks(user, fields), fields);
+    }
+
+    private List<TaskResponse> findUpcomingTasks(User user, Set<TaskField> fields) {
+        if (deadlineTracker.isReady()) {
+            return load(deadlineTracker.upcoming(ownerScope(user)), fields);
+        }
+        LocalDate today = LocalDate.now(clock);
+        LocalDate nextWeek = today.plusDays(DeadlineTracker.UPCOMING_DAYS);
+        TaskQuery query = scope(user).deadlineFrom(today).deadlineTo(nextWeek).build();
+        if (readModel.isReady()) {
+            return load(readModel.scan(query), fields);
+        }
+        if (fields != TaskField.ALL) {
+            return convertList(taskRepository.findProjected(query, fields), fields);
+        }
         List<Task> tasks = (user.getRole() == Role.ROLE_ADMIN)
                 ? taskRepository.findByDeadlineBetween(today, nextWeek)
                 : taskRepository.findByUserAndDeadlineBetween(user, today, nextWeek);
         return convertList(tasks);
     }
 
-    public List<TaskResponse> findOverdueTasks() {
+    public List<TaskResponse> findOverdueTasks(Set<TaskField> fields) {
         User user = getLoggedUser();
-        LocalDate today = LocalDate.now();
+        return coalesce("overdue", user, () -> findOverdueTasks(user, fields), fields);
+    }
+
+    private List<TaskResponse> findOverdueTasks(User user, Set<TaskField> fields) {
+        if (deadlineTracker.isReady()) {
+            return load(deadlineTracker.overdue(ownerScope(user)), fields);
+        }
+        LocalDate today = LocalDate.now(clock);
+        TaskQuery query = scope(user).deadlineBefore(today).statuses(NOT_DONE).build();
+        if (readModel.isReady()) {
+            return load(readModel.scan(query), fields);
+        }
+        if (fields != TaskField.ALL) {
+            return convertList(taskRepository.findProjected(query, fields), fields);
+        }
         List<Task> tasks = (user.getRole() == Role.ROLE_ADMIN)
                 ? taskRepository.findByDeadlineBeforeAndStatusNot(today, TaskStatus.DONE)
                 : taskRepository.findByUserAndDeadlineBeforeAndStatusNot(user, today, TaskStatus.DONE);
         return convertList(tasks);
     }
 
+    /**
+     * As próximas {@code count} tasks acionáveis: maior prioridade, depois prazo mais
+     * próximo (sem prazo por último), depois a mais antiga.
+     */
+    public List<TaskResponse> findNext(int count, Set<TaskField> fields) {
+        User user = getLoggedUser();
+        return coalesce("next", user, () -> findNext(user, count, fields), count, fields);
+    }
+
+    private List<TaskResponse> findNext(User user, int count, Set<TaskField> fields) {
+        int k = Math.max(1, Math.min(count, MAX_NEXT));
+        if (nextTaskIndex.isReady()) {
+            return load(nextTaskIndex.top(ownerScope(user), k), fields);
+        }
+        Long ownerId = ownerScope(user);
+        List<Long> ids = ownerId == null
+                ? taskRepository.findNextIds(ACTIONABLE_NAMES, k)
+                : taskRepository.findNextIdsByUserId(ownerId, ACTIONABLE_NAMES, k);
+        return load(ids.stream().mapToLong(Long::longValue).toArray(), fields);
+    }
+
+    /** Tasks em status acionável cujos bloqueadores já foram todos concluídos, em ordem de id. */
+    public List<TaskResponse> findActionable(Set<TaskField> fields) {
+        User user = getLoggedUser();
+        return coalesce("actionable", user, () -> findActionable(user, fields), fields);
+    }
+
+    private List<TaskResponse> findActionable(User user, Set<TaskField> fields) {
+        Long ownerId = ownerScope(user);
+        if (dependencyGraph.isReady()) {
+            return load(dependencyGraph.actionable(ownerId), fields);
+        }
+        List<Long> ids = ownerId == null
+                ? taskRepository.findUnblockedIds(NextTaskIndex.ACTIONABLE, TaskStatus.DONE)
+                : taskRepository.findUnblockedIdsByUserId(ownerId, NextTaskIndex.ACTIONABLE, TaskStatus.DONE);
+        return load(ids.stream().mapToLong(Long::longValue).toArray(), fields);
+    }
+
+    /**
+     * Maior cadeia de tasks abertas, ligadas por dependências, que termina numa task do
+     * usuário com prazo até {@code date}: o que precisa andar primeiro para cumprir a data.
+     */
+    public TaskCriticalPathResponse criticalPath(LocalDate date) {
+        User user = getLoggedUser();
+        long[] path = dependencyGraph.criticalPath(ownerScope(user), date);
+        return TaskCriticalPathResponse.builder()
+                .date(date)
+                .path(Arrays.stream(path).boxed().toList())
+                .build();
+    }
+
+    /** Quadro kanban: as primeiras {@code perColumn} tasks de cada status e o total da coluna. */
+    public TaskBoardResponse board(int perColumn, Set<TaskField> fields) {
+        User user = getLoggedUser();
+        return coalesce("board", user, () -> board(user, perColumn, fields), perColumn, fields);
+    }
+
+    private TaskBoardResponse board(User user, int perColumn, Set<TaskField> fields) {
+        int limit = Math.max(1, Math.min(perColumn, MAX_PER_COLUMN));
+        List<TaskRepository.BoardRow> rows = (user.getRole() == Role.ROLE_ADMIN)
+                ? taskRepository.findBoard(limit)
+                : taskRepository.findBoardByUserId(user.getId(), limit);
+
+        Map<Long, Task> tasks = hydrate(rows, fields).stream().collect(Collectors.toMap(Task::getId, t -> t));
+        Map<TaskStatus, List<Task>> byStatus = new EnumMap<>(TaskStatus.class);
+        Map<TaskStatus, Long> totals = new EnumMap<>(TaskStatus.class);
+        for (TaskRepository.BoardRow row : rows) {
+            TaskStatus status = TaskStatus.valueOf(row.getStatus());
+            totals.put(status, row.getTotal());
+            Task task = tasks.get(row.getId());
+            if (task != null) {
+                byStatus.computeIfAbsent(status, s -> new ArrayList<>()).add(task);
+            }
+        }
+
+        List<TaskBoardColumn> columns = new ArrayList<>();
+        for (TaskStatus status : TaskStatus.values()) {
+            columns.add(column(status, byStatus.getOrDefault(status, List.of()), totals.getOrDefault(status, 0L),
+                    totals.getOrDefault(status, 0L) > limit, fields));
+        }
+        return TaskBoardResponse.builder().columns(columns).build();
+    }
+
+    /** Continuação de uma coluna do quadro a partir do {@code nextCursor} devolvido antes. */
+    public TaskBoardColumn boardColumn(TaskStatus status, String cursor, int perColumn, Set<TaskField> fields) {
+        User user = getLoggedUser();
+        int limit = Math.max(1, Math.min(perColumn, MAX_PER_COLUMN));
+        BoardCursor after = BoardCursor.decode(cursor);
+        // Uma linha a mais só para saber se a coluna continua
+        List<TaskRepository.BoardRow> rows = (user.getRole() == Role.ROLE_ADMIN)
+                ? taskRepository.findBoardColumn(status.name(), after.rank(), after.due(), after.id(), limit + 1)
+                : taskRepository.findBoardColumnByUserId(user.getId(), status.name(), after.rank(), after.due(),
+                after.id(), limit + 1);
+
+        boolean more = rows.size() > limit;
+        List<TaskRepository.BoardRow> page = more ? rows.subList(0, limit) : rows;
+        long total = rows.isEmpty() ? 0 : rows.get(0).getTotal();
+        return column(status, hydrate(page, fields), total, more, fields);
+    }
+
+    // ============ SUBTAREFAS ============
+
+    /** Pendura a task em outra (ou a torna raiz com {@code parentId} nulo); a subárvore vai junto. */
+    @Transactional
+    public TaskResponse moveTask(Long id, Long parentId) {
+        Task task = buscarTaskPorId(id);
+        User currentUser = getLoggedUser();
+        checkPermission(task, currentUser);
+        Map<String, String> before = TaskAuditEvent.snapshot(task);
+
+        Task parent = null;
+        if (parentId != null) {
+            parent = buscarTaskPorId(parentId);
+            checkPermission(parent, currentUser);
+            requireSameOwner(parent, task.getUser());
+            // Dois movimentos concorrentes (A sob B e B sob A) passariam os dois pela checagem
+            userRepository.lockById(task.getUser().getId());
+            if (taskRepository.countInSubtree(id, parentId) > 0) {
+                throw new InvalidRequestException("A tarefa mãe não pode ser a própria tarefa nem uma subtarefa dela");
+            }
+        }
+        task.setParent(parent);
+        return toResponse(save(task, currentUser, before));
+    }
+
+    /** Todas as descendentes da task, nível a nível; {@code parentId} permite remontar a árvore. */
+    public List<TaskResponse> subtree(Long id, Set<TaskField> fields) {
+        findAccessible(id);
+        return load(taskRepository.findDescendantIds(id).stream().mapToLong(Long::longValue).toArray(), fields);
+    }
+
+    /** Progresso agregado das descendentes, contado no banco sem carregar as tasks. */
+    public TaskProgressResponse progress(Long id) {
+        findAccessible(id);
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) byStatus.put(status, 0L);
+        long total = 0;
+        for (TaskRepository.StatusCount count : taskRepository.countDescendantsByStatus(id)) {
+            if (count.getStatus() != null) byStatus.put(TaskStatus.valueOf(count.getStatus()), count.getTotal());
+            total += count.getTotal();
+        }
+        long done = byStatus.get(TaskStatus.DONE);
+        return TaskProgressResponse.builder()
+                .total(total)
+                .done(done)
+                .percentDone(total == 0 ? 0 : Math.round(1000.0 * done / total) / 10.0)
+                .status(byStatus)
+                .build();
+    }
+
+    /** Task por id, se o usuário logado pode acessá-la (dono ou ADMIN); usada por quem pendura dados na task. */
+    public Task findAccessible(Long id) {
+        Task task = buscarTaskPorId(id);
+        checkPermission(task, getLoggedUser());
+        return task;
+    }
+
+    /** Mudanças da task, da mais recente para a mais antiga; {@code cursor} é o {@code nextCursor} da página anterior. */
+    public TaskHistoryPage history(Long id, Long cursor, int size) {
+        findAccessible(id);
+        int limit = Math.max(1, Math.min(size, MAX_HISTORY_PAGE));
+        List<TaskAuditEntry> entries = taskAuditRepository.findByTaskIdAndIdLessThanOrderByIdDesc(id,
+                cursor != null ? cursor : Long.MAX_VALUE, Limit.of(limit + 1));
+        boolean more = entries.size() > limit;
+        List<TaskAuditEntry> page = more ? entries.subList(0, limit) : entries;
+        return TaskHistoryPage.builder()
+                .entries(page.stream().map(taskMapper::toHistoryEntry).toList())
+                .nextCursor(more ? page.get(page.size() - 1).getId() : null)
+                .build();
+    }
+
     // ============ HELPER METHODS ============
 
     private List<TaskResponse> convertList(List<Task> tasks) {
-        return tasks.stream().map(taskMapper::toResponse).collect(Collectors.toList());
+        return convertList(tasks, TaskField.ALL);
+    }
+
+    private List<TaskResponse> convertList(List<Task> tasks, Set<TaskField> fields) {
+        return PhaseTracer.trace(PhaseTracer.MAPPING,
+                () -> tasks.stream().map(task -> taskMapper.toResponse(task, fields)).collect(Collectors.toList()));
+    }
+
+    private List<TaskResponse> load(long[] ids, Set<TaskField> fields) {
+        return convertList(hydrate(ids, fields), fields);
+    }
+
+    // Campos lidos do banco além dos pedidos, porque o serviço precisa deles
+    private static Set<TaskField> with(Set<TaskField> fields, TaskField... required) {
+        if (fields == TaskField.ALL) {
+            return fields;
+        }
+        Set<TaskField> loaded = EnumSet.copyOf(fields);
+        loaded.addAll(Arrays.asList(required));
+        return loaded;
+    }
+
+    private TaskResponse toResponse(Task task) {
+        return PhaseTracer.trace(PhaseTracer.MAPPING, () -> taskMapper.toResponse(task));
+    }
+
+    private Task save(Task task) {
+        Task saved = taskRepository.save(task);
+        eventPublisher.publishEvent(TaskChangedEvent.of(saved));
+        return saved;
+    }
+
+    // Escrita auditada: a diferença entre before e o estado salvo vai para a trilha após o commit
+    private Task save(Task task, User actor, Map<String, String> before) {
+        Task saved = save(task);
+        TaskAuditEvent audit = TaskAuditEvent.diff(saved.getId(), actor.getUsername(), clock.instant(),
+                before, TaskAuditEvent.snapshot(saved));
+        if (!audit.changes().isEmpty()) {
+            eventPublisher.publishEvent(audit);
+        }
+        return saved;
+    }
+
+    // A árvore inteira tem um só dono: reatribuir a raiz leva as descendentes num único UPDATE
+    private void cascadeOwner(Task task, User previousOwner, User actor) {
+        User owner = task.getUser();
+        if (owner.getId().equals(previousOwner.getId())) {
+            return;
+        }
+        if (task.getParent() != null) {
+            throw new InvalidRequestException("Subtarefas seguem o dono da tarefa mãe; reatribua a raiz ou mova a subtarefa antes");
+        }
+        List<TaskRepository.DescendantState> states = taskRepository.findDescendantStates(task.getId());
+        if (states.isEmpty()) {
+            return;
+        }
+        taskRepository.updateDescendantsOwner(task.getId(), owner.getId(), LocalDateTime.now(clock));
+        Instant at = clock.instant();
+        for (TaskRepository.DescendantState state : states) {
+            eventPublisher.publishEvent(changed(state, owner.getId(), status(state)));
+            eventPublisher.publishEvent(new TaskAuditEvent(state.getId(), actor.getUsername(), at, List.of(
+                    new TaskAuditEvent.FieldChange("userId", String.valueOf(state.getUserId()), owner.getId().toString()))));
+        }
+        log.info("{} subtarefa(s) da task {} reatribuídas para {}", states.size(), task.getId(), owner.getUsername());
+    }
+
+    private void completeDescendants(Task task, User actor) {
+        List<TaskRepository.DescendantState> states = taskRepository.findDescendantStates(task.getId());
+        if (states.isEmpty()) {
+            return;
+        }
+        taskRepository.updateDescendantsStatus(task.getId(), TaskStatus.DONE.name(), LocalDateTime.now(clock));
+        Instant at = clock.instant();
+        for (TaskRepository.DescendantState state : states) {
+            if (status(state) == TaskStatus.DONE) {
+                continue;
+            }
+            eventPublisher.publishEvent(changed(state, state.getUserId(), TaskStatus.DONE));
+            eventPublisher.publishEvent(new TaskAuditEvent(state.getId(), actor.getUsername(), at, List.of(
+                    new TaskAuditEvent.FieldChange("status", state.getStatus(), TaskStatus.DONE.name()))));
+        }
+    }
+
+    // Evento dos modelos de leitura para uma descendente alterada em lote
+    private static TaskChangedEvent changed(TaskRepository.DescendantState state, Long userId, TaskStatus status) {
+        Priority priority = state.getPriority() != null ? Priority.valueOf(state.getPriority()) : null;
+        return new TaskChangedEvent(state.getId(), userId, status, priority, state.getDeadline(),
+                state.getResponsible(), state.getCreatedAt(), false);
+    }
+
+    private static TaskStatus status(TaskRepository.DescendantState state) {
+        return state.getStatus() != null ? TaskStatus.valueOf(state.getStatus()) : null;
+    }
+
+    private static void requireSameOwner(Task parent, User owner) {
+        if (!parent.getUser().getId().equals(owner.getId())) {
+            throw new InvalidRequestException("A tarefa mãe precisa ser do mesmo dono");
+        }
+    }
+
+    // Os rótulos viram bitmap de ids já aqui: AND/OR entre as listas de cada rótulo, em memória.
+    // Sem o read model, que já restringe ao dono, o bitmap sai do TagIndex só com as tasks dele:
+    // a hidratação não carrega tasks de outros donos
+    private TaskQuery filterQuery(User user, Set<TaskStatus> statuses, Set<Priority> priorities, String responsible, LocalDate startDate, LocalDate endDate, Set<String> tags, TagMatch tagMatch) {
+        Long tagOwner = readModel.isReady() ? null : ownerScope(user);
+        return scope(user)
+                .statuses(statuses)
+                .priorities(priorities)
+                .responsible(responsible)
+                .deadlineFrom(startDate)
+                .deadlineTo(endDate)
+                .tagged(tags.isEmpty() ? null : tagIndex.match(normalizeTags(tags), tagMatch, tagOwner))
+                .build();
+    }
+
+    private List<Task> filterFromDatabase(User user, TaskQuery query) {
+        List<Task> tasks = (user.getRole() == Role.ROLE_ADMIN)
+                ? taskRepository.findAll()
+                : taskRepository.findByUser(user);
+
+        return tasks.stream()
+                .filter(t -> matches(query, t))
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    // Sem o read model: só as tasks com os rótulos são carregadas, e o resto do filtro é conferido nelas
+    private List<Task> filterTagged(TaskQuery query, Set<TaskField> fields) {
+        long[] ids = query.tagged().stream().asLongStream().toArray();
+        List<Task> tasks = hydrate(ids, with(fields, TaskField.STATUS, TaskField.PRIORITY, TaskField.DEADLINE, TaskField.RESPONSIBLE));
+        tasks.removeIf(t -> !matches(query, t));
+        return tasks;
+    }
+
+    private static boolean matches(TaskQuery query, Task t) {
+        return (query.ownerId() == null || (t.getUser() != null && query.ownerId().equals(t.getUser().getId())))
+                && (query.statuses().isEmpty() || query.statuses().contains(t.getStatus()))
+                && (query.priorities().isEmpty() || query.priorities().contains(t.getPriority()))
+                && (query.responsible() == null || (t.getResponsible() != null && t.getResponsible().toLowerCase().contains(query.responsible().toLowerCase())))
+                && (query.deadlineFrom() == null || (t.getDeadline() != null && !t.getDeadline().isBefore(query.deadlineFrom())))
+                && (query.deadlineTo() == null || (t.getDeadline() != null && !t.getDeadline().isAfter(query.deadlineTo())))
+                && (query.deadlineBefore() == null || (t.getDeadline() != null && t.getDeadline().isBefore(query.deadlineBefore())));
+    }
+
+    // Troca os rótulos no lugar (uma coleção nova regravaria todas as linhas) e avisa o cache da diferença
+    private void retag(Task task, Collection<?> requested) {
+        Set<String> tags = normalizeTags(requested);
+        Set<String> added = new HashSet<>(tags);
+        added.removeAll(task.getTags());
+        Set<String> removed = new HashSet<>(task.getTags());
+        removed.removeAll(tags);
+        if (added.isEmpty() && removed.isEmpty()) {
+            return;
+        }
+        task.getTags().removeAll(removed);
+        task.getTags().addAll(added);
+        eventPublisher.publishEvent(new TaskTagsChangedEvent(task.getId(), added, removed));
+    }
+
+    // Sem espaços nas pontas e em minúsculas: "Cliente " e "cliente" são o mesmo rótulo
+    private static Set<String> normalizeTags(Collection<?> tags) {
+        if (tags == null) {
+            return Set.of();
+        }
+        Set<String> normalized = new TreeSet<>();
+        for (Object tag : tags) {
+            String value = tag != null ? tag.toString().trim().toLowerCase(Locale.ROOT) : "";
+            if (value.isEmpty() || value.length() > MAX_TAG_LENGTH) {
+                throw new InvalidRequestException("Rótulo inválido: deve ter entre 1 e " + MAX_TAG_LENGTH + " caracteres");
+            }
+            normalized.add(value);
+        }
+        if (normalized.size() > MAX_TAGS) {
+            throw new InvalidRequestException("No máximo " + MAX_TAGS + " rótulos por task");
+        }
+        return normalized;
+    }
+
+    // priority exige igualdade e minPriority, "maior ou igual"; os dois juntos se intersectam
+    private Set<Priority> priorities(Priority priority, Priority minPriority) {
+        Set<Priority> priorities = EnumSet.noneOf(Priority.class);
+        for (Priority p : Priority.values()) {
+            if ((priority == null || p == priority) && (minPriority == null || p.compareTo(minPriority) >= 0)) {
+                priorities.add(p);
+            }
+        }
+        return priorities.size() == Priority.values().length ? Set.of() : priorities;
+    }
+
+    // Leituras iguais do mesmo escopo em andamento compartilham uma única execução
+    private <T> T coalesce(String operation, User user, Supplier<T> loader, Object... params) {
+        return singleFlight.execute(operation, new ReadKey(operation, ownerScope(user), Arrays.asList(params)), loader);
+    }
+
+    private record ReadKey(String operation, Long ownerId, List<Object> params) { }
+
+    // USER só enxerga as próprias tasks; ADMIN varre todas
+    private Long ownerScope(User user) {
+        return user.getRole() == Role.ROLE_ADMIN ? null : user.getId();
+    }
+
+    private TaskQuery.TaskQueryBuilder scope(User user) {
+        return TaskQuery.builder().ownerId(ownerScope(user));
+    }
+
+    private TaskBoardColumn column(TaskStatus status, List<Task> tasks, long total, boolean more, Set<TaskField> fields) {
+        return TaskBoardColumn.builder()
+                .status(status)
+                .total(total)
+                .tasks(convertList(tasks, fields))
+                .nextCursor(more && !tasks.isEmpty() ? BoardCursor.after(tasks.get(tasks.size() - 1)).encode() : null)
+                .build();
+    }
+
+    // O cursor da coluna sai da prioridade e do prazo da última task
+    private List<Task> hydrate(List<TaskRepository.BoardRow> rows, Set<TaskField> fields) {
+        return hydrate(rows.stream().mapToLong(TaskRepository.BoardRow::getId).toArray(),
+                with(fields, TaskField.PRIORITY, TaskField.DEADLINE));
+    }
+
+    // Carrega as tasks dos ids vindos dos índices em memória, preservando a ordem recebida;
+    // com fields parcial só as colunas pedidas saem do banco
+    private List<Task> hydrate(long[] ids, Set<TaskField> fields) {
+        Map<Long, Task> byId = new HashMap<>(ids.length * 2);
+        for (int from = 0; from < ids.length; from += HYDRATION_BATCH) {
+            List<Long> batch = new ArrayList<>(Math.min(HYDRATION_BATCH, ids.length - from));
+            for (int i = from; i < Math.min(from + HYDRATION_BATCH, ids.length); i++) {
+                batch.add(ids[i]);
+            }
+            List<Task> loaded = fields == TaskField.ALL
+                    ? taskRepository.findAllById(batch)
+                    : taskRepository.findProjectedByIds(batch, fields);
+            loaded.forEach(task -> byId.put(task.getId(), task));
+        }
+        List<Task> tasks = new ArrayList<>(byId.size());
+        for (long id : ids) {
+            Task task = byId.get(id);
+            if (task != null) {
+                tasks.add(task);
+            }
+        }
+        return tasks;
     }
 
     private Task buscarTaskPorId(Long id) {
@@ -209,8 +839,12 @@ public class TaskService {
     }
 
     private User getLoggedUser() {
+        TaskPhaseEvent phase = PhaseTracer.begin();
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByUsername(username).orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+        User user = userRepository.findByUsername(username).orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+        PhaseTracer.setUserId(user.getId());
+        PhaseTracer.end(phase, PhaseTracer.LOGGED_USER, null, 1);
+        return user;
     }
 
     private void checkPermission(Task task, User user) {
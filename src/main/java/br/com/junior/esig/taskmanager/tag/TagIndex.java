@@ -0,0 +1,358 @@
+package br.com.junior.esig.taskmanager.tag;
+
+import br.com.junior.esig.taskmanager.domain.event.TaskChangedEvent;
+import br.com.junior.esig.taskmanager.domain.event.TaskTagsChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Listas de tasks por rótulo (posting lists) como bitmaps Roaring. Filtros com vários
+ * rótulos viram AND/OR entre bitmaps em memória, começando pelo menor, em vez de um
+ * {@code IN (SELECT ...)} por rótulo sobre {@code task_tags}.
+ * <p>
+ * Rótulos populares (pelo menos {@code min-tasks} tasks, no máximo {@code max-tags} deles)
+ * ficam em cache, carregados na subida, recalculados a cada {@code refresh-interval} e
+ * mantidos pelos eventos do TaskService depois do commit. O recálculo lê do banco só as
+ * linhas dos rótulos populares, sem segurar o lock, e na troca reaplica os eventos que
+ * chegaram durante a leitura. Os demais rótulos são lidos do índice {@code (tag, task_id)} a
+ * cada consulta. Desligado por padrão ({@code task.tags.cache.enabled}): sem o cache, todo
+ * rótulo sai do banco e as contagens são agrupadas lá.
+ */
+@Slf4j
+@Component
+public class TagIndex {
+
+    private static final String SELECT_POPULAR =
+            "SELECT tag FROM task_tags GROUP BY tag HAVING COUNT(*) >= ? ORDER BY COUNT(*) DESC, tag LIMIT ?";
+    private static final String SELECT_POSTINGS = "SELECT tag, task_id FROM task_tags WHERE tag IN (%s)";
+    private static final String SELECT_TAG = "SELECT task_id FROM task_tags WHERE tag = ?";
+    private static final String SELECT_OWNER_TAG = "SELECT tt.task_id FROM task_tags tt JOIN tasks t ON t.id = tt.task_id "
+            + "WHERE tt.tag = ? AND t.user_id = ?";
+    private static final String SELECT_OWNER_TASKS = "SELECT id FROM tasks WHERE user_id = ?";
+    private static final String COUNT_TAGS = "SELECT tag, COUNT(*) AS total FROM task_tags WHERE task_id IN (%s) GROUP BY tag";
+    private static final int FETCH_SIZE = 1000;
+    // Parâmetros por IN: ids nas contagens sem cache, rótulos na carga do cache
+    private static final int COUNT_BATCH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int minTasks;
+    private final int maxTags;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<String, RoaringBitmap> popular = Map.of();
+    // Eventos recebidos durante um recálculo, reaplicados no mapa novo; nulo fora dele
+    private List<Consumer<Map<String, RoaringBitmap>>> replay;
+    private volatile boolean ready;
+
+    public TagIndex(JdbcTemplate jdbcTemplate,
+                    @Value("${task.tags.cache.enabled:false}") boolean enabled,
+                    @Value("${task.tags.cache.min-tasks:100}") int minTasks,
+                    @Value("${task.tags.cache.max-tags:1000}") int maxTags) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.minTasks = minTasks;
+        this.maxTags = maxTags;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /** Recalcula quais rótulos são populares; quem passou do limite só entra no cache aqui. */
+    @Scheduled(fixedDelayString = "${task.tags.cache.refresh-interval:PT10M}")
+    public void refresh() {
+        if (ready) {
+            rebuild();
+        }
+    }
+
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            replay = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Map<String, RoaringBitmap> loaded = null;
+        try {
+            loaded = load();
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (loaded != null) {
+                    // Reaplicar é idempotente: o que a leitura já viu não muda
+                    for (Consumer<Map<String, RoaringBitmap>> event : replay) {
+                        event.accept(loaded);
+                    }
+                    loaded.values().forEach(RoaringBitmap::runOptimize);
+                    popular = loaded;
+                    ready = true;
+                    log.info("Cache de rótulos carregado: {} rótulos populares em {} ms",
+                            loaded.size(), (System.nanoTime() - start) / 1_000_000);
+                }
+                replay = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // Só as linhas dos rótulos populares, em lotes de COUNT_BATCH rótulos por IN
+    private Map<String, RoaringBitmap> load() {
+        Map<String, RoaringBitmap> loaded = new HashMap<>();
+        List<String> tags = jdbcTemplate.queryForList(SELECT_POPULAR, String.class, minTasks, maxTags);
+        for (String tag : tags) {
+            loaded.put(tag, new RoaringBitmap());
+        }
+        for (int from = 0; from < tags.size(); from += COUNT_BATCH) {
+            List<String> batch = tags.subList(from, Math.min(from + COUNT_BATCH, tags.size()));
+            String sql = String.format(SELECT_POSTINGS, String.join(",", Collections.nCopies(batch.size(), "?")));
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql);
+                statement.setFetchSize(FETCH_SIZE);
+                for (int i = 0; i < batch.size(); i++) {
+                    statement.setString(i + 1, batch.get(i));
+                }
+                return statement;
+            }, rs -> {
+                loaded.get(rs.getString("tag")).add(Math.toIntExact(rs.getLong("task_id")));
+            });
+        }
+        return loaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(TaskTagsChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        int key = Math.toIntExact(event.taskId());
+        apply(postings -> {
+            for (String tag : event.removed()) {
+                RoaringBitmap posting = postings.get(tag);
+                if (posting != null) posting.remove(key);
+            }
+            for (String tag : event.added()) {
+                RoaringBitmap posting = postings.get(tag);
+                if (posting != null) posting.add(key);
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(TaskChangedEvent event) {
+        if (!enabled || !event.deleted()) {
+            return;
+        }
+        int key = Math.toIntExact(event.taskId());
+        apply(postings -> {
+            for (RoaringBitmap posting : postings.values()) {
+                posting.remove(key);
+            }
+        });
+    }
+
+    private void apply(Consumer<Map<String, RoaringBitmap>> event) {
+        lock.writeLock().lock();
+        try {
+            event.accept(popular);
+            if (replay != null) {
+                replay.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids das tasks com todos ({@link TagMatch#ALL}) ou algum ({@link TagMatch#ANY}) dos
+     * rótulos, já normalizados, só do dono {@code ownerId} quando não for nulo. Sempre devolve
+     * um bitmap novo.
+     * <p>
+     * Rótulos fora do cache são lidos já restritos ao dono (junção com {@code tasks}); as
+     * listas do cache são de todos os donos, então um resultado que dependa delas é cruzado
+     * com os ids das tasks do dono.
+     * <p>
+     * Rótulos fora do cache são lidos do banco sem segurar o lock, para que uma consulta lenta
+     * não trave os eventos (e, atrás deles, as outras leituras). Se um rótulo sair do cache
+     * entre a leitura e a combinação, ele é lido do banco e a combinação recomeça.
+     */
+    public RoaringBitmap match(Collection<String> tags, TagMatch mode, Long ownerId) {
+        Map<String, RoaringBitmap> loaded = new HashMap<>();
+        RoaringBitmap result = null;
+        boolean scoped = false;
+        while (result == null) {
+            for (String tag : uncached(tags, loaded.keySet())) {
+                loaded.put(tag, load(tag, ownerId));
+            }
+            lock.readLock().lock();
+            try {
+                List<RoaringBitmap> postings = new ArrayList<>(tags.size());
+                boolean anyCached = false;
+                boolean anyLoaded = false;
+                boolean complete = true;
+                for (String tag : tags) {
+                    RoaringBitmap posting = loaded.get(tag);
+                    anyLoaded |= posting != null;
+                    if (posting == null) {
+                        posting = popular.get(tag);
+                        anyCached |= posting != null;
+                    }
+                    if (posting == null) {
+                        complete = false;
+                        break;
+                    }
+                    postings.add(posting);
+                }
+                if (complete) {
+                    result = combine(postings, mode);
+                    // Um AND com alguma lista lida do banco já só tem tasks do dono
+                    scoped = mode == TagMatch.ALL ? anyLoaded : !anyCached;
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        if (ownerId != null && !scoped && !result.isEmpty()) {
+            result.and(ownerTasks(ownerId));
+        }
+        return result;
+    }
+
+    private List<String> uncached(Collection<String> tags, Collection<String> loaded) {
+        List<String> missing = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (String tag : tags) {
+                if (!popular.containsKey(tag) && !loaded.contains(tag) && !missing.contains(tag)) {
+                    missing.add(tag);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return missing;
+    }
+
+    private static RoaringBitmap combine(List<RoaringBitmap> postings, TagMatch mode) {
+        if (postings.isEmpty()) {
+            return new RoaringBitmap();
+        }
+        if (mode == TagMatch.ANY) {
+            return FastAggregation.or(postings.iterator());
+        }
+        // A menor lista limita o resultado; as demais só removem ids
+        postings.sort(Comparator.comparingInt(RoaringBitmap::getCardinality));
+        RoaringBitmap result = postings.get(0).clone();
+        for (int i = 1; i < postings.size() && !result.isEmpty(); i++) {
+            result.and(postings.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Os {@code limit} rótulos mais frequentes entre as tasks de {@code selection}, do mais
+     * frequente para o menos (empate em ordem alfabética). Com o cache pronto só os rótulos
+     * populares são contados, por cardinalidade de interseção, sem banco.
+     */
+    public Map<String, Long> counts(RoaringBitmap selection, int limit) {
+        Map<String, Long> counts = new HashMap<>();
+        if (selection.isEmpty()) {
+            return counts;
+        }
+        if (ready) {
+            lock.readLock().lock();
+            try {
+                popular.forEach((tag, posting) -> {
+                    long total = RoaringBitmap.andCardinality(selection, posting);
+                    if (total > 0) counts.put(tag, total);
+                });
+            } finally {
+                lock.readLock().unlock();
+            }
+        } else {
+            countInDatabase(selection, counts);
+        }
+        return top(counts, limit);
+    }
+
+    /** Os {@code limit} maiores de {@code counts}, na ordem de {@link #counts}. */
+    public static Map<String, Long> top(Map<String, Long> counts, int limit) {
+        Map<String, Long> top = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .forEach(entry -> top.put(entry.getKey(), entry.getValue()));
+        return top;
+    }
+
+    private RoaringBitmap load(String tag, Long ownerId) {
+        RoaringBitmap posting = new RoaringBitmap();
+        if (ownerId != null) {
+            jdbcTemplate.query(SELECT_OWNER_TAG, rs -> {
+                posting.add(Math.toIntExact(rs.getLong("task_id")));
+            }, tag, ownerId);
+        } else {
+            jdbcTemplate.query(SELECT_TAG, rs -> {
+                posting.add(Math.toIntExact(rs.getLong("task_id")));
+            }, tag);
+        }
+        return posting;
+    }
+
+    // Índice (user_id, ...) de tasks: só ids, sem carregar as entidades
+    private RoaringBitmap ownerTasks(Long ownerId) {
+        RoaringBitmap ids = new RoaringBitmap();
+        jdbcTemplate.query(SELECT_OWNER_TASKS, rs -> {
+            ids.add(Math.toIntExact(rs.getLong("id")));
+        }, ownerId);
+        return ids;
+    }
+
+    private void countInDatabase(RoaringBitmap selection, Map<String, Long> counts) {
+        Object[] batch = new Object[Math.min(COUNT_BATCH, selection.getCardinality())];
+        int size = 0;
+        PeekableIntIterator iterator = selection.getIntIterator();
+        while (iterator.hasNext()) {
+            batch[size++] = (long) iterator.next();
+            if (size == batch.length || !iterator.hasNext()) {
+                Object[] params = size == batch.length ? batch : Arrays.copyOf(batch, size);
+                String sql = String.format(COUNT_TAGS, String.join(",", Collections.nCopies(size, "?")));
+                jdbcTemplate.query(sql, rs -> {
+                    counts.merge(rs.getString("tag"), rs.getLong("total"), Long::sum);
+                }, params);
+                size = 0;
+            }
+        }
+    }
+}
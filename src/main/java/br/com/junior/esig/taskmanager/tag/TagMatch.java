@@ -0,0 +1,7 @@
+package br.com.junior.esig.taskmanager.tag;
+
+/** Combinação de vários rótulos no filtro: todos (AND) ou qualquer um (OR). */
+public enum TagMatch {
+    ALL,
+    ANY
+}
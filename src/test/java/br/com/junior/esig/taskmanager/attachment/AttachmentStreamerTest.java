@@ -0,0 +1,87 @@
+package br.com.junior.esig.taskmanager.attachment;
+
+import br.com.junior.esig.taskmanager.domain.model.TaskAttachment;
+import br.com.junior.esig.taskmanager.exception.PayloadTooLargeException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Caminho sem sendfile: o corpo sai por FileChannel.transferTo para o stream da resposta. */
+class AttachmentStreamerTest {
+
+    @TempDir
+    Path dir;
+
+    private final byte[] content = new byte[200_000];
+    private LocalBlobStore store;
+    private AttachmentStreamer streamer;
+    private TaskAttachment attachment;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        new Random(3).nextBytes(content);
+        store = new LocalBlobStore(dir);
+        streamer = new AttachmentStreamer(store, true);
+        BlobStore.StoredBlob blob = store.write(new ByteArrayInputStream(content), content.length);
+        attachment = TaskAttachment.builder().filename("dump.bin").contentType("application/octet-stream")
+                .size(blob.size()).sha256(blob.sha256()).storageKey(blob.key()).build();
+    }
+
+    @Test
+    void shouldSendWholeFileAndRanges() throws Exception {
+        MockHttpServletResponse full = send(new MockHttpServletRequest("GET", "/"));
+        assertEquals(200, full.getStatus());
+        assertArrayEquals(content, full.getContentAsByteArray());
+        assertEquals(content.length, full.getContentLengthLong());
+        assertTrue(full.getHeader("Repr-Digest").startsWith("sha-256=:"));
+
+        MockHttpServletRequest ranged = new MockHttpServletRequest("GET", "/");
+        ranged.addHeader("Range", "bytes=150000-");
+        MockHttpServletResponse partial = send(ranged);
+        assertEquals(206, partial.getStatus());
+        assertEquals("bytes 150000-199999/200000", partial.getHeader("Content-Range"));
+        assertArrayEquals(Arrays.copyOfRange(content, 150_000, 200_000), partial.getContentAsByteArray());
+
+        MockHttpServletRequest conditional = new MockHttpServletRequest("GET", "/");
+        conditional.addHeader("If-None-Match", full.getHeader("ETag"));
+        assertEquals(304, send(conditional).getStatus());
+    }
+
+    @Test
+    void sendfileShouldBeHandedToTomcatWhenSupported() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.setAttribute(AttachmentStreamer.SENDFILE_SUPPORTED, Boolean.TRUE);
+        request.addHeader("Range", "bytes=10-19");
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(10L, request.getAttribute(AttachmentStreamer.SENDFILE_START));
+        assertEquals(20L, request.getAttribute(AttachmentStreamer.SENDFILE_END));
+        assertEquals(store.localPath(attachment.getStorageKey()).orElseThrow().toString(),
+                request.getAttribute(AttachmentStreamer.SENDFILE_FILENAME));
+    }
+
+    @Test
+    void oversizedUploadShouldLeaveNothingBehind() throws Exception {
+        assertThrows(PayloadTooLargeException.class, () -> store.write(new ByteArrayInputStream(content), 1000));
+        try (var files = Files.list(dir)) {
+            assertTrue(files.noneMatch(p -> p.getFileName().toString().endsWith(".tmp")));
+        }
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        streamer.send(attachment, request, response);
+        return response;
+    }
+}
@@ -0,0 +1,133 @@
+package br.com.junior.esig.taskmanager.audit;
+
+import br.com.junior.esig.taskmanager.domain.event.TaskAuditEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class AuditTrailTest {
+
+    @TempDir
+    Path spillDir;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AuditStore store = mock(AuditStore.class);
+    private final List<AuditRow> stored = Collections.synchronizedList(new ArrayList<>());
+    private AuditTrail trail;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        trail.destroy();
+    }
+
+    @Test
+    void changesShouldBeWrittenInBatches() throws Exception {
+        AtomicInteger batches = new AtomicInteger();
+        doAnswer(inv -> {
+            batches.incrementAndGet();
+            stored.addAll(inv.getArgument(0));
+            return null;
+        }).when(store).insert(anyList());
+        trail = trail(100);
+
+        trail.on(event(1L, 3));
+        trail.on(event(2L, 2));
+
+        awaitStored(5);
+        assertTrue(batches.get() <= 2);
+        assertEquals(List.of("f0", "f1", "f2"), stored.stream().filter(r -> r.taskId() == 1L).map(AuditRow::field).toList());
+    }
+
+    @Test
+    void failedBatchShouldBeSpilledAndReplayed() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        doAnswer(inv -> {
+            if (calls.incrementAndGet() == 1) {
+                failed.set(inv.<List<AuditRow>>getArgument(0).size());
+                throw new DataAccessResourceFailureException("banco fora");
+            }
+            stored.addAll(inv.getArgument(0));
+            return null;
+        }).when(store).insert(anyList());
+        trail = trail(100);
+
+        trail.on(event(1L, 4));
+
+        awaitStored(4);
+        // As linhas entram na fila uma a uma: o primeiro lote pode não ter pego todas
+        assertEquals(failed.get(), registry.counter("task.audit.rows", "result", "spilled").count());
+        awaitNoSpill();
+    }
+
+    @Test
+    void fullQueueShouldSpillInsteadOfBlocking() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch writing = new CountDownLatch(1);
+        doAnswer(inv -> {
+            writing.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            stored.addAll(inv.getArgument(0));
+            return null;
+        }).when(store).insert(anyList());
+        trail = trail(1);
+
+        trail.on(event(1L, 1));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        // Writer preso no INSERT: cabe uma linha na fila, as outras duas vão para o disco
+        trail.on(event(2L, 3));
+        assertEquals(2.0, registry.counter("task.audit.rows", "result", "spilled").count());
+        assertEquals(2, Files.readAllLines(spillDir.resolve("audit.spill")).size());
+
+        release.countDown();
+        awaitStored(4);
+        awaitNoSpill();
+    }
+
+    private AuditTrail trail(int queueCapacity) {
+        return new AuditTrail(store, registry, true, queueCapacity, 100, Duration.ofMillis(10),
+                Duration.ofMillis(20), Duration.ofMillis(50), spillDir);
+    }
+
+    private static TaskAuditEvent event(Long taskId, int fields) {
+        return new TaskAuditEvent(taskId, "owner", Instant.now(), IntStream.range(0, fields)
+                .mapToObj(i -> new TaskAuditEvent.FieldChange("f" + i, "a", "b")).toList());
+    }
+
+    private void awaitStored(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (stored.size() < expected) {
+            assertTrue(System.nanoTime() < deadline, "gravadas " + stored.size() + " de " + expected);
+            Thread.sleep(10);
+        }
+        Thread.sleep(50);
+        assertEquals(expected, stored.size());
+    }
+
+    private void awaitNoSpill() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (Files.exists(spillDir.resolve("audit.spill")) || Files.exists(spillDir.resolve("audit.replay"))) {
+            assertTrue(System.nanoTime() < deadline, "spill não foi regravado");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.junior.esig.taskmanager.deadline;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    @Test
+    void shouldFireEachTimerExactlyOnceAtItsTick() {
+        SplittableRandom random = new SplittableRandom(3);
+        long start = 19_000;
+        TimingWheel wheel = new TimingWheel(start);
+        Map<Long, Long> expected = new HashMap<>();
+
+        // Prazos de 1 dia a ~30 anos cobrem os quatro níveis e os cascades
+        for (long id = 1; id <= 20_000; id++) {
+            long tick = start + 1 + random.nextLong(random.nextBoolean() ? 100 : 11_000);
+            assertTrue(wheel.schedule(id, tick));
+            expected.put(id, tick);
+        }
+        for (long id = 1; id <= 20_000; id += 7) {
+            assertTrue(wheel.cancel(id));
+            expected.remove(id);
+        }
+        // Reagendar substitui o timer anterior
+        for (long id = 2; id <= 20_000; id += 11) {
+            if (expected.containsKey(id)) {
+                long tick = start + 1 + random.nextLong(5_000);
+                wheel.schedule(id, tick);
+                expected.put(id, tick);
+            }
+        }
+
+        Map<Long, Long> fired = new HashMap<>();
+        wheel.advanceTo(start + 12_000, (id, tick) -> assertNull(fired.put(id, tick), "disparou duas vezes: " + id));
+
+        assertEquals(expected, fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void shouldRejectPastTicksAndAllowReschedulingFromCallback() {
+        TimingWheel wheel = new TimingWheel(100);
+        assertFalse(wheel.schedule(1, 100));
+        assertFalse(wheel.schedule(1, 50));
+
+        wheel.schedule(1, 101);
+        wheel.schedule(2, 101);
+        List<String> fired = new ArrayList<>();
+        wheel.advanceTo(200, (id, tick) -> {
+            fired.add(id + "@" + tick);
+            if (tick == 101) {
+                wheel.schedule(id, tick + 65); // cai no nível 1
+            }
+        });
+
+        assertEquals(Set.of("1@101", "2@101"), Set.copyOf(fired.subList(0, 2)));
+        assertEquals(Set.of("1@166", "2@166"), Set.copyOf(fired.subList(2, 4)));
+        assertEquals(4, fired.size());
+        assertEquals(200, wheel.current());
+    }
+}
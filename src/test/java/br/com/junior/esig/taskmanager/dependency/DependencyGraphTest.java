@@ -0,0 +1,45 @@
+package br.com.junior.esig.taskmanager.dependency;
+
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import br.com.junior.esig.taskmanager.domain.event.TaskChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DependencyGraphTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final DependencyGraph dependencyGraph = new DependencyGraph(jdbcTemplate, true);
+
+    @Test
+    void eventsDuringRebuildShouldNotWaitAndShouldBeReplayed() throws Exception {
+        doAnswer(inv -> {
+            if (!inv.<String>getArgument(0).startsWith("SELECT id, user_id")) {
+                return null;
+            }
+            // A task 2 é criada enquanto o banco responde; a leitura só vê a task 1
+            CompletableFuture.runAsync(() -> dependencyGraph.on(new TaskChangedEvent(2L, 7L, TaskStatus.TODO, null,
+                    null, null, LocalDateTime.now(), false))).get(5, TimeUnit.SECONDS);
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getLong("id")).thenReturn(1L);
+            when(rs.getObject("user_id", Long.class)).thenReturn(7L);
+            when(rs.getString("status")).thenReturn(TaskStatus.TODO.name());
+            inv.<RowCallbackHandler>getArgument(1).processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+
+        dependencyGraph.rebuild();
+
+        assertTrue(dependencyGraph.isReady());
+        assertArrayEquals(new long[]{1, 2}, dependencyGraph.actionable(7L));
+    }
+}
@@ -0,0 +1,179 @@
+package br.com.junior.esig.taskmanager.dependency;
+
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskGraphTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 2);
+
+    @Test
+    void completingBlockersShouldReleaseDependents() {
+        TaskGraph graph = new TaskGraph();
+        for (long id = 1; id <= 4; id++) {
+            graph.upsert(id, 7, TaskStatus.TODO, TODAY.plusDays(id));
+        }
+        // 1 → 2 → 4 e 3 → 4
+        assertTrue(graph.addEdge(1, 2));
+        assertTrue(graph.addEdge(2, 4));
+        assertTrue(graph.addEdge(3, 4));
+        assertArrayEquals(new long[]{1, 3}, graph.actionable(7L));
+        assertArrayEquals(new long[]{1, 2, 4}, graph.criticalPath(7L, TODAY.plusDays(10)));
+
+        graph.upsert(1, 7, TaskStatus.DONE, TODAY.plusDays(1));
+        assertArrayEquals(new long[]{2, 3}, graph.actionable(7L));
+        assertArrayEquals(new long[]{2, 4}, graph.criticalPath(7L, TODAY.plusDays(10)));
+
+        graph.remove(2);
+        assertArrayEquals(new long[]{3}, graph.actionable(7L));
+        graph.removeEdge(3, 4);
+        assertArrayEquals(new long[]{3, 4}, graph.actionable(7L));
+        assertArrayEquals(new long[0], graph.actionable(8L));
+        assertEquals(0, graph.edges());
+    }
+
+    @Test
+    void edgeClosingCycleShouldBeRejectedWithoutChanges() {
+        TaskGraph graph = new TaskGraph();
+        for (long id = 1; id <= 3; id++) {
+            graph.upsert(id, 7, TaskStatus.TODO, null);
+        }
+        assertTrue(graph.addEdge(1, 2));
+        assertTrue(graph.addEdge(2, 3));
+
+        assertTrue(graph.wouldCreateCycle(3, 1));
+        assertTrue(graph.wouldCreateCycle(2, 2));
+        assertFalse(graph.wouldCreateCycle(1, 3));
+        assertFalse(graph.addEdge(3, 1));
+        assertEquals(2, graph.edges());
+        assertArrayEquals(new long[]{1}, graph.actionable(null));
+    }
+
+    @Test
+    void incrementalStateShouldMatchFullRecomputation() {
+        Random random = new Random(42);
+        TaskGraph graph = new TaskGraph();
+        Map<Long, TaskStatus> status = new HashMap<>();
+        Map<Long, LocalDate> deadline = new HashMap<>();
+        Set<List<Long>> edges = new HashSet<>();
+        long nextId = 1;
+
+        for (int step = 0; step < 4000; step++) {
+            int op = random.nextInt(10);
+            if (op < 2 || status.size() < 5) {
+                long id = nextId++;
+                TaskStatus s = TaskStatus.values()[random.nextInt(TaskStatus.values().length)];
+                LocalDate d = random.nextInt(4) == 0 ? null : TODAY.plusDays(random.nextInt(30));
+                graph.upsert(id, id % 3, s, d);
+                status.put(id, s);
+                deadline.put(id, d);
+            } else if (op < 6) {
+                long blocker = pick(status, random);
+                long blocked = pick(status, random);
+                boolean cycle = blocker == blocked || reaches(edges, blocked, blocker);
+                assertEquals(cycle, graph.wouldCreateCycle(blocker, blocked));
+                assertEquals(!cycle, graph.addEdge(blocker, blocked));
+                if (!cycle) edges.add(List.of(blocker, blocked));
+            } else if (op < 7 && !edges.isEmpty()) {
+                List<Long> edge = new ArrayList<>(edges).get(random.nextInt(edges.size()));
+                graph.removeEdge(edge.get(0), edge.get(1));
+                edges.remove(edge);
+            } else if (op < 9) {
+                long id = pick(status, random);
+                TaskStatus s = TaskStatus.values()[random.nextInt(TaskStatus.values().length)];
+                graph.upsert(id, id % 3, s, deadline.get(id));
+                status.put(id, s);
+            } else {
+                long id = pick(status, random);
+                graph.remove(id);
+                status.remove(id);
+                deadline.remove(id);
+                edges.removeIf(e -> e.contains(id));
+            }
+
+            if (step % 50 == 0) {
+                assertMatches(graph, status, deadline, edges);
+            }
+        }
+        assertMatches(graph, status, deadline, edges);
+
+        // A carga em lote chega ao mesmo estado
+        TaskGraph loaded = new TaskGraph();
+        status.forEach((id, s) -> loaded.upsert(id, id % 3, s, deadline.get(id)));
+        long[] blockers = edges.stream().mapToLong(e -> e.get(0)).toArray();
+        long[] blocked = edges.stream().mapToLong(e -> e.get(1)).toArray();
+        assertEquals(0, loaded.addEdges(blockers, blocked, blockers.length));
+        assertMatches(loaded, status, deadline, edges);
+    }
+
+    private static void assertMatches(TaskGraph graph, Map<Long, TaskStatus> status, Map<Long, LocalDate> deadline,
+                                      Set<List<Long>> edges) {
+        assertEquals(edges.size(), graph.edges());
+        for (Long owner : Arrays.asList(null, 0L, 1L, 2L)) {
+            long[] expected = status.keySet().stream()
+                    .filter(id -> owner == null || id % 3 == owner)
+                    .filter(id -> Set.of(TaskStatus.TODO, TaskStatus.IN_PROGRESS, TaskStatus.REVIEW).contains(status.get(id)))
+                    .filter(id -> edges.stream().noneMatch(e -> e.get(1).equals(id) && status.get(e.get(0)) != TaskStatus.DONE))
+                    .mapToLong(Long::longValue).sorted().toArray();
+            assertArrayEquals(expected, graph.actionable(owner));
+
+            LocalDate date = TODAY.plusDays(15);
+            long[] path = graph.criticalPath(owner, date);
+            Map<Long, Integer> memo = new HashMap<>();
+            int longest = status.keySet().stream()
+                    .filter(id -> owner == null || id % 3 == owner)
+                    .filter(id -> status.get(id) != TaskStatus.DONE && deadline.get(id) != null && !deadline.get(id).isAfter(date))
+                    .mapToInt(id -> chain(id, status, edges, memo)).max().orElse(0);
+            assertEquals(longest, path.length);
+            for (int i = 0; i < path.length; i++) {
+                assertNotEquals(TaskStatus.DONE, status.get(path[i]));
+                if (i > 0) assertTrue(edges.contains(List.of(path[i - 1], path[i])));
+            }
+        }
+    }
+
+    // Maior cadeia de tasks abertas terminando em id, por força bruta
+    private static int chain(long id, Map<Long, TaskStatus> status, Set<List<Long>> edges, Map<Long, Integer> memo) {
+        if (status.get(id) == TaskStatus.DONE) return 0;
+        Integer cached = memo.get(id);
+        if (cached != null) return cached;
+        int best = 0;
+        for (List<Long> edge : edges) {
+            if (edge.get(1) == id) best = Math.max(best, chain(edge.get(0), status, edges, memo));
+        }
+        memo.put(id, best + 1);
+        return best + 1;
+    }
+
+    private static boolean reaches(Set<List<Long>> edges, long from, long to) {
+        Set<Long> seen = new HashSet<>();
+        List<Long> stack = new ArrayList<>(List.of(from));
+        while (!stack.isEmpty()) {
+            long node = stack.remove(stack.size() - 1);
+            if (node == to) return true;
+            if (seen.add(node)) {
+                for (List<Long> edge : edges) {
+                    if (edge.get(0) == node) stack.add(edge.get(1));
+                }
+            }
+        }
+        return false;
+    }
+
+    private static long pick(Map<Long, TaskStatus> status, Random random) {
+        List<Long> ids = new ArrayList<>(status.keySet());
+        return ids.get(random.nextInt(ids.size()));
+    }
+}
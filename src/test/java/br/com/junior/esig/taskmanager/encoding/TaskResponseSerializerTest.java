@@ -0,0 +1,74 @@
+package br.com.junior.esig.taskmanager.encoding;
+
+import br.com.junior.esig.taskmanager.domain.enums.Priority;
+import br.com.junior.esig.taskmanager.domain.enums.Role;
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import br.com.junior.esig.taskmanager.dto.task.TaskResponse;
+import br.com.junior.esig.taskmanager.dto.user.UserResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * O serializador direto e o Blackbird precisam gerar exatamente os mesmos bytes do
+ * serializador padrão do Jackson.
+ */
+class TaskResponseSerializerTest {
+
+    private static final List<TaskResponse> RESPONSES = List.of(
+            TaskResponse.builder()
+                    .id(1L).title("Relatório \"mensal\"").description("linha 1\nlinha 2").responsible("Maria")
+                    .priority(Priority.URGENT).deadline(LocalDate.of(2025, 3, 9)).status(TaskStatus.IN_PROGRESS)
+                    .tags(List.of("cliente", "relatório"))
+                    .user(UserResponse.builder().id(7L).username("maria").role(Role.ROLE_USER).build())
+                    .createdAt(LocalDateTime.of(2025, 1, 2, 3, 4, 0))
+                    .updatedAt(LocalDateTime.of(2025, 1, 2, 3, 4, 5, 123_456_000))
+                    .build(),
+            // Campos nulos somem; no usuário aparecem como null
+            TaskResponse.builder().id(2L).title("Sem prazo").status(TaskStatus.TODO)
+                    .user(UserResponse.builder().id(8L).build()).parentId(1L)
+                    .build(),
+            TaskResponse.builder().id(3L).deadline(LocalDate.of(2024, 12, 31)).tags(List.of()).build());
+
+    @Test
+    void streamingSerializerShouldMatchDefaultOutput() throws Exception {
+        // Com e sem datas como timestamp (o Spring Boot desliga por padrão)
+        for (boolean timestamps : new boolean[]{false, true}) {
+            String expected = builder(timestamps).build().writeValueAsString(RESPONSES);
+            assertEquals(expected, builder(timestamps).modulesToInstall(streamingModule()).build().writeValueAsString(RESPONSES));
+            assertEquals(expected, builder(timestamps).modulesToInstall(new BlackbirdModule()).build().writeValueAsString(RESPONSES));
+        }
+        assertTrue(builder(false).modulesToInstall(streamingModule()).build().writeValueAsString(RESPONSES)
+                .contains("\"updatedAt\":\"2025-01-02T03:04:05.123456\""));
+    }
+
+    @Test
+    void smileShouldRoundTripAndBeSmallerThanJson() throws Exception {
+        ObjectMapper json = builder(false).build();
+        ObjectMapper smile = builder(false).factory(new SmileFactory()).modulesToInstall(streamingModule()).build();
+
+        byte[] encoded = smile.writeValueAsBytes(RESPONSES);
+        assertEquals(RESPONSES, smile.readValue(encoded, new TypeReference<List<TaskResponse>>() { }));
+        assertTrue(encoded.length < json.writeValueAsBytes(RESPONSES).length);
+    }
+
+    private static Jackson2ObjectMapperBuilder builder(boolean timestamps) {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(timestamps ? new Object[0] : new Object[]{SerializationFeature.WRITE_DATES_AS_TIMESTAMPS});
+    }
+
+    private static SimpleModule streamingModule() {
+        return new SimpleModule().addSerializer(TaskResponse.class, new TaskResponseSerializer());
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.junior.esig.taskmanager.idempotency;
+
+import br.com.junior.esig.taskmanager.exception.RequestInProgressException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Com a opção persistente, uma instância nova (como depois de um restart, sem nada em
+ * memória) devolve a resposta gravada em vez de executar de novo.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+class IdempotencyStoreTest {
+
+    @Autowired
+    private IdempotencyStore store;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Clock clock;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void responseShouldSurviveRestart() {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("ana", null));
+        AtomicInteger executions = new AtomicInteger();
+        String key = "restart-" + System.nanoTime();
+
+        ResponseEntity<String> first = newInstance().execute(key, "POST /tasks", "corpo", String.class, () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.CREATED).body("criada " + executions.get());
+        });
+        ResponseEntity<String> afterRestart = newInstance().execute(key, "POST /tasks", "corpo", String.class, () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.ok("de novo");
+        });
+
+        assertEquals(1, executions.get());
+        assertEquals(HttpStatus.CREATED, afterRestart.getStatusCode());
+        assertEquals(first.getBody(), afterRestart.getBody());
+        assertEquals("true", afterRestart.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+    }
+
+    @Test
+    void failedExecutionShouldReleaseKey() {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("ana", null));
+        String key = "falha-" + System.nanoTime();
+        IdempotencyService service = newInstance();
+
+        assertThrows(IllegalStateException.class, () -> service.execute(key, "POST /tasks", "corpo", String.class, () -> {
+            throw new IllegalStateException("banco fora");
+        }));
+        ResponseEntity<String> retry = newInstance().execute(key, "POST /tasks", "corpo", String.class,
+                () -> ResponseEntity.ok("ok"));
+        assertEquals("ok", retry.getBody());
+        assertNull(retry.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+    }
+
+    @Test
+    void abandonedClaimShouldBeTakenOverAfterLease() throws InterruptedException {
+        String key = "abandonada-" + System.nanoTime();
+        Instant expiresAt = clock.instant().plus(Duration.ofHours(1));
+        // Reserva de uma instância que caiu sem gravar a resposta nem liberar a chave
+        assertNull(store.claim(key, "fp", expiresAt, Duration.ofMillis(200), Duration.ofSeconds(1)));
+
+        assertThrows(RequestInProgressException.class,
+                () -> store.claim(key, "fp", expiresAt, Duration.ofSeconds(30), Duration.ofMillis(50)));
+        Thread.sleep(250);
+        assertNull(store.claim(key, "fp", expiresAt, Duration.ofSeconds(30), Duration.ofSeconds(1)));
+        // A nova reserva vale de novo pelo lease inteiro
+        assertThrows(RequestInProgressException.class,
+                () -> store.claim(key, "fp", expiresAt, Duration.ofSeconds(30), Duration.ofMillis(50)));
+    }
+
+    private IdempotencyService newInstance() {
+        return new IdempotencyService(objectMapper, store, clock, true, true, Duration.ofHours(1), 100, Duration.ofSeconds(2),
+                Duration.ofSeconds(30));
+    }
+}
@@ -0,0 +1,153 @@
+package br.com.junior.esig.taskmanager.integration;
+
+import br.com.junior.esig.taskmanager.attachment.AttachmentService;
+import br.com.junior.esig.taskmanager.domain.enums.Priority;
+import br.com.junior.esig.taskmanager.domain.enums.Role;
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import br.com.junior.esig.taskmanager.domain.model.Task;
+import br.com.junior.esig.taskmanager.domain.model.User;
+import br.com.junior.esig.taskmanager.dto.task.TaskAttachmentResponse;
+import br.com.junior.esig.taskmanager.repository.TaskAttachmentRepository;
+import br.com.junior.esig.taskmanager.repository.TaskRepository;
+import br.com.junior.esig.taskmanager.repository.UserRepository;
+import br.com.junior.esig.taskmanager.security.jwt.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Upload pelo corpo da requisição e download com ETag, Range e If-None-Match, pelo caminho
+ * real do Tomcat (sendfile).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "task.attachments.dir=${java.io.tmpdir}/task-attachments-test",
+        "task.attachments.max-size=1MB"
+})
+class AttachmentIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskAttachmentRepository attachmentRepository;
+
+    @Autowired
+    private AttachmentService attachmentService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private String token;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        attachmentRepository.deleteAll();
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User user = userRepository.save(User.builder().username("owner").password("x").role(Role.ROLE_USER).build());
+        userRepository.save(User.builder().username("other").password("x").role(Role.ROLE_USER).build());
+        token = jwtUtil.generateToken("owner");
+        task = taskRepository.save(Task.builder().title("Com anexo").status(TaskStatus.TODO).priority(Priority.LOW).user(user).build());
+    }
+
+    @Test
+    void uploadedFileShouldComeBackWholeAndByRange() throws Exception {
+        byte[] content = new byte[300_000];
+        new Random(7).nextBytes(content);
+        String sha256 = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+
+        HttpResponse<byte[]> created = send(request("/tasks/" + task.getId() + "/attachments?filename=tela%20inicial.png", token)
+                .header("Content-Type", "image/png")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(content)));
+        assertEquals(201, created.statusCode());
+        TaskAttachmentResponse attachment = objectMapper.readValue(created.body(), TaskAttachmentResponse.class);
+        assertEquals(content.length, attachment.getSize());
+        assertEquals(sha256, attachment.getSha256());
+        assertEquals("tela inicial.png", attachment.getFilename());
+        assertEquals("owner", attachment.getUploadedBy());
+
+        TaskAttachmentResponse[] listed = objectMapper.readValue(
+                send(request("/tasks/" + task.getId() + "/attachments", token).GET()).body(), TaskAttachmentResponse[].class);
+        assertEquals(1, listed.length);
+
+        String path = "/tasks/" + task.getId() + "/attachments/" + attachment.getId();
+        HttpResponse<byte[]> full = send(request(path, token).GET());
+        assertEquals(200, full.statusCode());
+        assertArrayEquals(content, full.body());
+        assertEquals("image/png", full.headers().firstValue("Content-Type").orElseThrow());
+        assertEquals("bytes", full.headers().firstValue("Accept-Ranges").orElseThrow());
+        String etag = full.headers().firstValue("ETag").orElseThrow();
+        assertEquals("\"" + sha256 + "\"", etag);
+
+        HttpResponse<byte[]> partial = send(request(path, token).header("Range", "bytes=1000-1999").GET());
+        assertEquals(206, partial.statusCode());
+        assertEquals("bytes 1000-1999/" + content.length, partial.headers().firstValue("Content-Range").orElseThrow());
+        assertArrayEquals(Arrays.copyOfRange(content, 1000, 2000), partial.body());
+
+        HttpResponse<byte[]> tail = send(request(path, token).header("Range", "bytes=-10").header("If-Range", etag).GET());
+        assertArrayEquals(Arrays.copyOfRange(content, content.length - 10, content.length), tail.body());
+
+        assertEquals(200, send(request(path, token).header("Range", "bytes=0-9").header("If-Range", "\"outro\"").GET()).statusCode());
+        assertEquals(304, send(request(path, token).header("If-None-Match", etag).GET()).statusCode());
+        assertEquals(416, send(request(path, token).header("Range", "bytes=400000-").GET()).statusCode());
+    }
+
+    @Test
+    void accessShouldFollowTaskOwnership() throws Exception {
+        String other = jwtUtil.generateToken("other");
+        assertEquals(403, send(request("/tasks/" + task.getId() + "/attachments?filename=a.txt", other)
+                .POST(HttpRequest.BodyPublishers.ofString("x"))).statusCode());
+        assertEquals(403, send(request("/tasks/" + task.getId() + "/attachments", other).GET()).statusCode());
+        assertEquals(404, send(request("/tasks/999999/attachments", token).GET()).statusCode());
+    }
+
+    @Test
+    void deletingTaskShouldRemoveAttachments() throws Exception {
+        send(request("/tasks/" + task.getId() + "/attachments?filename=log.txt", token)
+                .header("Content-Type", "text/plain")
+                .POST(HttpRequest.BodyPublishers.ofString("linha 1\nlinha 2\n")));
+        assertEquals(1, attachmentRepository.count());
+
+        assertEquals(204, send(request("/tasks/" + task.getId(), token).DELETE()).statusCode());
+        assertEquals(1, attachmentService.deleteOrphans());
+        assertEquals(0, attachmentRepository.count());
+    }
+
+    private HttpRequest.Builder request(String path, String bearer) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api" + path))
+                .header("Authorization", "Bearer " + bearer);
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
@@ -0,0 +1,197 @@
+package br.com.junior.esig.taskmanager.integration;
+
+import br.com.junior.esig.taskmanager.deadline.DeadlineTracker;
+import br.com.junior.esig.taskmanager.domain.enums.Priority;
+import br.com.junior.esig.taskmanager.domain.enums.Role;
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import br.com.junior.esig.taskmanager.domain.event.TaskDeadlineEvent;
+import br.com.junior.esig.taskmanager.domain.model.Task;
+import br.com.junior.esig.taskmanager.domain.model.User;
+import br.com.junior.esig.taskmanager.dto.task.TaskResponse;
+import br.com.junior.esig.taskmanager.repository.TaskRepository;
+import br.com.junior.esig.taskmanager.repository.UserRepository;
+import br.com.junior.esig.taskmanager.security.jwt.JwtUtil;
+import br.com.junior.esig.taskmanager.support.MutableClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.*;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * /upcoming e /overdue respondidos pelo DeadlineTracker com um relógio controlado:
+ * virada da meia-noite, troca de fuso e escritas pela API.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "classpath:application-test.properties", properties = "task.deadline.enabled=true")
+@RecordApplicationEvents
+class DeadlineTrackerIntegrationTest {
+
+    private static final ZoneId SAO_PAULO = ZoneId.of("America/Sao_Paulo");
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 10);
+    private static final Instant START = TODAY.atTime(23, 30).atZone(SAO_PAULO).toInstant();
+
+    @TestConfiguration
+    static class ClockOverride {
+        @Bean
+        @Primary
+        MutableClock mutableClock() {
+            return new MutableClock(START, SAO_PAULO);
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private DeadlineTracker deadlineTracker;
+
+    @Autowired
+    private MutableClock clock;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private String baseUrl;
+    private String tokenUser;
+    private String tokenAdmin;
+    private Map<String, Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port + "/api";
+        clock.set(START);
+        clock.setZone(SAO_PAULO);
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User user = userRepository.save(User.builder().username("owner").password("x").role(Role.ROLE_USER).build());
+        User other = userRepository.save(User.builder().username("other").password("x").role(Role.ROLE_USER).build());
+        userRepository.save(User.builder().username("admin").password("x").role(Role.ROLE_ADMIN).build());
+        tokenUser = jwtUtil.generateToken("owner");
+        tokenAdmin = jwtUtil.generateToken("admin");
+
+        ids = Map.of(
+                "hoje", save("hoje", TODAY, TaskStatus.TODO, user),
+                "limite", save("limite", TODAY.plusDays(7), TaskStatus.IN_PROGRESS, user),
+                "depois", save("depois", TODAY.plusDays(8), TaskStatus.TODO, user),
+                "ontem", save("ontem", TODAY.minusDays(1), TaskStatus.BLOCKED, user),
+                "ontem-feita", save("ontem-feita", TODAY.minusDays(1), TaskStatus.DONE, user),
+                "hoje-feita", save("hoje-feita", TODAY, TaskStatus.DONE, user),
+                "outro-dono", save("outro-dono", TODAY.plusDays(2), TaskStatus.TODO, other),
+                "sem-prazo", save("sem-prazo", null, TaskStatus.TODO, user));
+        deadlineTracker.rebuild();
+    }
+
+    @Test
+    void shouldServeUpcomingAndOverdueFromTracker() {
+        assertTrue(deadlineTracker.isReady());
+        assertEquals(titles("hoje", "limite", "hoje-feita"), get("/tasks/upcoming", tokenUser));
+        assertEquals(titles("hoje", "limite", "hoje-feita", "outro-dono"), get("/tasks/upcoming", tokenAdmin));
+        assertEquals(titles("ontem"), get("/tasks/overdue", tokenUser));
+    }
+
+    @Test
+    void midnightShouldMoveTasksAndEmitEvents() {
+        clock.advance(Duration.ofHours(1));
+        deadlineTracker.advance();
+
+        assertEquals(titles("limite", "depois"), get("/tasks/upcoming", tokenUser));
+        assertEquals(titles("hoje", "ontem"), get("/tasks/overdue", tokenUser));
+
+        Set<String> emitted = events.stream(TaskDeadlineEvent.class)
+                .map(e -> e.taskId() + ":" + e.type())
+                .collect(Collectors.toSet());
+        assertEquals(Set.of(ids.get("hoje") + ":OVERDUE", ids.get("depois") + ":DUE_SOON"), emitted);
+    }
+
+    @Test
+    void dateGoingBackwardsShouldRecomputeSets() {
+        clock.advance(Duration.ofHours(1));
+        deadlineTracker.advance();
+        assertEquals(titles("hoje", "ontem"), get("/tasks/overdue", tokenUser));
+
+        // 00:30 em São Paulo ainda é dia 10 em Honolulu
+        clock.setZone(ZoneId.of("Pacific/Honolulu"));
+        assertEquals(titles("ontem"), get("/tasks/overdue", tokenUser));
+        assertEquals(titles("hoje", "limite", "hoje-feita"), get("/tasks/upcoming", tokenUser));
+    }
+
+    @Test
+    void writesShouldUpdateSets() {
+        send(HttpMethod.PATCH, "/tasks/" + ids.get("ontem") + "/complete", null, tokenUser);
+        assertEquals(Set.of(), get("/tasks/overdue", tokenUser));
+
+        send(HttpMethod.PATCH, "/tasks/" + ids.get("limite"), Map.of("deadline", TODAY.minusDays(3).toString()), tokenUser);
+        assertEquals(titles("limite"), get("/tasks/overdue", tokenUser));
+        assertEquals(titles("hoje", "hoje-feita"), get("/tasks/upcoming", tokenUser));
+
+        send(HttpMethod.DELETE, "/tasks/" + ids.get("hoje"), null, tokenUser);
+        assertEquals(titles("hoje-feita"), get("/tasks/upcoming", tokenUser));
+    }
+
+    private Long save(String title, LocalDate deadline, TaskStatus status, User owner) {
+        return taskRepository.save(Task.builder()
+                .title(title)
+                .priority(Priority.MEDIUM)
+                .status(status)
+                .deadline(deadline)
+                .user(owner)
+                .build()).getId();
+    }
+
+    private static Set<String> titles(String... titles) {
+        return Set.of(titles);
+    }
+
+    private Set<String> get(String path, String token) {
+        ResponseEntity<TaskResponse[]> response = restTemplate.exchange(baseUrl + path, HttpMethod.GET,
+                new HttpEntity<>(headers(token)), TaskResponse[].class);
+        assertTrue(response.getStatusCode().is2xxSuccessful(), path + " retornou " + response.getStatusCode());
+        return Arrays.stream(response.getBody()).map(TaskResponse::getTitle).collect(Collectors.toSet());
+    }
+
+    private void send(HttpMethod method, String path, Object body, String token) {
+        ResponseEntity<String> response = restTemplate.exchange(baseUrl + path, method,
+                new HttpEntity<>(body, headers(token)), String.class);
+        assertTrue(response.getStatusCode().is2xxSuccessful(), path + " retornou " + response.getStatusCode());
+    }
+
+    private static HttpHeaders headers(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return headers;
+    }
+}
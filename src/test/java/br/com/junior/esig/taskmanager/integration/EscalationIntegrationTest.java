@@ -0,0 +1,143 @@
+package br.com.junior.esig.taskmanager.integration;
+
+import br.com.junior.esig.taskmanager.domain.enums.Priority;
+import br.com.junior.esig.taskmanager.domain.enums.Role;
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import br.com.junior.esig.taskmanager.domain.model.Task;
+import br.com.junior.esig.taskmanager.domain.model.TaskAuditEntry;
+import br.com.junior.esig.taskmanager.domain.model.User;
+import br.com.junior.esig.taskmanager.escalation.EscalationWorker;
+import br.com.junior.esig.taskmanager.repository.TaskAuditRepository;
+import br.com.junior.esig.taskmanager.repository.TaskRepository;
+import br.com.junior.esig.taskmanager.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Quatro execuções simultâneas do job disputam lotes de 2 tasks; cada task vencida é
+ * escalonada uma única vez e só volta a ser quando o prazo muda.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "task.escalation.enabled=true",
+        "task.escalation.interval=PT1H",
+        "task.escalation.batch-size=2",
+        "task.escalation.max-batches-per-run=2",
+        "task.escalation.block=true",
+        "task.audit.enabled=true",
+        "task.audit.flush-interval=PT0.02S",
+        "task.audit.spill-dir=${java.io.tmpdir}/task-audit-escalation-test"
+})
+class EscalationIntegrationTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskAuditRepository taskAuditRepository;
+
+    @Autowired
+    private EscalationWorker worker;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+        taskAuditRepository.deleteAll();
+        owner = userRepository.save(User.builder().username("owner").password("x").role(Role.ROLE_USER).build());
+    }
+
+    @Test
+    void overdueTasksShouldBeEscalatedOncePerDeadline() throws Exception {
+        List<Long> overdue = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            overdue.add(save(Priority.MEDIUM, TaskStatus.TODO, TODAY.minusDays(1 + i % 3)).getId());
+        }
+        Long urgent = save(Priority.URGENT, TaskStatus.IN_PROGRESS, TODAY.minusDays(1)).getId();
+        Long done = save(Priority.LOW, TaskStatus.DONE, TODAY.minusDays(1)).getId();
+        Long old = save(Priority.LOW, TaskStatus.TODO, TODAY.minusDays(60)).getId();
+        Long dueToday = save(Priority.LOW, TaskStatus.TODO, TODAY).getId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        int escalated = 0;
+        try {
+            List<Future<Integer>> runs = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                runs.add(executor.submit(worker::run));
+            }
+            for (Future<Integer> run : runs) {
+                escalated += run.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        // Pode sobrar lote pulado por uma execução que parou antes do dono terminar, ou
+        // deixado pelo limite de 2 lotes por execução
+        for (int run; (run = worker.run()) > 0; ) {
+            assertTrue(run <= 4);
+            escalated += run;
+        }
+
+        assertEquals(7, escalated);
+        assertEquals(0, worker.run());
+        for (Long id : overdue) {
+            Task task = taskRepository.findById(id).orElseThrow();
+            assertEquals(Priority.HIGH, task.getPriority());
+            assertEquals(TaskStatus.BLOCKED, task.getStatus());
+            assertEquals(task.getDeadline(), task.getEscalatedDeadline());
+        }
+        assertEquals(Priority.URGENT, taskRepository.findById(urgent).orElseThrow().getPriority());
+        for (Long id : List.of(done, old, dueToday)) {
+            Task task = taskRepository.findById(id).orElseThrow();
+            assertEquals(Priority.LOW, task.getPriority());
+            assertNull(task.getEscalatedDeadline());
+        }
+
+        // Um prazo novo, também vencido, escalona de novo
+        Task moved = taskRepository.findById(overdue.get(0)).orElseThrow();
+        moved.setDeadline(TODAY.minusDays(10));
+        taskRepository.save(moved);
+        assertEquals(1, worker.run());
+        assertEquals(Priority.URGENT, taskRepository.findById(moved.getId()).orElseThrow().getPriority());
+
+        // escalation + priority + status por task vencida, escalation + status na URGENT,
+        // e escalation + priority na que mudou de prazo
+        awaitRows(6 * 3 + 2 + 2);
+        List<TaskAuditEntry> entries = taskAuditRepository.findAll().stream()
+                .filter(e -> e.getTaskId().equals(urgent)).toList();
+        assertEquals(2, entries.size());
+        assertTrue(entries.stream().allMatch(e -> EscalationWorker.ACTOR.equals(e.getActor())));
+    }
+
+    private Task save(Priority priority, TaskStatus status, LocalDate deadline) {
+        return taskRepository.save(Task.builder().title("Task").priority(priority).status(status)
+                .deadline(deadline).user(owner).build());
+    }
+
+    private void awaitRows(long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (taskAuditRepository.count() < expected) {
+            assertTrue(System.currentTimeMillis() < deadline, "auditoria não gravada");
+            Thread.sleep(20);
+        }
+    }
+}
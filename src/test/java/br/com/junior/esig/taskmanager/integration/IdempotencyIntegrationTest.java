@@ -0,0 +1,152 @@
+package br.com.junior.esig.taskmanager.integration;
+
+import br.com.junior.esig.taskmanager.domain.enums.Priority;
+import br.com.junior.esig.taskmanager.domain.enums.Role;
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import br.com.junior.esig.taskmanager.domain.model.User;
+import br.com.junior.esig.taskmanager.dto.task.TaskRequest;
+import br.com.junior.esig.taskmanager.dto.task.TaskResponse;
+import br.com.junior.esig.taskmanager.idempotency.IdempotencyService;
+import br.com.junior.esig.taskmanager.repository.TaskRepository;
+import br.com.junior.esig.taskmanager.repository.UserRepository;
+import br.com.junior.esig.taskmanager.security.jwt.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.*;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Repetições com a mesma Idempotency-Key, em sequência ou concorrentes, criam uma única
+ * task e recebem a mesma resposta.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "task.idempotency.enabled=true",
+        "task.idempotency.persistent=true"
+})
+class IdempotencyIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private String baseUrl;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port + "/api";
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+        userRepository.save(User.builder().username("mobile").password("x").role(Role.ROLE_USER).build());
+        userRepository.save(User.builder().username("outro").password("x").role(Role.ROLE_USER).build());
+        token = jwtUtil.generateToken("mobile");
+    }
+
+    @Test
+    void retriedWritesShouldBeReplayed() {
+        String key = "create-" + System.nanoTime();
+        ResponseEntity<TaskResponse> first = send(HttpMethod.POST, "/tasks", request("Comprar pão"), key, token);
+        ResponseEntity<TaskResponse> retry = send(HttpMethod.POST, "/tasks", request("Comprar pão"), key, token);
+
+        assertEquals(HttpStatus.CREATED, first.getStatusCode());
+        assertNull(first.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+        assertEquals("true", retry.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertEquals(first.getBody(), retry.getBody());
+        assertEquals(1, taskRepository.count());
+
+        // Mesma chave de outro usuário é outra chave
+        ResponseEntity<TaskResponse> other = send(HttpMethod.POST, "/tasks", request("Comprar pão"), key, jwtUtil.generateToken("outro"));
+        assertEquals(HttpStatus.CREATED, other.getStatusCode());
+        assertNotEquals(first.getBody().getId(), other.getBody().getId());
+
+        String path = "/tasks/" + first.getBody().getId() + "/complete";
+        assertEquals(HttpStatus.OK, send(HttpMethod.PATCH, path, null, "complete-" + key, token).getStatusCode());
+        ResponseEntity<TaskResponse> completedAgain = send(HttpMethod.PATCH, path, null, "complete-" + key, token);
+        assertEquals(TaskStatus.DONE, completedAgain.getBody().getStatus());
+        assertEquals("true", completedAgain.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+    }
+
+    @Test
+    void sameKeyWithDifferentBodyShouldBeRejected() {
+        String key = "reuse-" + System.nanoTime();
+        assertEquals(HttpStatus.CREATED, send(HttpMethod.POST, "/tasks", request("A"), key, token).getStatusCode());
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, send(HttpMethod.POST, "/tasks", request("B"), key, token, String.class).getStatusCode());
+        assertEquals(1, taskRepository.count());
+    }
+
+    @Test
+    void concurrentDuplicatesShouldRunOnce() throws Exception {
+        String key = "burst-" + System.nanoTime();
+        int clients = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<ResponseEntity<TaskResponse>>> futures = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return send(HttpMethod.POST, "/tasks", request("Rede instável"), key, token);
+                }));
+            }
+            start.countDown();
+
+            Long id = null;
+            for (Future<ResponseEntity<TaskResponse>> future : futures) {
+                ResponseEntity<TaskResponse> response = future.get();
+                assertEquals(HttpStatus.CREATED, response.getStatusCode());
+                id = id == null ? response.getBody().getId() : id;
+                assertEquals(id, response.getBody().getId());
+            }
+            assertEquals(1, taskRepository.count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static TaskRequest request(String title) {
+        TaskRequest request = new TaskRequest();
+        request.setTitle(title);
+        request.setPriority(Priority.MEDIUM);
+        request.setStatus(TaskStatus.TODO);
+        request.setDeadline(LocalDate.now().plusDays(3));
+        return request;
+    }
+
+    private ResponseEntity<TaskResponse> send(HttpMethod method, String path, Object body, String key, String token) {
+        return send(method, path, body, key, token, TaskResponse.class);
+    }
+
+    private <T> ResponseEntity<T> send(HttpMethod method, String path, Object body, String key, String token, Class<T> type) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        headers.set(IdempotencyService.HEADER, key);
+        return restTemplate.exchange(baseUrl + path, method, new HttpEntity<>(body, headers), type);
+    }
+}
@@ -0,0 +1,86 @@
+package br.com.junior.esig.taskmanager.integration;
+
+import br.com.junior.esig.taskmanager.domain.enums.Role;
+import br.com.junior.esig.taskmanager.domain.model.User;
+import br.com.junior.esig.taskmanager.dto.auth.LoginRequest;
+import br.com.junior.esig.taskmanager.repository.UserRepository;
+import br.com.junior.esig.taskmanager.security.password.BoundedPasswordEncoder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Login com o pool de BCrypt e o backoff ligados: falhas acima das livres bloqueiam o
+ * username antes de gastar hash, e um hash de custo antigo é refeito no login certo.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "task.login.protection.enabled=true",
+        "task.login.bcrypt-strength=6",
+        "task.login.hash-threads=2",
+        "task.login.attempts.user-free=2",
+        "task.login.attempts.base-delay=PT10S"
+})
+class LoginProtectionIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void repeatedFailuresShouldBlockUsername() {
+        userRepository.save(User.builder().username("alvo").password(passwordEncoder.encode("certa")).role(Role.ROLE_USER).build());
+        userRepository.save(User.builder().username("vizinho").password(passwordEncoder.encode("certa")).role(Role.ROLE_USER).build());
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(HttpStatus.UNAUTHORIZED, login("alvo", "errada").getStatusCode());
+        }
+        // Bloqueado até com a senha certa
+        ResponseEntity<String> blocked = login("alvo", "certa");
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, blocked.getStatusCode());
+        assertEquals("10", blocked.getHeaders().getFirst("Retry-After"));
+
+        assertEquals(HttpStatus.OK, login("vizinho", "certa").getStatusCode());
+    }
+
+    @Test
+    void oldHashCostShouldBeUpgradedOnLogin() {
+        assertInstanceOf(BoundedPasswordEncoder.class, passwordEncoder);
+        userRepository.save(User.builder().username("antigo").password(new BCryptPasswordEncoder(4).encode("certa")).role(Role.ROLE_USER).build());
+
+        assertEquals(HttpStatus.OK, login("antigo", "certa").getStatusCode());
+        String upgraded = userRepository.findByUsername("antigo").orElseThrow().getPassword();
+        assertTrue(upgraded.startsWith("$2a$06$"), upgraded);
+
+        assertEquals(HttpStatus.OK, login("antigo", "certa").getStatusCode());
+        assertEquals(upgraded, userRepository.findByUsername("antigo").orElseThrow().getPassword());
+    }
+
+    private ResponseEntity<String> login(String username, String password) {
+        return restTemplate.postForEntity("http://localhost:" + port + "/api/auth/login",
+                new LoginRequest(username, password), String.class);
+    }
+}
@@ -0,0 +1,183 @@
+package br.com.junior.esig.taskmanager.integration;
+
+import br.com.junior.esig.taskmanager.domain.enums.Priority;
+import br.com.junior.esig.taskmanager.domain.enums.Role;
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import br.com.junior.esig.taskmanager.domain.model.Task;
+import br.com.junior.esig.taskmanager.domain.model.User;
+import br.com.junior.esig.taskmanager.dto.task.TaskResponse;
+import br.com.junior.esig.taskmanager.readmodel.NextTaskIndex;
+import br.com.junior.esig.taskmanager.readmodel.TaskRank;
+import br.com.junior.esig.taskmanager.repository.TaskRepository;
+import br.com.junior.esig.taskmanager.repository.UserRepository;
+import br.com.junior.esig.taskmanager.security.jwt.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.*;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Com {@code task.next.enabled=true} o /tasks/next vem dos heaps em memória; a ordem
+ * precisa bater com a ordenação completa das tasks no banco.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "classpath:application-test.properties", properties = "task.next.enabled=true")
+class NextTaskIntegrationTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private NextTaskIndex nextTaskIndex;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private String baseUrl;
+    private String tokenUser;
+    private String tokenAdmin;
+    private User user;
+    private User other;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port + "/api";
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+
+        user = userRepository.save(User.builder().username("owner").password("x").role(Role.ROLE_USER).build());
+        other = userRepository.save(User.builder().username("other").password("x").role(Role.ROLE_USER).build());
+        userRepository.save(User.builder().username("admin").password("x").role(Role.ROLE_ADMIN).build());
+        tokenUser = jwtUtil.generateToken("owner");
+        tokenAdmin = jwtUtil.generateToken("admin");
+
+        List<Task> tasks = new ArrayList<>();
+        TaskStatus[] statuses = TaskStatus.values();
+        Priority[] priorities = Priority.values();
+        for (int i = 0; i < 60; i++) {
+            tasks.add(Task.builder()
+                    .title("Tarefa " + i)
+                    .responsible("João")
+                    .status(statuses[i % statuses.length])
+                    .priority(priorities[i * 7 % priorities.length])
+                    .deadline(i % 5 == 0 ? null : TODAY.plusDays(i % 13 - 4))
+                    .user(i % 3 == 0 ? other : user)
+                    .build());
+        }
+        taskRepository.saveAll(tasks);
+        // Dados gravados direto pelo repositório não geram eventos
+        nextTaskIndex.rebuild();
+    }
+
+    @Test
+    void nextShouldMatchFullSortOfActionableTasks() {
+        assertTrue(nextTaskIndex.isReady());
+
+        assertEquals(expected(taskRepository.findByUser(user), 10), ids(next(10, tokenUser)));
+        assertEquals(expected(taskRepository.findAll(), 25), ids(next(25, tokenAdmin)));
+        assertEquals(expected(taskRepository.findByUser(user), 5), ids(get("/tasks/next", tokenUser)));
+        // count fora do intervalo é limitado a [1, 100]
+        assertEquals(1, next(0, tokenUser).length);
+        assertEquals(expected(taskRepository.findAll(), 100), ids(next(1000, tokenAdmin)));
+    }
+
+    @Test
+    void fallbackQueryShouldMatchFullSort() {
+        // Sem o índice o /tasks/next usa estas consultas, limitadas no banco
+        Set<String> statuses = NextTaskIndex.ACTIONABLE.stream().map(Enum::name).collect(Collectors.toSet());
+        assertEquals(expected(taskRepository.findByUser(user), 10),
+                taskRepository.findNextIdsByUserId(user.getId(), statuses, 10));
+        assertEquals(expected(taskRepository.findAll(), 25), taskRepository.findNextIds(statuses, 25));
+        assertEquals(expected(taskRepository.findAll(), 100), taskRepository.findNextIds(statuses, 100));
+    }
+
+    @Test
+    void writesThroughServiceShouldReorderHeaps() {
+        Long first = next(1, tokenUser)[0].getId();
+        Long last = ids(next(100, tokenUser)).get(next(100, tokenUser).length - 1);
+
+        // increase-key: a primeira cai para o fim
+        exchange(HttpMethod.PATCH, "/tasks/" + first, Map.of("priority", "LOW", "deadline", TODAY.plusYears(5).toString()),
+                tokenUser, TaskResponse.class);
+        // decrease-key: a última sobe para o topo
+        exchange(HttpMethod.PATCH, "/tasks/" + last, Map.of("priority", "URGENT", "deadline", TODAY.minusYears(1).toString()),
+                tokenUser, TaskResponse.class);
+        assertEquals(last, next(1, tokenUser)[0].getId());
+        assertEquals(expected(taskRepository.findByUser(user), 100), ids(next(100, tokenUser)));
+
+        // Concluída sai do heap
+        exchange(HttpMethod.PATCH, "/tasks/" + last + "/complete", null, tokenUser, TaskResponse.class);
+        assertFalse(ids(next(100, tokenUser)).contains(last));
+
+        // Reatribuída muda de heap
+        Long moved = next(1, tokenUser)[0].getId();
+        exchange(HttpMethod.PATCH, "/tasks/" + moved, Map.of("userId", other.getId()), tokenAdmin, TaskResponse.class);
+        assertFalse(ids(next(100, tokenUser)).contains(moved));
+        assertTrue(ids(next(100, tokenAdmin)).contains(moved));
+
+        exchange(HttpMethod.DELETE, "/tasks/" + moved, null, tokenAdmin, Void.class);
+        assertFalse(ids(next(100, tokenAdmin)).contains(moved));
+
+        assertEquals(expected(taskRepository.findByUser(user), 100), ids(next(100, tokenUser)));
+        assertEquals(expected(taskRepository.findAll(), 100), ids(next(100, tokenAdmin)));
+    }
+
+    private List<Long> expected(List<Task> tasks, int k) {
+        return tasks.stream()
+                .filter(t -> NextTaskIndex.ACTIONABLE.contains(t.getStatus()))
+                .sorted((a, b) -> TaskRank.compare(rank(a), a.getId(), rank(b), b.getId()))
+                .limit(k)
+                .map(Task::getId)
+                .toList();
+    }
+
+    private static long rank(Task task) {
+        return TaskRank.of(task.getPriority(), task.getDeadline(), task.getCreatedAt());
+    }
+
+    private List<Long> ids(TaskResponse[] tasks) {
+        return Arrays.stream(tasks).map(TaskResponse::getId).toList();
+    }
+
+    private TaskResponse[] next(int count, String token) {
+        return get("/tasks/next?count=" + count, token);
+    }
+
+    private TaskResponse[] get(String path, String token) {
+        return exchange(HttpMethod.GET, path, null, token, TaskResponse[].class);
+    }
+
+    private <T> T exchange(HttpMethod method, String path, Object body, String token, Class<T> type) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        ResponseEntity<T> response = restTemplate.exchange(baseUrl + path, method, new HttpEntity<>(body, headers), type);
+        assertTrue(response.getStatusCode().is2xxSuccessful(), path + " retornou " + response.getStatusCode());
+        return response.getBody();
+    }
+}
@@ -0,0 +1,168 @@
+package br.com.junior.esig.taskmanager.integration;
+
+import br.com.junior.esig.taskmanager.domain.enums.Priority;
+import br.com.junior.esig.taskmanager.domain.enums.Role;
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import br.com.junior.esig.taskmanager.domain.model.Task;
+import br.com.junior.esig.taskmanager.domain.model.User;
+import br.com.junior.esig.taskmanager.dto.task.TaskRequest;
+import br.com.junior.esig.taskmanager.repository.TaskRepository;
+import br.com.junior.esig.taskmanager.repository.UserRepository;
+import br.com.junior.esig.taskmanager.security.jwt.JwtUtil;
+import br.com.junior.esig.taskmanager.support.QueryCountInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.*;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Orçamento exato de SQL por requisição em cada endpoint do TaskController. O admin enxerga
+ * tarefas de vários donos, então um N+1 no carregamento do usuário estoura o orçamento.
+ * A consulta do usuário feita pelo JwtFilter entra na conta.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "classpath:application-test.properties", properties = QueryCountInspector.PROPERTY)
+class QueryBudgetIntegrationTest {
+
+    private static final int OWNERS = 4;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private String baseUrl;
+    private String tokenUser;
+    private String tokenAdmin;
+    private User user;
+    private Long taskId;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port + "/api";
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+
+        user = userRepository.save(User.builder().username("owner0").password("x").role(Role.ROLE_USER).build());
+        userRepository.save(User.builder().username("admin").password("x").role(Role.ROLE_ADMIN).build());
+        tokenUser = jwtUtil.generateToken("owner0");
+        tokenAdmin = jwtUtil.generateToken("admin");
+
+        List<Task> tasks = new ArrayList<>();
+        for (int o = 0; o < OWNERS; o++) {
+            User owner = o == 0 ? user
+                    : userRepository.save(User.builder().username("owner" + o).password("x").role(Role.ROLE_USER).build());
+            for (int t = 0; t < 3; t++) {
+                tasks.add(Task.builder()
+                        .title("Tarefa " + o + "-" + t)
+                        .priority(Priority.HIGH)
+                        .status(TaskStatus.TODO)
+                        .deadline(LocalDate.now().plusDays(t - 1))
+                        .user(owner)
+                        .tags(new HashSet<>(t == 0 ? Set.of("cliente", "urgente") : Set.of("cliente")))
+                        .build());
+            }
+        }
+        taskId = taskRepository.saveAll(tasks).get(0).getId();
+    }
+
+    @ParameterizedTest(name = "GET {0} como {1}")
+    @CsvSource({
+            "/tasks, user, 3",
+            "/tasks, admin, 3",
+            "/tasks/status/TODO, user, 3",
+            "/tasks/status/TODO, admin, 3",
+            "/tasks/priority/HIGH, user, 3",
+            "/tasks/priority/HIGH, admin, 3",
+            "/tasks/filter?status=TODO, user, 3",
+            "/tasks/filter?status=TODO, admin, 3",
+            // Só a hidratação dos ids; as listas dos rótulos saem do índice pelo JdbcTemplate, sem join nem subconsulta
+            "/tasks/filter?tag=cliente&tag=urgente, user, 3",
+            "/tasks/filter/facets?tag=urgente&tagMatch=ANY, admin, 3",
+            "/tasks/overdue, user, 3",
+            "/tasks/overdue, admin, 3",
+            "/tasks/upcoming, user, 3",
+            "/tasks/upcoming, admin, 3",
+            // Consulta com janela + hidratação dos ids
+            "/tasks/board?perColumn=2, user, 4",
+            "/tasks/board?perColumn=2, admin, 4",
+            "/tasks/board/TODO?cursor=MDowOjA&perColumn=2, user, 4",
+            "/tasks/board/TODO?cursor=MDowOjA&perColumn=2, admin, 4",
+            "/tasks?fields=id&fields=title, user, 3",
+            "/tasks/status/TODO?fields=title&fields=user, admin, 3"
+    })
+    void listEndpointsShouldStayWithinBudget(String path, String role, int budget) {
+        assertBudget(budget, HttpMethod.GET, path, null, token(role));
+    }
+
+    @Test
+    void findByIdShouldStayWithinBudget() {
+        assertBudget(3, HttpMethod.GET, "/tasks/" + taskId, null, tokenUser);
+    }
+
+    @Test
+    void findByUserShouldStayWithinBudget() {
+        // existsById + SELECT das tarefas
+        assertBudget(4, HttpMethod.GET, "/tasks/user/" + user.getId(), null, tokenAdmin);
+    }
+
+    @Test
+    void writesShouldStayWithinBudget() {
+        assertBudget(3, HttpMethod.POST, "/tasks", request("Nova"), tokenUser);
+        assertBudget(4, HttpMethod.PUT, "/tasks/" + taskId, request("Editada"), tokenUser);
+        assertBudget(4, HttpMethod.PATCH, "/tasks/" + taskId, Map.of("title", "Parcial"), tokenUser);
+        assertBudget(4, HttpMethod.PATCH, "/tasks/" + taskId + "/complete", null, tokenUser);
+        assertBudget(4, HttpMethod.DELETE, "/tasks/" + taskId, null, tokenUser);
+    }
+
+    private void assertBudget(int budget, HttpMethod method, String path, Object body, String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        QueryCountInspector.reset();
+        ResponseEntity<String> response = restTemplate.exchange(baseUrl + path, method, new HttpEntity<>(body, headers), String.class);
+        assertTrue(response.getStatusCode().is2xxSuccessful(), path + " retornou " + response.getStatusCode());
+
+        List<String> statements = QueryCountInspector.statements();
+        assertEquals(budget, statements.size(),
+                method + " " + path + " executou " + statements.size() + " SQLs:\n" + String.join("\n", statements));
+    }
+
+    private String token(String role) {
+        return "admin".equals(role) ? tokenAdmin : tokenUser;
+    }
+
+    private TaskRequest request(String title) {
+        TaskRequest request = new TaskRequest();
+        request.setTitle(title);
+        request.setPriority(Priority.LOW);
+        request.setStatus(TaskStatus.TODO);
+        return request;
+    }
+}
@@ -0,0 +1,74 @@
+package br.com.junior.esig.taskmanager.integration;
+
+import br.com.junior.esig.taskmanager.domain.enums.Role;
+import br.com.junior.esig.taskmanager.domain.model.User;
+import br.com.junior.esig.taskmanager.repository.TaskRepository;
+import br.com.junior.esig.taskmanager.repository.UserRepository;
+import br.com.junior.esig.taskmanager.security.jwt.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.*;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cada usuário tem o próprio bucket: quem estoura a rajada recebe 429 com Retry-After e os
+ * demais continuam sendo atendidos.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "task.rate-limit.enabled=true",
+        "task.rate-limit.permits-per-second=0.2",
+        "task.rate-limit.burst=3"
+})
+class RateLimitIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+        userRepository.save(User.builder().username("ruidoso").password("x").role(Role.ROLE_USER).build());
+        userRepository.save(User.builder().username("vizinho").password("x").role(Role.ROLE_USER).build());
+    }
+
+    @Test
+    void userOverBurstShouldGet429WithoutAffectingOthers() {
+        String noisy = jwtUtil.generateToken("ruidoso");
+        for (int i = 0; i < 3; i++) {
+            assertEquals(HttpStatus.OK, get(noisy).getStatusCode());
+        }
+        ResponseEntity<String> limited = get(noisy);
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, limited.getStatusCode());
+        // 0,2/s: a próxima ficha sai em 5s
+        assertEquals("5", limited.getHeaders().getFirst("Retry-After"));
+
+        assertEquals(HttpStatus.OK, get(jwtUtil.generateToken("vizinho")).getStatusCode());
+    }
+
+    private ResponseEntity<String> get(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        return restTemplate.exchange("http://localhost:" + port + "/api/tasks/filter", HttpMethod.GET,
+                new HttpEntity<>(headers), String.class);
+    }
+}
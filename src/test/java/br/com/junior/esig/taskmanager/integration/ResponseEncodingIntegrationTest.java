@@ -0,0 +1,153 @@
+package br.com.junior.esig.taskmanager.integration;
+
+import br.com.junior.esig.taskmanager.domain.enums.Priority;
+import br.com.junior.esig.taskmanager.domain.enums.Role;
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import br.com.junior.esig.taskmanager.domain.model.Task;
+import br.com.junior.esig.taskmanager.domain.model.User;
+import br.com.junior.esig.taskmanager.dto.task.TaskResponse;
+import br.com.junior.esig.taskmanager.repository.TaskRepository;
+import br.com.junior.esig.taskmanager.repository.UserRepository;
+import br.com.junior.esig.taskmanager.security.jwt.JwtUtil;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Negociação de Smile/CBOR pelo Accept e gzip pelo Accept-Encoding, com Blackbird e o
+ * serializador direto ligados. Sem Accept explícito a resposta continua JSON.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "task.json.blackbird.enabled=true",
+        "task.json.streaming-serializer.enabled=true"
+})
+class ResponseEncodingIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User user = userRepository.save(User.builder().username("owner").password("x").role(Role.ROLE_USER).build());
+        token = jwtUtil.generateToken("owner");
+
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            tasks.add(Task.builder()
+                    .title("Tarefa " + i)
+                    .description("Descrição da tarefa " + i)
+                    .responsible("João")
+                    .status(TaskStatus.TODO)
+                    .priority(Priority.HIGH)
+                    .deadline(LocalDate.now().plusDays(i))
+                    .user(user)
+                    .build());
+        }
+        taskRepository.saveAll(tasks);
+    }
+
+    @Test
+    void binaryEncodingsShouldCarryTheSameTasks() throws Exception {
+        HttpResponse<byte[]> json = get("*/*", null);
+        assertEquals("application/json", json.headers().firstValue("Content-Type").orElseThrow());
+        TaskResponse[] expected = objectMapper.readValue(json.body(), TaskResponse[].class);
+        assertEquals(50, expected.length);
+
+        HttpResponse<byte[]> smile = get("application/x-jackson-smile", null);
+        assertEquals("application/x-jackson-smile", smile.headers().firstValue("Content-Type").orElseThrow());
+        assertArrayEquals(expected, reader(new SmileFactory()).readValue(smile.body(), TaskResponse[].class));
+        assertTrue(smile.body().length < json.body().length);
+
+        HttpResponse<byte[]> cbor = get("application/cbor", null);
+        assertEquals("application/cbor", cbor.headers().firstValue("Content-Type").orElseThrow());
+        assertArrayEquals(expected, reader(new CBORFactory()).readValue(cbor.body(), TaskResponse[].class));
+    }
+
+    @Test
+    void largeResponsesShouldBeGzippedOnRequest() throws Exception {
+        HttpResponse<byte[]> plain = get("application/json", null);
+        HttpResponse<byte[]> gzipped = get("application/json", "gzip");
+
+        assertEquals("gzip", gzipped.headers().firstValue("Content-Encoding").orElseThrow());
+        assertTrue(gzipped.body().length < plain.body().length / 3);
+        assertArrayEquals(objectMapper.readValue(plain.body(), TaskResponse[].class),
+                objectMapper.readValue(gunzip(gzipped.body()), TaskResponse[].class));
+    }
+
+    @Test
+    void smallResponsesShouldNotBeGzipped() throws Exception {
+        Long id = taskRepository.findAll().get(0).getId();
+        for (String accept : List.of("application/json", "application/x-jackson-smile")) {
+            HttpResponse<byte[]> single = get("/tasks/" + id, accept, "gzip");
+            assertTrue(single.headers().firstValue("Content-Encoding").isEmpty(), accept);
+            assertEquals(String.valueOf(single.body().length), single.headers().firstValue("Content-Length").orElseThrow());
+        }
+    }
+
+    private HttpResponse<byte[]> get(String accept, String encoding) throws IOException, InterruptedException {
+        return get("/tasks", accept, encoding);
+    }
+
+    private HttpResponse<byte[]> get(String path, String accept, String encoding) throws IOException, InterruptedException {
+        URI uri = URI.create("http://localhost:" + port + "/api" + path);
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", accept);
+        if (encoding != null) {
+            request.header("Accept-Encoding", encoding);
+        }
+        HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertEquals(200, response.statusCode(), uri + " com Accept " + accept);
+        return response;
+    }
+
+    private static ObjectMapper reader(JsonFactory factory) {
+        return Jackson2ObjectMapperBuilder.json().factory(factory).build();
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package br.com.junior.esig.taskmanager.integration;
+
+import br.com.junior.esig.taskmanager.domain.enums.Priority;
+import br.com.junior.esig.taskmanager.domain.enums.Role;
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import br.com.junior.esig.taskmanager.domain.model.Task;
+import br.com.junior.esig.taskmanager.domain.model.User;
+import br.com.junior.esig.taskmanager.dto.task.TaskResponse;
+import br.com.junior.esig.taskmanager.repository.TaskRepository;
+import br.com.junior.esig.taskmanager.repository.UserRepository;
+import br.com.junior.esig.taskmanager.security.jwt.JwtUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.*;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Com resultado guardado por um minuto, a segunda leitura igual do mesmo usuário não vai ao
+ * banco; outro usuário tem escopo próprio. Os contadores saem no endpoint de métricas, só
+ * para ADMIN.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "task.single-flight.enabled=true",
+        "task.single-flight.result-ttl=PT1M",
+        "management.endpoints.web.exposure.include=health,metrics"
+})
+class SingleFlightIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port + "/api";
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User owner = userRepository.save(User.builder().username("owner").password("x").role(Role.ROLE_USER).build());
+        userRepository.save(User.builder().username("other").password("x").role(Role.ROLE_USER).build());
+        userRepository.save(User.builder().username("admin").password("x").role(Role.ROLE_ADMIN).build());
+        taskRepository.save(Task.builder().title("Atrasada").status(TaskStatus.TODO).priority(Priority.HIGH)
+                .deadline(LocalDate.now().minusDays(2)).user(owner).build());
+    }
+
+    @Test
+    void repeatedReadShouldBeServedFromTheSharedResult() {
+        assertEquals(1, overdue("owner").length);
+        // Task nova não aparece enquanto o resultado anterior vale
+        taskRepository.save(Task.builder().title("Outra").status(TaskStatus.TODO).priority(Priority.LOW)
+                .deadline(LocalDate.now().minusDays(1)).user(userRepository.findByUsername("owner").orElseThrow()).build());
+        assertEquals(1, overdue("owner").length);
+        assertEquals(0, overdue("other").length);
+
+        assertEquals(2.0, metric("executed"));
+        assertEquals(1.0, metric("cached"));
+    }
+
+    @Test
+    void metricsShouldRequireAdmin() {
+        assertEquals(HttpStatus.OK, restTemplate.getForEntity(baseUrl + "/actuator/health", String.class).getStatusCode());
+        assertEquals(HttpStatus.FORBIDDEN, restTemplate.getForEntity(baseUrl + "/actuator/metrics", String.class).getStatusCode());
+        assertEquals(HttpStatus.FORBIDDEN, restTemplate.exchange(baseUrl + "/actuator/metrics", HttpMethod.GET,
+                new HttpEntity<>(bearer("owner")), String.class).getStatusCode());
+        assertEquals(HttpStatus.OK, restTemplate.exchange(baseUrl + "/actuator/metrics", HttpMethod.GET,
+                new HttpEntity<>(bearer("admin")), String.class).getStatusCode());
+    }
+
+    private TaskResponse[] overdue(String username) {
+        ResponseEntity<TaskResponse[]> response = restTemplate.exchange(baseUrl + "/tasks/overdue", HttpMethod.GET,
+                new HttpEntity<>(bearer(username)), TaskResponse[].class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        return response.getBody();
+    }
+
+    private double metric(String result) {
+        ResponseEntity<JsonNode> response = restTemplate.exchange(
+                baseUrl + "/actuator/metrics/task.reads?tag=operation:overdue&tag=result:" + result, HttpMethod.GET,
+                new HttpEntity<>(bearer("admin")), JsonNode.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        return response.getBody().get("measurements").get(0).get("value").asDouble();
+    }
+
+    private HttpHeaders bearer(String username) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(jwtUtil.generateToken(username));
+        return headers;
+    }
+}
@@ -0,0 +1,152 @@
+package br.com.junior.esig.taskmanager.integration;
+
+import br.com.junior.esig.taskmanager.domain.enums.Priority;
+import br.com.junior.esig.taskmanager.domain.enums.Role;
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import br.com.junior.esig.taskmanager.domain.model.Task;
+import br.com.junior.esig.taskmanager.domain.model.User;
+import br.com.junior.esig.taskmanager.dto.task.TaskBoardColumn;
+import br.com.junior.esig.taskmanager.dto.task.TaskBoardResponse;
+import br.com.junior.esig.taskmanager.dto.task.TaskResponse;
+import br.com.junior.esig.taskmanager.repository.TaskRepository;
+import br.com.junior.esig.taskmanager.repository.UserRepository;
+import br.com.junior.esig.taskmanager.security.jwt.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.*;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * O quadro e as continuações por cursor precisam percorrer cada coluna inteira, na ordem
+ * prioridade, prazo e id, sem repetir nem pular tasks.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "classpath:application-test.properties")
+class TaskBoardIntegrationTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final Comparator<Task> BOARD_ORDER = Comparator
+            .comparing(Task::getPriority, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Task::getDeadline, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Task::getId);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private String baseUrl;
+    private String tokenUser;
+    private String tokenAdmin;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port + "/api";
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+
+        user = userRepository.save(User.builder().username("owner").password("x").role(Role.ROLE_USER).build());
+        User other = userRepository.save(User.builder().username("other").password("x").role(Role.ROLE_USER).build());
+        userRepository.save(User.builder().username("admin").password("x").role(Role.ROLE_ADMIN).build());
+        tokenUser = jwtUtil.generateToken("owner");
+        tokenAdmin = jwtUtil.generateToken("admin");
+
+        // DONE fica vazio para o quadro também devolver colunas sem tasks
+        TaskStatus[] statuses = {TaskStatus.TODO, TaskStatus.IN_PROGRESS, TaskStatus.REVIEW, TaskStatus.BLOCKED};
+        Priority[] priorities = Priority.values();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 90; i++) {
+            tasks.add(Task.builder()
+                    .title("Tarefa " + i)
+                    .responsible("João")
+                    .status(statuses[i * 7 % statuses.length])
+                    .priority(priorities[i * 3 % priorities.length])
+                    .deadline(i % 4 == 0 ? null : TODAY.plusDays(i % 9 - 3))
+                    .user(i % 3 == 0 ? other : user)
+                    .build());
+        }
+        taskRepository.saveAll(tasks);
+    }
+
+    @Test
+    void boardShouldReturnFirstTasksAndTotalPerColumn() {
+        TaskBoardResponse board = exchange("/tasks/board?perColumn=4", tokenUser, TaskBoardResponse.class);
+
+        assertEquals(List.of(TaskStatus.values()), board.getColumns().stream().map(TaskBoardColumn::getStatus).toList());
+        for (TaskBoardColumn column : board.getColumns()) {
+            List<Long> expected = expected(taskRepository.findByUserAndStatus(user, column.getStatus()));
+            assertEquals(expected.size(), column.getTotal(), column.getStatus().name());
+            assertEquals(expected.subList(0, Math.min(4, expected.size())), ids(column.getTasks()), column.getStatus().name());
+            assertEquals(expected.size() > 4, column.getNextCursor() != null, column.getStatus().name());
+        }
+    }
+
+    @Test
+    void cursorsShouldWalkEveryColumnInOrder() {
+        for (String token : List.of(tokenUser, tokenAdmin)) {
+            TaskBoardResponse board = exchange("/tasks/board?perColumn=5", token, TaskBoardResponse.class);
+            for (TaskBoardColumn column : board.getColumns()) {
+                List<Long> walked = new ArrayList<>(ids(column.getTasks()));
+                TaskBoardColumn page = column;
+                while (page.getNextCursor() != null) {
+                    page = exchange("/tasks/board/" + column.getStatus() + "?perColumn=7&cursor=" + page.getNextCursor(),
+                            token, TaskBoardColumn.class);
+                    assertEquals(column.getTotal(), page.getTotal());
+                    walked.addAll(ids(page.getTasks()));
+                }
+
+                List<Task> tasks = token.equals(tokenAdmin)
+                        ? taskRepository.findByStatus(column.getStatus())
+                        : taskRepository.findByUserAndStatus(user, column.getStatus());
+                assertEquals(expected(tasks), walked, column.getStatus().name());
+            }
+        }
+    }
+
+    @Test
+    void invalidCursorShouldBeRejected() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(tokenUser);
+        ResponseEntity<String> response = restTemplate.exchange(baseUrl + "/tasks/board/TODO?cursor=lixo",
+                HttpMethod.GET, new HttpEntity<>(headers), String.class);
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    private List<Long> expected(List<Task> tasks) {
+        return tasks.stream().sorted(BOARD_ORDER).map(Task::getId).toList();
+    }
+
+    private List<Long> ids(List<TaskResponse> tasks) {
+        return tasks.stream().map(TaskResponse::getId).toList();
+    }
+
+    private <T> T exchange(String path, String token, Class<T> type) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        ResponseEntity<T> response = restTemplate.exchange(baseUrl + path, HttpMethod.GET, new HttpEntity<>(headers), type);
+        assertTrue(response.getStatusCode().is2xxSuccessful(), path + " retornou " + response.getStatusCode());
+        return response.getBody();
+    }
+}
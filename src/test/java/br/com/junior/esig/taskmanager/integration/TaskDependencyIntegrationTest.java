@@ -0,0 +1,243 @@
+package br.com.junior.esig.taskmanager.integration;
+
+import br.com.junior.esig.taskmanager.dependency.DependencyGraph;
+import br.com.junior.esig.taskmanager.domain.enums.Role;
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import br.com.junior.esig.taskmanager.domain.model.User;
+import br.com.junior.esig.taskmanager.dto.task.TaskCriticalPathResponse;
+import br.com.junior.esig.taskmanager.dto.task.TaskDependenciesResponse;
+import br.com.junior.esig.taskmanager.dto.task.TaskRequest;
+import br.com.junior.esig.taskmanager.dto.task.TaskResponse;
+import br.com.junior.esig.taskmanager.readmodel.NextTaskIndex;
+import br.com.junior.esig.taskmanager.repository.TaskDependencyRepository;
+import br.com.junior.esig.taskmanager.repository.TaskRepository;
+import br.com.junior.esig.taskmanager.repository.UserRepository;
+import br.com.junior.esig.taskmanager.security.jwt.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cadeia A → B → C e A → D do mesmo dono, criada pela API com o grafo em memória ligado.
+ * Acionáveis e caminho crítico acompanham conclusões e exclusões, e batem com as consultas
+ * de fallback no banco.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "classpath:application-test.properties", properties = "task.dependencies.graph.enabled=true")
+class TaskDependencyIntegrationTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskDependencyRepository dependencyRepository;
+
+    @Autowired
+    private DependencyGraph dependencyGraph;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private String baseUrl;
+    private String tokenUser;
+    private User owner;
+    private Long a;
+    private Long b;
+    private Long c;
+    private Long d;
+    private Long foreign;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port + "/api";
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+
+        owner = userRepository.save(User.builder().username("owner").password("x").role(Role.ROLE_USER).build());
+        User other = userRepository.save(User.builder().username("other").password("x").role(Role.ROLE_USER).build());
+        userRepository.save(User.builder().username("admin").password("x").role(Role.ROLE_ADMIN).build());
+        tokenUser = jwtUtil.generateToken("owner");
+        // Exclusões pelo repositório não geram eventos
+        dependencyGraph.rebuild();
+
+        a = create("A", TODAY.plusDays(1), null, tokenUser);
+        b = create("B", TODAY.plusDays(2), null, tokenUser);
+        c = create("C", TODAY.plusDays(3), null, tokenUser);
+        d = create("D", TODAY.plusDays(10), null, tokenUser);
+        foreign = create("Alheia", TODAY, other.getId(), jwtUtil.generateToken("admin"));
+
+        link(b, a);
+        link(c, b);
+        TaskDependenciesResponse dependencies = link(d, a);
+        assertEquals(List.of(a), dependencies.getBlockedBy());
+        assertEquals(List.of(a), dependencies.getOpenBlockers());
+    }
+
+    @Test
+    void cyclesAndForeignTasksShouldBeRejected() {
+        assertEquals(HttpStatus.BAD_REQUEST, status(HttpMethod.PUT, "/tasks/" + a + "/dependencies/" + c));
+        assertEquals(HttpStatus.BAD_REQUEST, status(HttpMethod.PUT, "/tasks/" + a + "/dependencies/" + a));
+        assertEquals(HttpStatus.FORBIDDEN, status(HttpMethod.PUT, "/tasks/" + a + "/dependencies/" + foreign));
+        assertTrue(dependencyRepository.countReachable(a, c) > 0);
+        assertEquals(0, dependencyRepository.countReachable(c, a));
+
+        // Repetir é inofensivo
+        assertEquals(List.of(a), link(b, a).getBlockedBy());
+        TaskDependenciesResponse dependencies = send(HttpMethod.GET, "/tasks/" + a + "/dependencies", TaskDependenciesResponse.class);
+        assertEquals(List.of(b, d), dependencies.getBlocks());
+        assertEquals(3, dependencyRepository.count());
+    }
+
+    @Test
+    void concurrentOppositeDependenciesShouldNotCreateCycle() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 10; round++) {
+                status(HttpMethod.DELETE, "/tasks/" + d + "/dependencies/" + c);
+                status(HttpMethod.DELETE, "/tasks/" + c + "/dependencies/" + d);
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<HttpStatusCode>> links = new ArrayList<>();
+                for (long[] link : new long[][]{{c, d}, {d, c}}) {
+                    links.add(executor.submit(() -> {
+                        start.await();
+                        return status(HttpMethod.PUT, "/tasks/" + link[0] + "/dependencies/" + link[1]);
+                    }));
+                }
+                start.countDown();
+                List<HttpStatusCode> statuses = List.of(links.get(0).get(), links.get(1).get());
+                assertTrue(statuses.contains(HttpStatus.OK) && statuses.contains(HttpStatus.BAD_REQUEST), statuses.toString());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void actionableAndCriticalPathShouldFollowWrites() {
+        assertEquals(List.of(a), actionable());
+        assertEquals(List.of(a, b, c), criticalPath(TODAY.plusDays(30)));
+        assertEquals(List.of(a), criticalPath(TODAY.plusDays(1)));
+
+        send(HttpMethod.PATCH, "/tasks/" + a + "/complete", TaskResponse.class);
+        assertEquals(List.of(b, d), actionable());
+        assertEquals(List.of(b, c), criticalPath(TODAY.plusDays(30)));
+
+        // Reabrir bloqueia de novo
+        send(HttpMethod.PATCH, "/tasks/" + a, TaskResponse.class, "{\"status\":\"TODO\"}");
+        assertEquals(List.of(a), actionable());
+
+        send(HttpMethod.DELETE, "/tasks/" + b + "/dependencies/" + a, TaskDependenciesResponse.class);
+        assertEquals(List.of(a, b), actionable());
+        send(HttpMethod.DELETE, "/tasks/" + a, Void.class);
+        assertEquals(List.of(b, d), actionable());
+        assertEquals(List.of(b, c), criticalPath(TODAY.plusDays(30)));
+        assertEquals(List.of(b), send(HttpMethod.GET, "/tasks/" + c + "/dependencies", TaskDependenciesResponse.class).getBlockedBy());
+
+        // O fallback no banco e um grafo recarregado do zero chegam ao mesmo resultado
+        assertEquals(actionable(), taskRepository.findUnblockedIdsByUserId(owner.getId(), NextTaskIndex.ACTIONABLE, TaskStatus.DONE));
+        List<Long> path = criticalPath(TODAY.plusDays(30));
+        DependencyGraph notLoaded = new DependencyGraph(jdbcTemplate, false);
+        assertEquals(path, Arrays.stream(notLoaded.criticalPath(owner.getId(), TODAY.plusDays(30))).boxed().toList());
+        // Sem dono (ADMIN) o grafo temporário também responde igual ao completo
+        DependencyGraph loaded = new DependencyGraph(jdbcTemplate, true);
+        loaded.rebuild();
+        assertTrue(loaded.criticalPath(null, TODAY.plusDays(30)).length >= path.size());
+        for (LocalDate date : List.of(TODAY, TODAY.plusDays(1), TODAY.plusDays(30))) {
+            assertArrayEquals(loaded.criticalPath(null, date), notLoaded.criticalPath(null, date));
+        }
+        dependencyGraph.rebuild();
+        assertEquals(List.of(b, d), actionable());
+        assertEquals(path, criticalPath(TODAY.plusDays(30)));
+    }
+
+    @Test
+    void refreshShouldPickUpWritesMadeOutsideThisInstance() {
+        // Task e dependência gravadas por outra instância: nenhum evento chega aqui
+        jdbcTemplate.update("INSERT INTO tasks (title, status, deadline, user_id) VALUES ('E', 'TODO', ?, ?)",
+                TODAY.plusDays(1), owner.getId());
+        Long e = jdbcTemplate.queryForObject("SELECT id FROM tasks WHERE title = 'E'", Long.class);
+        jdbcTemplate.update("INSERT INTO task_dependencies (blocker_id, blocked_id, created_at) VALUES (?, ?, CURRENT_TIMESTAMP)",
+                e, a);
+        assertEquals(List.of(a), actionable());
+
+        dependencyGraph.refresh();
+        assertEquals(List.of(e), actionable());
+        assertEquals(List.of(e, a, b, c), criticalPath(TODAY.plusDays(30)));
+    }
+
+    private TaskDependenciesResponse link(Long task, Long blocker) {
+        return send(HttpMethod.PUT, "/tasks/" + task + "/dependencies/" + blocker, TaskDependenciesResponse.class);
+    }
+
+    private List<Long> actionable() {
+        return Arrays.stream(send(HttpMethod.GET, "/tasks/actionable?fields=title", TaskResponse[].class))
+                .map(TaskResponse::getId).toList();
+    }
+
+    private List<Long> criticalPath(LocalDate date) {
+        return send(HttpMethod.GET, "/tasks/critical-path?date=" + date, TaskCriticalPathResponse.class).getPath();
+    }
+
+    private Long create(String title, LocalDate deadline, Long userId, String token) {
+        TaskRequest request = new TaskRequest();
+        request.setTitle(title);
+        request.setDeadline(deadline);
+        request.setUserId(userId);
+        ResponseEntity<TaskResponse> response = restTemplate.exchange(baseUrl + "/tasks", HttpMethod.POST,
+                new HttpEntity<>(request, headers(token)), TaskResponse.class);
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        return response.getBody().getId();
+    }
+
+    private HttpStatusCode status(HttpMethod method, String path) {
+        return restTemplate.exchange(baseUrl + path, method, new HttpEntity<>(headers(tokenUser)), String.class).getStatusCode();
+    }
+
+    private <T> T send(HttpMethod method, String path, Class<T> type) {
+        return send(method, path, type, null);
+    }
+
+    private <T> T send(HttpMethod method, String path, Class<T> type, String body) {
+        ResponseEntity<T> response = restTemplate.exchange(baseUrl + path, method, new HttpEntity<>(body, headers(tokenUser)), type);
+        assertTrue(response.getStatusCode().is2xxSuccessful(), path + " retornou " + response.getStatusCode());
+        return response.getBody();
+    }
+
+    private static HttpHeaders headers(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return headers;
+    }
+}
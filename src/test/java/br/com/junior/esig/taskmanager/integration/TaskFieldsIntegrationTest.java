@@ -0,0 +1,170 @@
+package br.com.junior.esig.taskmanager.integration;
+
+import br.com.junior.esig.taskmanager.domain.enums.Priority;
+import br.com.junior.esig.taskmanager.domain.enums.Role;
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import br.com.junior.esig.taskmanager.domain.model.Task;
+import br.com.junior.esig.taskmanager.domain.model.User;
+import br.com.junior.esig.taskmanager.repository.TaskRepository;
+import br.com.junior.esig.taskmanager.repository.UserRepository;
+import br.com.junior.esig.taskmanager.security.jwt.JwtUtil;
+import br.com.junior.esig.taskmanager.support.QueryCountInspector;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.*;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Multi-get por {@code ?ids=} e {@code ?fields=}: o JSON traz só os campos pedidos e o
+ * SELECT gerado não lê as colunas que ficaram de fora.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "classpath:application-test.properties", properties = QueryCountInspector.PROPERTY)
+class TaskFieldsIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String baseUrl;
+    private String tokenUser;
+    private String tokenAdmin;
+    private List<Task> owned;
+    private Task foreign;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port + "/api";
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User user = userRepository.save(User.builder().username("owner").password("x").role(Role.ROLE_USER).build());
+        User other = userRepository.save(User.builder().username("other").password("x").role(Role.ROLE_USER).build());
+        userRepository.save(User.builder().username("admin").password("x").role(Role.ROLE_ADMIN).build());
+        tokenUser = jwtUtil.generateToken("owner");
+        tokenAdmin = jwtUtil.generateToken("admin");
+
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            tasks.add(Task.builder()
+                    .title("Tarefa " + i)
+                    .description("Descrição longa ".repeat(200))
+                    .responsible("João")
+                    .status(i % 2 == 0 ? TaskStatus.TODO : TaskStatus.DONE)
+                    .priority(Priority.values()[i % Priority.values().length])
+                    .deadline(LocalDate.now().plusDays(i - 3))
+                    .user(user)
+                    .build());
+        }
+        owned = taskRepository.saveAll(tasks);
+        foreign = taskRepository.save(Task.builder().title("Alheia").status(TaskStatus.TODO).priority(Priority.LOW).user(other).build());
+    }
+
+    @Test
+    void multiGetShouldKeepRequestedOrderInOneQuery() {
+        String ids = owned.get(3).getId() + "," + owned.get(0).getId() + "," + owned.get(5).getId() + "," + owned.get(0).getId();
+
+        QueryCountInspector.reset();
+        List<Map<String, Object>> body = getJson("/tasks?ids=" + ids, tokenUser);
+        // JwtFilter + usuário logado + um único IN
+        assertEquals(3, QueryCountInspector.count(), String.join("\n", QueryCountInspector.statements()));
+        assertEquals(List.of(owned.get(3).getId(), owned.get(0).getId(), owned.get(5).getId()),
+                body.stream().map(t -> ((Number) t.get("id")).longValue()).toList());
+        assertNotNull(body.get(0).get("description"));
+
+        assertEquals(4, getJson("/tasks?ids=" + ids + "," + foreign.getId(), tokenAdmin).size());
+        assertEquals(HttpStatus.FORBIDDEN, status("/tasks?ids=" + ids + "," + foreign.getId(), tokenUser));
+        assertEquals(HttpStatus.NOT_FOUND, status("/tasks?ids=" + ids + ",999999", tokenUser));
+    }
+
+    @Test
+    void fieldsShouldNarrowJsonAndSelect() throws Exception {
+        QueryCountInspector.reset();
+        List<Map<String, Object>> body = getJson("/tasks/status/TODO?fields=title,deadline", tokenUser);
+
+        assertEquals(3, body.size());
+        for (Map<String, Object> task : body) {
+            assertEquals(Set.of("id", "title", "deadline"), task.keySet());
+        }
+        assertNoDescriptionRead();
+
+        String ids = owned.stream().map(t -> t.getId().toString()).collect(Collectors.joining(","));
+        QueryCountInspector.reset();
+        body = getJson("/tasks?ids=" + ids + "&fields=status,user", tokenUser);
+        assertEquals(owned.size(), body.size());
+        assertEquals(Set.of("id", "status", "user"), body.get(0).keySet());
+        assertEquals("owner", ((Map<?, ?>) body.get(0).get("user")).get("username"));
+        assertNoDescriptionRead();
+
+        Map<String, Object> single = objectMapper.readValue(
+                exchange("/tasks/" + owned.get(1).getId() + "?fields=priority", tokenUser).getBody(), new TypeReference<>() { });
+        assertEquals(Map.of("id", owned.get(1).getId().intValue(), "priority", owned.get(1).getPriority().name()), single);
+
+        // /filter ordena por prioridade mesmo sem ela no JSON
+        body = getJson("/tasks/filter?fields=title", tokenAdmin);
+        assertEquals(owned.size() + 1, body.size());
+        assertEquals(Set.of("id", "title"), body.get(0).keySet());
+    }
+
+    @Test
+    void unknownFieldShouldBeRejected() {
+        assertEquals(HttpStatus.BAD_REQUEST, status("/tasks?fields=id,senha", tokenUser));
+    }
+
+    private void assertNoDescriptionRead() {
+        List<String> selects = QueryCountInspector.statements().stream()
+                .filter(sql -> sql.toLowerCase().contains("from tasks"))
+                .toList();
+        assertFalse(selects.isEmpty());
+        selects.forEach(sql -> assertFalse(sql.toLowerCase().contains("description"), sql));
+    }
+
+    private List<Map<String, Object>> getJson(String path, String token) {
+        ResponseEntity<String> response = exchange(path, token);
+        assertTrue(response.getStatusCode().is2xxSuccessful(), path + " retornou " + response.getStatusCode());
+        try {
+            return objectMapper.readValue(response.getBody(), new TypeReference<>() { });
+        } catch (Exception e) {
+            throw new AssertionError(response.getBody(), e);
+        }
+    }
+
+    private HttpStatusCode status(String path, String token) {
+        return exchange(path, token).getStatusCode();
+    }
+
+    private ResponseEntity<String> exchange(String path, String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        return restTemplate.exchange(baseUrl + path, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+}
@@ -0,0 +1,197 @@
+package br.com.junior.esig.taskmanager.integration;
+
+import br.com.junior.esig.taskmanager.domain.enums.Role;
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import br.com.junior.esig.taskmanager.domain.model.User;
+import br.com.junior.esig.taskmanager.dto.task.TaskMoveRequest;
+import br.com.junior.esig.taskmanager.dto.task.TaskProgressResponse;
+import br.com.junior.esig.taskmanager.dto.task.TaskRequest;
+import br.com.junior.esig.taskmanager.dto.task.TaskResponse;
+import br.com.junior.esig.taskmanager.repository.TaskRepository;
+import br.com.junior.esig.taskmanager.repository.UserRepository;
+import br.com.junior.esig.taskmanager.security.jwt.JwtUtil;
+import br.com.junior.esig.taskmanager.support.QueryCountInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.*;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Árvore épico → A (A1, A2), B criada pela API. Leituras de subárvore e progresso, movimento
+ * com checagem de ciclo e as escritas em lote (concluir e reatribuir), conferindo que o
+ * modelo de leitura em memória acompanha as descendentes alteradas por UPDATE.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        QueryCountInspector.PROPERTY,
+        "task.read-model.enabled=true"
+})
+class TaskHierarchyIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private String baseUrl;
+    private String tokenUser;
+    private String tokenAdmin;
+    private User other;
+    private TaskResponse epic;
+    private TaskResponse a;
+    private TaskResponse a1;
+    private TaskResponse a2;
+    private TaskResponse b;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port + "/api";
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+
+        userRepository.save(User.builder().username("owner").password("x").role(Role.ROLE_USER).build());
+        other = userRepository.save(User.builder().username("other").password("x").role(Role.ROLE_USER).build());
+        userRepository.save(User.builder().username("admin").password("x").role(Role.ROLE_ADMIN).build());
+        tokenUser = jwtUtil.generateToken("owner");
+        tokenAdmin = jwtUtil.generateToken("admin");
+
+        epic = create("Épico", null);
+        a = create("A", epic.getId());
+        b = create("B", epic.getId());
+        a1 = create("A1", a.getId());
+        a2 = create("A2", a.getId());
+    }
+
+    @Test
+    void subtreeShouldComeLevelByLevelWithProgress() {
+        List<TaskResponse> subtree = list("/tasks/" + epic.getId() + "/subtree", tokenUser);
+        assertEquals(List.of(a.getId(), b.getId(), a1.getId(), a2.getId()), subtree.stream().map(TaskResponse::getId).toList());
+        assertEquals(a.getId(), subtree.get(2).getParentId());
+
+        send(HttpMethod.PATCH, "/tasks/" + a1.getId() + "/complete", null, tokenUser, TaskResponse.class);
+        TaskProgressResponse progress = send(HttpMethod.GET, "/tasks/" + epic.getId() + "/subtree/progress", null,
+                tokenUser, TaskProgressResponse.class).getBody();
+        assertEquals(4, progress.getTotal());
+        assertEquals(1, progress.getDone());
+        assertEquals(25.0, progress.getPercentDone());
+        assertEquals(3L, progress.getStatus().get(TaskStatus.TODO));
+
+        assertEquals(HttpStatus.FORBIDDEN, send(HttpMethod.GET, "/tasks/" + epic.getId() + "/subtree", null,
+                jwtUtil.generateToken("other"), String.class).getStatusCode());
+    }
+
+    @Test
+    void moveShouldCarrySubtreeAndRejectCycles() {
+        TaskResponse moved = send(HttpMethod.PUT, "/tasks/" + a.getId() + "/parent", new TaskMoveRequest(b.getId()),
+                tokenUser, TaskResponse.class).getBody();
+        assertEquals(b.getId(), moved.getParentId());
+        assertEquals(List.of(a.getId(), a1.getId(), a2.getId()),
+                list("/tasks/" + b.getId() + "/subtree", tokenUser).stream().map(TaskResponse::getId).toList());
+
+        assertEquals(HttpStatus.BAD_REQUEST, send(HttpMethod.PUT, "/tasks/" + epic.getId() + "/parent",
+                new TaskMoveRequest(a1.getId()), tokenUser, String.class).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, send(HttpMethod.PUT, "/tasks/" + a.getId() + "/parent",
+                new TaskMoveRequest(a.getId()), tokenUser, String.class).getStatusCode());
+
+        TaskResponse root = send(HttpMethod.PUT, "/tasks/" + a.getId() + "/parent", new TaskMoveRequest(null),
+                tokenUser, TaskResponse.class).getBody();
+        assertNull(root.getParentId());
+        assertEquals(1, list("/tasks/" + epic.getId() + "/subtree", tokenUser).size());
+    }
+
+    @Test
+    void cascadingWritesShouldNotLoadDescendants() {
+        QueryCountInspector.reset();
+        send(HttpMethod.PATCH, "/tasks/" + epic.getId() + "/complete?cascade=true", null, tokenUser, TaskResponse.class);
+        List<String> tasksReads = QueryCountInspector.statements().stream()
+                .map(String::toLowerCase)
+                .filter(sql -> !sql.startsWith("update") && sql.contains("from tasks"))
+                .toList();
+        // A task concluída e o estado das descendentes numa consulta só
+        assertEquals(2, tasksReads.size(), String.join("\n", tasksReads));
+
+        assertEquals(5, list("/tasks/status/DONE", tokenUser).size());
+        assertEquals(100.0, send(HttpMethod.GET, "/tasks/" + epic.getId() + "/subtree/progress", null, tokenUser,
+                TaskProgressResponse.class).getBody().getPercentDone());
+
+        assertEquals(HttpStatus.BAD_REQUEST, send(HttpMethod.PATCH, "/tasks/" + a.getId(),
+                Map.of("userId", other.getId()), tokenAdmin, String.class).getStatusCode());
+        send(HttpMethod.PATCH, "/tasks/" + epic.getId(), Map.of("userId", other.getId()), tokenAdmin, TaskResponse.class);
+        assertEquals(0, list("/tasks", tokenUser).size());
+        assertEquals(5, list("/tasks", jwtUtil.generateToken("other")).size());
+    }
+
+    @Test
+    void concurrentOppositeMovesShouldNotCreateCycle() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 10; round++) {
+                send(HttpMethod.PUT, "/tasks/" + a.getId() + "/parent", new TaskMoveRequest(epic.getId()), tokenUser, TaskResponse.class);
+                send(HttpMethod.PUT, "/tasks/" + b.getId() + "/parent", new TaskMoveRequest(epic.getId()), tokenUser, TaskResponse.class);
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<HttpStatusCode>> moves = new ArrayList<>();
+                for (long[] move : new long[][]{{a.getId(), b.getId()}, {b.getId(), a.getId()}}) {
+                    moves.add(executor.submit(() -> {
+                        start.await();
+                        return send(HttpMethod.PUT, "/tasks/" + move[0] + "/parent", new TaskMoveRequest(move[1]),
+                                tokenUser, String.class).getStatusCode();
+                    }));
+                }
+                start.countDown();
+                List<HttpStatusCode> statuses = List.of(moves.get(0).get(), moves.get(1).get());
+                assertTrue(statuses.contains(HttpStatus.OK) && statuses.contains(HttpStatus.BAD_REQUEST), statuses.toString());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private TaskResponse create(String title, Long parentId) {
+        TaskRequest request = new TaskRequest();
+        request.setTitle(title);
+        request.setParentId(parentId);
+        ResponseEntity<TaskResponse> response = send(HttpMethod.POST, "/tasks", request, tokenUser, TaskResponse.class);
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        return response.getBody();
+    }
+
+    private List<TaskResponse> list(String path, String token) {
+        return Arrays.asList(send(HttpMethod.GET, path, null, token, TaskResponse[].class).getBody());
+    }
+
+    private <T> ResponseEntity<T> send(HttpMethod method, String path, Object body, String token, Class<T> type) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        ResponseEntity<T> response = restTemplate.exchange(baseUrl + path, method, new HttpEntity<>(body, headers), type);
+        if (type != String.class) {
+            assertTrue(response.getStatusCode().is2xxSuccessful(), path + " retornou " + response.getStatusCode());
+        }
+        return response;
+    }
+}
@@ -0,0 +1,143 @@
+package br.com.junior.esig.taskmanager.integration;
+
+import br.com.junior.esig.taskmanager.domain.enums.Priority;
+import br.com.junior.esig.taskmanager.domain.enums.Role;
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import br.com.junior.esig.taskmanager.domain.model.Task;
+import br.com.junior.esig.taskmanager.domain.model.User;
+import br.com.junior.esig.taskmanager.dto.task.TaskHistoryEntry;
+import br.com.junior.esig.taskmanager.dto.task.TaskHistoryPage;
+import br.com.junior.esig.taskmanager.repository.TaskAuditRepository;
+import br.com.junior.esig.taskmanager.repository.TaskRepository;
+import br.com.junior.esig.taskmanager.repository.UserRepository;
+import br.com.junior.esig.taskmanager.security.jwt.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.*;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PATCH e complete geram uma linha por campo alterado, gravada em segundo plano; o
+ * histórico volta do mais recente para o mais antigo e pagina por cursor.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "task.audit.enabled=true",
+        "task.audit.flush-interval=PT0.02S",
+        "task.audit.spill-dir=${java.io.tmpdir}/task-audit-test"
+})
+class TaskHistoryIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskAuditRepository taskAuditRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private String baseUrl;
+    private String tokenUser;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port + "/api";
+        taskAuditRepository.deleteAll();
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User user = userRepository.save(User.builder().username("owner").password("x").role(Role.ROLE_USER).build());
+        userRepository.save(User.builder().username("other").password("x").role(Role.ROLE_USER).build());
+        tokenUser = jwtUtil.generateToken("owner");
+        task = taskRepository.save(Task.builder().title("Original").status(TaskStatus.TODO).priority(Priority.LOW).user(user).build());
+    }
+
+    // O banco H2 é compartilhado entre as classes de teste; não deixa tasks presas aos usuários
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+        taskAuditRepository.deleteAll();
+    }
+
+    @Test
+    void changesShouldAppearNewestFirstAndPage() throws InterruptedException {
+        exchange(HttpMethod.PATCH, "/tasks/" + task.getId(), tokenUser, Map.of("title", "Nova", "priority", "HIGH"));
+        // Sem mudança real não grava nada
+        exchange(HttpMethod.PATCH, "/tasks/" + task.getId(), tokenUser, Map.of("title", "Nova"));
+        exchange(HttpMethod.PATCH, "/tasks/" + task.getId() + "/complete", tokenUser, null);
+
+        awaitRows(3);
+        List<TaskHistoryEntry> walked = new ArrayList<>();
+        String path = "/tasks/" + task.getId() + "/history?size=2";
+        TaskHistoryPage page = history(path);
+        walked.addAll(page.getEntries());
+        assertNotNull(page.getNextCursor());
+        page = history(path + "&cursor=" + page.getNextCursor());
+        walked.addAll(page.getEntries());
+        assertNull(page.getNextCursor());
+
+        assertEquals(3, walked.size());
+        TaskHistoryEntry status = walked.get(0);
+        assertEquals("status", status.getField());
+        assertEquals("TODO", status.getOldValue());
+        assertEquals("DONE", status.getNewValue());
+        assertEquals("owner", status.getChangedBy());
+        assertTrue(walked.stream().anyMatch(e -> e.getField().equals("title") && e.getOldValue().equals("Original")
+                && e.getNewValue().equals("Nova")));
+        assertTrue(walked.stream().anyMatch(e -> e.getField().equals("priority") && e.getNewValue().equals("HIGH")));
+    }
+
+    @Test
+    void otherUserShouldNotReadHistory() {
+        ResponseEntity<String> response = exchange(HttpMethod.GET, "/tasks/" + task.getId() + "/history",
+                jwtUtil.generateToken("other"), null);
+        assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+    }
+
+    private void awaitRows(long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (taskAuditRepository.count() < expected) {
+            assertTrue(System.currentTimeMillis() < deadline, "auditoria não gravada");
+            Thread.sleep(20);
+        }
+    }
+
+    private TaskHistoryPage history(String path) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(tokenUser);
+        ResponseEntity<TaskHistoryPage> response = restTemplate.exchange(baseUrl + path, HttpMethod.GET,
+                new HttpEntity<>(headers), TaskHistoryPage.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        return response.getBody();
+    }
+
+    private ResponseEntity<String> exchange(HttpMethod method, String path, String token, Object body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return restTemplate.exchange(baseUrl + path, method, new HttpEntity<>(body, headers), String.class);
+    }
+}
@@ -0,0 +1,204 @@
+package br.com.junior.esig.taskmanager.integration;
+
+import br.com.junior.esig.taskmanager.domain.enums.Priority;
+import br.com.junior.esig.taskmanager.domain.enums.Role;
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import br.com.junior.esig.taskmanager.domain.model.Task;
+import br.com.junior.esig.taskmanager.domain.model.User;
+import br.com.junior.esig.taskmanager.dto.task.TaskFacetsResponse;
+import br.com.junior.esig.taskmanager.dto.task.TaskRequest;
+import br.com.junior.esig.taskmanager.dto.task.TaskResponse;
+import br.com.junior.esig.taskmanager.readmodel.TaskReadModel;
+import br.com.junior.esig.taskmanager.repository.TaskRepository;
+import br.com.junior.esig.taskmanager.repository.UserRepository;
+import br.com.junior.esig.taskmanager.security.jwt.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.*;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Com {@code task.read-model.enabled=true} as consultas de filtro são respondidas pelas
+ * colunas em memória; o resultado precisa ser o mesmo das consultas ao banco.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "classpath:application-test.properties", properties = "task.read-model.enabled=true")
+class TaskReadModelIntegrationTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskReadModel readModel;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private String baseUrl;
+    private String tokenUser;
+    private String tokenAdmin;
+    private User user;
+    private User other;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port + "/api";
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+
+        user = userRepository.save(User.builder().username("owner").password("x").role(Role.ROLE_USER).build());
+        other = userRepository.save(User.builder().username("other").password("x").role(Role.ROLE_USER).build());
+        userRepository.save(User.builder().username("admin").password("x").role(Role.ROLE_ADMIN).build());
+        tokenUser = jwtUtil.generateToken("owner");
+        tokenAdmin = jwtUtil.generateToken("admin");
+
+        List<Task> tasks = new ArrayList<>();
+        TaskStatus[] statuses = TaskStatus.values();
+        Priority[] priorities = Priority.values();
+        for (int i = 0; i < 40; i++) {
+            tasks.add(Task.builder()
+                    .title("Tarefa " + i)
+                    .responsible(i % 3 == 0 ? "Maria Silva" : "João")
+                    .status(statuses[i % statuses.length])
+                    .priority(priorities[i % priorities.length])
+                    .deadline(i % 7 == 0 ? null : TODAY.plusDays(i % 11 - 5))
+                    .user(i % 2 == 0 ? user : other)
+                    .build());
+        }
+        taskRepository.saveAll(tasks);
+        // Dados gravados direto pelo repositório não geram eventos
+        readModel.rebuild();
+    }
+
+    @Test
+    void filterEndpointsShouldMatchDatabaseQueries() {
+        assertTrue(readModel.isReady());
+
+        assertIds(taskRepository.findByStatus(TaskStatus.REVIEW), get("/tasks/status/REVIEW", tokenAdmin));
+        assertIds(taskRepository.findByUserAndStatus(user, TaskStatus.REVIEW), get("/tasks/status/REVIEW", tokenUser));
+        assertIds(taskRepository.findByPriority(Priority.URGENT), get("/tasks/priority/URGENT", tokenAdmin));
+        assertIds(taskRepository.findByUserAndPriority(user, Priority.URGENT), get("/tasks/priority/URGENT", tokenUser));
+        assertIds(taskRepository.findByDeadlineBetween(TODAY, TODAY.plusDays(7)), get("/tasks/upcoming", tokenAdmin));
+        assertIds(taskRepository.findByUserAndDeadlineBeforeAndStatusNot(user, TODAY, TaskStatus.DONE),
+                get("/tasks/overdue", tokenUser));
+        assertIds(taskRepository.findByDeadlineBeforeAndStatusNot(TODAY, TaskStatus.DONE), get("/tasks/overdue", tokenAdmin));
+
+        List<Long> expected = taskRepository.findByUser(user).stream()
+                .filter(t -> t.getStatus() == TaskStatus.TODO)
+                .filter(t -> t.getResponsible().toLowerCase().contains("silva"))
+                .map(Task::getId).sorted().toList();
+        assertIds(expected, get("/tasks/filter?status=TODO&responsible=SILVA", tokenUser));
+    }
+
+    @Test
+    void combinedPredicatesAndFacetsShouldUseBitmaps() {
+        List<Task> expected = taskRepository.findByUser(user).stream()
+                .filter(t -> t.getStatus() == TaskStatus.TODO || t.getStatus() == TaskStatus.BLOCKED)
+                .filter(t -> t.getPriority().compareTo(Priority.HIGH) >= 0)
+                .toList();
+        assertIds(expected, get("/tasks/filter?status=TODO&status=BLOCKED&minPriority=HIGH", tokenUser));
+
+        TaskFacetsResponse facets = exchange(HttpMethod.GET, "/tasks/filter/facets?minPriority=HIGH", null,
+                tokenAdmin, TaskFacetsResponse.class);
+        List<Task> high = taskRepository.findAll().stream()
+                .filter(t -> t.getPriority().compareTo(Priority.HIGH) >= 0)
+                .toList();
+        assertEquals(high.size(), facets.getTotal());
+        assertEquals(0L, facets.getPriority().get(Priority.LOW));
+        for (TaskStatus status : TaskStatus.values()) {
+            assertEquals(high.stream().filter(t -> t.getStatus() == status).count(), facets.getStatus().get(status), status.name());
+        }
+
+        TaskFacetsResponse owned = exchange(HttpMethod.GET, "/tasks/filter/facets?responsible=silva", null,
+                tokenUser, TaskFacetsResponse.class);
+        assertEquals(taskRepository.findByUser(user).stream().filter(t -> t.getResponsible().contains("Silva")).count(),
+                owned.getTotal());
+    }
+
+    @Test
+    void adminReassignmentShouldMoveTaskBetweenOwners() {
+        Long id = taskRepository.findByUser(user).get(0).getId();
+        assertIds(taskRepository.findByUserId(user.getId()), get("/tasks/user/" + user.getId(), tokenAdmin));
+
+        exchange(HttpMethod.PATCH, "/tasks/" + id, Map.of("userId", other.getId()), tokenAdmin, TaskResponse.class);
+
+        assertFalse(contains(get("/tasks/user/" + user.getId(), tokenAdmin), id));
+        assertTrue(contains(get("/tasks/user/" + other.getId(), tokenAdmin), id));
+        assertIds(taskRepository.findByUserId(other.getId()), get("/tasks/user/" + other.getId(), tokenAdmin));
+    }
+
+    @Test
+    void writesThroughServiceShouldUpdateReadModel() {
+        TaskRequest request = new TaskRequest();
+        request.setTitle("Nova");
+        request.setPriority(Priority.URGENT);
+        request.setStatus(TaskStatus.BLOCKED);
+        request.setDeadline(TODAY.minusDays(1));
+        Long id = exchange(HttpMethod.POST, "/tasks", request, tokenUser, TaskResponse.class).getId();
+
+        assertTrue(contains(get("/tasks/status/BLOCKED", tokenUser), id));
+        assertTrue(contains(get("/tasks/overdue", tokenUser), id));
+
+        exchange(HttpMethod.PATCH, "/tasks/" + id, Map.of("priority", "LOW"), tokenUser, TaskResponse.class);
+        assertFalse(contains(get("/tasks/priority/URGENT", tokenUser), id));
+        assertTrue(contains(get("/tasks/priority/LOW", tokenUser), id));
+
+        exchange(HttpMethod.PATCH, "/tasks/" + id + "/complete", null, tokenUser, TaskResponse.class);
+        assertFalse(contains(get("/tasks/overdue", tokenUser), id));
+        assertTrue(contains(get("/tasks/status/DONE", tokenUser), id));
+
+        exchange(HttpMethod.PUT, "/tasks/" + id, request, tokenAdmin, TaskResponse.class);
+        assertTrue(contains(get("/tasks/filter?status=BLOCKED&priority=URGENT", tokenUser), id));
+
+        exchange(HttpMethod.DELETE, "/tasks/" + id, null, tokenUser, Void.class);
+        assertFalse(contains(get("/tasks/status/DONE", tokenAdmin), id));
+        assertFalse(contains(get("/tasks/status/BLOCKED", tokenAdmin), id));
+    }
+
+    private void assertIds(List<?> expected, TaskResponse[] actual) {
+        List<Long> expectedIds = expected.stream()
+                .map(e -> e instanceof Task task ? task.getId() : (Long) e)
+                .sorted().toList();
+        assertEquals(expectedIds, Arrays.stream(actual).map(TaskResponse::getId).sorted().toList());
+    }
+
+    private boolean contains(TaskResponse[] tasks, Long id) {
+        return Arrays.stream(tasks).anyMatch(t -> t.getId().equals(id));
+    }
+
+    private TaskResponse[] get(String path, String token) {
+        return exchange(HttpMethod.GET, path, null, token, TaskResponse[].class);
+    }
+
+    private <T> T exchange(HttpMethod method, String path, Object body, String token, Class<T> type) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        ResponseEntity<T> response = restTemplate.exchange(baseUrl + path, method, new HttpEntity<>(body, headers), type);
+        assertTrue(response.getStatusCode().is2xxSuccessful(), path + " retornou " + response.getStatusCode());
+        return response.getBody();
+    }
+}
@@ -0,0 +1,206 @@
+package br.com.junior.esig.taskmanager.integration;
+
+import br.com.junior.esig.taskmanager.domain.enums.Frequency;
+import br.com.junior.esig.taskmanager.domain.enums.Priority;
+import br.com.junior.esig.taskmanager.domain.enums.Role;
+import br.com.junior.esig.taskmanager.domain.model.User;
+import br.com.junior.esig.taskmanager.dto.task.TaskRecurrenceRequest;
+import br.com.junior.esig.taskmanager.dto.task.TaskRecurrenceResponse;
+import br.com.junior.esig.taskmanager.dto.task.TaskRequest;
+import br.com.junior.esig.taskmanager.dto.task.TaskResponse;
+import br.com.junior.esig.taskmanager.recurrence.RecurrenceGenerator;
+import br.com.junior.esig.taskmanager.repository.TaskRepository;
+import br.com.junior.esig.taskmanager.repository.UserRepository;
+import br.com.junior.esig.taskmanager.security.jwt.JwtUtil;
+import br.com.junior.esig.taskmanager.support.MutableClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Regra diária com horizonte de 7 dias e relógio controlado. Execuções simultâneas do
+ * gerador disputam as partições e cada ocorrência é criada uma única vez; com um lote por
+ * execução, o trabalho se espalha por várias execuções.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "task.recurrence.enabled=true",
+        "task.recurrence.horizon=P7D",
+        "task.recurrence.partitions=4",
+        "task.recurrence.batch-size=2",
+        "task.recurrence.max-batches-per-run=1",
+        "task.recurrence.interval=PT1H"
+})
+class TaskRecurrenceIntegrationTest {
+
+    private static final ZoneId SAO_PAULO = ZoneId.of("America/Sao_Paulo");
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 10);
+
+    @TestConfiguration
+    static class ClockOverride {
+        @Bean
+        @Primary
+        MutableClock mutableClock() {
+            return new MutableClock(TODAY.atTime(12, 0).atZone(SAO_PAULO).toInstant(), SAO_PAULO);
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private RecurrenceGenerator generator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MutableClock clock;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private String baseUrl;
+    private String tokenUser;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port + "/api";
+        clock.set(TODAY.atTime(12, 0).atZone(SAO_PAULO).toInstant());
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+        userRepository.save(User.builder().username("owner").password("x").role(Role.ROLE_USER).build());
+        tokenUser = jwtUtil.generateToken("owner");
+    }
+
+    @Test
+    void generatorShouldCreateEachOccurrenceOnceUpToTheHorizon() throws Exception {
+        TaskRequest template = new TaskRequest();
+        template.setTitle("Backup diário");
+        template.setPriority(Priority.HIGH);
+        template.setTags(Set.of("ops", "rotina"));
+        Long templateId = send(HttpMethod.POST, "/tasks", TaskResponse.class, template).getId();
+
+        // Início no passado: só as datas a partir de hoje são geradas
+        TaskRecurrenceRequest rule = new TaskRecurrenceRequest();
+        rule.setFrequency(Frequency.DAILY);
+        rule.setStartDate(TODAY.minusDays(5));
+        TaskRecurrenceResponse recurrence = send(HttpMethod.PUT, "/tasks/" + templateId + "/recurrence",
+                TaskRecurrenceResponse.class, rule);
+        assertNull(recurrence.getGeneratedUntil());
+        // Várias regras para o keyset paginar em lotes de 2 dentro das partições
+        for (int i = 0; i < 5; i++) {
+            TaskRequest other = new TaskRequest();
+            other.setTitle("Semanal " + i);
+            Long id = send(HttpMethod.POST, "/tasks", TaskResponse.class, other).getId();
+            TaskRecurrenceRequest weekly = new TaskRecurrenceRequest();
+            weekly.setFrequency(Frequency.WEEKLY);
+            weekly.setStartDate(TODAY);
+            send(HttpMethod.PUT, "/tasks/" + id + "/recurrence", TaskRecurrenceResponse.class, weekly);
+        }
+
+        // 6 regras em 4 partições, lotes de 2: 4 lotes, um por execução
+        int created = 0;
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> runs = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                runs.add(executor.submit(generator::run));
+            }
+            for (Future<Integer> run : runs) {
+                created += run.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        created += runs(4);
+
+        Long recurrenceId = recurrence.getId();
+        assertEquals(TODAY.datesUntil(TODAY.plusDays(8)).toList(), occurrences(recurrenceId));
+        assertEquals(10, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks WHERE recurrence_id <> ?",
+                Integer.class, recurrenceId));
+        assertEquals(18, created);
+        assertEquals(0, generator.run());
+
+        Long instanceId = jdbcTemplate.queryForObject("SELECT id FROM tasks WHERE recurrence_id = ? AND occurrence_date = ?",
+                Long.class, recurrenceId, TODAY);
+        TaskResponse instance = send(HttpMethod.GET, "/tasks/" + instanceId, TaskResponse.class, null);
+        assertEquals("Backup diário", instance.getTitle());
+        assertEquals(Priority.HIGH, instance.getPriority());
+        assertEquals(TODAY, instance.getDeadline());
+        assertEquals(List.of("ops", "rotina"), instance.getTags());
+        assertEquals(TODAY.plusDays(7), send(HttpMethod.GET, "/tasks/" + templateId + "/recurrence",
+                TaskRecurrenceResponse.class, null).getGeneratedUntil());
+
+        // Instâncias não podem virar modelo
+        assertEquals(HttpStatus.BAD_REQUEST, restTemplate.exchange(baseUrl + "/tasks/" + instanceId + "/recurrence",
+                HttpMethod.PUT, new HttpEntity<>(rule, headers()), String.class).getStatusCode());
+
+        // O horizonte anda com o relógio
+        clock.advance(Duration.ofDays(3));
+        assertEquals(3, runs(4));
+        assertEquals(TODAY.datesUntil(TODAY.plusDays(11)).toList(), occurrences(recurrenceId));
+
+        send(HttpMethod.DELETE, "/tasks/" + templateId + "/recurrence", Void.class, null);
+        assertEquals(HttpStatus.NOT_FOUND, restTemplate.exchange(baseUrl + "/tasks/" + templateId + "/recurrence",
+                HttpMethod.GET, new HttpEntity<>(headers()), String.class).getStatusCode());
+        assertEquals(11, occurrences(recurrenceId).size());
+    }
+
+    private int runs(int count) {
+        int created = 0;
+        for (int i = 0; i < count; i++) {
+            created += generator.run();
+        }
+        return created;
+    }
+
+    private List<LocalDate> occurrences(Long recurrenceId) {
+        return jdbcTemplate.queryForList("SELECT occurrence_date FROM tasks WHERE recurrence_id = ? ORDER BY occurrence_date",
+                LocalDate.class, recurrenceId);
+    }
+
+    private <T> T send(HttpMethod method, String path, Class<T> type, Object body) {
+        ResponseEntity<T> response = restTemplate.exchange(baseUrl + path, method, new HttpEntity<>(body, headers()), type);
+        assertTrue(response.getStatusCode().is2xxSuccessful(), path + " retornou " + response.getStatusCode());
+        return response.getBody();
+    }
+
+    private HttpHeaders headers() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(tokenUser);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return headers;
+    }
+}
@@ -0,0 +1,181 @@
+package br.com.junior.esig.taskmanager.integration;
+
+import br.com.junior.esig.taskmanager.domain.enums.Priority;
+import br.com.junior.esig.taskmanager.domain.enums.Role;
+import br.com.junior.esig.taskmanager.domain.model.User;
+import br.com.junior.esig.taskmanager.dto.task.TaskFacetsResponse;
+import br.com.junior.esig.taskmanager.dto.task.TaskRequest;
+import br.com.junior.esig.taskmanager.dto.task.TaskResponse;
+import br.com.junior.esig.taskmanager.readmodel.TaskReadModel;
+import br.com.junior.esig.taskmanager.repository.TaskRepository;
+import br.com.junior.esig.taskmanager.repository.UserRepository;
+import br.com.junior.esig.taskmanager.security.jwt.JwtUtil;
+import br.com.junior.esig.taskmanager.tag.TagIndex;
+import br.com.junior.esig.taskmanager.tag.TagMatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Filtro por rótulos com o read model e o cache de rótulos ligados. "cliente" e "urgente"
+ * ficam em cache (min-tasks=2); "interno" é lido do banco a cada consulta.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "task.read-model.enabled=true",
+        "task.tags.cache.enabled=true",
+        "task.tags.cache.min-tasks=2"
+})
+class TaskTagIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskReadModel readModel;
+
+    @Autowired
+    private TagIndex tagIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private String baseUrl;
+    private String tokenUser;
+    private Long both;
+    private Long client;
+    private Long internal;
+    private Long foreign;
+    private Long ownerId;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port + "/api";
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+        readModel.rebuild();
+
+        ownerId = userRepository.save(User.builder().username("owner").password("x").role(Role.ROLE_USER).build()).getId();
+        User other = userRepository.save(User.builder().username("other").password("x").role(Role.ROLE_USER).build());
+        userRepository.save(User.builder().username("admin").password("x").role(Role.ROLE_ADMIN).build());
+        tokenUser = jwtUtil.generateToken("owner");
+
+        both = create("Ambos", Set.of(" Cliente", "urgente"), null, tokenUser);
+        client = create("Cliente", Set.of("cliente"), null, tokenUser);
+        internal = create("Interna", Set.of("urgente", "interno"), null, tokenUser);
+        create("Sem rótulo", Set.of(), null, tokenUser);
+        foreign = create("Alheia", Set.of("cliente"), other.getId(), jwtUtil.generateToken("admin"));
+        tagIndex.rebuild();
+    }
+
+    @Test
+    void filterShouldCombineTagsWithAllOrAny() {
+        assertEquals(Set.of(both), filter("tag=cliente&tag=urgente"));
+        assertEquals(Set.of(both, client, internal), filter("tag=cliente&tag=urgente&tagMatch=ANY"));
+        assertEquals(Set.of(internal), filter("tag=INTERNO"));
+        assertEquals(Set.of(internal), filter("tag=interno&tag=urgente"));
+        assertEquals(Set.of(), filter("tag=cliente&status=DONE"));
+        assertEquals(Set.of(), filter("tag=inexistente"));
+
+        TaskResponse response = send(HttpMethod.GET, "/tasks/" + both, TaskResponse.class, null);
+        assertEquals(List.of("cliente", "urgente"), response.getTags());
+        assertEquals(List.of("interno", "urgente"), send(HttpMethod.GET, "/tasks/" + internal + "?fields=tags",
+                TaskResponse.class, null).getTags());
+
+        TaskRequest invalid = request("Inválida", Set.of("x".repeat(51)));
+        assertEquals(HttpStatus.BAD_REQUEST, restTemplate.exchange(baseUrl + "/tasks", HttpMethod.POST,
+                new HttpEntity<>(invalid, headers(tokenUser)), String.class).getStatusCode());
+    }
+
+    @Test
+    void facetsAndCacheShouldFollowWrites() {
+        TaskFacetsResponse facets = send(HttpMethod.GET, "/tasks/filter/facets?tag=cliente", TaskFacetsResponse.class, null);
+        assertEquals(2, facets.getTotal());
+        assertEquals(Map.of("cliente", 2L, "urgente", 1L), facets.getTags());
+
+        send(HttpMethod.PATCH, "/tasks/" + client, TaskResponse.class, "{\"tags\":[\"urgente\"]}");
+        assertEquals(Set.of(both), filter("tag=cliente"));
+        assertEquals(3, send(HttpMethod.GET, "/tasks/filter/facets?tag=urgente", TaskFacetsResponse.class, null).getTotal());
+
+        send(HttpMethod.DELETE, "/tasks/" + both, Void.class, null);
+        assertEquals(Set.of(client, internal), filter("tag=urgente"));
+        assertEquals(Set.of(), filter("tag=cliente&tag=urgente&tagMatch=ALL"));
+
+        // O cache mantido pelos eventos bate com a leitura direta do banco
+        TagIndex uncached = new TagIndex(jdbcTemplate, false, 2, 1000);
+        for (String tag : List.of("cliente", "urgente", "interno")) {
+            assertEquals(uncached.match(Set.of(tag), TagMatch.ALL, null), tagIndex.match(Set.of(tag), TagMatch.ALL, null), tag);
+        }
+        // Restrito ao dono: a lista em cache de "cliente" tem a task alheia, "interno" vem do banco
+        assertTrue(tagIndex.match(Set.of("cliente"), TagMatch.ALL, null).contains(foreign.intValue()));
+        assertTrue(tagIndex.match(Set.of("cliente"), TagMatch.ALL, ownerId).isEmpty());
+        assertEquals(RoaringBitmap.bitmapOf(internal.intValue()), tagIndex.match(Set.of("cliente", "interno"), TagMatch.ANY, ownerId));
+        assertEquals(uncached.match(Set.of("urgente", "interno"), TagMatch.ALL, ownerId),
+                tagIndex.match(Set.of("urgente", "interno"), TagMatch.ALL, ownerId));
+        RoaringBitmap selection = RoaringBitmap.bitmapOf(client.intValue(), internal.intValue());
+        assertEquals(Map.of("urgente", 2L), tagIndex.counts(selection, 10));
+        assertEquals(Map.of("urgente", 2L, "interno", 1L), uncached.counts(selection, 10));
+    }
+
+    private Set<Long> filter(String params) {
+        return Arrays.stream(send(HttpMethod.GET, "/tasks/filter?fields=title&" + params, TaskResponse[].class, null))
+                .map(TaskResponse::getId).collect(Collectors.toSet());
+    }
+
+    private Long create(String title, Set<String> tags, Long userId, String token) {
+        TaskRequest request = request(title, tags);
+        request.setUserId(userId);
+        ResponseEntity<TaskResponse> response = restTemplate.exchange(baseUrl + "/tasks", HttpMethod.POST,
+                new HttpEntity<>(request, headers(token)), TaskResponse.class);
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        return response.getBody().getId();
+    }
+
+    private static TaskRequest request(String title, Set<String> tags) {
+        TaskRequest request = new TaskRequest();
+        request.setTitle(title);
+        request.setPriority(Priority.MEDIUM);
+        request.setTags(tags);
+        return request;
+    }
+
+    private <T> T send(HttpMethod method, String path, Class<T> type, String body) {
+        ResponseEntity<T> response = restTemplate.exchange(baseUrl + path, method, new HttpEntity<>(body, headers(tokenUser)), type);
+        assertTrue(response.getStatusCode().is2xxSuccessful(), path + " retornou " + response.getStatusCode());
+        return response.getBody();
+    }
+
+    private static HttpHeaders headers(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return headers;
+    }
+}
@@ -0,0 +1,164 @@
+package br.com.junior.esig.taskmanager.integration;
+
+import br.com.junior.esig.taskmanager.domain.enums.Role;
+import br.com.junior.esig.taskmanager.domain.model.User;
+import br.com.junior.esig.taskmanager.dto.auth.LoginRequest;
+import br.com.junior.esig.taskmanager.dto.auth.LoginResponse;
+import br.com.junior.esig.taskmanager.dto.auth.RefreshRequest;
+import br.com.junior.esig.taskmanager.repository.RevokedTokenRepository;
+import br.com.junior.esig.taskmanager.repository.UserRepository;
+import br.com.junior.esig.taskmanager.security.jwt.JwtUtil;
+import br.com.junior.esig.taskmanager.security.revocation.TokenRevocationList;
+import br.com.junior.esig.taskmanager.support.QueryCountInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.*;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Refresh com rotação e logout: o refresh usado e os tokens do logout param de valer, e um
+ * token não revogado continua sem consulta extra ao banco no JwtFilter.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "classpath:application-test.properties", properties = QueryCountInspector.PROPERTY)
+class TokenRefreshIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TokenRevocationList revocationList;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port + "/api";
+        userRepository.deleteAll();
+        userRepository.save(User.builder().username("ana").password(passwordEncoder.encode("senha")).role(Role.ROLE_USER).build());
+    }
+
+    @Test
+    void refreshShouldRotateAndRejectReuse() {
+        LoginResponse login = restTemplate.postForObject(baseUrl + "/auth/login", new LoginRequest("ana", "senha"), LoginResponse.class);
+        assertNotNull(login.getRefreshToken());
+
+        // Refresh token não serve como access token
+        assertEquals(HttpStatus.FORBIDDEN, getTasks(login.getRefreshToken()));
+
+        ResponseEntity<LoginResponse> refreshed = refresh(login.getRefreshToken(), LoginResponse.class);
+        assertEquals(HttpStatus.OK, refreshed.getStatusCode());
+        assertEquals("ROLE_USER", refreshed.getBody().getRole());
+        assertNotEquals(login.getRefreshToken(), refreshed.getBody().getRefreshToken());
+        assertEquals(HttpStatus.OK, getTasks(refreshed.getBody().getToken()));
+
+        assertEquals(HttpStatus.UNAUTHORIZED, refresh(login.getRefreshToken(), String.class).getStatusCode());
+        assertEquals(HttpStatus.UNAUTHORIZED, refresh(login.getToken(), String.class).getStatusCode());
+        assertEquals(HttpStatus.OK, refresh(refreshed.getBody().getRefreshToken(), LoginResponse.class).getStatusCode());
+    }
+
+    @Test
+    void concurrentRefreshesShouldRotateOnlyOnce() throws Exception {
+        LoginResponse login = restTemplate.postForObject(baseUrl + "/auth/login", new LoginRequest("ana", "senha"), LoginResponse.class);
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<HttpStatusCode>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return refresh(login.getRefreshToken(), String.class).getStatusCode();
+                }));
+            }
+            start.countDown();
+            int ok = 0;
+            for (Future<HttpStatusCode> result : results) {
+                HttpStatusCode status = result.get();
+                if (status == HttpStatus.OK) ok++;
+                else assertEquals(HttpStatus.UNAUTHORIZED, status);
+            }
+            assertEquals(1, ok);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void revocationsFromAnotherInstanceShouldBeSeen() {
+        LoginResponse login = restTemplate.postForObject(baseUrl + "/auth/login", new LoginRequest("ana", "senha"), LoginResponse.class);
+        // Gravadas direto na tabela, como faria outra instância; o filtro local não as conhece
+        for (String token : List.of(login.getToken(), login.getRefreshToken())) {
+            var claims = jwtUtil.parseClaims(token);
+            revokedTokenRepository.insert(claims.getId(), claims.getExpiration().toInstant(), Instant.now());
+        }
+
+        // O refresh confere no banco na hora
+        assertEquals(HttpStatus.UNAUTHORIZED, refresh(login.getRefreshToken(), String.class).getStatusCode());
+        // O access token, na próxima sincronização do filtro
+        revocationList.sync();
+        assertEquals(HttpStatus.FORBIDDEN, getTasks(login.getToken()));
+    }
+
+    @Test
+    void logoutShouldRevokeBothTokens() {
+        LoginResponse login = restTemplate.postForObject(baseUrl + "/auth/login", new LoginRequest("ana", "senha"), LoginResponse.class);
+
+        QueryCountInspector.reset();
+        assertEquals(HttpStatus.OK, getTasks(login.getToken()));
+        // Negativo no Bloom filter: nada de SELECT em revoked_tokens
+        assertTrue(QueryCountInspector.statements().stream().noneMatch(sql -> sql.contains("revoked_tokens")),
+                String.join("\n", QueryCountInspector.statements()));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(login.getToken());
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        ResponseEntity<Void> logout = restTemplate.exchange(baseUrl + "/auth/logout", HttpMethod.POST,
+                new HttpEntity<>(new RefreshRequest(login.getRefreshToken()), headers), Void.class);
+        assertEquals(HttpStatus.NO_CONTENT, logout.getStatusCode());
+        assertTrue(revokedTokenRepository.count() >= 2);
+
+        assertEquals(HttpStatus.FORBIDDEN, getTasks(login.getToken()));
+        assertEquals(HttpStatus.UNAUTHORIZED, refresh(login.getRefreshToken(), String.class).getStatusCode());
+    }
+
+    private HttpStatusCode getTasks(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        return restTemplate.exchange(baseUrl + "/tasks", HttpMethod.GET, new HttpEntity<>(headers), String.class).getStatusCode();
+    }
+
+    private <T> ResponseEntity<T> refresh(String refreshToken, Class<T> type) {
+        return restTemplate.postForEntity(baseUrl + "/auth/refresh", new RefreshRequest(refreshToken), type);
+    }
+}
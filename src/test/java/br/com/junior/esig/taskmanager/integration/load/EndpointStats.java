@@ -0,0 +1,33 @@
+package br.com.junior.esig.taskmanager.integration.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latências de um endpoint. O {@link Recorder} aceita gravações concorrentes sem lock.
+ */
+final class EndpointStats {
+
+    private static final long MAX_TRACKABLE = TimeUnit.MINUTES.toNanos(5);
+
+    private final Recorder recorder = new Recorder(MAX_TRACKABLE, 3);
+    private final LongAdder errors = new LongAdder();
+
+    void record(long latencyNanos, boolean success) {
+        recorder.recordValue(Math.min(latencyNanos, MAX_TRACKABLE));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    Histogram snapshot() {
+        return recorder.getIntervalHistogram();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+}
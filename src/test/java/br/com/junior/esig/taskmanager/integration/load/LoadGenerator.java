@@ -0,0 +1,135 @@
+package br.com.junior.esig.taskmanager.integration.load;
+
+import br.com.junior.esig.taskmanager.domain.enums.Priority;
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import br.com.junior.esig.taskmanager.integration.load.LoadScenario.Operation;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gerador de carga em malha aberta: as chegadas seguem um cronograma fixo
+ * ({@code rate} req/s) independente das respostas, e a latência é medida a partir do
+ * instante planejado. Assim uma pausa do servidor aparece nos percentis em vez de
+ * simplesmente reduzir a taxa (coordinated omission).
+ */
+final class LoadGenerator {
+
+    record SeededUser(String username, String password, String token, long[] taskIds) {
+    }
+
+    private static final Priority[] PRIORITIES = Priority.values();
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private final String baseUrl;
+    private final LoadScenario scenario;
+    private final List<SeededUser> users;
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+
+    LoadGenerator(String baseUrl, LoadScenario scenario, List<SeededUser> users) {
+        this.baseUrl = baseUrl;
+        this.scenario = scenario;
+        this.users = users;
+        scenario.mix().keySet().forEach(operation -> stats.put(operation, new EndpointStats()));
+    }
+
+    LoadReport run() throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(scenario.seed());
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / scenario.ratePerSecond());
+        long start = System.nanoTime();
+        long measureFrom = start + scenario.warmup().toNanos();
+        long end = measureFrom + scenario.duration().toNanos();
+
+        // O executor fecha primeiro (aguarda as requisições pendentes) e só então o client
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try (HttpClient client = HttpClient.newBuilder()
+                .executor(executor)
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(scenario.requestTimeout())
+                .build();
+             executor) {
+
+            for (long i = 0; ; i++) {
+                long intended = start + i * intervalNanos;
+                if (intended >= end) {
+                    break;
+                }
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                Operation operation = scenario.pick(random.nextDouble());
+                HttpRequest request = buildRequest(operation, random);
+                boolean measured = intended >= measureFrom;
+                executor.execute(() -> send(client, operation, request, intended, measured));
+            }
+        }
+
+        return new LoadReport(scenario, stats);
+    }
+
+    private void send(HttpClient client, Operation operation, HttpRequest request, long intended, boolean measured) {
+        boolean success;
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            success = response.statusCode() < 400;
+        } catch (Exception e) {
+            success = false;
+        }
+        if (measured) {
+            stats.get(operation).record(System.nanoTime() - intended, success);
+        }
+    }
+
+    private HttpRequest buildRequest(Operation operation, SplittableRandom random) {
+        SeededUser user = users.get(random.nextInt(users.size()));
+        long taskId = user.taskIds().length > 0 ? user.taskIds()[random.nextInt(user.taskIds().length)] : 0L;
+
+        return switch (operation) {
+            case LOGIN -> json("/auth/login", null)
+                    .POST(body("{\"username\":\"%s\",\"password\":\"%s\"}".formatted(user.username(), user.password())))
+                    .build();
+            case LIST -> json("/tasks", user).GET().build();
+            case FILTER -> json("/tasks/filter?status=%s&priority=%s".formatted(
+                    STATUSES[random.nextInt(STATUSES.length)], PRIORITIES[random.nextInt(PRIORITIES.length)]), user)
+                    .GET().build();
+            case CREATE -> json("/tasks", user)
+                    .POST(body("{\"title\":\"Carga %d\",\"description\":\"Criada pelo harness\",\"priority\":\"%s\",\"deadline\":\"%s\"}"
+                            .formatted(random.nextInt(), PRIORITIES[random.nextInt(PRIORITIES.length)],
+                                    LocalDate.now().plusDays(random.nextInt(30)))))
+                    .build();
+            case PATCH -> json("/tasks/" + taskId, user)
+                    .method("PATCH", body("{\"priority\":\"%s\"}".formatted(PRIORITIES[random.nextInt(PRIORITIES.length)])))
+                    .build();
+            case COMPLETE -> json("/tasks/" + taskId + "/complete", user)
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                    .build();
+        };
+    }
+
+    private HttpRequest.Builder json(String path, SeededUser user) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(scenario.requestTimeout())
+                .header("Content-Type", "application/json");
+        if (user != null) {
+            builder.header("Authorization", "Bearer " + user.token());
+        }
+        return builder;
+    }
+
+    private static HttpRequest.BodyPublisher body(String json) {
+        return HttpRequest.BodyPublishers.ofString(json);
+    }
+}
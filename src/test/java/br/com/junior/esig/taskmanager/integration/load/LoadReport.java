@@ -0,0 +1,75 @@
+package br.com.junior.esig.taskmanager.integration.load;
+
+import br.com.junior.esig.taskmanager.integration.load.LoadScenario.Operation;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Vazão e percentis (p50/p99/p99.9) por endpoint da janela medida.
+ */
+final class LoadReport {
+
+    private final LoadScenario scenario;
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, Long> errors = new EnumMap<>(Operation.class);
+
+    LoadReport(LoadScenario scenario, Map<Operation, EndpointStats> stats) {
+        this.scenario = scenario;
+        stats.forEach((operation, endpoint) -> {
+            histograms.put(operation, endpoint.snapshot());
+            errors.put(operation, endpoint.errors());
+        });
+    }
+
+    double errorRate() {
+        long total = histograms.values().stream().mapToLong(Histogram::getTotalCount).sum();
+        long failed = errors.values().stream().mapToLong(Long::longValue).sum();
+        return total == 0 ? 0 : (double) failed / total;
+    }
+
+    String format() {
+        StringWriter out = new StringWriter();
+        double seconds = scenario.duration().toMillis() / 1000.0;
+        out.append(String.format(Locale.ROOT, "Cenário %s: %d usuários, %d tarefas, %.0f req/s planejadas, %.0fs medidos%n",
+                scenario.name(), scenario.users(), scenario.users() * scenario.tasksPerUser(),
+                scenario.ratePerSecond(), seconds));
+        out.append(String.format(Locale.ROOT, "%-28s %8s %7s %9s %9s %9s %10s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50(ms)", "p99(ms)", "p99.9(ms)", "max(ms)"));
+
+        Histogram all = new Histogram(3);
+        histograms.forEach((operation, histogram) -> {
+            all.add(histogram);
+            out.append(line(operation.endpoint(), histogram, errors.get(operation), seconds));
+        });
+        out.append(line("TOTAL", all, errors.values().stream().mapToLong(Long::longValue).sum(), seconds));
+        return out.toString();
+    }
+
+    void print(PrintStream stream) {
+        stream.print(format());
+    }
+
+    void write(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, format());
+    }
+
+    private static String line(String endpoint, Histogram histogram, long errors, double seconds) {
+        return String.format(Locale.ROOT, "%-28s %8d %7d %9.1f %9.2f %9.2f %10.2f %9.2f%n",
+                endpoint, histogram.getTotalCount(), errors, histogram.getTotalCount() / seconds,
+                ms(histogram.getValueAtPercentile(50)), ms(histogram.getValueAtPercentile(99)),
+                ms(histogram.getValueAtPercentile(99.9)), ms(histogram.getMaxValue()));
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
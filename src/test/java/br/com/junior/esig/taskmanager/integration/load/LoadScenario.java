@@ -0,0 +1,88 @@
+package br.com.junior.esig.taskmanager.integration.load;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Cenário de carga lido de um arquivo {@code .properties} do classpath (ver {@code load/}).
+ */
+record LoadScenario(String name,
+                    int users,
+                    int tasksPerUser,
+                    double ratePerSecond,
+                    Duration warmup,
+                    Duration duration,
+                    Duration requestTimeout,
+                    long seed,
+                    double maxErrorRate,
+                    Map<Operation, Integer> mix) {
+
+    enum Operation {
+        LOGIN("POST /auth/login"),
+        LIST("GET /tasks"),
+        FILTER("GET /tasks/filter"),
+        CREATE("POST /tasks"),
+        PATCH("PATCH /tasks/{id}"),
+        COMPLETE("PATCH /tasks/{id}/complete");
+
+        private final String endpoint;
+
+        Operation(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        String endpoint() {
+            return endpoint;
+        }
+    }
+
+    static LoadScenario load(String resource) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = LoadScenario.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Cenário não encontrado no classpath: " + resource);
+            }
+            properties.load(in);
+        }
+
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            int weight = Integer.parseInt(properties.getProperty("mix." + operation.name().toLowerCase(), "0"));
+            if (weight > 0) {
+                mix.put(operation, weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Cenário sem operações (mix.*): " + resource);
+        }
+
+        return new LoadScenario(
+                properties.getProperty("name", resource),
+                Integer.parseInt(properties.getProperty("users", "20")),
+                Integer.parseInt(properties.getProperty("tasksPerUser", "50")),
+                Double.parseDouble(properties.getProperty("rate", "200")),
+                Duration.parse(properties.getProperty("warmup", "PT5S")),
+                Duration.parse(properties.getProperty("duration", "PT30S")),
+                Duration.parse(properties.getProperty("requestTimeout", "PT10S")),
+                Long.parseLong(properties.getProperty("seed", "42")),
+                Double.parseDouble(properties.getProperty("maxErrorRate", "0.01")),
+                mix);
+    }
+
+    Operation pick(double uniform) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        double target = uniform * total;
+        int accumulated = 0;
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            accumulated += entry.getValue();
+            if (target < accumulated) {
+                return entry.getKey();
+            }
+        }
+        return mix.keySet().iterator().next();
+    }
+}
@@ -0,0 +1,119 @@
+package br.com.junior.esig.taskmanager.integration.load;
+
+import br.com.junior.esig.taskmanager.domain.enums.Priority;
+import br.com.junior.esig.taskmanager.domain.enums.Role;
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import br.com.junior.esig.taskmanager.domain.model.Task;
+import br.com.junior.esig.taskmanager.domain.model.User;
+import br.com.junior.esig.taskmanager.integration.load.LoadGenerator.SeededUser;
+import br.com.junior.esig.taskmanager.repository.TaskRepository;
+import br.com.junior.esig.taskmanager.repository.UserRepository;
+import br.com.junior.esig.taskmanager.security.jwt.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sobe a aplicação no perfil de teste (H2), popula o banco e executa um cenário de carga.
+ * Só roda quando o cenário é informado:
+ *
+ * <pre>mvn test -Dtest=LoadTest -Dloadtest.scenario=load/smoke.properties</pre>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "spring.jpa.show-sql=false",
+        // Evita que o Tomcat feche conexões keep-alive no meio da carga (erro de IO no client)
+        "server.tomcat.max-keep-alive-requests=-1",
+        "logging.level.br.com.junior.esig=WARN",
+        "logging.level.org.springframework.security=WARN",
+        "logging.level.org.springframework.web=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@EnabledIfSystemProperty(named = "loadtest.scenario", matches = ".+")
+class LoadTest {
+
+    private static final String PASSWORD = "load123";
+    private static final int BATCH = 1_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void runScenario() throws Exception {
+        LoadScenario scenario = LoadScenario.load(System.getProperty("loadtest.scenario"));
+        List<SeededUser> users = seed(scenario);
+
+        LoadReport report = new LoadGenerator("http://localhost:" + port + "/api", scenario, users).run();
+        report.print(System.out);
+        report.write(Path.of("target", "load", scenario.name() + ".txt"));
+
+        assertTrue(report.errorRate() <= scenario.maxErrorRate(),
+                "Taxa de erro acima do limite do cenário: " + report.errorRate());
+    }
+
+    private List<SeededUser> seed(LoadScenario scenario) {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+
+        SplittableRandom random = new SplittableRandom(scenario.seed());
+        String encoded = passwordEncoder.encode(PASSWORD);
+        List<SeededUser> seeded = new ArrayList<>(scenario.users());
+
+        for (int u = 0; u < scenario.users(); u++) {
+            User user = userRepository.save(User.builder()
+                    .username("load-user-" + u)
+                    .password(encoded)
+                    .role(Role.ROLE_USER)
+                    .build());
+
+            List<Task> tasks = new ArrayList<>(scenario.tasksPerUser());
+            long[] ids = new long[scenario.tasksPerUser()];
+            int saved = 0;
+            for (int t = 0; t < scenario.tasksPerUser(); t++) {
+                tasks.add(Task.builder()
+                        .title("Tarefa " + t + " de " + user.getUsername())
+                        .description("Gerada pelo harness de carga")
+                        .responsible("Responsável " + random.nextInt(20))
+                        .priority(Priority.values()[random.nextInt(Priority.values().length)])
+                        .status(TaskStatus.values()[random.nextInt(TaskStatus.values().length)])
+                        .deadline(LocalDate.now().plusDays(random.nextInt(-30, 60)))
+                        .user(user)
+                        .build());
+                if (tasks.size() == BATCH || t == scenario.tasksPerUser() - 1) {
+                    for (Task task : taskRepository.saveAll(tasks)) {
+                        ids[saved++] = task.getId();
+                    }
+                    tasks.clear();
+                }
+            }
+
+            seeded.add(new SeededUser(user.getUsername(), PASSWORD, jwtUtil.generateToken(user.getUsername()), ids));
+        }
+        return seeded;
+    }
+}
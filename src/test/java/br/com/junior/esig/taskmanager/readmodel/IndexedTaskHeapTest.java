@@ -0,0 +1,72 @@
+package br.com.junior.esig.taskmanager.readmodel;
+
+import br.com.junior.esig.taskmanager.domain.enums.Priority;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexedTaskHeapTest {
+
+    private static final LocalDate BASE_DAY = LocalDate.of(2025, 1, 1);
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    void rankShouldOrderByPriorityThenDeadlineThenAge() {
+        long urgentNoDeadline = TaskRank.of(Priority.URGENT, null, BASE_TIME);
+        long highToday = TaskRank.of(Priority.HIGH, BASE_DAY, BASE_TIME);
+        long highTomorrow = TaskRank.of(Priority.HIGH, BASE_DAY.plusDays(1), BASE_TIME);
+        long highTomorrowNewer = TaskRank.of(Priority.HIGH, BASE_DAY.plusDays(1), BASE_TIME.plusSeconds(1));
+        long highNoDeadline = TaskRank.of(Priority.HIGH, null, BASE_TIME);
+        long noPriority = TaskRank.of(null, BASE_DAY, BASE_TIME);
+
+        long[] ordered = {urgentNoDeadline, highToday, highTomorrow, highTomorrowNewer, highNoDeadline, noPriority};
+        for (int i = 1; i < ordered.length; i++) {
+            assertTrue(TaskRank.compare(ordered[i - 1], 1, ordered[i], 1) < 0, "posição " + i);
+        }
+        // Empate total: menor id primeiro
+        assertTrue(TaskRank.compare(highToday, 1, highToday, 2) < 0);
+    }
+
+    @Test
+    void topShouldMatchFullSortUnderRandomUpdates() {
+        Random random = new Random(42);
+        Priority[] priorities = Priority.values();
+        IndexedTaskHeap heap = new IndexedTaskHeap(4);
+        Map<Long, Long> expected = new HashMap<>();
+
+        for (int op = 0; op < 20_000; op++) {
+            long id = random.nextInt(500);
+            if (random.nextInt(5) == 0) {
+                assertEquals(expected.remove(id) != null, heap.remove(id));
+            } else {
+                long rank = TaskRank.of(
+                        random.nextInt(8) == 0 ? null : priorities[random.nextInt(priorities.length)],
+                        random.nextInt(4) == 0 ? null : BASE_DAY.plusDays(random.nextInt(60)),
+                        BASE_TIME.plusSeconds(random.nextInt(1000)));
+                heap.upsert(id, rank);
+                expected.put(id, rank);
+            }
+
+            if (op % 100 == 0) {
+                int k = 1 + random.nextInt(30);
+                assertArrayEquals(sortedTop(expected, k), heap.top(k), "operação " + op);
+                assertEquals(expected.size(), heap.size());
+            }
+        }
+        assertArrayEquals(sortedTop(expected, expected.size()), heap.top(expected.size() + 10));
+    }
+
+    private static long[] sortedTop(Map<Long, Long> ranks, int k) {
+        List<Map.Entry<Long, Long>> entries = new ArrayList<>(ranks.entrySet());
+        entries.sort((a, b) -> TaskRank.compare(a.getValue(), a.getKey(), b.getValue(), b.getKey()));
+        return entries.stream().limit(k).mapToLong(Map.Entry::getKey).toArray();
+    }
+}
@@ -0,0 +1,90 @@
+package br.com.junior.esig.taskmanager.readmodel.collection;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimitiveMapsTest {
+
+    private static final int TASKS = 200_000;
+    private static final int OWNERS = 2_000;
+
+    @Test
+    void longIntHashMapShouldBehaveLikeHashMap() {
+        SplittableRandom random = new SplittableRandom(7);
+        LongIntHashMap map = new LongIntHashMap(4, -1);
+        Map<Long, Integer> reference = new HashMap<>();
+
+        for (int op = 0; op < 200_000; op++) {
+            // Poucas chaves (inclusive 0 e negativas) para forçar colisões, remoções e rehash
+            long key = random.nextLong(-50, 5_000);
+            int value = random.nextInt();
+            switch (random.nextInt(3)) {
+                case 0 -> assertEquals(reference.getOrDefault(key, -1), map.get(key));
+                case 1 -> assertEquals(orMissing(reference.put(key, value)), map.put(key, value));
+                default -> assertEquals(orMissing(reference.remove(key)), map.remove(key));
+            }
+            assertEquals(reference.size(), map.size());
+        }
+        reference.forEach((key, value) -> assertEquals(value, map.get(key)));
+    }
+
+    @Test
+    void longObjectHashMapShouldBehaveLikeHashMap() {
+        SplittableRandom random = new SplittableRandom(11);
+        LongObjectHashMap<String> map = new LongObjectHashMap<>(4);
+        Map<Long, String> reference = new HashMap<>();
+
+        for (int op = 0; op < 100_000; op++) {
+            long key = random.nextLong(-50, 2_000);
+            String value = "v" + random.nextInt(100);
+            switch (random.nextInt(3)) {
+                case 0 -> assertEquals(reference.get(key), map.get(key));
+                case 1 -> assertEquals(reference.put(key, value), map.put(key, value));
+                default -> assertEquals(reference.remove(key), map.remove(key));
+            }
+            assertEquals(reference.size(), map.size());
+        }
+    }
+
+    /**
+     * Comparação de memória (JOL) com os equivalentes boxed para 200 mil tasks e 2 mil donos.
+     */
+    @Test
+    void primitiveIndexesShouldUseFractionOfBoxedFootprint() {
+        SplittableRandom random = new SplittableRandom(42);
+        Map<Long, Integer> boxedSlots = new HashMap<>();
+        Map<Long, List<Long>> boxedOwners = new HashMap<>();
+        LongIntHashMap slots = new LongIntHashMap(16, -1);
+        LongObjectHashMap<RoaringBitmap> owners = new LongObjectHashMap<>(16);
+
+        for (int i = 0; i < TASKS; i++) {
+            long taskId = 1_000_000L + i;
+            long owner = 1 + random.nextInt(OWNERS);
+            boxedSlots.put(taskId, i);
+            boxedOwners.computeIfAbsent(owner, o -> new ArrayList<>()).add(taskId);
+            slots.put(taskId, i);
+            owners.computeIfAbsent(owner, o -> new RoaringBitmap()).add((int) taskId);
+        }
+
+        long boxedSlotBytes = GraphLayout.parseInstance(boxedSlots).totalSize();
+        long slotBytes = GraphLayout.parseInstance(slots).totalSize();
+        long boxedOwnerBytes = GraphLayout.parseInstance(boxedOwners).totalSize();
+        long ownerBytes = GraphLayout.parseInstance(owners).totalSize();
+
+        assertTrue(slotBytes * 2 < boxedSlotBytes, "LongIntHashMap deveria ocupar menos da metade do HashMap");
+        assertTrue(ownerBytes * 3 < boxedOwnerBytes, "índice de donos deveria ocupar menos de 1/3 do HashMap");
+    }
+
+    private static int orMissing(Integer value) {
+        return value != null ? value : -1;
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.junior.esig.taskmanager.recurrence;
+
+import br.com.junior.esig.taskmanager.domain.enums.Frequency;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecurrenceScheduleTest {
+
+    @Test
+    void monthlyFromThe31stShouldClampWithoutDrifting() {
+        LocalDate start = LocalDate.of(2024, 1, 31);
+        assertEquals(List.of(start, LocalDate.of(2024, 2, 29), LocalDate.of(2024, 3, 31), LocalDate.of(2024, 4, 30)),
+                RecurrenceSchedule.between(Frequency.MONTHLY, 1, start, null, LocalDate.of(2024, 5, 1)));
+        // Retomar depois de fevereiro continua no 31
+        assertEquals(List.of(LocalDate.of(2024, 3, 31)),
+                RecurrenceSchedule.between(Frequency.MONTHLY, 1, start, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 4, 29)));
+    }
+
+    @Test
+    void intervalAndBoundsShouldBeRespected() {
+        LocalDate start = LocalDate.of(2024, 6, 3);
+        assertEquals(List.of(LocalDate.of(2024, 6, 17), LocalDate.of(2024, 7, 1)),
+                RecurrenceSchedule.between(Frequency.WEEKLY, 2, start, LocalDate.of(2024, 6, 3), LocalDate.of(2024, 7, 1)));
+        assertEquals(List.of(LocalDate.of(2024, 6, 12), LocalDate.of(2024, 6, 15)),
+                RecurrenceSchedule.between(Frequency.DAILY, 3, start, LocalDate.of(2024, 6, 10), LocalDate.of(2024, 6, 16)));
+        assertEquals(List.of(),
+                RecurrenceSchedule.between(Frequency.DAILY, 1, start, LocalDate.of(2024, 6, 20), LocalDate.of(2024, 6, 20)));
+        // Início depois do fim da janela
+        assertEquals(List.of(),
+                RecurrenceSchedule.between(Frequency.DAILY, 1, start, null, LocalDate.of(2024, 6, 2)));
+    }
+}
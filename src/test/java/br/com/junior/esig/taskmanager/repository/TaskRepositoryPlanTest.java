@@ -0,0 +1,118 @@
+package br.com.junior.esig.taskmanager.repository;
+
+import br.com.junior.esig.taskmanager.domain.enums.Priority;
+import br.com.junior.esig.taskmanager.domain.enums.TaskStatus;
+import br.com.junior.esig.taskmanager.domain.model.User;
+import br.com.junior.esig.taskmanager.seed.SeedSettings;
+import br.com.junior.esig.taskmanager.seed.SyntheticDataGenerator;
+import br.com.junior.esig.taskmanager.support.QueryCountInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Roda EXPLAIN para cada consulta do TaskRepository sobre uma base populada pelo seeder
+ * e falha se uma consulta com predicado indexável fizer table scan em {@code tasks}
+ * acima do limite de linhas.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        QueryCountInspector.PROPERTY,
+        "spring.jpa.show-sql=false"
+})
+class TaskRepositoryPlanTest {
+
+    private static final long SEED = 11L;
+    private static final long ROW_THRESHOLD = 1_000;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+    private long rows;
+
+    @BeforeAll
+    void seed() throws Exception {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+        // As tabelas de controle do seeder não são recriadas pelo Hibernate entre contextos
+        jdbcTemplate.execute("DROP TABLE IF EXISTS seed_chunks");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS seed_runs");
+
+        new SyntheticDataGenerator(dataSource, new SeedSettings(200, 50_000, SEED, 10_000, 1_000, 2), "x").run();
+        jdbcTemplate.execute("ANALYZE");
+
+        owner = userRepository.findByUsername(SyntheticDataGenerator.usernameFor(SEED, 0)).orElseThrow();
+        rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks", Long.class);
+    }
+
+    Stream<Arguments> queries() {
+        LocalDate today = LocalDate.now();
+        LocalDate nextWeek = today.plusDays(7);
+        return Stream.of(
+                query("findByStatus", () -> taskRepository.findByStatus(TaskStatus.BLOCKED), "BLOCKED"),
+                query("findByPriority", () -> taskRepository.findByPriority(Priority.URGENT), "URGENT"),
+                query("findByDeadlineBetween", () -> taskRepository.findByDeadlineBetween(today, nextWeek), today, nextWeek),
+                query("findByDeadlineBeforeAndStatusNot",
+                        () -> taskRepository.findByDeadlineBeforeAndStatusNot(today.minusDays(300), TaskStatus.DONE),
+                        today.minusDays(300), "DONE"),
+                query("findByUser", () -> taskRepository.findByUser(owner), owner.getId()),
+                query("findByUserId", () -> taskRepository.findByUserId(owner.getId()), owner.getId()),
+                query("findByUserAndStatus", () -> taskRepository.findByUserAndStatus(owner, TaskStatus.TODO),
+                        owner.getId(), "TODO"),
+                query("findByUserAndPriority", () -> taskRepository.findByUserAndPriority(owner, Priority.HIGH),
+                        owner.getId(), "HIGH"),
+                query("findByUserAndDeadlineBetween",
+                        () -> taskRepository.findByUserAndDeadlineBetween(owner, today, nextWeek),
+                        owner.getId(), today, nextWeek),
+                query("findByUserAndDeadlineBeforeAndStatusNot",
+                        () -> taskRepository.findByUserAndDeadlineBeforeAndStatusNot(owner, today, TaskStatus.DONE),
+                        owner.getId(), today, "DONE"),
+                query("findBoardByUserId", () -> taskRepository.findBoardByUserId(owner.getId(), 50), owner.getId(), 50),
+                query("findBoardColumn",
+                        () -> taskRepository.findBoardColumn("REVIEW", 1, today, 0L, 51), "REVIEW", 1, today, 0L, 51),
+                query("findBoardColumnByUserId",
+                        () -> taskRepository.findBoardColumnByUserId(owner.getId(), "TODO", 1, today, 0L, 51),
+                        owner.getId(), "TODO", 1, today, 0L, 51));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("queries")
+    void indexedQueryShouldNotScanTasks(String name, Runnable invocation, Object[] params) {
+        QueryCountInspector.reset();
+        invocation.run();
+        List<String> statements = QueryCountInspector.statements();
+        assertEquals(1, statements.size(), name + " deveria executar um único SELECT: " + statements);
+
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + statements.get(0), String.class, params);
+        assertFalse(rows > ROW_THRESHOLD && plan.contains("PUBLIC.TASKS.tableScan"),
+                name + " fez table scan em tasks (" + rows + " linhas):\n" + plan);
+    }
+
+    private static Arguments query(String name, Runnable invocation, Object... params) {
+        return Arguments.of(name, invocation, params);
+    }
+}
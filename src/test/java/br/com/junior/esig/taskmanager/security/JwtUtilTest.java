@@ -1,6 +1,7 @@
 package br.com.junior.esig.taskmanager.security;
 
 import br.com.junior.esig.taskmanager.security.jwt.JwtUtil;
+import io.jsonwebtoken.Claims;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -43,4 +44,17 @@ class JwtUtilTest {
     void shouldRejectEmptyToken() {
         assertFalse(jwtUtil.validateToken(""));
     }
-}
\ No newline at end of file
+
+    @Test
+    void refreshTokenShouldBeMarkedAndEveryTokenShouldHaveOwnJti() {
+        Claims access = jwtUtil.parseClaims(jwtUtil.generateToken("testuser"));
+        Claims refresh = jwtUtil.parseClaims(jwtUtil.generateRefreshToken("testuser"));
+
+        assertFalse(JwtUtil.isRefreshToken(access));
+        assertTrue(JwtUtil.isRefreshToken(refresh));
+        assertEquals("testuser", refresh.getSubject());
+        assertNotNull(access.getId());
+        assertNotEquals(access.getId(), refresh.getId());
+        assertTrue(refresh.getExpiration().after(access.getExpiration()));
+    }
+}
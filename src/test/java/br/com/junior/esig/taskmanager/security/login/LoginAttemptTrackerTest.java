@@ -0,0 +1,77 @@
+package br.com.junior.esig.taskmanager.security.login;
+
+import br.com.junior.esig.taskmanager.support.MutableClock;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginAttemptTrackerTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-03-01T10:00:00Z"), ZoneOffset.UTC);
+
+    private LoginAttemptTracker tracker(int maxEntries) {
+        return new LoginAttemptTracker(true, clock, 2, 4, Duration.ofSeconds(1), Duration.ofSeconds(10),
+                Duration.ofHours(1), maxEntries);
+    }
+
+    @Test
+    void failuresBeyondFreeShouldBackOffExponentially() {
+        LoginAttemptTracker tracker = tracker(1000);
+        tracker.failed("ana", "10.0.0.1");
+        tracker.failed("ana", "10.0.0.1");
+        assertEquals(0, tracker.retryAfterMillis("ana", "10.0.0.1"));
+
+        long[] expected = {1000, 2000, 4000, 8000, 10000, 10000};
+        for (long delay : expected) {
+            tracker.failed("ana", "10.0.0.2");
+            assertEquals(delay, tracker.retryAfterMillis("ana", "10.0.0.9"));
+        }
+
+        clock.advance(Duration.ofSeconds(10));
+        assertEquals(0, tracker.retryAfterMillis("ana", "10.0.0.9"));
+        tracker.succeeded("ana");
+        tracker.failed("ana", "10.0.0.3");
+        assertEquals(0, tracker.retryAfterMillis("ana", "10.0.0.3"));
+    }
+
+    @Test
+    void ipShouldBeBlockedAcrossUsernames() {
+        LoginAttemptTracker tracker = tracker(1000);
+        for (int i = 0; i < 5; i++) {
+            tracker.failed("user" + i, "10.0.0.1");
+        }
+        assertEquals(1000, tracker.retryAfterMillis("outro", "10.0.0.1"));
+        assertEquals(0, tracker.retryAfterMillis("outro", "10.0.0.2"));
+
+        // Um login certo não limpa o IP
+        tracker.succeeded("user0");
+        assertEquals(1000, tracker.retryAfterMillis("user0", "10.0.0.1"));
+    }
+
+    @Test
+    void oldFailuresShouldBeForgotten() {
+        LoginAttemptTracker tracker = tracker(1000);
+        tracker.failed("ana", "10.0.0.1");
+        tracker.failed("ana", "10.0.0.1");
+        clock.advance(Duration.ofHours(2));
+        tracker.failed("ana", "10.0.0.1");
+        assertEquals(0, tracker.retryAfterMillis("ana", "10.0.0.1"));
+    }
+
+    @Test
+    void entriesShouldStayBounded() {
+        LoginAttemptTracker tracker = tracker(16);
+        for (int i = 0; i < 3; i++) {
+            tracker.failed("ana", "10.0.0.1");
+        }
+        // Chaves novas empurram as antigas para fora de cada faixa LRU
+        for (int i = 0; i < 10_000; i++) {
+            tracker.failed("spray" + i, "10.1." + (i / 256) + "." + (i % 256));
+        }
+        assertEquals(0, tracker.retryAfterMillis("ana", "10.0.0.2"));
+    }
+}
@@ -0,0 +1,72 @@
+package br.com.junior.esig.taskmanager.security.password;
+
+import br.com.junior.esig.taskmanager.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    @Test
+    void shouldDelegateAndKeepCostPolicy() {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), 1, 1, Duration.ofSeconds(5));
+        try {
+            String hash = encoder.encode("segredo");
+            assertTrue(hash.startsWith("$2a$05$"));
+            assertTrue(encoder.matches("segredo", hash));
+            assertFalse(encoder.matches("errada", hash));
+            assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("segredo")));
+            assertFalse(encoder.upgradeEncoding(hash));
+        } finally {
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    void shouldShedWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder slow = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(slow, 1, 1, Duration.ofSeconds(5));
+        try {
+            // Uma ocupando a thread, outra na fila: a terceira é recusada na hora
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("b", "b"));
+            while (encoder.queued() == 0) {
+                Thread.onSpinWait();
+            }
+            ServiceOverloadedException e = assertThrows(ServiceOverloadedException.class, () -> encoder.matches("c", "c"));
+            assertEquals(1, e.getRetryAfterSeconds());
+
+            release.countDown();
+            assertEquals("a", running.get(5, TimeUnit.SECONDS));
+            assertTrue(queued.get(5, TimeUnit.SECONDS));
+        } finally {
+            encoder.destroy();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.junior.esig.taskmanager.security.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void limitShouldDecreaseOnSlowResponsesAndGrowUnderLoad() {
+        long target = SECOND / 2;
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 2, 20, target);
+        long now = System.nanoTime();
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limit.tryAcquire());
+        }
+        assertFalse(limit.tryAcquire());
+
+        limit.release(target * 2, now);
+        limit.release(target * 2, now);
+        assertEquals(9, limit.limit());
+
+        // 8 ainda em andamento, acima da metade do limite: 9 respostas rápidas sobem 1
+        for (int i = 0; i < 9; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(1, now);
+        }
+        assertEquals(10, limit.limit());
+        assertEquals(8, limit.inflight());
+    }
+}
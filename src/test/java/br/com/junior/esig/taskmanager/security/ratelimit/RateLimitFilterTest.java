@@ -0,0 +1,60 @@
+package br.com.junior.esig.taskmanager.security.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    // Uma vaga e latência alvo de 1 ms: qualquer requisição contada lenta reduz ou ocupa o limite
+    private final RateLimitFilter filter = new RateLimitFilter(true, 100, 100, 1000, 1, 1, 1, Duration.ofMillis(1));
+
+    @Test
+    void attachmentTransfersShouldBypassTheConcurrencyLimit() throws Exception {
+        MockHttpServletResponse inner = new MockHttpServletResponse();
+        MockHttpServletResponse download = new MockHttpServletResponse();
+        // Durante um download lento, outra requisição ainda tem a vaga
+        filter.doFilter(request("GET", "/tasks/1/attachments/2"), download, new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response) {
+                try {
+                    filter.doFilter(request("GET", "/tasks/filter"), inner, new MockFilterChain());
+                    Thread.sleep(20);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+        assertEquals(200, download.getStatus());
+        assertEquals(200, inner.getStatus());
+        filter.doFilter(request("POST", "/tasks/1/attachments"), new MockHttpServletResponse(), new MockFilterChain());
+
+        // A listagem de anexos é uma requisição comum
+        MockHttpServletResponse listing = new MockHttpServletResponse();
+        filter.doFilter(request("GET", "/tasks/1/attachments"), listing, new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response) {
+                MockHttpServletResponse nested = new MockHttpServletResponse();
+                try {
+                    filter.doFilter(request("GET", "/tasks/filter"), nested, new MockFilterChain());
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                assertEquals(503, nested.getStatus());
+            }
+        });
+        assertEquals(1, filter.concurrencyLimit());
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api" + path);
+        request.setContextPath("/api");
+        request.setServletPath(path);
+        return request;
+    }
+}
@@ -0,0 +1,52 @@
+package br.com.junior.esig.taskmanager.security.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserRateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void shouldAllowBurstThenRefillAtRate() {
+        UserRateLimiter limiter = new UserRateLimiter(10, 5, 100);
+        long now = 42 * SECOND;
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("ana", now));
+        }
+        long wait = limiter.tryAcquire("ana", now);
+        assertEquals(SECOND / 10, wait);
+        assertEquals(0, limiter.tryAcquire("bia", now));
+
+        assertEquals(0, limiter.tryAcquire("ana", now + wait));
+        assertTrue(limiter.tryAcquire("ana", now + wait) > 0);
+    }
+
+    @Test
+    void idleBucketsShouldBeEvictedWithoutLosingState() {
+        UserRateLimiter limiter = new UserRateLimiter(10, 2, 100);
+        long now = -5 * SECOND;
+        limiter.tryAcquire("ana", now);
+        limiter.tryAcquire("bia", now);
+        limiter.tryAcquire("bia", now);
+
+        // ana recupera a ficha em 100ms, bia só em 200ms
+        assertEquals(1, limiter.evictIdle(now + SECOND / 10));
+        assertEquals(1, limiter.size());
+        assertEquals(0, limiter.tryAcquire("bia", now + SECOND / 10));
+        assertTrue(limiter.tryAcquire("bia", now + SECOND / 10) > 0);
+    }
+
+    @Test
+    void newKeysBeyondCapacityShouldShareOverflowBucket() {
+        UserRateLimiter limiter = new UserRateLimiter(1, 1, 2);
+        long now = System.nanoTime();
+        assertEquals(0, limiter.tryAcquire("a", now));
+        assertEquals(0, limiter.tryAcquire("b", now));
+        assertEquals(0, limiter.tryAcquire("c", now));
+        assertTrue(limiter.tryAcquire("d", now) > 0);
+        assertEquals(2, limiter.size());
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.junior.esig.taskmanager.security.revocation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void shouldHaveNoFalseNegativesAndBoundedFalsePositives() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        String[] inserted = new String[10_000];
+        for (int i = 0; i < inserted.length; i++) {
+            inserted[i] = UUID.randomUUID().toString();
+            filter.put(inserted[i]);
+        }
+        for (String jti : inserted) {
+            assertTrue(filter.mightContain(jti));
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        // Bits arredondados para potência de 2: a taxa real fica abaixo do 1% pedido
+        assertTrue(falsePositives < probes * 0.01, "falsos positivos: " + falsePositives);
+        assertEquals(0, Long.bitCount(filter.bitSize()) - 1);
+    }
+}
@@ -0,0 +1,165 @@
+package br.com.junior.esig.taskmanager.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final int FOLLOWERS = 8;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void concurrentCallsWithSameKeyShouldShareOneExecution() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(registry, true, Duration.ZERO);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        List<String> result = List.of("a", "b");
+
+        ExecutorService executor = Executors.newFixedThreadPool(FOLLOWERS + 1);
+        try {
+            List<Future<List<String>>> calls = new ArrayList<>();
+            calls.add(executor.submit(() -> singleFlight.execute("overdue", "k", () -> {
+                executions.incrementAndGet();
+                await(release);
+                return result;
+            })));
+            awaitCount("executed", 1);
+            for (int i = 0; i < FOLLOWERS; i++) {
+                calls.add(executor.submit(() -> singleFlight.execute("overdue", "k", () -> {
+                    executions.incrementAndGet();
+                    return List.of();
+                })));
+            }
+            awaitCount("coalesced", FOLLOWERS);
+            release.countDown();
+
+            for (Future<List<String>> call : calls) {
+                assertSame(result, call.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, executions.get());
+        assertEquals(0, singleFlight.inFlight());
+
+        // Sem TTL, a próxima leitura vai ao banco de novo
+        singleFlight.execute("overdue", "k", executions::incrementAndGet);
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void failureShouldReachFollowersAndNotStick() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(registry, true, Duration.ZERO);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> leader = executor.submit(() -> singleFlight.execute("status", "k", () -> {
+                await(release);
+                throw new IllegalStateException("banco fora");
+            }));
+            awaitCount("executed", 1);
+            Future<Object> follower = executor.submit(() -> singleFlight.execute("status", "k", () -> "outro"));
+            awaitCount("coalesced", 1);
+            release.countDown();
+
+            for (Future<Object> call : List.of(leader, follower)) {
+                Exception e = assertThrows(Exception.class, () -> call.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(IllegalStateException.class, e.getCause());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals("ok", singleFlight.execute("status", "k", () -> "ok"));
+    }
+
+    @Test
+    void errorShouldReachFollowersAndNotStick() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(registry, true, Duration.ZERO);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> leader = executor.submit(() -> singleFlight.execute("status", "k", () -> {
+                await(release);
+                throw new OutOfMemoryError("sem memória");
+            }));
+            awaitCount("executed", 1);
+            Future<Object> follower = executor.submit(() -> singleFlight.execute("status", "k", () -> "outro"));
+            awaitCount("coalesced", 1);
+            release.countDown();
+
+            for (Future<Object> call : List.of(leader, follower)) {
+                Exception e = assertThrows(Exception.class, () -> call.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(OutOfMemoryError.class, e.getCause());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(0, singleFlight.inFlight());
+        assertEquals("ok", singleFlight.execute("status", "k", () -> "ok"));
+    }
+
+    @Test
+    void sweepShouldDropExpiredResults() throws InterruptedException {
+        SingleFlight singleFlight = new SingleFlight(registry, true, Duration.ofMillis(1));
+        for (int i = 0; i < 10; i++) {
+            singleFlight.execute("filter", "k" + i, () -> "r");
+        }
+        assertEquals(10, singleFlight.inFlight());
+        Thread.sleep(5);
+        singleFlight.sweep();
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    void resultShouldBeReusedWithinTtl() {
+        SingleFlight singleFlight = new SingleFlight(registry, true, Duration.ofMinutes(1));
+        AtomicInteger executions = new AtomicInteger();
+
+        assertEquals(1, singleFlight.execute("all", "k", executions::incrementAndGet));
+        assertEquals(1, singleFlight.execute("all", "k", executions::incrementAndGet));
+        assertEquals(2, singleFlight.execute("all", "outra", executions::incrementAndGet));
+        assertEquals(1, registry.counter("task.reads", "operation", "all", "result", "cached").count());
+    }
+
+    @Test
+    void disabledShouldAlwaysExecute() {
+        SingleFlight singleFlight = new SingleFlight(registry, false, Duration.ofMinutes(1));
+        AtomicInteger executions = new AtomicInteger();
+
+        singleFlight.execute("all", "k", executions::incrementAndGet);
+        singleFlight.execute("all", "k", executions::incrementAndGet);
+        assertEquals(2, executions.get());
+    }
+
+    private void awaitCount(String result, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.find("task.reads").tag("result", result).counters().stream()
+                .mapToDouble(c -> c.count()).sum() < expected) {
+            assertTrue(System.nanoTime() < deadline, "esperando " + expected + " " + result);
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
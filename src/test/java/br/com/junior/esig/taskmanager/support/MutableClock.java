@@ -0,0 +1,47 @@
+package br.com.junior.esig.taskmanager.support;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+
+/**
+ * Relógio controlado pelo teste: permite avançar o instante e trocar o fuso em tempo de execução.
+ */
+public class MutableClock extends Clock {
+
+    private volatile Instant instant;
+    private volatile ZoneId zone;
+
+    public MutableClock(Instant instant, ZoneId zone) {
+        this.instant = instant;
+        this.zone = zone;
+    }
+
+    public void set(Instant instant) {
+        this.instant = instant;
+    }
+
+    public void advance(Duration duration) {
+        this.instant = instant.plus(duration);
+    }
+
+    public void setZone(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return Clock.fixed(instant, zone);
+    }
+
+    @Override
+    public Instant instant() {
+        return instant;
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.junior.esig.taskmanager.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Registra todo SQL preparado pelo Hibernate. Ativado nos testes via
+ * {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}.
+ * O registro é global: os testes fazem uma requisição por vez e leem o total em seguida.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    public static final String PROPERTY =
+            "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                    "br.com.junior.esig.taskmanager.support.QueryCountInspector";
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    public static void reset() {
+        STATEMENTS.clear();
+    }
+
+    public static int count() {
+        return STATEMENTS.size();
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS);
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.junior.esig.taskmanager.tag;
+
+import br.com.junior.esig.taskmanager.domain.event.TaskTagsChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TagIndexTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final TagIndex index = new TagIndex(jdbcTemplate, true, 1, 10);
+
+    @Test
+    void uncachedTagShouldBeLoadedWithoutHoldingTheLock() throws Exception {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(), any())).thenReturn(List.of());
+        index.rebuild();
+
+        doAnswer(inv -> {
+            // Um evento de outra thread precisa do lock de escrita enquanto o banco responde
+            CompletableFuture.runAsync(() -> index.on(new TaskTagsChangedEvent(1L, Set.of("a"), Set.of())))
+                    .get(5, TimeUnit.SECONDS);
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getLong("task_id")).thenReturn(7L);
+            inv.<RowCallbackHandler>getArgument(1).processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq("a"));
+
+        assertEquals(RoaringBitmap.bitmapOf(7), index.match(List.of("a"), TagMatch.ALL, null));
+    }
+
+    @Test
+    void eventsDuringRebuildShouldNotWaitAndShouldBeReplayed() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(), any())).thenReturn(List.of("a"));
+        doAnswer(inv -> {
+            // A task 2 ganha o rótulo enquanto o banco responde; a leitura só vê a task 1
+            CompletableFuture.runAsync(() -> index.on(new TaskTagsChangedEvent(2L, Set.of("a"), Set.of())))
+                    .get(5, TimeUnit.SECONDS);
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getString("tag")).thenReturn("a");
+            when(rs.getLong("task_id")).thenReturn(1L);
+            inv.<RowCallbackHandler>getArgument(1).processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        index.rebuild();
+
+        assertTrue(index.isReady());
+        assertEquals(RoaringBitmap.bitmapOf(1, 2), index.match(List.of("a"), TagMatch.ALL, null));
+        verify(jdbcTemplate, never()).query(anyString(), any(RowCallbackHandler.class), eq("a"));
+    }
+}